@@ -0,0 +1,104 @@
+package init.common.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 문서 구간 BM25 색인 생성 시간과 질의 지연
+ * buildWithChunking 은 운영의 DocumentSearchIndex.index 와 같이 구간 분할까지 포함하고,
+ * selectContext* 는 프롬프트마다 실행되는 구간 선택 전체(전체 구간 검색, 정렬, 예산 채우기, 문맥 조립)를 측정합니다.
+ * selectContextKeyed 는 추출 캐시 키로 색인 재사용을 확인하는 운영 경로, selectContextHashed 는 원문을 매번 해시하는 경로입니다.
+ * 색인 크기(색인어/포스팅 수, 추정 바이트)는 Setup 에서 한 번 출력합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentSearchIndexBenchmark {
+
+    private static final String[] TOPICS = {
+        "반도체 수요와 메모리 가격 동향", "물류 센터 자동화와 배송 시간 단축", "Kubernetes 클러스터 이전과 운영 비용",
+        "신규 고객 유입과 재구매율 개선", "해외 법인 설립과 현지 채용 계획", "탄소 배출 저감 목표와 에너지 효율"
+    };
+    private static final String CONTENT_KEY = "benchmark-content-key";
+    // 프롬프트 생성 시 문서 문맥 예산과 같은 크기
+    private static final int CONTEXT_TOKENS = 6000;
+
+    // 문서 섹션 수 (섹션당 약 1,000자)
+    @Param({"200", "2000"})
+    private int sectionCount;
+
+    private String text;
+    private List<DocumentChunker.Chunk> passages;
+    private PassageIndex index;
+    private DocumentSearchIndex searchIndex;
+    private final DocumentChunker chunker = new DocumentChunker(new DocumentStructureAnalyzer());
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sectionCount; i++) {
+            String topic = TOPICS[i % TOPICS.length];
+            builder.append("# ").append(i + 1).append(". ").append(topic).append("\n\n");
+            for (int p = 0; p < 4; p++) {
+                builder.append(topic).append("에 관한 ").append(p + 1).append("번째 검토 결과, 분기별 지표는 전년 동기 대비 ")
+                    .append((i * 7 + p) % 40).append("% 변동했으며 담당 부서는 후속 조치와 예산 재배정을 논의했습니다. ")
+                    .append("Quarter ").append(i % 4 + 1).append(" review noted risks and mitigation owners.\n\n");
+            }
+        }
+        text = builder.toString();
+        passages = chunker.split(text, 300);
+        index = PassageIndex.build(text, passages, 2);
+        System.out.printf("%n[index] chars=%d passages=%d terms=%d postings=%d bytes≈%d%n",
+            text.length(), passages.size(), index.getTermCount(), index.getPostingCount(), index.estimatedBytes());
+
+        searchIndex = new DocumentSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        ReflectionTestUtils.setField(searchIndex, "passageTokens", 300);
+        ReflectionTestUtils.setField(searchIndex, "ngram", 2);
+        ReflectionTestUtils.setField(searchIndex, "maxDocuments", 10);
+        ReflectionTestUtils.setField(searchIndex, "ttlMinutes", 60L);
+        searchIndex.init();
+        searchIndex.index("keyed", CONTENT_KEY, text);
+        searchIndex.index("hashed", text);
+    }
+
+    @Benchmark
+    public PassageIndex build() {
+        return PassageIndex.build(text, passages, 2);
+    }
+
+    @Benchmark
+    public PassageIndex buildWithChunking() {
+        return PassageIndex.build(text, chunker.split(text, 300), 2);
+    }
+
+    @Benchmark
+    public List<PassageIndex.Hit> searchKorean() {
+        return index.search("메모리 가격 반도체", 20);
+    }
+
+    @Benchmark
+    public List<PassageIndex.Hit> searchMixed() {
+        return index.search("kubernetes 운영 비용 review", 20);
+    }
+
+    @Benchmark
+    public String selectContextKeyed() {
+        return searchIndex.selectContext("keyed", CONTENT_KEY, text, "메모리 가격 반도체", CONTEXT_TOKENS);
+    }
+
+    @Benchmark
+    public String selectContextHashed() {
+        return searchIndex.selectContext("hashed", text, "메모리 가격 반도체", CONTEXT_TOKENS);
+    }
+}
@@ -0,0 +1,63 @@
+package init.common.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 문서 구조 분석 시간 (글자 수별, 제목 형식·목록·코드 블록이 섞인 문서)
+ * 분석 결과 규모(섹션/문단/목록 수)는 Setup 에서 한 번 출력하고, -prof gc 로 분석당 할당량도 함께 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DocumentStructureAnalyzerBenchmark {
+
+    // 문서 글자 수 (2,000,000 은 document.extract.max-chars 기본값)
+    @Param({"200000", "2000000"})
+    private int chars;
+
+    private final DocumentStructureAnalyzer analyzer = new DocumentStructureAnalyzer();
+    private String text;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(chars + 4096);
+        int chapter = 0;
+        while (builder.length() < chars) {
+            chapter++;
+            builder.append("제").append(chapter).append("장 사업 현황과 전략\n\n");
+            for (int section = 1; section <= 3; section++) {
+                builder.append("## ").append(chapter).append('.').append(section).append(" 분기별 시장 동향\n\n");
+                builder.append("분기별 매출은 전년 동기 대비 ").append((chapter * 7 + section) % 40)
+                    .append("% 변동했으며, 담당 부서는 후속 조치와 예산 재배정을 논의했습니다. ")
+                    .append("Quarter review noted risks and mitigation owners.\n")
+                    .append("세부 지표는 다음과 같습니다.\n\n");
+                builder.append("- 신규 고객 유입\n- 재구매율 개선\n- 물류 비용 절감\n\n");
+                builder.append(section).append(". 실행 계획\n")
+                    .append("부서별 일정과 책임자를 정하고 월별로 진행 상황을 점검합니다\n\n");
+                builder.append("1) 1분기 목표 설정\n2) 2분기 중간 점검\n\n");
+                if (section == 3) {
+                    builder.append("```\nSELECT region, SUM(amount) FROM sales GROUP BY region;\n```\n\n");
+                    builder.append("<h3>참고 자료</h3>\n관련 보고서와 원본 데이터 위치를 정리했습니다.\n\n");
+                }
+            }
+        }
+        text = builder.toString();
+        DocumentStructureAnalyzer.Structure structure = analyzer.analyze(text);
+        System.out.printf("%n[structure] chars=%d sections=%d paragraphs=%d lists=%d type=%s%n", text.length(),
+            structure.sectionCount(), structure.paragraphCount(), structure.listCount(), structure.structureType());
+    }
+
+    @Benchmark
+    public DocumentStructureAnalyzer.Structure analyze() {
+        return analyzer.analyze(text);
+    }
+}
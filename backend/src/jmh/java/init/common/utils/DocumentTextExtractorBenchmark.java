@@ -0,0 +1,196 @@
+package init.common.utils;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 문서 텍스트 추출 처리 속도
+ * baseline 은 기준 커밋의 DocumentParsingService 코드 그대로(업로드 전체를 byte[] 로 읽고, txt 외 형식은 추출하지 않음)이고,
+ * bufferedDom 은 전체를 메모리에 올린 뒤 DOM 으로 파싱하는 단순 구현(기준 커밋에는 없던 비교용 코드)입니다.
+ * 문서는 Setup 에서 생성하며, 힙 사용량은 -prof gc 의 gc.alloc.rate.norm 으로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DocumentTextExtractorBenchmark {
+
+    private static final String PARAGRAPH =
+        "분기별 매출은 전년 동기 대비 증가했으며 신규 고객 유입과 재구매율 개선이 주요 원인으로 분석됩니다.";
+
+    @Param({"txt", "docx", "pptx", "pdf"})
+    private String format;
+
+    // TXT/DOCX 문단 묶음 / PPTX 슬라이드 / PDF 페이지 수
+    @Param({"20", "500"})
+    private int pageCount;
+
+    private Path workDir;
+    private Path document;
+    private final DocumentTextExtractor extractor = new DocumentTextExtractor();
+
+    @Setup
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("extract-bench");
+        document = workDir.resolve("sample." + format);
+        switch (format) {
+            case "txt" -> writeTxt();
+            case "docx" -> writeDocx();
+            case "pptx" -> writePptx();
+            default -> writePdf();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String streaming() throws Exception {
+        return extractor.extract(document, format).text();
+    }
+
+    /**
+     * 기준 커밋(766b949)의 DocumentParsingService.extractTextFromFile/extractTextFromBytes
+     * (MultipartFile.getBytes() 는 같은 크기의 byte[] 를 만드는 Files.readAllBytes 로 대신함)
+     */
+    @Benchmark
+    public String baseline() throws Exception {
+        byte[] fileData = Files.readAllBytes(document);
+        switch (format) {
+            case "txt":
+                return new String(fileData);
+            case "pdf":
+                return "PDF 텍스트 추출 구현 필요";
+            case "docx":
+                return "DOCX 텍스트 추출 구현 필요";
+            case "pptx":
+                return "PPTX 텍스트 추출 구현 필요";
+            default:
+                return new String(fileData);
+        }
+    }
+
+    @Benchmark
+    public String bufferedDom() throws Exception {
+        byte[] data = Files.readAllBytes(document);
+        if ("txt".equals(format)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if ("pdf".equals(format)) {
+            try (PDDocument pdf = Loader.loadPDF(data)) {
+                return new PDFTextStripper().getText(pdf);
+            }
+        }
+        StringBuilder text = new StringBuilder();
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(data))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().endsWith(".xml")) {
+                    byte[] part = zip.readAllBytes();
+                    text.append(factory.newDocumentBuilder().parse(new ByteArrayInputStream(part))
+                        .getDocumentElement().getTextContent()).append('\n');
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private void writeTxt() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int page = 0; page < pageCount; page++) {
+            for (int p = 0; p < 20; p++) {
+                text.append(PARAGRAPH).append('\n');
+            }
+        }
+        Files.writeString(document, text, StandardCharsets.UTF_8);
+    }
+
+    private void writeDocx() throws IOException {
+        StringBuilder body = new StringBuilder("<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>");
+        for (int page = 0; page < pageCount; page++) {
+            for (int p = 0; p < 20; p++) {
+                body.append("<w:p><w:r><w:t>").append(PARAGRAPH).append("</w:t></w:r></w:p>");
+            }
+        }
+        body.append("</w:body></w:document>");
+        try (OutputStream out = Files.newOutputStream(document); ZipOutputStream zip = new ZipOutputStream(out)) {
+            putPart(zip, "word/document.xml", body.toString());
+        }
+    }
+
+    private void writePptx() throws IOException {
+        try (OutputStream out = Files.newOutputStream(document); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int slide = 1; slide <= pageCount; slide++) {
+                StringBuilder xml = new StringBuilder("<p:sld xmlns:p=\"http://schemas.openxmlformats.org/presentationml/2006/main\""
+                    + " xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\"><p:cSld><p:spTree><p:sp><p:txBody>");
+                xml.append("<a:p><a:r><a:t>슬라이드 ").append(slide).append("</a:t></a:r></a:p>");
+                for (int p = 0; p < 5; p++) {
+                    xml.append("<a:p><a:r><a:t>").append(PARAGRAPH).append("</a:t></a:r></a:p>");
+                }
+                xml.append("</p:txBody></p:sp></p:spTree></p:cSld></p:sld>");
+                putPart(zip, "ppt/slides/slide" + slide + ".xml", xml.toString());
+            }
+        }
+    }
+
+    private void writePdf() throws IOException {
+        // 표준 14 폰트는 WinAnsi 문자만 지원하므로 영문 본문 사용
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        try (PDDocument pdf = new PDDocument()) {
+            for (int page = 0; page < pageCount; page++) {
+                PDPage pdPage = new PDPage();
+                pdf.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(pdf, pdPage)) {
+                    content.beginText();
+                    content.setFont(font, 11);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 740);
+                    for (int line = 0; line < 40; line++) {
+                        content.showText("Quarterly revenue grew year over year, driven by new customers and repeat purchases.");
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            pdf.save(document.toFile());
+        }
+    }
+
+    private static void putPart(ZipOutputStream zip, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(xml.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
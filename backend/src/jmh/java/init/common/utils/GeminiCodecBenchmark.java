@@ -0,0 +1,71 @@
+package init.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 응답 본문에서 텍스트를 꺼내는 비용 비교
+ * 이전 경로(본문 문자열 → Map 트리 역직렬화), 문자열 본문 스트리밍 파싱, 바이트 스트림 직접 파싱을 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeminiCodecBenchmark {
+
+    // 응답 텍스트 길이 (문자 수, 대략)
+    @Param({"2000", "30000"})
+    private int textLength;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GeminiCodec codec = new GeminiCodec(objectMapper);
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        String sentence = "분기별 시장 동향과 주요 지표 변화를 정리한 슬라이드 내용입니다. ";
+        String text = sentence.repeat(Math.max(1, textLength / sentence.length()));
+        String json = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"},"
+            + "\"finishReason\":\"STOP\",\"index\":0,\"safetyRatings\":["
+            + "{\"category\":\"HARM_CATEGORY_HARASSMENT\",\"probability\":\"NEGLIGIBLE\"},"
+            + "{\"category\":\"HARM_CATEGORY_HATE_SPEECH\",\"probability\":\"NEGLIGIBLE\"}]}],"
+            + "\"usageMetadata\":{\"promptTokenCount\":812,\"candidatesTokenCount\":2048,\"totalTokenCount\":2860},"
+            + "\"modelVersion\":\"gemini-1.5-flash-latest\"}";
+        body = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 이전 구현: 본문 전체를 문자열로 받은 뒤 Map 트리로 역직렬화
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public String mapTreeFromString() throws Exception {
+        Map<String, Object> response = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), Map.class);
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
+        Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+        return (String) parts.get(0).get("text");
+    }
+
+    @Benchmark
+    public String streamingFromString() throws Exception {
+        return codec.readFirstText(new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String streamingFromInputStream() throws Exception {
+        return codec.readFirstText(new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,165 @@
+package init.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 호출 전송 계층 지연 분포 (keep-alive 커넥션을 재사용하는 전용 HttpClient vs 이전 RestTemplate 호출)
+ * 자체 서명 인증서의 로컬 HTTPS 스텁 서버가 고정 응답을 돌려주므로, 네트워크 왕복 대신 TCP/TLS 연결 수립과 요청/응답 처리 비용을 비교합니다.
+ * SampleTime 모드로 p50/p99 를 보고하며, 이전 구현의 HttpURLConnection 은 목적지당 keep-alive 커넥션을 5개까지만 보관하므로
+ * 동시 호출에서 나머지는 매번 새로 TLS 연결을 맺습니다.
+ * 스텁 서버는 h2 를 지원하지 않아 두 경로 모두 HTTP/1.1 로 동작하며, 지연 ACK(약 40ms)가 측정을 덮지 않도록 TCP_NODELAY 로 띄웁니다.
+ */
+@Fork(jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeminiHttpTransportBenchmark {
+
+    private static final byte[] RESPONSE = ("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\""
+        + "분기별 시장 동향 분석 결과를 요약한 응답입니다. ".repeat(40) + "\"}]}}]}").getBytes(StandardCharsets.UTF_8);
+    private static final char[] STORE_PASSWORD = "benchmark".toCharArray();
+
+    private Path keyStoreFile;
+    private HttpsServer server;
+    private GeminiHttpTransport transport;
+    private RestTemplate restTemplate;
+    private String url;
+    private String requestBody;
+    private HttpEntity<String> restEntity;
+
+    @Setup
+    public void setUp() throws Exception {
+        SSLContext sslContext = selfSignedContext();
+        // 두 클라이언트 모두 기본 SSL 설정을 쓰므로 스텁 인증서를 신뢰하도록 기본값 교체
+        SSLContext.setDefault(sslContext);
+        HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
+
+        server = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server.setExecutor(Executors.newFixedThreadPool(32));
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE);
+            }
+        });
+        server.start();
+        url = "https://127.0.0.1:" + server.getAddress().getPort() + "/v1beta/models/bench:generateContent?key=bench";
+
+        transport = new GeminiHttpTransport();
+        ReflectionTestUtils.setField(transport, "connectTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(transport, "readTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(transport, "totalTimeoutMs", 120000L);
+        ReflectionTestUtils.setField(transport, "httpVersion", "HTTP_1_1");
+        transport.init();
+
+        requestBody = new GeminiCodec(new ObjectMapper())
+            .writeRequest("다음 주제로 발표 자료를 만들어 주세요: 분기별 시장 동향", GeminiCodec.DEFAULT_GENERATION_CONFIG);
+
+        // 이전 구현: 기본 RestTemplate(HttpURLConnection) 으로 매 호출 exchange
+        restTemplate = new RestTemplate();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restEntity = new HttpEntity<>(requestBody, headers);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        transport.shutdown();
+        server.stop(0);
+        Files.deleteIfExists(keyStoreFile);
+    }
+
+    @Benchmark
+    public int pooledTransport() {
+        return transport.postAsync(url, requestBody, HttpResponse::statusCode).join();
+    }
+
+    @Benchmark
+    public int restTemplate() {
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, restEntity, String.class);
+        return response.getStatusCode().value();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int pooledTransportConcurrent() {
+        return transport.postAsync(url, requestBody, HttpResponse::statusCode).join();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int restTemplateConcurrent() {
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, restEntity, String.class);
+        return response.getStatusCode().value();
+    }
+
+    /**
+     * 127.0.0.1 용 자체 서명 인증서로 서버 키와 클라이언트 신뢰 저장소를 함께 구성
+     */
+    private SSLContext selfSignedContext() throws Exception {
+        keyStoreFile = Files.createTempFile("gemini-bench", ".p12");
+        Files.delete(keyStoreFile);
+        Path keytool = Path.of(System.getProperty("java.home"), "bin", "keytool");
+        Process process = new ProcessBuilder(keytool.toString(), "-genkeypair", "-alias", "stub",
+            "-keyalg", "RSA", "-keysize", "2048", "-validity", "1", "-dname", "CN=127.0.0.1",
+            "-ext", "SAN=ip:127.0.0.1", "-storetype", "PKCS12", "-keystore", keyStoreFile.toString(),
+            "-storepass", new String(STORE_PASSWORD))
+            .redirectErrorStream(true)
+            .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("keytool 실패: " + output);
+        }
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStoreFile)) {
+            keyStore.load(in, STORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, STORE_PASSWORD);
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+        return context;
+    }
+}
@@ -0,0 +1,61 @@
+package init.common.utils;
+
+import init.backendapi.dto.SlideOutline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스트리밍 PPTX 작성 비용 (슬라이드 수별 덱 한 개를 메모리에 작성)
+ * -prof gc 로 덱당 할당량도 함께 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PptxWriterBenchmark {
+
+    @Param({"10", "50"})
+    private int slideCount;
+
+    private final PptxWriter writer = new PptxWriter();
+    private PptxTemplate template;
+    private List<SlideOutline> slides;
+
+    @Setup
+    public void setUp() throws Exception {
+        PptxTemplateRegistry registry = new PptxTemplateRegistry();
+        ReflectionTestUtils.setField(registry, "builtInStyles", List.of("default"));
+        ReflectionTestUtils.setField(registry, "templateDir", "");
+        registry.init();
+        template = registry.get(PptxTemplateRegistry.DEFAULT_STYLE);
+
+        slides = new ArrayList<>();
+        for (int i = 1; i <= slideCount; i++) {
+            List<String> bullets = new ArrayList<>();
+            for (int b = 1; b <= 5; b++) {
+                bullets.add("핵심 지표 " + b + ": 전년 동기 대비 성장률과 주요 원인 설명");
+            }
+            SlideOutline slide = new SlideOutline(i, "분기별 시장 동향 분석 " + i, null, i == 1 ? "title" : "content", bullets);
+            slide.setNotes("차트와 함께 수치를 강조하고 다음 슬라이드로 자연스럽게 연결합니다.");
+            slides.add(slide);
+        }
+    }
+
+    @Benchmark
+    public int writeDeck() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128 * 1024);
+        writer.write(slides, "분기별 시장 동향", template, out);
+        return out.size();
+    }
+}
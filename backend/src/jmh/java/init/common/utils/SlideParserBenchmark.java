@@ -0,0 +1,72 @@
+package init.common.utils;
+
+import init.backendapi.dto.SlideOutline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 슬라이드 파서 처리 속도 비교 (이전 정규식 파서 대비)
+ * -prof gc 로 응답 하나를 파싱할 때의 할당량도 함께 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlideParserBenchmark {
+
+    @Param({"10", "50", "200"})
+    private int slideCount;
+
+    private String response;
+    private final SlideParser slideParser = new SlideParser();
+    private final LegacySlideParser legacyParser = new LegacySlideParser();
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("다음은 요청하신 발표 구성입니다.\n\n");
+        for (int i = 1; i <= slideCount; i++) {
+            builder.append("===== 슬라이드 ").append(i).append(" =====\n")
+                .append("제목: 분기별 시장 동향 분석 ").append(i).append('\n')
+                .append("내용:\n");
+            for (int b = 1; b <= 5; b++) {
+                builder.append("- 핵심 지표 ").append(b).append(": 전년 동기 대비 성장률과 주요 원인 설명\n");
+            }
+            builder.append("노트: 차트와 함께 수치를 강조하고 다음 슬라이드로 자연스럽게 연결합니다.\n\n");
+        }
+        response = builder.toString();
+    }
+
+    @Benchmark
+    public List<SlideOutline> legacyRegex() {
+        return legacyParser.parseSlideStructure(response);
+    }
+
+    @Benchmark
+    public List<SlideOutline> singlePass() throws Exception {
+        return slideParser.parseSlideStructure(response);
+    }
+
+    @Benchmark
+    public List<SlideOutline> singlePassReader() throws Exception {
+        return slideParser.parseSlideStructure(new StringReader(response));
+    }
+
+    @Benchmark
+    public List<SlideOutline> singlePassChunks() {
+        // Gemini 스트리밍처럼 작은 조각으로 도착하는 경우
+        SlideParser.SlideStream stream = slideParser.openStream(slide -> { });
+        for (int i = 0; i < response.length(); i += 64) {
+            stream.feed(response.substring(i, Math.min(response.length(), i + 64)));
+        }
+        return stream.finish();
+    }
+}
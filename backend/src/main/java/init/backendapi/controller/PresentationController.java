@@ -1,49 +1,114 @@
 package init.backendapi.controller;
 
+import init.backendapi.dto.PresentationJob;
 import init.backendapi.dto.PresentationRequest;
 import init.backendapi.dto.SlideOutline;
+import init.backendapi.dto.SlideRegenerationRequest;
 import init.backendapi.service.PresentationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/backend/presentation")
 @CrossOrigin(origins = "*")
 public class PresentationController {
 
+    private static final long STREAM_TIMEOUT_MS = 5 * 60 * 1000L;
+
     @Autowired
     private PresentationService presentationService;
 
+    @Autowired
+    @Qualifier("virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
+    /**
+     * 생성 작업을 등록하고 presentationId 를 즉시 반환합니다. 진행 상황은 /status/{presentationId} 로 조회합니다.
+     */
     @PostMapping("/generate")
     public ResponseEntity<?> generatePresentation(@RequestBody PresentationRequest request) {
         try {
-            String pptFilePath = presentationService.generatePresentation(request);
-            return ResponseEntity.ok().body(new ApiResponse(true, "프레젠테이션이 성공적으로 생성되었습니다.", pptFilePath));
+            String presentationId = presentationService.generatePresentation(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "프레젠테이션 생성 작업이 등록되었습니다.", presentationId));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(new ApiResponse(false, "대기 중인 생성 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.", null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, "프레젠테이션 생성 중 오류가 발생했습니다: " + e.getMessage(), null));
         }
     }
 
+    /**
+     * 슬라이드가 완성될 때마다 SSE "slide" 이벤트로 전달하고, 마지막에 "complete" 이벤트를 보냅니다.
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPresentation(@RequestBody PresentationRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+
+        virtualThreadExecutor.execute(() -> {
+            try {
+                List<SlideOutline> slides = presentationService.streamSlideContent(request, slide -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("slide").data(slide, MediaType.APPLICATION_JSON));
+                    } catch (IOException e) {
+                        // 클라이언트 연결이 끊기면 업스트림 스트림도 중단
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.send(SseEmitter.event().name("complete")
+                        .data(new ApiResponse(true, "슬라이드 스트리밍 생성이 완료되었습니다.", slides.size()), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception e) {
+                try {
+                    emitter.send(SseEmitter.event().name("error")
+                            .data(new ApiResponse(false, "슬라이드 스트리밍 생성 중 오류가 발생했습니다: " + e.getMessage(), null), MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (Exception sendError) {
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+
+        return emitter;
+    }
+
+    /**
+     * 아웃라인 생성은 비동기로 처리하여 Gemini 응답을 기다리는 동안 서블릿 스레드를 반납합니다.
+     */
     @PostMapping("/outline")
-    public ResponseEntity<?> generateOutline(@RequestBody PresentationRequest request) {
-        try {
-            List<SlideOutline> outline = presentationService.generateSlideOutline(request);
-            return ResponseEntity.ok().body(new ApiResponse(true, "슬라이드 아웃라인이 생성되었습니다.", outline));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse(false, "아웃라인 생성 중 오류가 발생했습니다: " + e.getMessage(), null));
-        }
+    public CompletableFuture<ResponseEntity<?>> generateOutline(@RequestBody PresentationRequest request) {
+        return presentationService.generateSlideOutlineAsync(request)
+                .<ResponseEntity<?>>thenApply(outline ->
+                        ResponseEntity.ok().body(new ApiResponse(true, "슬라이드 아웃라인이 생성되었습니다.", outline)))
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(new ApiResponse(false, "아웃라인 생성 중 오류가 발생했습니다: " + cause.getMessage(), null));
+                });
     }
 
     @GetMapping("/status/{presentationId}")
     public ResponseEntity<?> getPresentationStatus(@PathVariable String presentationId) {
         try {
-            String status = presentationService.getPresentationStatus(presentationId);
+            PresentationJob status = presentationService.getPresentationStatus(presentationId);
             return ResponseEntity.ok().body(new ApiResponse(true, "상태 조회 성공", status));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -51,6 +116,72 @@ public class PresentationController {
         }
     }
 
+    /**
+     * 작업 진행 상황을 SSE 로 전달합니다. 단계/진행률 변경은 "progress", 슬라이드 완성은 "slide",
+     * 종료 시 파일 위치 또는 오류와 함께 "completed"/"failed" 이벤트를 보내고 연결을 닫습니다.
+     */
+    @GetMapping(value = "/status/{presentationId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribePresentationProgress(@PathVariable String presentationId) {
+        try {
+            return presentationService.subscribeProgress(presentationId);
+        } catch (Exception e) {
+            SseEmitter emitter = new SseEmitter(0L);
+            try {
+                emitter.send(SseEmitter.event().name("error")
+                        .data(new ApiResponse(false, "진행 상황을 구독할 수 없습니다: " + e.getMessage(), null), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception sendError) {
+                emitter.completeWithError(e);
+            }
+            return emitter;
+        }
+    }
+
+    /**
+     * 완료된 프레젠테이션의 슬라이드 한 장만 다시 생성하고, 저장된 PPTX 에서 해당 슬라이드만 교체합니다.
+     */
+    @PostMapping("/{presentationId}/slides/{slideNumber}/regenerate")
+    public ResponseEntity<?> regenerateSlide(@PathVariable String presentationId,
+                                             @PathVariable int slideNumber,
+                                             @RequestBody(required = false) SlideRegenerationRequest request) {
+        try {
+            SlideOutline slide = presentationService.regenerateSlide(presentationId, slideNumber,
+                    request != null ? request.getInstructions() : null);
+            return ResponseEntity.ok().body(new ApiResponse(true, "슬라이드가 다시 생성되었습니다.", slide));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(false, "프레젠테이션을 찾을 수 없습니다: " + e.getMessage(), null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, "잘못된 슬라이드 번호입니다: " + e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse(false, "지금은 슬라이드를 다시 생성할 수 없습니다: " + e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "슬라이드 재생성 중 오류가 발생했습니다: " + e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/gemini/stats")
+    public ResponseEntity<?> getGeminiStats() {
+        return ResponseEntity.ok().body(new ApiResponse(true, "Gemini 통계 조회 성공", presentationService.getGeminiStats()));
+    }
+
+    /**
+     * 작업 목록 (최신순). 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 조회합니다.
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<?> listPresentationJobs(@RequestParam(required = false) Long cursor,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok().body(new ApiResponse(true, "작업 목록 조회 성공", presentationService.listPresentationJobs(cursor, size)));
+    }
+
+    @GetMapping("/jobs/stats")
+    public ResponseEntity<?> getJobExecutorStats() {
+        return ResponseEntity.ok().body(new ApiResponse(true, "작업 대기열 조회 성공", presentationService.getJobExecutorStats()));
+    }
+
     // 내부 응답 클래스
     public static class ApiResponse {
         private boolean success;
@@ -0,0 +1,173 @@
+package init.backendapi.dto;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 프레젠테이션 생성 작업 상태
+ * 작업 스레드가 갱신하고 상태 조회 요청이 읽으므로 모든 접근은 동기화됩니다.
+ */
+public class PresentationJob {
+
+    // 저장소 등록 순서 (저장 전에는 null)
+    private Long seq;
+    private final String presentationId;
+    private final String topic;
+    private PresentationJobStage stage;
+    private int progress;
+    private String message;
+    private String filePath;
+    private String errorMessage;
+    private final Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+    // 작업을 실행 중인 노드와 실행 시도 횟수
+    private String workerNode;
+    private int attempts;
+    // 단계별 진입 시각
+    private final Map<PresentationJobStage, Instant> stageTimestamps = new LinkedHashMap<>();
+
+    public PresentationJob(String presentationId, String topic) {
+        this.presentationId = presentationId;
+        this.topic = topic;
+        this.createdAt = Instant.now();
+        // 재정의 가능한 moveTo 대신 private 메서드로 초기 단계 설정 (생성 중 this 노출 방지)
+        applyStage(PresentationJobStage.QUEUED, "작업 대기 중", createdAt);
+    }
+
+    /**
+     * 저장된 상태로부터 복원
+     */
+    public PresentationJob(Long seq, String presentationId, String topic, PresentationJobStage stage, int progress,
+                           String message, String filePath, String errorMessage, Instant createdAt, Instant updatedAt,
+                           Instant completedAt, String workerNode, int attempts,
+                           Map<PresentationJobStage, Instant> stageTimestamps) {
+        this.seq = seq;
+        this.presentationId = presentationId;
+        this.topic = topic;
+        this.stage = stage;
+        this.progress = progress;
+        this.message = message;
+        this.filePath = filePath;
+        this.errorMessage = errorMessage;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+        this.workerNode = workerNode;
+        this.attempts = attempts;
+        if (stageTimestamps != null) {
+            this.stageTimestamps.putAll(stageTimestamps);
+        }
+    }
+
+    /**
+     * 다음 단계로 이동
+     */
+    public synchronized void moveTo(PresentationJobStage stage, String message) {
+        applyStage(stage, message, Instant.now());
+    }
+
+    private void applyStage(PresentationJobStage stage, String message, Instant now) {
+        this.stage = stage;
+        this.progress = stage.getBaseProgress();
+        this.message = message;
+        this.updatedAt = now;
+        stageTimestamps.put(stage, now);
+        if (stage.isTerminal()) {
+            this.completedAt = now;
+        }
+    }
+
+    /**
+     * 현재 단계 안에서의 진행률 갱신 (감소하지 않음)
+     */
+    public synchronized void updateProgress(int progress, String message) {
+        if (progress > this.progress && !stage.isTerminal()) {
+            this.progress = Math.min(progress, 99);
+        }
+        this.message = message;
+        this.updatedAt = Instant.now();
+    }
+
+    public synchronized void complete(String filePath) {
+        this.filePath = filePath;
+        moveTo(PresentationJobStage.COMPLETED, "프레젠테이션 생성 완료");
+    }
+
+    public synchronized void fail(String errorMessage) {
+        this.errorMessage = errorMessage;
+        moveTo(PresentationJobStage.FAILED, "프레젠테이션 생성 실패");
+    }
+
+    // Getters
+    public synchronized Long getSeq() {
+        return seq;
+    }
+
+    public synchronized void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public String getPresentationId() {
+        return presentationId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public synchronized PresentationJobStage getStage() {
+        return stage;
+    }
+
+    public synchronized int getProgress() {
+        return progress;
+    }
+
+    public synchronized String getMessage() {
+        return message;
+    }
+
+    public synchronized String getFilePath() {
+        return filePath;
+    }
+
+    public synchronized String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public synchronized Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public synchronized String getWorkerNode() {
+        return workerNode;
+    }
+
+    public synchronized int getAttempts() {
+        return attempts;
+    }
+
+    public synchronized Map<PresentationJobStage, Instant> getStageTimestamps() {
+        return new LinkedHashMap<>(stageTimestamps);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PresentationJob{" +
+                "presentationId='" + presentationId + '\'' +
+                ", stage=" + stage +
+                ", progress=" + progress +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package init.backendapi.dto;
+
+import java.util.List;
+
+/**
+ * 프레젠테이션 작업 목록의 한 페이지 (최신순)
+ * nextCursor 를 다음 요청의 cursor 로 전달하면 이어지는 페이지를 조회합니다. 마지막 페이지면 null 입니다.
+ */
+public class PresentationJobPage {
+
+    private final List<PresentationJob> items;
+    private final Long nextCursor;
+
+    public PresentationJobPage(List<PresentationJob> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PresentationJob> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,29 @@
+package init.backendapi.dto;
+
+/**
+ * 프레젠테이션 생성 작업 단계
+ * 각 단계는 진입 시점의 진행률(%)을 가집니다.
+ */
+public enum PresentationJobStage {
+    QUEUED(0),
+    GENERATING_CONTENT(10),
+    PARSING(60),
+    RENDERING(70),
+    SAVING(90),
+    COMPLETED(100),
+    FAILED(100);
+
+    private final int baseProgress;
+
+    PresentationJobStage(int baseProgress) {
+        this.baseProgress = baseProgress;
+    }
+
+    public int getBaseProgress() {
+        return baseProgress;
+    }
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,116 @@
+package init.backendapi.dto;
+
+import java.time.Instant;
+
+/**
+ * 프레젠테이션 생성 진행 이벤트 (SSE 로 전달되는 불변 스냅샷)
+ * type 은 progress(단계/진행률 변경), slide(슬라이드 한 장 완성), completed, failed 중 하나입니다.
+ */
+public class PresentationProgressEvent {
+
+    public static final String PROGRESS = "progress";
+    public static final String SLIDE = "slide";
+    public static final String COMPLETED = "completed";
+    public static final String FAILED = "failed";
+
+    private final String type;
+    private final String presentationId;
+    private final PresentationJobStage stage;
+    private final int progress;
+    private final String message;
+    private final String filePath;
+    private final String errorMessage;
+    // slide 이벤트에서만 사용
+    private final Integer slideNumber;
+    private final Integer totalSlides;
+    private final String slideTitle;
+    private final Instant timestamp;
+
+    private PresentationProgressEvent(String type, String presentationId, PresentationJobStage stage, int progress,
+                                      String message, String filePath, String errorMessage,
+                                      Integer slideNumber, Integer totalSlides, String slideTitle, Instant timestamp) {
+        this.type = type;
+        this.presentationId = presentationId;
+        this.stage = stage;
+        this.progress = progress;
+        this.message = message;
+        this.filePath = filePath;
+        this.errorMessage = errorMessage;
+        this.slideNumber = slideNumber;
+        this.totalSlides = totalSlides;
+        this.slideTitle = slideTitle;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * 작업의 현재 상태 (종료 단계면 completed/failed)
+     */
+    public static PresentationProgressEvent of(PresentationJob job) {
+        synchronized (job) {
+            String type = job.getStage() == PresentationJobStage.COMPLETED ? COMPLETED
+                : job.getStage() == PresentationJobStage.FAILED ? FAILED
+                : PROGRESS;
+            return new PresentationProgressEvent(type, job.getPresentationId(), job.getStage(), job.getProgress(),
+                job.getMessage(), job.getFilePath(), job.getErrorMessage(), null, null, null, job.getUpdatedAt());
+        }
+    }
+
+    /**
+     * 슬라이드 한 장 완성
+     */
+    public static PresentationProgressEvent slide(PresentationJob job, int slideNumber, int totalSlides, SlideOutline slide) {
+        synchronized (job) {
+            return new PresentationProgressEvent(SLIDE, job.getPresentationId(), job.getStage(), job.getProgress(),
+                job.getMessage(), null, null, slideNumber, totalSlides, slide.getTitle(), Instant.now());
+        }
+    }
+
+    public boolean isTerminal() {
+        return stage != null && stage.isTerminal();
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public String getPresentationId() {
+        return presentationId;
+    }
+
+    public PresentationJobStage getStage() {
+        return stage;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Integer getSlideNumber() {
+        return slideNumber;
+    }
+
+    public Integer getTotalSlides() {
+        return totalSlides;
+    }
+
+    public String getSlideTitle() {
+        return slideTitle;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,24 @@
+package init.backendapi.dto;
+
+/**
+ * 슬라이드 한 장 재생성 요청
+ */
+public class SlideRegenerationRequest {
+
+    // 수정 요청 사항 (없으면 앞뒤 슬라이드 흐름에 맞춰 새로 작성)
+    private String instructions;
+
+    public SlideRegenerationRequest() {}
+
+    public SlideRegenerationRequest(String instructions) {
+        this.instructions = instructions;
+    }
+
+    public String getInstructions() {
+        return instructions;
+    }
+
+    public void setInstructions(String instructions) {
+        this.instructions = instructions;
+    }
+}
@@ -0,0 +1,229 @@
+package init.backendapi.entity;
+
+import init.backendapi.dto.PresentationJobStage;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "presentation_jobs", indexes = {
+    @Index(name = "idx_presentation_jobs_stage", columnList = "stage"),
+    @Index(name = "idx_presentation_jobs_lease", columnList = "leaseExpiresAt")
+})
+public class PresentationJobEntity {
+    // 등록 순서 (목록 조회 커서로 사용)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String presentationId;
+
+    @Column
+    private String topic;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private PresentationJobStage stage;
+
+    @Column(nullable = false)
+    private int progress;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(length = 1000)
+    private String filePath;
+
+    @Column(length = 2000)
+    private String errorMessage;
+
+    // 단계별 진입 시각 (JSON)
+    @Column(length = 1000)
+    private String stageTimestamps;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column
+    private Instant updatedAt;
+
+    @Column
+    private Instant completedAt;
+
+    // 다른 노드가 작업을 이어받을 수 있도록 저장하는 요청 본문 (JSON)
+    @Column(length = 10000)
+    private String requestPayload;
+
+    // 생성된 슬라이드 목록 (JSON, 슬라이드 한 장 재생성 시 앞뒤 슬라이드 맥락으로 사용)
+    @Lob
+    @Column
+    private String slides;
+
+    // 작업을 실행 중인 노드와 임대 만료 시각 (대기 중이면 null)
+    @Column(length = 100)
+    private String leaseOwner;
+
+    @Column
+    private Instant leaseExpiresAt;
+
+    // 작업을 가져간 횟수 (노드 장애로 재할당되면 증가)
+    // 컬럼 추가 전에 저장된 행도 ddl-auto=update 시 0 으로 채워지도록 기본값 지정
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int attempts;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // 기본 생성자
+    public PresentationJobEntity() {}
+
+    // Getter와 Setter
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public String getPresentationId() {
+        return presentationId;
+    }
+
+    public void setPresentationId(String presentationId) {
+        this.presentationId = presentationId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public PresentationJobStage getStage() {
+        return stage;
+    }
+
+    public void setStage(PresentationJobStage stage) {
+        this.stage = stage;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getStageTimestamps() {
+        return stageTimestamps;
+    }
+
+    public void setStageTimestamps(String stageTimestamps) {
+        this.stageTimestamps = stageTimestamps;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getRequestPayload() {
+        return requestPayload;
+    }
+
+    public void setRequestPayload(String requestPayload) {
+        this.requestPayload = requestPayload;
+    }
+
+    public String getSlides() {
+        return slides;
+    }
+
+    public void setSlides(String slides) {
+        this.slides = slides;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,100 @@
+package init.backendapi.repository;
+
+import init.backendapi.dto.PresentationJobStage;
+import init.backendapi.entity.PresentationJobEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PresentationJobRepository extends JpaRepository<PresentationJobEntity, Long> {
+    Optional<PresentationJobEntity> findByPresentationId(String presentationId);
+
+    List<PresentationJobEntity> findByPresentationIdIn(Collection<String> presentationIds);
+
+    // 최신순 첫 페이지
+    List<PresentationJobEntity> findAllByOrderBySeqDesc(Pageable pageable);
+
+    // 커서(seq) 이전 항목을 최신순으로
+    List<PresentationJobEntity> findBySeqLessThanOrderBySeqDesc(Long seq, Pageable pageable);
+
+    // 아직 어느 노드도 가져가지 않은 작업 수
+    long countByStageAndLeaseOwnerIsNull(PresentationJobStage stage);
+
+    // 가져갈 수 있는 작업 (대기 중이거나 임대가 만료된 미완료 작업, 오래된 순)
+    @Query("select e from PresentationJobEntity e where e.stage in :stages "
+        + "and (e.leaseExpiresAt is null or e.leaseExpiresAt < :now) order by e.seq")
+    List<PresentationJobEntity> findClaimable(@Param("stages") Collection<PresentationJobStage> stages,
+                                              @Param("now") Instant now, Pageable pageable);
+
+    // 조회 이후 버전이 바뀌지 않았을 때만 임대 획득 (낙관적 잠금)
+    @Transactional
+    @Modifying
+    @Query("update PresentationJobEntity e set e.leaseOwner = :owner, e.leaseExpiresAt = :expiresAt, "
+        + "e.attempts = e.attempts + 1, e.version = e.version + 1 where e.seq = :seq and e.version = :version")
+    int claim(@Param("seq") Long seq, @Param("version") Long version,
+              @Param("owner") String owner, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update PresentationJobEntity e set e.leaseExpiresAt = :expiresAt "
+        + "where e.presentationId = :presentationId and e.leaseOwner = :owner")
+    int renewLease(@Param("presentationId") String presentationId, @Param("owner") String owner,
+                   @Param("expiresAt") Instant expiresAt);
+
+    // 임대 반납 (refund 만큼 시도 횟수를 되돌림)
+    @Transactional
+    @Modifying
+    @Query("update PresentationJobEntity e set e.leaseOwner = null, e.leaseExpiresAt = null, "
+        + "e.attempts = e.attempts - :refund, e.version = e.version + 1 "
+        + "where e.presentationId = :presentationId and e.leaseOwner = :owner")
+    int releaseLease(@Param("presentationId") String presentationId, @Param("owner") String owner,
+                     @Param("refund") int refund);
+
+    // 생성 중인 작업의 슬라이드 기록 (임대를 가진 노드만)
+    @Transactional
+    @Modifying
+    @Query("update PresentationJobEntity e set e.slides = :slides "
+        + "where e.presentationId = :presentationId and e.leaseOwner = :owner")
+    int updateSlides(@Param("presentationId") String presentationId, @Param("owner") String owner,
+                     @Param("slides") String slides);
+
+    // 완료된 작업의 편집 임대 (슬라이드 재생성을 노드 간에 직렬화, 비어 있거나 만료된 경우에만)
+    @Transactional
+    @Modifying
+    @Query("update PresentationJobEntity e set e.leaseOwner = :owner, e.leaseExpiresAt = :expiresAt "
+        + "where e.presentationId = :presentationId and e.stage = :stage "
+        + "and (e.leaseOwner is null or e.leaseExpiresAt < :now)")
+    int acquireEditLease(@Param("presentationId") String presentationId, @Param("stage") PresentationJobStage stage,
+                         @Param("owner") String owner, @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    // 완료된 작업의 슬라이드 교체 (슬라이드 재생성)
+    @Transactional
+    @Modifying
+    @Query("update PresentationJobEntity e set e.slides = :slides, e.updatedAt = :updatedAt "
+        + "where e.presentationId = :presentationId and e.stage = :stage")
+    int replaceSlides(@Param("presentationId") String presentationId, @Param("stage") PresentationJobStage stage,
+                      @Param("slides") String slides, @Param("updatedAt") Instant updatedAt);
+
+    // 임대를 가진 노드만 상태를 기록할 수 있음
+    @Transactional
+    @Modifying
+    @Query("update PresentationJobEntity e set e.stage = :stage, e.progress = :progress, e.message = :message, "
+        + "e.filePath = :filePath, e.errorMessage = :errorMessage, e.stageTimestamps = :stageTimestamps, "
+        + "e.updatedAt = :updatedAt, e.completedAt = :completedAt, e.version = e.version + 1 "
+        + "where e.presentationId = :presentationId and e.leaseOwner = :owner")
+    int updateState(@Param("presentationId") String presentationId, @Param("owner") String owner,
+                    @Param("stage") PresentationJobStage stage, @Param("progress") int progress,
+                    @Param("message") String message, @Param("filePath") String filePath,
+                    @Param("errorMessage") String errorMessage, @Param("stageTimestamps") String stageTimestamps,
+                    @Param("updatedAt") Instant updatedAt, @Param("completedAt") Instant completedAt);
+}
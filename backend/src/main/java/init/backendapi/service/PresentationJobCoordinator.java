@@ -0,0 +1,247 @@
+package init.backendapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import init.backendapi.dto.PresentationJob;
+import init.backendapi.dto.PresentationRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * 프레젠테이션 작업 분배기
+ * 각 노드는 작업 테이블을 주기적으로 조회해 빈 작업 스레드 수만큼 임대를 획득하고,
+ * 실행 중인 작업의 임대를 주기적으로 연장합니다.
+ * 노드가 멈추면 임대가 만료되어 다른 노드가 작업을 이어서 처리합니다.
+ */
+@Service
+public class PresentationJobCoordinator {
+
+    // 비어 있으면 호스트 이름 + 임의 접미사
+    @Value("${presentation.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${presentation.job.lease-duration-ms:60000}")
+    private long leaseDurationMs;
+
+    @Value("${presentation.job.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    // 노드 장애로 다시 할당되는 횟수를 포함한 최대 시도 횟수
+    @Value("${presentation.job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Autowired
+    private PresentationJobStore jobStore;
+
+    @Autowired
+    @Qualifier("presentationJobExecutor")
+    private ThreadPoolExecutor presentationJobExecutor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, FutureTask<Void>> runningJobs = new ConcurrentHashMap<>();
+    private final AtomicLong claimedJobs = new AtomicLong();
+    private final AtomicLong lostLeases = new AtomicLong();
+
+    private volatile String nodeId;
+    private volatile BiConsumer<PresentationJob, PresentationRequest> jobHandler;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 작업 조회와 임대 연장 시작
+     *
+     * @param handler 임대를 획득한 작업을 실행할 처리기
+     */
+    public synchronized void start(BiConsumer<PresentationJob, PresentationRequest> handler) {
+        if (scheduler != null) {
+            return;
+        }
+        this.jobHandler = handler;
+        this.nodeId = resolveNodeId();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "presentation-job-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        long renewInterval = Math.max(1, leaseDurationMs / 3);
+        scheduler.scheduleWithFixedDelay(this::renewLeases, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 새 작업이 등록되었을 때 다음 주기를 기다리지 않고 바로 조회
+     */
+    public void wakeUp() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            try {
+                current.execute(this::poll);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+            }
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 이 노드가 실행 중인 작업인지
+     */
+    public boolean isRunningLocally(String presentationId) {
+        return runningJobs.containsKey(presentationId);
+    }
+
+    /**
+     * 작업 분배 상태 (관리자용)
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "nodeId", nodeId == null ? "" : nodeId,
+            "activeWorkers", presentationJobExecutor.getActiveCount(),
+            "maxWorkers", presentationJobExecutor.getMaximumPoolSize(),
+            "runningJobs", runningJobs.size(),
+            "claimedJobs", claimedJobs.get(),
+            "lostLeases", lostLeases.get(),
+            "completedTasks", presentationJobExecutor.getCompletedTaskCount()
+        );
+    }
+
+    /**
+     * 조회 중지 후 실행 중인 작업을 취소하고 임대 반납
+     * 취소된 작업 처리기는 인터럽트를 넘김으로 보고 실패를 기록하지 않으므로, 다른 노드가 작업을 처음 단계부터 이어받습니다.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        // 완료하지 못한 작업은 바로 다른 노드가 가져가도록 반납
+        runningJobs.forEach((presentationId, task) -> {
+            if (task.cancel(true)) {
+                jobStore.releaseLease(presentationId, nodeId, false);
+            }
+        });
+        runningJobs.clear();
+    }
+
+    /**
+     * 빈 작업 스레드 수만큼 임대 획득 후 실행
+     */
+    private synchronized void poll() {
+        try {
+            int free = presentationJobExecutor.getMaximumPoolSize() - runningJobs.size();
+            if (free <= 0) {
+                return;
+            }
+
+            List<PresentationJobStore.ClaimedJob> claimed = jobStore.claim(nodeId, free, leaseDurationMs);
+            for (PresentationJobStore.ClaimedJob claimedJob : claimed) {
+                claimedJobs.incrementAndGet();
+                dispatch(claimedJob);
+            }
+        } catch (Exception e) {
+            System.err.println("작업 조회 오류: " + e.getMessage());
+        }
+    }
+
+    private void dispatch(PresentationJobStore.ClaimedJob claimedJob) {
+        PresentationJob job = claimedJob.job();
+        String presentationId = job.getPresentationId();
+
+        if (job.getAttempts() > maxAttempts) {
+            job.fail("프레젠테이션 생성 실패: 최대 시도 횟수(" + maxAttempts + ")를 초과했습니다.");
+            saveQuietly(job);
+            return;
+        }
+
+        PresentationRequest request;
+        try {
+            request = objectMapper.readValue(claimedJob.requestPayload(), PresentationRequest.class);
+        } catch (Exception e) {
+            job.fail("프레젠테이션 생성 실패: 요청을 복원할 수 없습니다: " + e.getMessage());
+            saveQuietly(job);
+            return;
+        }
+
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                jobHandler.accept(job, request);
+            } finally {
+                runningJobs.remove(presentationId);
+                // 끝난 작업의 임대를 풀어 둠 (이미 다른 노드로 넘어갔으면 아무 일도 없음)
+                if (job.getStage().isTerminal()) {
+                    jobStore.releaseLease(presentationId, nodeId, false);
+                }
+            }
+        }, null);
+
+        runningJobs.put(presentationId, task);
+        try {
+            presentationJobExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 실행하지 못했으므로 시도 횟수를 되돌리고 다른 노드에 양보
+            runningJobs.remove(presentationId);
+            jobStore.releaseLease(presentationId, nodeId, true);
+        }
+    }
+
+    /**
+     * 실행 중인 작업의 임대 연장 (이미 다른 노드로 넘어간 작업은 중단)
+     */
+    private void renewLeases() {
+        runningJobs.forEach((presentationId, task) -> {
+            try {
+                if (!jobStore.renewLease(presentationId, nodeId, leaseDurationMs)) {
+                    lostLeases.incrementAndGet();
+                    System.err.println("작업 임대 상실, 실행 중단 (" + presentationId + ")");
+                    task.cancel(true);
+                    runningJobs.remove(presentationId, task);
+                    jobStore.evict(presentationId);
+                }
+            } catch (Exception e) {
+                // 데이터베이스 오류는 다음 주기에 다시 시도 (만료 전까지 여유가 있음)
+                System.err.println("작업 임대 연장 오류 (" + presentationId + "): " + e.getMessage());
+            }
+        });
+    }
+
+    private void saveQuietly(PresentationJob job) {
+        try {
+            jobStore.save(job);
+        } catch (Exception e) {
+            System.err.println("작업 상태 기록 실패 (" + job.getPresentationId() + "): " + e.getMessage());
+        }
+    }
+
+    private String resolveNodeId() {
+        if (configuredNodeId != null && !configuredNodeId.isBlank()) {
+            return configuredNodeId.trim();
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,448 @@
+package init.backendapi.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import init.backendapi.dto.PresentationJob;
+import init.backendapi.dto.PresentationJobPage;
+import init.backendapi.dto.PresentationJobStage;
+import init.backendapi.dto.SlideOutline;
+import init.backendapi.entity.PresentationJobEntity;
+import init.backendapi.repository.PresentationJobRepository;
+import init.common.utils.LruTtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 프레젠테이션 작업 상태 저장소
+ * 작업 테이블이 기준 상태이며, 여러 노드가 임대(lease)로 작업을 나눠 가집니다.
+ * 임대 획득은 버전 컬럼을 조건으로 하는 낙관적 갱신이고, 상태 기록은 임대를 가진 노드만 할 수 있습니다.
+ * 메모리에는 이 노드가 실행 중이거나 끝난 작업만 크기/TTL 제한 LRU 로 보관합니다.
+ * 같은 단계 안의 진행률 갱신은 기록 간격 안에서는 메모리에만 반영하고 데이터베이스 기록을 합칩니다.
+ */
+@Service
+public class PresentationJobStore {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // 엔티티 컬럼 길이 (넘는 메시지는 잘라서 기록)
+    private static final int MESSAGE_MAX_LENGTH = 500;
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 2000;
+    private static final TypeReference<Map<String, String>> TIMESTAMPS_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<SlideOutline>> SLIDES_TYPE = new TypeReference<>() {};
+
+    // 다른 노드가 가져갈 수 있는 미완료 단계
+    private static final List<PresentationJobStage> ACTIVE_STAGES = activeStages();
+
+    /**
+     * 임대를 획득한 작업과 원본 요청
+     */
+    public record ClaimedJob(PresentationJob job, String requestPayload) {
+    }
+
+    /**
+     * 완료된 작업의 원본 요청과 슬라이드 목록
+     */
+    public record StoredDeck(PresentationJob job, String requestPayload, List<SlideOutline> slides) {
+    }
+
+    /**
+     * 임대가 만료되어 다른 노드가 작업을 가져간 경우
+     */
+    public static class LeaseLostException extends IllegalStateException {
+        public LeaseLostException(String message) {
+            super(message);
+        }
+    }
+
+    @Autowired
+    private PresentationJobRepository presentationJobRepository;
+
+    @Value("${presentation.job.cache.max-entries:1000}")
+    private int cacheMaxEntries;
+
+    @Value("${presentation.job.cache.ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    // 같은 단계 안의 진행률을 데이터베이스에 기록하는 최소 간격
+    @Value("${presentation.job.progress-write-interval-ms:1000}")
+    private long progressWriteIntervalMillis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 같은 작업의 기록 순서 보장 (가상 스레드에서도 캐리어 스레드를 점유하지 않도록 ReentrantLock 사용)
+    private final ConcurrentHashMap<String, ReentrantLock> writeLocks = new ConcurrentHashMap<>();
+    // 작업별 마지막 데이터베이스 기록 (단계, 시각)
+    private final ConcurrentHashMap<String, WrittenState> lastWrites = new ConcurrentHashMap<>();
+    private final LongAdder coalescedWrites = new LongAdder();
+    private LruTtlCache<String, PresentationJob> localJobs;
+
+    private record WrittenState(PresentationJobStage stage, long writtenAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        localJobs = new LruTtlCache<>(cacheMaxEntries, TimeUnit.MINUTES.toMillis(cacheTtlMinutes));
+    }
+
+    /**
+     * 대기 상태의 새 작업 등록
+     */
+    public void create(PresentationJob job, String requestPayload) {
+        PresentationJobEntity entity = new PresentationJobEntity();
+        fillState(entity, job);
+        entity.setPresentationId(job.getPresentationId());
+        entity.setTopic(job.getTopic());
+        entity.setCreatedAt(job.getCreatedAt());
+        entity.setRequestPayload(requestPayload);
+
+        PresentationJobEntity saved = presentationJobRepository.save(entity);
+        job.setSeq(saved.getSeq());
+    }
+
+    /**
+     * 가져갈 수 있는 작업을 오래된 순으로 최대 limit 개 임대
+     * 다른 노드와 경쟁해 버전이 바뀐 작업은 건너뜁니다.
+     */
+    public List<ClaimedJob> claim(String owner, int limit, long leaseMillis) {
+        List<ClaimedJob> claimed = new ArrayList<>();
+        if (limit <= 0) {
+            return claimed;
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusMillis(leaseMillis);
+        // 경쟁에서 일부를 놓칠 수 있으므로 여유 있게 조회
+        List<PresentationJobEntity> candidates =
+            presentationJobRepository.findClaimable(ACTIVE_STAGES, now, PageRequest.of(0, limit * 2));
+
+        for (PresentationJobEntity candidate : candidates) {
+            if (claimed.size() >= limit) {
+                break;
+            }
+            if (presentationJobRepository.claim(candidate.getSeq(), candidate.getVersion(), owner, expiresAt) == 0) {
+                continue;
+            }
+            candidate.setLeaseOwner(owner);
+            candidate.setLeaseExpiresAt(expiresAt);
+            candidate.setAttempts(candidate.getAttempts() + 1);
+
+            PresentationJob job = toJob(candidate);
+            localJobs.put(job.getPresentationId(), job);
+            claimed.add(new ClaimedJob(job, candidate.getRequestPayload()));
+        }
+        return claimed;
+    }
+
+    /**
+     * 임대 연장 (다른 노드에 넘어갔으면 false)
+     */
+    public boolean renewLease(String presentationId, String owner, long leaseMillis) {
+        return presentationJobRepository.renewLease(presentationId, owner, Instant.now().plusMillis(leaseMillis)) > 0;
+    }
+
+    /**
+     * 임대 반납 (실행하지 못한 작업을 다른 노드가 가져가도록)
+     */
+    public void releaseLease(String presentationId, String owner, boolean refundAttempt) {
+        presentationJobRepository.releaseLease(presentationId, owner, refundAttempt ? 1 : 0);
+        forget(presentationId);
+    }
+
+    /**
+     * 작업 상태 기록 (임대를 가진 노드만 가능)
+     *
+     * @throws LeaseLostException 임대가 만료되어 다른 노드로 넘어간 경우
+     */
+    public void save(PresentationJob job) {
+        ReentrantLock lock = writeLocks.computeIfAbsent(job.getPresentationId(), key -> new ReentrantLock());
+        lock.lock();
+        try {
+            PresentationJobEntity state = new PresentationJobEntity();
+            fillState(state, job);
+            int updated = presentationJobRepository.updateState(
+                job.getPresentationId(),
+                job.getWorkerNode(),
+                state.getStage(),
+                state.getProgress(),
+                state.getMessage(),
+                state.getFilePath(),
+                state.getErrorMessage(),
+                state.getStageTimestamps(),
+                state.getUpdatedAt(),
+                state.getCompletedAt()
+            );
+            if (updated == 0) {
+                forget(job.getPresentationId());
+                throw new LeaseLostException("작업 임대가 만료되어 다른 노드로 넘어갔습니다: " + job.getPresentationId());
+            }
+            localJobs.put(job.getPresentationId(), job);
+            lastWrites.put(job.getPresentationId(), new WrittenState(state.getStage(), System.currentTimeMillis()));
+        } finally {
+            lock.unlock();
+            if (job.getStage().isTerminal()) {
+                writeLocks.remove(job.getPresentationId(), lock);
+                lastWrites.remove(job.getPresentationId());
+            }
+        }
+    }
+
+    /**
+     * 단계 안의 진행률 기록
+     * 마지막 기록과 단계가 같고 기록 간격이 지나지 않았으면 메모리에만 반영합니다.
+     * 이 노드의 상태 조회는 메모리 값을 보므로 최신이고, 데이터베이스는 다음 기록 때 따라잡습니다.
+     *
+     * @return 데이터베이스에 기록했으면 true
+     * @throws LeaseLostException 임대가 만료되어 다른 노드로 넘어간 경우
+     */
+    public boolean saveProgress(PresentationJob job) {
+        WrittenState last = lastWrites.get(job.getPresentationId());
+        if (last != null && last.stage() == job.getStage()
+                && System.currentTimeMillis() - last.writtenAt() < progressWriteIntervalMillis) {
+            localJobs.put(job.getPresentationId(), job);
+            coalescedWrites.increment();
+            return false;
+        }
+        save(job);
+        return true;
+    }
+
+    /**
+     * 생성된 슬라이드 목록 기록 (임대를 가진 노드만 가능)
+     *
+     * @throws LeaseLostException 임대가 만료되어 다른 노드로 넘어간 경우
+     */
+    public void saveSlides(PresentationJob job, List<SlideOutline> slides) throws Exception {
+        if (presentationJobRepository.updateSlides(job.getPresentationId(), job.getWorkerNode(), writeSlides(slides)) == 0) {
+            throw new LeaseLostException("작업 임대가 만료되어 다른 노드로 넘어갔습니다: " + job.getPresentationId());
+        }
+    }
+
+    /**
+     * 완료된 작업의 편집 임대 획득 (다른 노드가 같은 프레젠테이션을 수정 중이면 false)
+     * 반납은 releaseLease 로 합니다.
+     */
+    public boolean acquireEditLease(String presentationId, String owner, long leaseMillis) {
+        Instant now = Instant.now();
+        return presentationJobRepository.acquireEditLease(
+            presentationId, PresentationJobStage.COMPLETED, owner, now.plusMillis(leaseMillis), now) > 0;
+    }
+
+    /**
+     * 완료된 작업의 슬라이드 목록 교체
+     */
+    public void replaceSlides(String presentationId, List<SlideOutline> slides) throws Exception {
+        int updated = presentationJobRepository.replaceSlides(
+            presentationId, PresentationJobStage.COMPLETED, writeSlides(slides), Instant.now());
+        if (updated == 0) {
+            throw new Exception("완료된 프레젠테이션이 아닙니다: " + presentationId);
+        }
+    }
+
+    /**
+     * 완료된 작업의 원본 요청과 슬라이드 목록 조회 (없으면 null)
+     */
+    public StoredDeck findDeck(String presentationId) throws Exception {
+        PresentationJobEntity entity = presentationJobRepository.findByPresentationId(presentationId).orElse(null);
+        if (entity == null) {
+            return null;
+        }
+        List<SlideOutline> slides = entity.getSlides() == null
+            ? List.of()
+            : objectMapper.readValue(entity.getSlides(), SLIDES_TYPE);
+        return new StoredDeck(toJob(entity), entity.getRequestPayload(), slides);
+    }
+
+    /**
+     * 작업 조회 (이 노드가 실행 중이거나 끝난 작업은 메모리, 그 외에는 데이터베이스)
+     */
+    public PresentationJob find(String presentationId) {
+        PresentationJob job = localJobs.get(presentationId);
+        if (job != null) {
+            return job;
+        }
+        return presentationJobRepository.findByPresentationId(presentationId)
+            .map(entity -> {
+                PresentationJob restored = toJob(entity);
+                if (restored.getStage().isTerminal()) {
+                    localJobs.put(presentationId, restored);
+                }
+                return restored;
+            })
+            .orElse(null);
+    }
+
+    /**
+     * 데이터베이스에 기록된 최신 상태를 한 번에 조회 (다른 노드가 실행 중인 작업 확인용, 메모리 캐시를 거치지 않음)
+     */
+    public List<PresentationJob> findStored(Collection<String> presentationIds) {
+        List<PresentationJob> jobs = new ArrayList<>(presentationIds.size());
+        for (PresentationJobEntity entity : presentationJobRepository.findByPresentationIdIn(presentationIds)) {
+            jobs.add(toJob(entity));
+        }
+        return jobs;
+    }
+
+    /**
+     * 메모리에서만 제거 (임대를 잃은 작업)
+     */
+    public void evict(String presentationId) {
+        forget(presentationId);
+    }
+
+    /**
+     * 작업 삭제
+     */
+    public void delete(String presentationId) {
+        forget(presentationId);
+        presentationJobRepository.findByPresentationId(presentationId)
+            .ifPresent(presentationJobRepository::delete);
+    }
+
+    /**
+     * 클러스터 전체의 대기 중 작업 수
+     */
+    public long countQueued() {
+        return presentationJobRepository.countByStageAndLeaseOwnerIsNull(PresentationJobStage.QUEUED);
+    }
+
+    /**
+     * 최신순 작업 목록 (cursor 는 이전 페이지의 nextCursor, 첫 페이지는 null)
+     */
+    public PresentationJobPage list(Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // 다음 페이지 존재 여부 확인용으로 하나 더 조회
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<PresentationJobEntity> entities = cursor == null
+            ? presentationJobRepository.findAllByOrderBySeqDesc(pageRequest)
+            : presentationJobRepository.findBySeqLessThanOrderBySeqDesc(cursor, pageRequest);
+
+        boolean hasMore = entities.size() > pageSize;
+        List<PresentationJob> items = new ArrayList<>(Math.min(entities.size(), pageSize));
+        for (int i = 0; i < entities.size() && i < pageSize; i++) {
+            PresentationJobEntity entity = entities.get(i);
+            // 이 노드가 실행 중인 작업은 메모리의 최신 상태를 우선
+            PresentationJob local = localJobs.get(entity.getPresentationId());
+            items.add(local != null ? local : toJob(entity));
+        }
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getSeq() : null;
+        return new PresentationJobPage(items, nextCursor);
+    }
+
+    /**
+     * 메모리 캐시 통계와 합쳐진 진행률 기록 수
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(localJobs.getStats());
+        stats.put("coalescedProgressWrites", coalescedWrites.sum());
+        stats.put("progressWriteIntervalMs", progressWriteIntervalMillis);
+        stats.put("writeLocks", writeLocks.size());
+        return stats;
+    }
+
+    /**
+     * 이 노드가 더 이상 기록하지 않는 작업의 메모리 상태 정리 (임대 반납, 임대 상실)
+     */
+    private void forget(String presentationId) {
+        localJobs.remove(presentationId);
+        lastWrites.remove(presentationId);
+        writeLocks.remove(presentationId);
+    }
+
+    private void fillState(PresentationJobEntity entity, PresentationJob job) {
+        synchronized (job) {
+            entity.setSeq(job.getSeq());
+            entity.setStage(job.getStage());
+            entity.setProgress(job.getProgress());
+            entity.setMessage(truncate(job.getMessage(), MESSAGE_MAX_LENGTH));
+            entity.setFilePath(job.getFilePath());
+            entity.setErrorMessage(truncate(job.getErrorMessage(), ERROR_MESSAGE_MAX_LENGTH));
+            entity.setUpdatedAt(job.getUpdatedAt());
+            entity.setCompletedAt(job.getCompletedAt());
+            entity.setStageTimestamps(writeTimestamps(job.getStageTimestamps()));
+        }
+    }
+
+    private PresentationJob toJob(PresentationJobEntity entity) {
+        return new PresentationJob(
+            entity.getSeq(),
+            entity.getPresentationId(),
+            entity.getTopic(),
+            entity.getStage(),
+            entity.getProgress(),
+            entity.getMessage(),
+            entity.getFilePath(),
+            entity.getErrorMessage(),
+            entity.getCreatedAt(),
+            entity.getUpdatedAt(),
+            entity.getCompletedAt(),
+            entity.getLeaseOwner(),
+            entity.getAttempts(),
+            readTimestamps(entity.getStageTimestamps())
+        );
+    }
+
+    private String writeSlides(List<SlideOutline> slides) throws Exception {
+        try {
+            return objectMapper.writeValueAsString(slides);
+        } catch (Exception e) {
+            throw new Exception("슬라이드 직렬화 오류: " + e.getMessage(), e);
+        }
+    }
+
+    private String writeTimestamps(Map<PresentationJobStage, Instant> timestamps) {
+        Map<String, String> values = new LinkedHashMap<>();
+        timestamps.forEach((stage, time) -> values.put(stage.name(), time.toString()));
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (Exception e) {
+            System.err.println("작업 단계 시각 직렬화 오류: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<PresentationJobStage, Instant> readTimestamps(String json) {
+        Map<PresentationJobStage, Instant> timestamps = new EnumMap<>(PresentationJobStage.class);
+        if (json == null || json.isEmpty()) {
+            return timestamps;
+        }
+        try {
+            objectMapper.readValue(json, TIMESTAMPS_TYPE)
+                .forEach((stage, time) -> timestamps.put(PresentationJobStage.valueOf(stage), Instant.parse(time)));
+        } catch (Exception e) {
+            System.err.println("작업 단계 시각 복원 오류: " + e.getMessage());
+        }
+        return timestamps;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        // 서로게이트 쌍 중간에서 자르지 않음
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
+    private static List<PresentationJobStage> activeStages() {
+        List<PresentationJobStage> stages = new ArrayList<>();
+        for (PresentationJobStage stage : PresentationJobStage.values()) {
+            if (!stage.isTerminal()) {
+                stages.add(stage);
+            }
+        }
+        return List.copyOf(stages);
+    }
+}
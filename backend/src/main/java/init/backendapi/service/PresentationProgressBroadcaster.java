@@ -0,0 +1,303 @@
+package init.backendapi.service;
+
+import init.backendapi.dto.PresentationJob;
+import init.backendapi.dto.PresentationProgressEvent;
+import init.backendapi.dto.SlideOutline;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프레젠테이션 생성 진행 이벤트 SSE 전달기
+ * 구독 연결은 스레드를 점유하지 않으며, 이벤트는 작업별 대기열에 쌓인 뒤 가상 스레드 하나가 순서대로 모든 구독자에게 보냅니다.
+ * 이 노드에서 실행 중인 작업은 상태 기록 직후 바로 전달하고, 다른 노드가 실행 중인 작업은 데이터베이스를 주기적으로 한 번에 조회해 변경분을 전달합니다.
+ */
+@Service
+public class PresentationProgressBroadcaster {
+
+    // 다른 노드 작업 상태를 한 번에 조회하는 최대 개수
+    private static final int REMOTE_BATCH_SIZE = 500;
+
+    @Value("${presentation.progress.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${presentation.progress.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${presentation.progress.remote-poll-interval-ms:1000}")
+    private long remotePollIntervalMs;
+
+    // 끊어진 연결을 정리하기 위한 주석 이벤트 간격
+    @Value("${presentation.progress.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    @Autowired
+    @Qualifier("virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
+    @Autowired
+    private PresentationJobStore jobStore;
+
+    @Autowired
+    private PresentationJobCoordinator jobCoordinator;
+
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 전달할 이벤트 (event 가 null 이면 heartbeat, target 이 null 이면 모든 구독자)
+     */
+    private record Delivery(PresentationProgressEvent event, SseEmitter target) {
+    }
+
+    /**
+     * 작업 하나의 구독자와 전달 대기열
+     */
+    private static final class Channel {
+        private final String presentationId;
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private final ConcurrentLinkedQueue<Delivery> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 마지막으로 전달한 상태 (다른 노드 작업의 중복 전달 방지)
+        private volatile String lastSignature;
+
+        private Channel(String presentationId) {
+            this.presentationId = presentationId;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "presentation-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollRemoteJobs, remotePollIntervalMs, remotePollIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        channels.values().forEach(channel -> channel.subscribers.forEach(SseEmitter::complete));
+        channels.clear();
+    }
+
+    /**
+     * 작업 진행 이벤트 구독
+     * 연결 직후 현재 상태를 보내며, 이미 끝난 작업이면 결과를 보내고 바로 종료합니다.
+     *
+     * @throws RejectedExecutionException 구독자 수가 한도를 넘은 경우
+     */
+    public SseEmitter subscribe(String presentationId) throws Exception {
+        if (jobStore.find(presentationId) == null) {
+            throw new Exception("프레젠테이션 작업을 찾을 수 없습니다: " + presentationId);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RejectedExecutionException("진행 상황 구독자가 너무 많습니다.");
+        }
+
+        SseEmitter emitter = newEmitter(emitterTimeoutMs);
+        Channel channel = channels.compute(presentationId, (key, current) -> {
+            Channel target = current != null ? current : new Channel(key);
+            target.subscribers.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(channel, emitter));
+        // 시간 초과 시 연결을 닫지 않으면 요청이 오류로 끝나므로 정상 종료
+        emitter.onTimeout(() -> {
+            unsubscribe(channel, emitter);
+            emitter.complete();
+        });
+        emitter.onError(error -> unsubscribe(channel, emitter));
+
+        // 등록 이후의 상태를 다시 읽어야 그 사이에 끝난 작업의 완료 이벤트를 놓치지 않음
+        PresentationJob job = jobStore.find(presentationId);
+        if (job != null) {
+            channel.lastSignature = signature(job);
+            enqueue(channel, new Delivery(PresentationProgressEvent.of(job), emitter));
+        }
+        return emitter;
+    }
+
+    /**
+     * 작업 상태 변경 전달 (구독자가 없으면 아무 일도 하지 않음)
+     */
+    public void publish(PresentationJob job) {
+        Channel channel = channels.get(job.getPresentationId());
+        if (channel == null) {
+            return;
+        }
+        channel.lastSignature = signature(job);
+        enqueue(channel, new Delivery(PresentationProgressEvent.of(job), null));
+    }
+
+    /**
+     * 슬라이드 한 장 완성 전달
+     */
+    public void publishSlide(PresentationJob job, int slideNumber, int totalSlides, SlideOutline slide) {
+        Channel channel = channels.get(job.getPresentationId());
+        if (channel == null) {
+            return;
+        }
+        enqueue(channel, new Delivery(PresentationProgressEvent.slide(job, slideNumber, totalSlides, slide), null));
+    }
+
+    /**
+     * 전달기 통계 (관리자용)
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "subscribers", subscriberCount.get(),
+            "maxSubscribers", maxSubscribers,
+            "watchedJobs", channels.size(),
+            "eventsSent", eventsSent.get(),
+            "droppedSubscribers", droppedSubscribers.get()
+        );
+    }
+
+    /**
+     * 구독 연결 생성 (테스트에서 전송 내용을 확인할 수 있도록 분리)
+     */
+    protected SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void enqueue(Channel channel, Delivery delivery) {
+        channel.pending.offer(delivery);
+        scheduleDrain(channel);
+    }
+
+    private void scheduleDrain(Channel channel) {
+        // 작업별로 전달 스레드는 하나만 (이벤트 순서 보장)
+        if (!channel.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            virtualThreadExecutor.execute(() -> drain(channel));
+        } catch (RejectedExecutionException e) {
+            channel.draining.set(false);
+        }
+    }
+
+    private void drain(Channel channel) {
+        try {
+            Delivery delivery;
+            while ((delivery = channel.pending.poll()) != null) {
+                deliver(channel, delivery);
+            }
+        } finally {
+            channel.draining.set(false);
+        }
+        // 마지막 poll 이후에 들어온 이벤트 처리
+        if (!channel.pending.isEmpty()) {
+            scheduleDrain(channel);
+        }
+    }
+
+    private void deliver(Channel channel, Delivery delivery) {
+        List<SseEmitter> targets = delivery.target() != null ? List.of(delivery.target()) : channel.subscribers;
+        for (SseEmitter emitter : targets) {
+            if (!channel.subscribers.contains(emitter)) {
+                continue;
+            }
+            PresentationProgressEvent event = delivery.event();
+            try {
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                emitter.send(SseEmitter.event().name(event.getType()).data(event, MediaType.APPLICATION_JSON));
+                eventsSent.incrementAndGet();
+                if (event.isTerminal()) {
+                    emitter.complete();
+                    unsubscribe(channel, emitter);
+                }
+            } catch (Exception e) {
+                // 끊어진 연결
+                droppedSubscribers.incrementAndGet();
+                unsubscribe(channel, emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(Channel channel, SseEmitter emitter) {
+        channels.computeIfPresent(channel.presentationId, (key, current) -> {
+            if (current != channel) {
+                return current;
+            }
+            if (channel.subscribers.remove(emitter)) {
+                subscriberCount.decrementAndGet();
+            }
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    /**
+     * 다른 노드가 실행 중이거나 아직 대기 중인 작업의 변경분 전달
+     */
+    private void pollRemoteJobs() {
+        try {
+            List<String> remoteIds = new ArrayList<>();
+            for (String presentationId : channels.keySet()) {
+                if (!jobCoordinator.isRunningLocally(presentationId)) {
+                    remoteIds.add(presentationId);
+                }
+            }
+
+            for (int from = 0; from < remoteIds.size(); from += REMOTE_BATCH_SIZE) {
+                List<String> batch = remoteIds.subList(from, Math.min(from + REMOTE_BATCH_SIZE, remoteIds.size()));
+                for (PresentationJob job : jobStore.findStored(batch)) {
+                    Channel channel = channels.get(job.getPresentationId());
+                    String signature = signature(job);
+                    if (channel != null && !signature.equals(channel.lastSignature)) {
+                        channel.lastSignature = signature;
+                        enqueue(channel, new Delivery(PresentationProgressEvent.of(job), null));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("작업 진행 상태 조회 오류: " + e.getMessage());
+        }
+    }
+
+    private void sendHeartbeats() {
+        channels.values().forEach(channel -> enqueue(channel, new Delivery(null, null)));
+    }
+
+    private static String signature(PresentationJob job) {
+        synchronized (job) {
+            // 데이터베이스에 저장된 시각과 비교할 수 있도록 밀리초 단위
+            Instant updatedAt = job.getUpdatedAt();
+            return job.getStage() + ":" + job.getProgress() + ":" + (updatedAt == null ? 0 : updatedAt.toEpochMilli());
+        }
+    }
+}
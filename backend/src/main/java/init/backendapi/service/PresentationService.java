@@ -1,20 +1,50 @@
 package init.backendapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import init.backendapi.dto.PresentationJob;
+import init.backendapi.dto.PresentationJobPage;
+import init.backendapi.dto.PresentationJobStage;
 import init.backendapi.dto.PresentationRequest;
 import init.backendapi.dto.SlideOutline;
 import init.common.utils.GeminiApiClient;
 import init.common.utils.FileStorageUtil;
+import init.common.utils.PptxTemplateRegistry;
+import init.common.utils.PptxWriter;
 import init.common.utils.SlideParser;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Service
 public class PresentationService {
 
+    private static final int REGENERATION_LOCK_STRIPES = 64;
+    // 슬라이드 재생성 시 맥락으로 전달할 앞뒤 슬라이드 수
+    private static final int REGENERATION_CONTEXT_SLIDES = 2;
+
     @Autowired
     private GeminiApiClient geminiApiClient;
 
@@ -24,42 +54,324 @@ public class PresentationService {
     @Autowired
     private SlideParser slideParser;
 
-    // 프레젠테이션 상태 관리
-    private final ConcurrentHashMap<String, String> presentationStatus = new ConcurrentHashMap<>();
+    @Autowired
+    private PptxWriter pptxWriter;
+
+    @Autowired
+    private PptxTemplateRegistry templateRegistry;
+
+    @Autowired
+    @Qualifier("virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
+    // 이 슬라이드 수 이상이면 아웃라인 + 슬라이드별 병렬 생성
+    @Value("${presentation.fan-out.slide-threshold:12}")
+    private int fanOutSlideThreshold;
 
+    // 작업 하나가 동시에 실행하는 슬라이드 상세 요청 수
+    @Value("${presentation.fan-out.max-concurrency:4}")
+    private int fanOutMaxConcurrency;
+
+    // 슬라이드별 최대 시도 횟수
+    @Value("${presentation.fan-out.max-attempts:2}")
+    private int fanOutMaxAttempts;
+
+    // 슬라이드 재생성 중 다른 노드의 같은 프레젠테이션 수정을 막는 편집 임대 기간
+    @Value("${presentation.regeneration.lease-duration-ms:300000}")
+    private long regenerationLeaseMs;
+
+    // 클러스터 전체에서 대기할 수 있는 작업 수
+    @Value("${presentation.job.queue-capacity:50}")
+    private int jobQueueCapacity;
+
+    @Autowired
+    private PresentationJobStore jobStore;
+
+    @Autowired
+    private PresentationJobCoordinator jobCoordinator;
+
+    @Autowired
+    private PresentationProgressBroadcaster progressBroadcaster;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 같은 노드 안에서 같은 프레젠테이션의 슬라이드 재생성 직렬화 (프레젠테이션 ID 해시로 나눈 고정 개수 잠금, 노드 간에는 편집 임대)
+    private final ReentrantLock[] regenerationLocks = newLocks(REGENERATION_LOCK_STRIPES);
+
+    @PostConstruct
+    public void startJobCoordinator() {
+        jobCoordinator.start(this::runPresentationJob);
+    }
+
+    /**
+     * 프레젠테이션 생성 작업 등록
+     * 작업은 작업 테이블에 기록되고, 빈 작업 스레드가 있는 노드가 임대를 획득해 처리합니다.
+     *
+     * @throws RejectedExecutionException 클러스터 전체 대기 작업이 가득 찬 경우
+     */
     public String generatePresentation(PresentationRequest request) throws Exception {
+        if (jobStore.countQueued() >= jobQueueCapacity) {
+            throw new RejectedExecutionException("대기 중인 작업이 너무 많습니다.");
+        }
+
         String presentationId = UUID.randomUUID().toString();
-        
+        PresentationJob job = new PresentationJob(presentationId, request.getTopic());
         try {
-            // 상태 업데이트: 시작
-            presentationStatus.put(presentationId, "PROCESSING");
+            jobStore.create(job, objectMapper.writeValueAsString(request));
+        } catch (Exception e) {
+            throw new Exception("프레젠테이션 작업 등록 실패: " + e.getMessage(), e);
+        }
 
+        jobCoordinator.wakeUp();
+        return presentationId;
+    }
+
+    /**
+     * 프레젠테이션 생성 파이프라인 (컨텐츠 생성 → 파싱 → PPT 생성 → 저장)
+     */
+    private void runPresentationJob(PresentationJob job, PresentationRequest request) {
+        try {
             // 1. Gemini API를 통해 슬라이드 컨텐츠 생성
-            String geminiResponse = geminiApiClient.generateSlideContent(
-                request.getTopic(), 
-                request.getSlideCount(), 
-                request.getDescription()
-            );
+            moveJob(job, PresentationJobStage.GENERATING_CONTENT, "슬라이드 컨텐츠 생성 중");
+            List<SlideOutline> slideOutlines;
+            if (request.getSlideCount() != null && request.getSlideCount() >= fanOutSlideThreshold) {
+                slideOutlines = generateSlidesInParallel(job, request);
 
-            // 2. 슬라이드 구조 파싱
-            List<SlideOutline> slideOutlines = slideParser.parseSlideStructure(geminiResponse);
+                // 2. 슬라이드 구조 파싱 (슬라이드별로 이미 파싱됨)
+                moveJob(job, PresentationJobStage.PARSING, "슬라이드 구조 분석 완료");
+            } else {
+                // 2. 슬라이드 구조 파싱
+                slideOutlines = generateSlidesInOneCall(job, request);
+                for (int i = 0; i < slideOutlines.size(); i++) {
+                    progressBroadcaster.publishSlide(job, i + 1, slideOutlines.size(), slideOutlines.get(i));
+                }
+            }
 
             // 3. PPT 파일 생성
-            String pptFilePath = createPowerPointFile(slideOutlines, request.getTopic());
+            moveJob(job, PresentationJobStage.RENDERING, "PPT 파일 생성 중 (" + slideOutlines.size() + "장)");
+            String pptFilePath = createPowerPointFile(slideOutlines, request.getTopic(), request.getPresentationStyle());
 
-            // 4. 파일 저장
-            String savedFilePath = fileStorageUtil.saveFile(pptFilePath, presentationId);
+            // 4. 파일 저장 (슬라이드 재생성에 쓰도록 슬라이드 목록도 함께 기록)
+            moveJob(job, PresentationJobStage.SAVING, "파일 저장 중");
+            String savedFilePath;
+            try {
+                savedFilePath = fileStorageUtil.saveFile(pptFilePath, job.getPresentationId());
+            } finally {
+                fileStorageUtil.deleteFile(pptFilePath);
+            }
+            jobStore.saveSlides(job, slideOutlines);
 
-            // 상태 업데이트: 완료
-            presentationStatus.put(presentationId, "COMPLETED");
+            job.complete(savedFilePath);
+            saveJob(job);
 
-            return savedFilePath;
+        } catch (PresentationJobStore.LeaseLostException e) {
+            // 다른 노드가 작업을 이어받았으므로 더 기록하지 않음
+            System.err.println("프레젠테이션 생성 중단 (" + job.getPresentationId() + "): " + e.getMessage());
+        } catch (Exception e) {
+            if (isInterruption(e)) {
+                // 종료나 임대 상실로 취소된 작업은 실패로 기록하지 않고 임대를 가져갈 다른 노드에 넘김
+                Thread.currentThread().interrupt();
+                System.err.println("프레젠테이션 생성 중단, 다른 노드로 넘김 (" + job.getPresentationId() + ")");
+                return;
+            }
+            System.err.println("프레젠테이션 생성 실패 (" + job.getPresentationId() + "): " + e.getMessage());
+            job.fail("프레젠테이션 생성 실패: " + e.getMessage());
+            saveJob(job);
+        }
+    }
+
+    private void moveJob(PresentationJob job, PresentationJobStage stage, String message) {
+        job.moveTo(stage, message);
+        saveJob(job);
+    }
+
+    /**
+     * 작업 상태 기록 (기록 실패가 생성 작업 자체를 중단시키지 않도록 오류는 로그만 남김)
+     * 임대를 잃은 경우에는 작업을 중단하도록 예외를 그대로 던집니다.
+     */
+    private void saveJob(PresentationJob job) {
+        try {
+            jobStore.save(job);
+            progressBroadcaster.publish(job);
+        } catch (PresentationJobStore.LeaseLostException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println("작업 상태 기록 실패 (" + job.getPresentationId() + "): " + e.getMessage());
+        }
+    }
 
+    /**
+     * 단계 안의 진행률 기록 (데이터베이스 기록은 저장소가 기록 간격 단위로 합치고, 진행 이벤트는 매번 발행)
+     */
+    private void saveProgress(PresentationJob job) {
+        try {
+            jobStore.saveProgress(job);
+            progressBroadcaster.publish(job);
+        } catch (PresentationJobStore.LeaseLostException e) {
+            throw e;
         } catch (Exception e) {
-            // 상태 업데이트: 실패
-            presentationStatus.put(presentationId, "FAILED");
-            throw new Exception("프레젠테이션 생성 실패: " + e.getMessage(), e);
+            System.err.println("작업 진행률 기록 실패 (" + job.getPresentationId() + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * 덱 전체를 한 번의 요청으로 생성하고 파싱합니다.
+     * 슬라이드를 하나도 읽지 못하면 캐시된 응답을 건너뛰고 한 번 더 요청하며, 그래도 없으면 빈 덱을 만들지 않고 실패합니다.
+     */
+    private List<SlideOutline> generateSlidesInOneCall(PresentationJob job, PresentationRequest request) throws Exception {
+        String geminiResponse = geminiApiClient.generateSlideContent(
+            request.getTopic(),
+            request.getSlideCount(),
+            request.getDescription()
+        );
+        moveJob(job, PresentationJobStage.PARSING, "슬라이드 구조 분석 중");
+        List<SlideOutline> slideOutlines = slideParser.parseSlides(geminiResponse);
+        if (!slideOutlines.isEmpty()) {
+            return slideOutlines;
+        }
+
+        System.err.println("슬라이드를 읽을 수 없는 응답, 다시 요청 (" + job.getPresentationId() + ")");
+        geminiResponse = geminiApiClient.generateSlideContent(
+            request.getTopic(),
+            request.getSlideCount(),
+            request.getDescription(),
+            true
+        );
+        slideOutlines = slideParser.parseSlides(geminiResponse);
+        if (slideOutlines.isEmpty()) {
+            throw new Exception("응답에서 슬라이드를 찾을 수 없습니다.");
         }
+        return slideOutlines;
+    }
+
+    /**
+     * 대규모 덱 2단계 생성
+     * 아웃라인을 한 번 생성한 뒤 슬라이드별 상세 요청을 제한된 동시성으로 병렬 실행하고 순서대로 병합합니다.
+     * 실패한 슬라이드는 해당 슬라이드만 다시 요청합니다.
+     */
+    private List<SlideOutline> generateSlidesInParallel(PresentationJob job, PresentationRequest request) throws Exception {
+        String outlineResponse = geminiApiClient.generateSlideOutline(
+            request.getTopic(),
+            request.getSlideCount(),
+            request.getDescription()
+        );
+        List<SlideOutline> outline = slideParser.parseSlides(outlineResponse);
+
+        // 아웃라인을 해석할 수 없으면 한 번에 생성
+        if (outline.isEmpty()) {
+            return generateSlidesInOneCall(job, request);
+        }
+
+        String deckOutline = formatDeckOutline(outline);
+        int total = outline.size();
+        int baseProgress = PresentationJobStage.GENERATING_CONTENT.getBaseProgress() + 5;
+        int progressSpan = PresentationJobStage.PARSING.getBaseProgress() - baseProgress;
+        job.updateProgress(baseProgress, "슬라이드 상세 생성 중 (0/" + total + ")");
+        saveJob(job);
+
+        Semaphore permits = new Semaphore(Math.max(1, fanOutMaxConcurrency));
+        AtomicInteger completed = new AtomicInteger();
+        List<Future<SlideOutline>> futures = new ArrayList<>(total);
+
+        for (int i = 0; i < total; i++) {
+            int slideNumber = i + 1;
+            SlideOutline entry = outline.get(i);
+            futures.add(virtualThreadExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    SlideOutline slide = generateSlideWithRetry(request, deckOutline, slideNumber, entry);
+                    progressBroadcaster.publishSlide(job, slideNumber, total, slide);
+                    return slide;
+                } finally {
+                    permits.release();
+                    int done = completed.incrementAndGet();
+                    job.updateProgress(baseProgress + progressSpan * done / total,
+                        "슬라이드 상세 생성 중 (" + done + "/" + total + ")");
+                    saveProgress(job);
+                }
+            }));
+        }
+
+        List<SlideOutline> slides = new ArrayList<>(total);
+        try {
+            for (Future<SlideOutline> future : futures) {
+                slides.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new Exception("슬라이드 병렬 생성 실패: " + cause.getMessage(), cause);
+        }
+        return slides;
+    }
+
+    /**
+     * 슬라이드 한 장 생성 (개별 재시도, 모두 실패하면 아웃라인 항목으로 대체)
+     */
+    private SlideOutline generateSlideWithRetry(PresentationRequest request, String deckOutline,
+                                                int slideNumber, SlideOutline entry) throws InterruptedException {
+        String lastError = null;
+        for (int attempt = 1; attempt <= Math.max(1, fanOutMaxAttempts); attempt++) {
+            try {
+                String response = geminiApiClient.generateSingleSlide(
+                    request.getTopic(),
+                    request.getDescription(),
+                    deckOutline,
+                    slideNumber,
+                    entry.getTitle(),
+                    attempt > 1
+                );
+                List<SlideOutline> parsed = slideParser.parseSlides(response);
+                if (!parsed.isEmpty() && slideParser.validateSlideOutline(parsed.get(0))) {
+                    SlideOutline slide = parsed.get(0);
+                    slide.setSlideNumber(slideNumber);
+                    return slide;
+                }
+                lastError = "슬라이드 형식이 올바르지 않습니다.";
+
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("슬라이드 생성이 취소되었습니다.");
+                }
+                lastError = e.getMessage();
+            }
+        }
+
+        System.err.println("슬라이드 " + slideNumber + " 상세 생성 실패, 아웃라인으로 대체: " + lastError);
+        entry.setSlideNumber(slideNumber);
+        return entry;
+    }
+
+    /**
+     * 슬라이드별 요청에 함께 전달할 전체 아웃라인
+     */
+    private String formatDeckOutline(List<SlideOutline> outline) {
+        StringBuilder deckOutline = new StringBuilder();
+        for (int i = 0; i < outline.size(); i++) {
+            SlideOutline entry = outline.get(i);
+            deckOutline.append(i + 1).append(". ").append(entry.getTitle());
+            if (entry.getContent() != null && !entry.getContent().isEmpty()) {
+                deckOutline.append(" - ").append(entry.getContent());
+            }
+            deckOutline.append("\n");
+        }
+        return deckOutline.toString();
+    }
+
+    /**
+     * 작업 대기열 상태 (관리자용)
+     */
+    public Map<String, Object> getJobExecutorStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(jobCoordinator.getStats());
+        long queued = jobStore.countQueued();
+        stats.put("queued", queued);
+        stats.put("queueRemainingCapacity", Math.max(0, jobQueueCapacity - queued));
+        stats.put("progress", progressBroadcaster.getStats());
+        return stats;
     }
 
     public List<SlideOutline> generateSlideOutline(PresentationRequest request) throws Exception {
@@ -72,38 +384,213 @@ public class PresentationService {
             );
 
             // 슬라이드 구조 파싱
-            return slideParser.parseSlideStructure(geminiResponse);
+            return slideParser.parseSlides(geminiResponse);
 
         } catch (Exception e) {
             throw new Exception("슬라이드 아웃라인 생성 실패: " + e.getMessage(), e);
         }
     }
 
-    public String getPresentationStatus(String presentationId) throws Exception {
-        String status = presentationStatus.get(presentationId);
-        if (status == null) {
+    /**
+     * 슬라이드 아웃라인 비동기 생성 (요청 스레드를 점유하지 않음)
+     * 반환된 future 를 취소하면 진행 중인 Gemini 호출도 취소됩니다.
+     */
+    public CompletableFuture<List<SlideOutline>> generateSlideOutlineAsync(PresentationRequest request) {
+        CompletableFuture<String> response = geminiApiClient.generateSlideOutlineAsync(
+            request.getTopic(),
+            request.getSlideCount(),
+            request.getDescription()
+        );
+
+        CompletableFuture<List<SlideOutline>> outline = response.handle((geminiResponse, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                throw new CompletionException(new Exception("슬라이드 아웃라인 생성 실패: " + cause.getMessage(), cause));
+            }
+            try {
+                return slideParser.parseSlides(geminiResponse);
+            } catch (Exception e) {
+                throw new CompletionException(new Exception("슬라이드 아웃라인 생성 실패: " + e.getMessage(), e));
+            }
+        });
+        outline.whenComplete((result, error) -> {
+            if (outline.isCancelled()) {
+                response.cancel(true);
+            }
+        });
+        return outline;
+    }
+
+    /**
+     * 슬라이드 컨텐츠를 스트리밍으로 생성하여 완성된 슬라이드부터 전달
+     */
+    public List<SlideOutline> streamSlideContent(PresentationRequest request, Consumer<SlideOutline> slideConsumer) throws Exception {
+        try {
+            SlideParser.SlideStream slideStream = slideParser.openStream(slideConsumer);
+
+            geminiApiClient.streamSlideContent(
+                request.getTopic(),
+                request.getSlideCount(),
+                request.getDescription(),
+                slideStream::feed
+            );
+
+            return slideStream.finish();
+
+        } catch (Exception e) {
+            throw new Exception("슬라이드 스트리밍 생성 실패: " + e.getMessage(), e);
+        }
+    }
+
+    public PresentationJob getPresentationStatus(String presentationId) throws Exception {
+        PresentationJob job = jobStore.find(presentationId);
+        if (job == null) {
             throw new Exception("존재하지 않는 프레젠테이션 ID입니다.");
         }
-        return status;
+        return job;
+    }
+
+    /**
+     * 완료된 프레젠테이션의 슬라이드 한 장 재생성
+     * 앞뒤 슬라이드를 맥락으로 새 슬라이드를 생성한 뒤, 저장된 PPTX 에서 해당 슬라이드 파트만 교체합니다.
+     * 같은 노드의 요청은 잠금으로, 다른 노드의 요청은 작업 테이블의 편집 임대로 직렬화합니다.
+     *
+     * @throws NoSuchElementException 존재하지 않는 프레젠테이션인 경우
+     * @throws IllegalArgumentException 슬라이드 번호가 범위를 벗어난 경우
+     * @throws IllegalStateException 완료되지 않았거나 다른 노드가 수정 중인 프레젠테이션인 경우
+     */
+    public SlideOutline regenerateSlide(String presentationId, int slideNumber, String instructions) throws Exception {
+        ReentrantLock lock = regenerationLocks[Math.floorMod(presentationId.hashCode(), regenerationLocks.length)];
+        lock.lock();
+        try {
+            PresentationJobStore.StoredDeck deck = jobStore.findDeck(presentationId);
+            if (deck == null) {
+                throw new NoSuchElementException("존재하지 않는 프레젠테이션 ID입니다: " + presentationId);
+            }
+            PresentationJob job = deck.job();
+            if (job.getStage() != PresentationJobStage.COMPLETED || job.getFilePath() == null) {
+                throw new IllegalStateException("생성이 완료된 프레젠테이션만 슬라이드를 다시 생성할 수 있습니다.");
+            }
+            if (deck.slides().isEmpty()) {
+                throw new IllegalStateException("슬라이드 정보가 저장되지 않은 프레젠테이션입니다.");
+            }
+            if (slideNumber < 1 || slideNumber > deck.slides().size()) {
+                throw new IllegalArgumentException("슬라이드 번호는 1~" + deck.slides().size() + " 사이여야 합니다.");
+            }
+
+            String leaseOwner = jobCoordinator.getNodeId();
+            if (!jobStore.acquireEditLease(presentationId, leaseOwner, regenerationLeaseMs)) {
+                throw new IllegalStateException("다른 요청이 이 프레젠테이션을 수정 중입니다.");
+            }
+            try {
+                return replaceSlide(deck, slideNumber, instructions);
+            } catch (Exception e) {
+                throw new Exception("슬라이드 재생성 실패: " + e.getMessage(), e);
+            } finally {
+                jobStore.releaseLease(presentationId, leaseOwner, false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 새 슬라이드 생성 후 PPTX 파트와 저장된 슬라이드 목록 교체 (편집 임대를 가진 상태에서 호출)
+     */
+    private SlideOutline replaceSlide(PresentationJobStore.StoredDeck deck, int slideNumber, String instructions) throws Exception {
+        PresentationJob job = deck.job();
+        List<SlideOutline> slides = new ArrayList<>(deck.slides());
+        PresentationRequest request = deck.requestPayload() == null
+            ? new PresentationRequest(job.getTopic(), slides.size(), null)
+            : objectMapper.readValue(deck.requestPayload(), PresentationRequest.class);
+        SlideOutline current = slides.get(slideNumber - 1);
+        List<SlideOutline> neighbours = new ArrayList<>();
+        int from = Math.max(1, slideNumber - REGENERATION_CONTEXT_SLIDES);
+        int to = Math.min(slides.size(), slideNumber + REGENERATION_CONTEXT_SLIDES);
+        for (int number = from; number <= to; number++) {
+            if (number != slideNumber) {
+                SlideOutline neighbour = slides.get(number - 1);
+                neighbour.setSlideNumber(number);
+                neighbours.add(neighbour);
+            }
+        }
+
+        String response = geminiApiClient.regenerateSlide(
+            job.getTopic(), request.getDescription(), neighbours, current, slideNumber, instructions);
+        List<SlideOutline> parsed = slideParser.parseSlides(response);
+        if (parsed.isEmpty() || !slideParser.validateSlideOutline(parsed.get(0))) {
+            throw new Exception("재생성된 슬라이드 형식이 올바르지 않습니다.");
+        }
+        SlideOutline slide = parsed.get(0);
+        slide.setSlideNumber(slideNumber);
+        // 레이아웃(표지/본문)은 기존 슬라이드를 따름
+        slide.setSlideType(current.getSlideType());
+
+        pptxWriter.rewriteSlide(Paths.get(job.getFilePath()), slideNumber, slide);
+        slides.set(slideNumber - 1, slide);
+        jobStore.replaceSlides(job.getPresentationId(), slides);
+        return slide;
+    }
+
+    /**
+     * 작업 진행 이벤트 구독 (SSE)
+     */
+    public SseEmitter subscribeProgress(String presentationId) throws Exception {
+        return progressBroadcaster.subscribe(presentationId);
     }
 
-    private String createPowerPointFile(List<SlideOutline> slideOutlines, String topic) throws Exception {
-        // PowerPoint 파일 생성 로직
-        // Apache POI 등을 사용하여 실제 PPT 파일 생성
-        String fileName = topic.replaceAll("[^a-zA-Z0-9가-힣]", "_") + "_" + System.currentTimeMillis() + ".pptx";
-        
-        // TODO: 실제 PPT 생성 로직 구현
-        // 현재는 임시 파일 경로 반환
-        return "/tmp/presentations/" + fileName;
+    /**
+     * PPT 파일 생성 (스타일 템플릿을 사용해 임시 파일에 스트리밍으로 작성)
+     */
+    private String createPowerPointFile(List<SlideOutline> slideOutlines, String topic, String presentationStyle) throws Exception {
+        String tempFilePath = fileStorageUtil.createTempFile("presentation-", ".pptx");
+        try {
+            pptxWriter.write(slideOutlines, topic, templateRegistry.get(presentationStyle), Paths.get(tempFilePath));
+            return tempFilePath;
+        } catch (Exception e) {
+            fileStorageUtil.deleteFile(tempFilePath);
+            throw new Exception("PPT 파일 생성 실패: " + e.getMessage(), e);
+        }
     }
 
     // 프레젠테이션 삭제
     public void deletePresentationStatus(String presentationId) {
-        presentationStatus.remove(presentationId);
+        jobStore.delete(presentationId);
     }
 
-    // 모든 프레젠테이션 상태 조회 (관리자용)
-    public ConcurrentHashMap<String, String> getAllPresentationStatus() {
-        return new ConcurrentHashMap<>(presentationStatus);
+    // Gemini 클라이언트 통계 조회 (관리자용, 응답 형식별 파싱 실패/대체 비율 포함)
+    public Map<String, Object> getGeminiStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(geminiApiClient.getStats());
+        stats.put("slideParsing", slideParser.getStats());
+        return stats;
+    }
+
+    // 프레젠테이션 작업 목록 조회 (관리자용, 최신순 커서 페이지)
+    public PresentationJobPage listPresentationJobs(Long cursor, int size) {
+        return jobStore.list(cursor, size);
+    }
+
+    /**
+     * 작업 스레드가 취소(인터럽트)되어 생긴 예외인지
+     */
+    private static boolean isInterruption(Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof InterruptedIOException
+                    || cause instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ReentrantLock[] newLocks(int count) {
+        ReentrantLock[] locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,20 @@
 package init.common.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 public class AppConfig implements WebMvcConfigurer {
 
@@ -14,6 +23,31 @@ public class AppConfig implements WebMvcConfigurer {
         return new RestTemplate();
     }
 
+    /**
+     * 스트리밍 응답 등 오래 대기하는 작업용 가상 스레드 실행기
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * 프레젠테이션 생성 작업 실행기
+     * 대기열은 작업 테이블이 맡으므로 노드는 빈 작업 스레드 수만큼만 작업을 가져와 바로 실행합니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor presentationJobExecutor(
+            @Value("${presentation.job.worker-threads:4}") int workerThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "presentation-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(workerThreads, workerThreads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -0,0 +1,12 @@
+package init.common.utils;
+
+/**
+ * 로컬 입장 제어(bulkhead 대기열, 분당 호출 한도)가 업스트림 호출 전에 요청을 거절했을 때의 예외
+ * 업스트림 상태와 무관하므로 회로 차단기에 성공/실패로 기록하지 않습니다.
+ */
+public class AdmissionRejectedException extends Exception {
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
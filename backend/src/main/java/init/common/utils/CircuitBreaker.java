@@ -0,0 +1,146 @@
+package init.common.utils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 호출의 실패율 기반 회로 차단기
+ * CLOSED → (실패율 초과) → OPEN → (대기 시간 경과) → HALF_OPEN → (시험 호출 성공) → CLOSED
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMillis;
+
+    // 최근 windowSize 개 호출 결과 (true = 실패)
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong openedCount = new AtomicLong();
+
+    /**
+     * @param failureRateThreshold 차단 기준 실패율 (0~100)
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationMillis) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * 호출 허용 여부 (HALF_OPEN 상태에서는 시험 호출 1건만 허용)
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInProgress) {
+            trialInProgress = true;
+            return true;
+        }
+        shortCircuited.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 업스트림이 정상 응답한 경우 (클라이언트 오류 포함)
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    /**
+     * 업스트림 장애로 판단되는 실패인 경우
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recordedCalls >= minimumCalls
+                && failedCalls * 100.0 / recordedCalls >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 업스트림 응답 없이 끝난 호출 (인터럽트, 로컬 입장 거절 등) - 결과를 기록하지 않고 HALF_OPEN 시험 호출 자리만 반환
+     */
+    public synchronized void onAbort() {
+        if (state == State.HALF_OPEN) {
+            trialInProgress = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 회로 차단기 상태 및 통계
+     */
+    public synchronized Map<String, Object> getStats() {
+        return Map.of(
+            "state", state.name(),
+            "recordedCalls", recordedCalls,
+            "failedCalls", failedCalls,
+            "failureRate", recordedCalls == 0 ? 0.0 : failedCalls * 100.0 / recordedCalls,
+            "openedCount", openedCount.get(),
+            "shortCircuited", shortCircuited.get()
+        );
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == windowSize) {
+            if (outcomes[outcomeIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[outcomeIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        trialInProgress = false;
+        openedCount.incrementAndGet();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        trialInProgress = false;
+        recordedCalls = 0;
+        failedCalls = 0;
+        outcomeIndex = 0;
+    }
+}
@@ -0,0 +1,158 @@
+package init.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 토큰 예산 단위 문서 분할기
+ * 구조 분석 섹션 트리를 따라 예산에 맞는 섹션은 통째로, 넘치는 섹션은 하위 섹션과 문단 경계에서 나눈 뒤
+ * 이웃한 조각을 예산 안에서 다시 묶습니다. 청크는 원문 위치만 가지므로 텍스트를 복사하지 않습니다.
+ */
+public class DocumentChunker {
+
+    private static final String PATH_SEPARATOR = " > ";
+
+    private final DocumentStructureAnalyzer analyzer;
+
+    /**
+     * 원문 구간 [start, end) 과 첫 조각의 섹션 제목 경로
+     */
+    public record Chunk(int start, int end, String heading, int tokens) {
+
+        public String text(String source) {
+            return source.substring(start, end);
+        }
+    }
+
+    public DocumentChunker(DocumentStructureAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * 문서를 maxTokens 이하(추정치) 청크로 분할 (청크를 순서대로 이으면 원문과 같음)
+     */
+    public List<Chunk> split(String text, int maxTokens) {
+        int budget = Math.max(1, maxTokens);
+        List<Chunk> pieces = new ArrayList<>();
+        collect(text, analyzer.analyze(text).root(), "", budget, pieces);
+
+        // 이웃 조각을 예산 안에서 묶음
+        List<Chunk> chunks = new ArrayList<>();
+        Chunk current = null;
+        for (Chunk piece : pieces) {
+            if (current != null && current.tokens() + piece.tokens() <= budget) {
+                current = new Chunk(current.start(), piece.end(), current.heading(), current.tokens() + piece.tokens());
+            } else {
+                if (current != null) {
+                    chunks.add(current);
+                }
+                current = piece;
+            }
+        }
+        if (current != null) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private void collect(String text, DocumentStructureAnalyzer.Section section, String parentPath, int budget, List<Chunk> pieces) {
+        String path = section.getLevel() == 0 ? parentPath : join(parentPath, section.title(text));
+        int tokens = TokenEstimator.estimate(text, section.getStart(), section.getEnd());
+        if (tokens <= budget) {
+            if (section.getEnd() > section.getStart()) {
+                pieces.add(new Chunk(section.getStart(), section.getEnd(), path, tokens));
+            }
+            return;
+        }
+
+        // 제목과 첫 하위 섹션 전까지의 본문, 이어서 하위 섹션
+        List<DocumentStructureAnalyzer.Section> children = section.getChildren();
+        int headEnd = children.isEmpty() ? section.getEnd() : children.get(0).getStart();
+        splitRange(text, section.getStart(), headEnd, path, budget, pieces);
+        for (DocumentStructureAnalyzer.Section child : children) {
+            collect(text, child, path, budget, pieces);
+        }
+    }
+
+    /**
+     * 구조 경계 없이 예산을 넘는 구간 분할 (문단 > 줄 > 문장 > 공백 경계 순으로 선호)
+     */
+    private void splitRange(String text, int start, int end, String path, int budget, List<Chunk> pieces) {
+        int pieceStart = start;
+        int ascii = 0;
+        int other = 0;
+        int paragraphBreak = -1;
+        int lineBreak = -1;
+        int sentenceBreak = -1;
+        int spaceBreak = -1;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                lineBreak = i + 1;
+                if (i > pieceStart && text.charAt(i - 1) == '\n') {
+                    paragraphBreak = i + 1;
+                }
+            } else if (Character.isWhitespace(c)) {
+                spaceBreak = i + 1;
+                char previous = i > pieceStart ? text.charAt(i - 1) : ' ';
+                if (previous == '.' || previous == '!' || previous == '?' || previous == '。') {
+                    sentenceBreak = i + 1;
+                }
+            } else if (c < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+
+            if (Math.ceil(ascii / 4.0 + other / 1.5) > budget) {
+                // 너무 작은 조각이 생기지 않도록 조각 뒤쪽 절반의 경계를 먼저 찾음
+                int cut = firstAfter(pieceStart + (i - pieceStart) / 2, paragraphBreak, lineBreak, sentenceBreak, spaceBreak);
+                if (cut < 0) {
+                    cut = firstAfter(pieceStart, paragraphBreak, lineBreak, sentenceBreak, spaceBreak);
+                }
+                if (cut < 0) {
+                    // 경계가 없는 긴 토큰열은 현재 위치에서 자름
+                    cut = i;
+                }
+                pieces.add(new Chunk(pieceStart, cut, path, TokenEstimator.estimate(text, pieceStart, cut)));
+                pieceStart = cut;
+                paragraphBreak = lineBreak = sentenceBreak = spaceBreak = -1;
+                ascii = 0;
+                other = 0;
+                // 잘린 지점부터 현재 문자까지 다시 계산
+                for (int j = cut; j <= i; j++) {
+                    char counted = text.charAt(j);
+                    if (Character.isWhitespace(counted)) {
+                        continue;
+                    }
+                    if (counted < 0x80) {
+                        ascii++;
+                    } else {
+                        other++;
+                    }
+                }
+            }
+        }
+        if (end > pieceStart) {
+            pieces.add(new Chunk(pieceStart, end, path, TokenEstimator.estimate(text, pieceStart, end)));
+        }
+    }
+
+    // from 보다 뒤에 있는 첫 번째 (선호 순서) 경계
+    private static int firstAfter(int from, int... breaks) {
+        for (int position : breaks) {
+            if (position > from) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static String join(String parentPath, String title) {
+        if (title.isEmpty()) {
+            return parentPath;
+        }
+        return parentPath.isEmpty() ? title : parentPath + PATH_SEPARATOR + title;
+    }
+}
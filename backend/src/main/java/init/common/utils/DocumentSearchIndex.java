@@ -0,0 +1,167 @@
+package init.common.utils;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 문서별 구간 BM25 색인 저장소
+ * 문서 파싱이 끝나면 색인을 만들어 두고, 프롬프트 생성 시 주제·키워드와 관련된 구간만 토큰 예산 안에서 골라 문서 전체 대신 사용합니다.
+ * 색인은 메모리 LRU 로만 보관하며, 없거나 원문이 바뀌었으면 조회 시 다시 만듭니다.
+ * 원문은 보관하지 않고 호출자가 넘긴 내용 키(예: 추출 텍스트 캐시 키)로 바뀌었는지 확인합니다.
+ */
+@Component
+public class DocumentSearchIndex {
+
+    private static final String GAP_SEPARATOR = "\n\n...\n\n";
+
+    @Value("${document.search.enabled:true}")
+    private boolean enabled;
+
+    // 색인 구간 하나의 최대 토큰 수(추정)
+    @Value("${document.search.passage-tokens:300}")
+    private int passageTokens;
+
+    // 한글 등의 문자 n-gram 길이
+    @Value("${document.search.ngram:2}")
+    private int ngram;
+
+    @Value("${document.search.max-documents:200}")
+    private int maxDocuments;
+
+    @Value("${document.search.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    private LruTtlCache<String, Entry> indexes;
+    private final DocumentChunker documentChunker = new DocumentChunker(new DocumentStructureAnalyzer());
+
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong buildNanos = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong queryNanos = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    // 원문 토큰 수(추정)도 보관해 색인을 재사용할 때는 원문을 다시 훑지 않음
+    private record Entry(String contentKey, int tokens, PassageIndex index) {
+    }
+
+    @PostConstruct
+    public void init() {
+        indexes = new LruTtlCache<>(Math.max(1, maxDocuments), ttlMinutes * 60 * 1000);
+    }
+
+    /**
+     * 문서 색인 생성 (내용 키는 원문의 SHA-256 해시)
+     */
+    public PassageIndex index(String documentId, String text) {
+        String source = text != null ? text : "";
+        return index(documentId, HashUtil.sha256Hex(source), source);
+    }
+
+    /**
+     * 문서 색인 생성 (같은 문서 ID 의 이전 색인은 교체)
+     *
+     * @param contentKey 원문이 바뀌면 함께 바뀌는 키 (조회 때 같은 키면 색인 재사용)
+     */
+    public PassageIndex index(String documentId, String contentKey, String text) {
+        long started = System.nanoTime();
+        String source = text != null ? text : "";
+        PassageIndex index = PassageIndex.build(source, documentChunker.split(source, passageTokens), ngram);
+        indexes.put(documentId, new Entry(contentKey, TokenEstimator.estimate(source), index));
+        builds.incrementAndGet();
+        buildNanos.addAndGet(System.nanoTime() - started);
+        return index;
+    }
+
+    /**
+     * 질의와 관련된 구간 선택 (내용 키는 원문의 SHA-256 해시, 예산 안의 문서는 해시 없이 원문 그대로)
+     */
+    public String selectContext(String documentId, String text, String query, int maxTokens) {
+        String source = text != null ? text : "";
+        if (!enabled || TokenEstimator.estimate(source) <= maxTokens) {
+            return source;
+        }
+        return selectContext(documentId, HashUtil.sha256Hex(source), source, query, maxTokens);
+    }
+
+    /**
+     * 질의와 관련된 구간을 maxTokens(추정) 안에서 골라 문서 순서대로 이어 붙임
+     * 문서가 예산 안에 들어오면 원문 그대로 쓰고, 관련 구간을 담고 남은 예산은 문서 앞부분 구간으로 채웁니다.
+     * 떨어진 구간 사이에는 생략 표시를 넣습니다.
+     *
+     * @param contentKey 원문이 바뀌면 함께 바뀌는 키 (색인 때와 같으면 원문을 다시 해시하지 않고 색인 재사용)
+     */
+    public String selectContext(String documentId, String contentKey, String text, String query, int maxTokens) {
+        String source = text != null ? text : "";
+        if (!enabled) {
+            return source;
+        }
+        Entry entry = indexes.get(documentId);
+        boolean indexed = entry != null && entry.contentKey().equals(contentKey);
+        if ((indexed ? entry.tokens() : TokenEstimator.estimate(source)) <= maxTokens) {
+            return source;
+        }
+        PassageIndex index = indexed ? entry.index() : index(documentId, contentKey, source);
+
+        long started = System.nanoTime();
+        List<PassageIndex.Hit> hits = index.search(query, index.getPassages().size());
+        if (hits.isEmpty()) {
+            fallbacks.incrementAndGet();
+        }
+        Set<DocumentChunker.Chunk> candidates = new LinkedHashSet<>(index.getPassages().size());
+        for (PassageIndex.Hit hit : hits) {
+            candidates.add(hit.passage());
+        }
+        candidates.addAll(index.getPassages());
+
+        // 관련도 순, 이어서 문서 순서로 예산에 맞는 구간을 담고 들어가지 않는 구간은 건너뜀
+        List<DocumentChunker.Chunk> selected = new ArrayList<>();
+        int used = 0;
+        for (DocumentChunker.Chunk passage : candidates) {
+            if (used + passage.tokens() <= maxTokens) {
+                selected.add(passage);
+                used += passage.tokens();
+            }
+        }
+        selected.sort(Comparator.comparingInt(DocumentChunker.Chunk::start));
+
+        StringBuilder context = new StringBuilder();
+        int previousEnd = -1;
+        for (DocumentChunker.Chunk passage : selected) {
+            if (previousEnd >= 0 && passage.start() != previousEnd) {
+                context.append(GAP_SEPARATOR);
+            }
+            context.append(source, passage.start(), passage.end());
+            previousEnd = passage.end();
+        }
+        queries.incrementAndGet();
+        queryNanos.addAndGet(System.nanoTime() - started);
+        return context.toString();
+    }
+
+    /**
+     * 색인 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long buildCount = builds.get();
+        long queryCount = queries.get();
+        stats.put("enabled", enabled);
+        stats.put("builds", buildCount);
+        stats.put("averageBuildMillis", buildCount == 0 ? 0 : buildNanos.get() / buildCount / 1_000_000.0);
+        stats.put("queries", queryCount);
+        stats.put("averageQueryMicros", queryCount == 0 ? 0 : queryNanos.get() / queryCount / 1_000.0);
+        stats.put("fallbacks", fallbacks.get());
+        stats.put("documents", indexes.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,536 @@
+package init.common.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 추출 텍스트의 구조 분석기
+ * 텍스트를 한 번만 훑으며 제목(마크다운, HTML, 번호 매김, "제N장")으로 섹션 트리를 만들고, 섹션 안의 문단/목록/코드 블록을 기록합니다.
+ * 트리는 원문 문자 위치만 보관하므로 큰 문서도 텍스트를 복사하지 않습니다. (DOCX 제목 스타일은 추출 단계에서 마크다운 제목으로 변환됨)
+ */
+@Component
+public class DocumentStructureAnalyzer {
+
+    public static final String SOURCE_DOCUMENT = "document";
+    public static final String SOURCE_MARKDOWN = "markdown";
+    public static final String SOURCE_HTML = "html";
+    public static final String SOURCE_NUMBERED = "numbered";
+
+    public static final String BLOCK_PARAGRAPH = "paragraph";
+    public static final String BLOCK_LIST = "list";
+    public static final String BLOCK_CODE = "code";
+
+    // 번호 매김 줄을 제목으로 볼 최대 길이
+    private static final int MAX_NUMBERED_HEADING_LENGTH = 80;
+
+    private static final int LINE_BLANK = 0;
+    private static final int LINE_TEXT = 1;
+    private static final int LINE_HEADING = 2;
+    private static final int LINE_LIST_ITEM = 3;
+    private static final int LINE_FENCE = 4;
+    // "1. 제목" 처럼 제목일 수도 목록 항목일 수도 있는 줄 (다음 줄을 보고 결정)
+    private static final int LINE_NUMBER_CANDIDATE = 5;
+
+    /**
+     * 섹션 (제목 한 개와 다음 같은/상위 수준 제목 전까지의 범위)
+     * start~end 는 제목 줄을 포함한 섹션 전체, titleStart~titleEnd 는 제목 글자 범위입니다.
+     */
+    public static final class Section {
+
+        private final int level;
+        private final String source;
+        private final int titleStart;
+        private final int titleEnd;
+        private final int start;
+        private int end;
+        private final List<Section> children = new ArrayList<>();
+        private final List<Block> blocks = new ArrayList<>();
+
+        private Section(int level, String source, int titleStart, int titleEnd, int start) {
+            this.level = level;
+            this.source = source;
+            this.titleStart = titleStart;
+            this.titleEnd = titleEnd;
+            this.start = start;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public int getTitleStart() {
+            return titleStart;
+        }
+
+        public int getTitleEnd() {
+            return titleEnd;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public List<Section> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * 이 섹션에 직접 속한 블록 (하위 섹션의 블록 제외)
+         */
+        public List<Block> getBlocks() {
+            return Collections.unmodifiableList(blocks);
+        }
+
+        /**
+         * 분석한 원문에서 제목 문자열 생성
+         */
+        public String title(CharSequence text) {
+            return text.subSequence(titleStart, titleEnd).toString();
+        }
+    }
+
+    /**
+     * 문단/목록/코드 블록 (목록은 항목 수 포함)
+     */
+    public record Block(String type, int start, int end, int itemCount) {
+    }
+
+    /**
+     * 분석 결과 (root 는 문서 전체를 덮는 수준 0 섹션)
+     */
+    public record Structure(Section root, String structureType, int sectionCount, int paragraphCount, int listCount) {
+    }
+
+    /**
+     * 구조 분석
+     */
+    public Structure analyze(CharSequence text) {
+        Scanner scanner = new Scanner(text == null ? "" : text);
+        scanner.run();
+        return scanner.result();
+    }
+
+    /**
+     * 한 줄씩 분류하며 섹션 스택을 유지하는 단일 패스 스캐너
+     */
+    private static final class Scanner {
+
+        private final CharSequence text;
+        private final Section root;
+        private final Deque<Section> open = new ArrayDeque<>();
+
+        // 현재 열린 블록
+        private String blockType;
+        private int blockStart;
+        private int blockEnd;
+        private int blockItems;
+        private boolean inFence;
+
+        // 결정을 미룬 번호 매김 줄
+        private boolean hasPending;
+        private int pendingLineStart;
+        private int pendingLineEnd;
+        private int pendingTitleStart;
+        private int pendingTitleEnd;
+
+        // 현재 줄 분류 결과
+        private int kind;
+        private int level;
+        private String source;
+        private int titleStart;
+        private int titleEnd;
+
+        private int sectionCount;
+        private int paragraphCount;
+        private int listCount;
+        private int markdownHeadings;
+        private int htmlHeadings;
+        private int numberedHeadings;
+
+        private Scanner(CharSequence text) {
+            this.text = text;
+            this.root = new Section(0, SOURCE_DOCUMENT, 0, 0, 0);
+            open.push(root);
+        }
+
+        private void run() {
+            int length = text.length();
+            int position = 0;
+            while (position < length) {
+                int lineEnd = position;
+                while (lineEnd < length && text.charAt(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd > position && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                line(position, contentEnd);
+                position = lineEnd + 1;
+            }
+            if (hasPending) {
+                resolvePending(false);
+            }
+            closeBlock();
+            while (!open.isEmpty()) {
+                open.pop().end = length;
+            }
+        }
+
+        private Structure result() {
+            String structureType;
+            if (markdownHeadings == 0 && htmlHeadings == 0 && numberedHeadings == 0) {
+                structureType = "plain";
+            } else if (markdownHeadings >= htmlHeadings && markdownHeadings >= numberedHeadings) {
+                structureType = SOURCE_MARKDOWN;
+            } else if (htmlHeadings >= numberedHeadings) {
+                structureType = SOURCE_HTML;
+            } else {
+                structureType = SOURCE_NUMBERED;
+            }
+            return new Structure(root, structureType, sectionCount, paragraphCount, listCount);
+        }
+
+        private void line(int lineStart, int lineEnd) {
+            int start = skipSpaces(lineStart, lineEnd);
+            int end = trimEnd(start, lineEnd);
+
+            if (inFence) {
+                blockEnd = lineEnd;
+                if (isFence(start, end)) {
+                    closeBlock();
+                    inFence = false;
+                }
+                return;
+            }
+
+            classify(start, end);
+            boolean indented = start > lineStart;
+            if (hasPending) {
+                // 들여쓰지 않은 본문이 바로 이어지면 제목, 아니면 목록 항목
+                resolvePending(kind == LINE_TEXT && !indented);
+            }
+
+            switch (kind) {
+                case LINE_BLANK -> closeBlock();
+                case LINE_FENCE -> {
+                    closeBlock();
+                    openBlock(BLOCK_CODE, lineStart, lineEnd);
+                    inFence = true;
+                }
+                case LINE_HEADING -> {
+                    closeBlock();
+                    openSection(level, source, titleStart, titleEnd, lineStart);
+                }
+                case LINE_LIST_ITEM -> listItem(lineStart, lineEnd);
+                case LINE_NUMBER_CANDIDATE -> {
+                    hasPending = true;
+                    pendingLineStart = lineStart;
+                    pendingLineEnd = lineEnd;
+                    pendingTitleStart = titleStart;
+                    pendingTitleEnd = titleEnd;
+                }
+                default -> {
+                    if (BLOCK_LIST.equals(blockType) && indented) {
+                        // 목록 항목의 이어지는 줄
+                        blockEnd = lineEnd;
+                    } else if (BLOCK_PARAGRAPH.equals(blockType)) {
+                        blockEnd = lineEnd;
+                    } else {
+                        closeBlock();
+                        openBlock(BLOCK_PARAGRAPH, lineStart, lineEnd);
+                    }
+                }
+            }
+        }
+
+        private void resolvePending(boolean heading) {
+            hasPending = false;
+            if (heading) {
+                closeBlock();
+                numberedHeadings++;
+                openSection(1, SOURCE_NUMBERED, pendingTitleStart, pendingTitleEnd, pendingLineStart);
+            } else {
+                listItem(pendingLineStart, pendingLineEnd);
+            }
+        }
+
+        private void listItem(int lineStart, int lineEnd) {
+            if (BLOCK_LIST.equals(blockType)) {
+                blockEnd = lineEnd;
+                blockItems++;
+            } else {
+                closeBlock();
+                openBlock(BLOCK_LIST, lineStart, lineEnd);
+                blockItems = 1;
+            }
+        }
+
+        private void openSection(int headingLevel, String headingSource, int headingTitleStart, int headingTitleEnd, int lineStart) {
+            while (open.peek() != root && open.peek().level >= headingLevel) {
+                open.pop().end = lineStart;
+            }
+            Section section = new Section(headingLevel, headingSource, headingTitleStart, headingTitleEnd, lineStart);
+            open.peek().children.add(section);
+            open.push(section);
+            sectionCount++;
+        }
+
+        private void openBlock(String type, int start, int end) {
+            blockType = type;
+            blockStart = start;
+            blockEnd = end;
+            blockItems = 0;
+        }
+
+        private void closeBlock() {
+            if (blockType == null) {
+                return;
+            }
+            if (BLOCK_PARAGRAPH.equals(blockType)) {
+                paragraphCount++;
+            } else if (BLOCK_LIST.equals(blockType)) {
+                listCount++;
+            }
+            open.peek().blocks.add(new Block(blockType, blockStart, blockEnd, blockItems));
+            blockType = null;
+        }
+
+        /**
+         * 줄 분류 (kind, level, source, titleStart, titleEnd 설정)
+         */
+        private void classify(int start, int end) {
+            if (start == end) {
+                kind = LINE_BLANK;
+            } else if (isFence(start, end)) {
+                kind = LINE_FENCE;
+            } else if (!markdownHeading(start, end) && !htmlHeading(start, end)
+                && !numberedHeading(start, end) && !chapterHeading(start, end)) {
+                kind = isListItem(start, end) ? LINE_LIST_ITEM : LINE_TEXT;
+            }
+        }
+
+        // "## 제목 ##"
+        private boolean markdownHeading(int start, int end) {
+            int hashes = 0;
+            while (start + hashes < end && text.charAt(start + hashes) == '#') {
+                hashes++;
+            }
+            if (hashes == 0 || hashes > 6 || (start + hashes < end && !isSpace(text.charAt(start + hashes)))) {
+                return false;
+            }
+            int from = skipSpaces(start + hashes, end);
+            int to = end;
+            int closing = to;
+            while (closing > from && text.charAt(closing - 1) == '#') {
+                closing--;
+            }
+            if (closing < to && (closing == from || isSpace(text.charAt(closing - 1)))) {
+                to = trimEnd(from, closing);
+            }
+            markdownHeadings++;
+            heading(hashes, SOURCE_MARKDOWN, from, to);
+            return true;
+        }
+
+        // "<h2 class=...>제목</h2>"
+        private boolean htmlHeading(int start, int end) {
+            if (end - start < 4 || text.charAt(start) != '<' || Character.toLowerCase(text.charAt(start + 1)) != 'h') {
+                return false;
+            }
+            char digit = text.charAt(start + 2);
+            char after = text.charAt(start + 3);
+            if (digit < '1' || digit > '6' || (after != '>' && !isSpace(after))) {
+                return false;
+            }
+            int tagEnd = indexOf('>', start + 3, end);
+            if (tagEnd < 0) {
+                return false;
+            }
+            int from = skipSpaces(tagEnd + 1, end);
+            int to = end;
+            for (int i = from; i + 2 < end; i++) {
+                if (text.charAt(i) == '<' && text.charAt(i + 1) == '/' && Character.toLowerCase(text.charAt(i + 2)) == 'h') {
+                    to = i;
+                    break;
+                }
+            }
+            htmlHeadings++;
+            heading(digit - '0', SOURCE_HTML, from, trimEnd(from, to));
+            return true;
+        }
+
+        // "1.2 제목", "1.2.3. 제목" (수준 = 번호 단계 수), "1. 제목" 은 후보로 표시
+        private boolean numberedHeading(int start, int end) {
+            int position = start;
+            int depth = 0;
+            while (true) {
+                int digits = 0;
+                while (position < end && isDigit(text.charAt(position)) && digits < 3) {
+                    position++;
+                    digits++;
+                }
+                if (digits == 0) {
+                    return false;
+                }
+                depth++;
+                if (position < end && text.charAt(position) == '.' && position + 1 < end && isDigit(text.charAt(position + 1))) {
+                    position++;
+                    continue;
+                }
+                break;
+            }
+            boolean dotted = position < end && text.charAt(position) == '.';
+            if (dotted) {
+                position++;
+            }
+            if (position >= end || !isSpace(text.charAt(position)) || (depth == 1 && !dotted)) {
+                return false;
+            }
+            int from = skipSpaces(position, end);
+            if (from == end || end - start > MAX_NUMBERED_HEADING_LENGTH || endsSentence(end)) {
+                return false;
+            }
+            if (depth == 1) {
+                kind = LINE_NUMBER_CANDIDATE;
+                titleStart = from;
+                titleEnd = end;
+                return true;
+            }
+            numberedHeadings++;
+            heading(Math.min(depth, 6), SOURCE_NUMBERED, from, end);
+            return true;
+        }
+
+        // "제1장 서론", "제 2 절 배경"
+        private boolean chapterHeading(int start, int end) {
+            if (text.charAt(start) != '제') {
+                return false;
+            }
+            int position = skipSpaces(start + 1, end);
+            int digitStart = position;
+            while (position < end && isDigit(text.charAt(position))) {
+                position++;
+            }
+            if (position == digitStart) {
+                return false;
+            }
+            position = skipSpaces(position, end);
+            if (position >= end) {
+                return false;
+            }
+            int headingLevel = switch (text.charAt(position)) {
+                case '편', '장' -> 1;
+                case '절' -> 2;
+                case '관', '조' -> 3;
+                default -> 0;
+            };
+            if (headingLevel == 0 || end - start > MAX_NUMBERED_HEADING_LENGTH || endsSentence(end)) {
+                return false;
+            }
+            numberedHeadings++;
+            int from = skipSpaces(position + 1, end);
+            // 제목 없이 "제1장" 만 있으면 그 자체를 제목으로
+            heading(headingLevel, SOURCE_NUMBERED, from == end ? start : from, end);
+            return true;
+        }
+
+        private void heading(int headingLevel, String headingSource, int from, int to) {
+            kind = LINE_HEADING;
+            level = headingLevel;
+            source = headingSource;
+            titleStart = from;
+            titleEnd = to;
+        }
+
+        // "- 항목", "• 항목", "1) 항목", "(1) 항목", "① 항목", "가. 항목"
+        private boolean isListItem(int start, int end) {
+            char first = text.charAt(start);
+            char second = start + 1 < end ? text.charAt(start + 1) : ' ';
+            switch (first) {
+                case '-', '*', '+' -> {
+                    return isSpace(second);
+                }
+                case '•', '·', '○', '●', '▪', '■', '□', '◦', '▶', '–' -> {
+                    return true;
+                }
+                default -> {
+                }
+            }
+            if (first >= '①' && first <= '⑳') {
+                return true;
+            }
+            int position = start;
+            if (first == '(') {
+                position++;
+            }
+            int digitStart = position;
+            while (position < end && isDigit(text.charAt(position)) && position - digitStart < 3) {
+                position++;
+            }
+            if (position == digitStart && position < end && "가나다라마바사아자차카타파하".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            if (position == digitStart || position >= end) {
+                return false;
+            }
+            char marker = text.charAt(position);
+            boolean closed = first == '(' ? marker == ')' : (marker == '.' || marker == ')');
+            return closed && position + 1 < end && isSpace(text.charAt(position + 1));
+        }
+
+        private boolean isFence(int start, int end) {
+            if (end - start < 3) {
+                return false;
+            }
+            char first = text.charAt(start);
+            return (first == '`' || first == '~') && text.charAt(start + 1) == first && text.charAt(start + 2) == first;
+        }
+
+        private boolean endsSentence(int end) {
+            char last = text.charAt(end - 1);
+            return last == '.' || last == '!' || last == '?' || last == '。';
+        }
+
+        private int indexOf(char target, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (text.charAt(i) == target) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int skipSpaces(int from, int to) {
+            while (from < to && isSpace(text.charAt(from))) {
+                from++;
+            }
+            return from;
+        }
+
+        private int trimEnd(int from, int to) {
+            while (to > from && isSpace(text.charAt(to - 1))) {
+                to--;
+            }
+            return to;
+        }
+
+        private static boolean isSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\u00A0' || c == '\u3000';
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
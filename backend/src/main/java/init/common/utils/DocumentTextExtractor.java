@@ -0,0 +1,537 @@
+package init.common.utils;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.multipdf.Splitter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 업로드 문서 텍스트 추출기
+ * 저장된 파일에서 바로 읽으며, OOXML(docx/pptx)은 필요한 XML 파트만 StAX 로 훑고 PDF 는 페이지 단위로 추출합니다.
+ * 작업 메모리는 문서 크기와 관계없이 일정하며, 결과 텍스트는 max-chars 에서 잘립니다.
+ */
+@Component
+public class DocumentTextExtractor {
+
+    private static final String WORD_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String DRAWING_NS = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final String PRESENTATION_NS = "http://schemas.openxmlformats.org/presentationml/2006/main";
+    private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final String DOCX_STYLES = "word/styles.xml";
+    // 스타일 상속(basedOn) 추적 최대 깊이
+    private static final int MAX_STYLE_DEPTH = 10;
+    private static final String PPTX_PRESENTATION = "ppt/presentation.xml";
+    private static final String PPTX_PRESENTATION_RELS = "ppt/_rels/presentation.xml.rels";
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    // 추출 결과 최대 글자 수 (압축 폭탄, 초대형 문서 방지)
+    @Value("${document.extract.max-chars:2000000}")
+    private int maxChars = 2_000_000;
+
+    private final XMLInputFactory xmlInputFactory;
+
+    /**
+     * 추출 결과
+     *
+     * @param pageCount PDF 페이지 수 또는 PPTX 슬라이드 수 (알 수 없으면 0)
+     * @param truncated max-chars 에서 잘렸는지
+     */
+    public record Extraction(String text, int pageCount, boolean truncated) {
+    }
+
+    /**
+     * 페이지 묶음으로 나눈 PDF 파일 (페이지 순서) 과 원본 페이지 수
+     */
+    public record PdfParts(List<Path> files, int pageCount) {
+    }
+
+    public DocumentTextExtractor() {
+        xmlInputFactory = XMLInputFactory.newFactory();
+        // 외부 엔티티/DTD 차단 (XXE)
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    }
+
+    /**
+     * 확장자에 맞는 방식으로 텍스트 추출 (알 수 없는 확장자는 UTF-8 텍스트로 읽음)
+     */
+    public Extraction extract(Path file, String extension) throws Exception {
+        return extractUnits(file, extension, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 나눠서 추출할 수 있는 단위 수 (PDF 페이지, PPTX 슬라이드, 그 밖의 형식은 0)
+     */
+    public int countUnits(Path file, String extension) throws Exception {
+        try {
+            switch (normalize(extension)) {
+                case "pdf" -> {
+                    try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+                        return document.getNumberOfPages();
+                    }
+                }
+                case "pptx" -> {
+                    try (ZipFile zip = new ZipFile(file.toFile())) {
+                        return pptxSlideOrder(zip).size();
+                    }
+                }
+                default -> {
+                    return 0;
+                }
+            }
+        } catch (Exception e) {
+            throw new Exception("문서 구성 확인 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 단위 구간 [from, to) 만 추출 (나누어 추출한 결과를 순서대로 이으면 전체 추출 결과와 같음)
+     * 나눌 수 없는 형식은 구간과 관계없이 전체를 추출합니다.
+     */
+    public Extraction extractUnits(Path file, String extension, int from, int to) throws Exception {
+        TextSink sink = new TextSink(maxChars);
+        int pageCount = 0;
+        try {
+            switch (normalize(extension)) {
+                case "pdf" -> pageCount = extractPdf(file, sink, from, to);
+                case "docx" -> extractDocx(file, sink);
+                case "pptx" -> pageCount = extractPptx(file, sink, from, to);
+                default -> extractPlainText(file, sink);
+            }
+        } catch (LimitReachedException e) {
+            // 한도까지 추출한 텍스트 사용
+        } catch (Exception e) {
+            throw new Exception("문서 텍스트 추출 중 오류 발생: " + e.getMessage(), e);
+        }
+        return new Extraction(sink.toString(), pageCount, sink.truncated);
+    }
+
+    /**
+     * PDF 를 pagesPerPart 페이지씩 나눠 targetDir 에 저장 (원본은 한 번만 읽음, 나눈 파일 순서 = 페이지 순서)
+     * 나눈 파일을 각각 추출해 이으면 원본 전체 추출 결과와 같습니다.
+     */
+    public PdfParts splitPdf(Path file, int pagesPerPart, Path targetDir) throws Exception {
+        List<Path> parts = new ArrayList<>();
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            Splitter splitter = new Splitter();
+            splitter.setSplitAtPage(Math.max(1, pagesPerPart));
+            splitter.setStreamCacheCreateFunction(IOUtils.createTempFileOnlyStreamCache());
+            for (PDDocument part : splitter.split(document)) {
+                try (part) {
+                    Path target = targetDir.resolve(String.format("part-%05d.pdf", parts.size()));
+                    part.save(target.toFile());
+                    parts.add(target);
+                }
+            }
+            return new PdfParts(parts, document.getNumberOfPages());
+        } catch (Exception e) {
+            throw new Exception("PDF 분할 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 추출 텍스트에서 줄 하나가 문단 하나인 형식인지 (DOCX/PPTX 문단, PDF 줄은 빈 줄 없이 줄바꿈 하나로 끝남)
+     */
+    public static boolean isLinePerParagraph(String extension) {
+        return switch (normalize(extension)) {
+            case "pdf", "docx", "pptx" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * 추출 결과 최대 글자 수
+     */
+    public int getMaxChars() {
+        return maxChars;
+    }
+
+    private static String normalize(String extension) {
+        return extension == null ? "" : extension.toLowerCase();
+    }
+
+    /**
+     * PDF: 페이지 단위 추출 (문서 객체는 임시 파일 캐시를 사용해 힙에 올리지 않음)
+     */
+    private int extractPdf(Path file, TextSink sink, int from, int to) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            int pages = document.getNumberOfPages();
+            for (int page = Math.max(0, from) + 1; page <= Math.min(pages, to); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                sink.append(stripper.getText(document));
+            }
+            return pages;
+        }
+    }
+
+    /**
+     * DOCX: 본문 파트의 문단(w:p)마다 한 줄
+     * 제목 스타일(Heading N, 개요 수준) 문단은 구조 분석에 쓰이도록 마크다운 제목("## ")으로 표시합니다.
+     */
+    private void extractDocx(Path file, TextSink sink) throws IOException, XMLStreamException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry body = zip.getEntry(DOCX_BODY);
+            if (body == null) {
+                throw new IOException("DOCX 본문(" + DOCX_BODY + ")이 없습니다.");
+            }
+            Map<String, Integer> headingStyles = docxHeadingStyles(zip);
+            try (InputStream in = zip.getInputStream(body)) {
+                XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+                try {
+                    int headingLevel = 0;
+                    while (reader.hasNext()) {
+                        int event = reader.next();
+                        if (event == XMLStreamConstants.START_ELEMENT) {
+                            String ns = reader.getNamespaceURI();
+                            String name = reader.getLocalName();
+                            boolean word = WORD_NS.equals(ns);
+                            if ("t".equals(name) && (word || DRAWING_NS.equals(ns))) {
+                                headingLevel = appendHeadingPrefix(sink, headingLevel);
+                                sink.append(reader.getElementText());
+                            } else if (word && "p".equals(name)) {
+                                headingLevel = 0;
+                            } else if (word && "pStyle".equals(name)) {
+                                headingLevel = headingStyles.getOrDefault(reader.getAttributeValue(WORD_NS, "val"), headingLevel);
+                            } else if (word && "outlineLvl".equals(name)) {
+                                headingLevel = outlineLevel(reader.getAttributeValue(WORD_NS, "val"), headingLevel);
+                            } else if (word && "tab".equals(name)) {
+                                headingLevel = appendHeadingPrefix(sink, headingLevel);
+                                sink.append('\t');
+                            } else if (word && ("br".equals(name) || "cr".equals(name))) {
+                                sink.append('\n');
+                            }
+                        } else if (event == XMLStreamConstants.END_ELEMENT
+                            && "p".equals(reader.getLocalName()) && WORD_NS.equals(reader.getNamespaceURI())) {
+                            headingLevel = 0;
+                            sink.append('\n');
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    // 제목 문단의 첫 내용 앞에 "#" 표시 후 0 반환 (이미 표시했거나 제목이 아니면 그대로)
+    private static int appendHeadingPrefix(TextSink sink, int headingLevel) throws LimitReachedException {
+        if (headingLevel > 0) {
+            sink.append("#".repeat(Math.min(headingLevel, 6)) + " ");
+        }
+        return 0;
+    }
+
+    // w:outlineLvl 값(0부터, 9 는 본문)을 제목 수준으로
+    private static int outlineLevel(String value, int fallback) {
+        try {
+            int outline = Integer.parseInt(value);
+            return outline >= 0 && outline < 9 ? outline + 1 : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * styles.xml 에서 제목 문단 스타일 ID → 제목 수준 (이름 "heading N"/"Title" 또는 개요 수준, basedOn 상속 반영)
+     */
+    private Map<String, Integer> docxHeadingStyles(ZipFile zip) throws IOException, XMLStreamException {
+        ZipEntry styles = zip.getEntry(DOCX_STYLES);
+        if (styles == null) {
+            return Map.of();
+        }
+
+        Map<String, Integer> ownLevels = new HashMap<>();
+        Map<String, String> basedOn = new HashMap<>();
+        try (InputStream in = zip.getInputStream(styles)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            try {
+                String styleId = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && WORD_NS.equals(reader.getNamespaceURI())) {
+                        String name = reader.getLocalName();
+                        if ("style".equals(name)) {
+                            styleId = "paragraph".equals(reader.getAttributeValue(WORD_NS, "type"))
+                                ? reader.getAttributeValue(WORD_NS, "styleId") : null;
+                        } else if (styleId != null && "name".equals(name)) {
+                            int level = headingLevelFromName(reader.getAttributeValue(WORD_NS, "val"));
+                            if (level > 0) {
+                                ownLevels.putIfAbsent(styleId, level);
+                            }
+                        } else if (styleId != null && "outlineLvl".equals(name)) {
+                            int level = outlineLevel(reader.getAttributeValue(WORD_NS, "val"), 0);
+                            if (level > 0) {
+                                ownLevels.put(styleId, level);
+                            }
+                        } else if (styleId != null && "basedOn".equals(name)) {
+                            basedOn.put(styleId, reader.getAttributeValue(WORD_NS, "val"));
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && "style".equals(reader.getLocalName())) {
+                        styleId = null;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        Map<String, Integer> levels = new HashMap<>();
+        for (String styleId : basedOn.keySet()) {
+            String current = styleId;
+            for (int depth = 0; current != null && depth < MAX_STYLE_DEPTH; depth++) {
+                Integer level = ownLevels.get(current);
+                if (level != null) {
+                    levels.put(styleId, level);
+                    break;
+                }
+                current = basedOn.get(current);
+            }
+        }
+        levels.putAll(ownLevels);
+        return levels;
+    }
+
+    // "heading 2", "제목 2" → 2, "Title" → 1
+    private static int headingLevelFromName(String name) {
+        if (name == null) {
+            return 0;
+        }
+        String normalized = name.trim().toLowerCase();
+        if ("title".equals(normalized)) {
+            return 1;
+        }
+        String number;
+        if (normalized.startsWith("heading")) {
+            number = normalized.substring("heading".length()).trim();
+        } else if (normalized.startsWith("제목")) {
+            number = normalized.substring("제목".length()).trim();
+        } else {
+            return 0;
+        }
+        try {
+            int level = Integer.parseInt(number);
+            return level >= 1 && level <= 9 ? level : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * PPTX: 발표 순서대로 슬라이드의 텍스트(a:t), 문단마다 한 줄, 슬라이드 사이에 빈 줄
+     */
+    private int extractPptx(Path file, TextSink sink, int from, int to) throws IOException, XMLStreamException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            List<String> slideParts = pptxSlideOrder(zip);
+            for (int i = Math.max(0, from); i < Math.min(slideParts.size(), to); i++) {
+                ZipEntry slide = zip.getEntry(slideParts.get(i));
+                if (slide == null) {
+                    continue;
+                }
+                if (i > 0) {
+                    sink.append('\n');
+                }
+                try (InputStream in = zip.getInputStream(slide)) {
+                    appendDrawingText(in, sink);
+                }
+            }
+            return slideParts.size();
+        }
+    }
+
+    // 제목 자리표시자(title, ctrTitle) 도형의 문단은 마크다운 제목("# ")으로 표시
+    private void appendDrawingText(InputStream in, TextSink sink) throws XMLStreamException, LimitReachedException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+        try {
+            boolean titleShape = false;
+            boolean paragraphStart = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && PRESENTATION_NS.equals(reader.getNamespaceURI())) {
+                    String name = reader.getLocalName();
+                    if ("sp".equals(name)) {
+                        titleShape = false;
+                    } else if ("ph".equals(name)) {
+                        String type = reader.getAttributeValue(null, "type");
+                        titleShape = "title".equals(type) || "ctrTitle".equals(type);
+                    }
+                } else if (event == XMLStreamConstants.START_ELEMENT && DRAWING_NS.equals(reader.getNamespaceURI())) {
+                    String name = reader.getLocalName();
+                    if ("p".equals(name)) {
+                        paragraphStart = true;
+                    } else if ("t".equals(name)) {
+                        if (titleShape && paragraphStart) {
+                            sink.append("# ");
+                        }
+                        paragraphStart = false;
+                        sink.append(reader.getElementText());
+                    } else if ("br".equals(name)) {
+                        sink.append('\n');
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT
+                    && "p".equals(reader.getLocalName()) && DRAWING_NS.equals(reader.getNamespaceURI())) {
+                    sink.append('\n');
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * presentation.xml 의 sldIdLst 순서로 슬라이드 파트 이름 목록 생성
+     * 관계 파일을 읽을 수 없으면 slideN.xml 번호 순서를 사용합니다.
+     */
+    private List<String> pptxSlideOrder(ZipFile zip) throws IOException, XMLStreamException {
+        ZipEntry presentation = zip.getEntry(PPTX_PRESENTATION);
+        ZipEntry rels = zip.getEntry(PPTX_PRESENTATION_RELS);
+        if (presentation == null || rels == null) {
+            return slidePartsByNumber(zip);
+        }
+
+        Map<String, String> targets = new HashMap<>();
+        try (InputStream in = zip.getInputStream(rels)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(reader.getLocalName())) {
+                        targets.put(reader.getAttributeValue(null, "Id"), reader.getAttributeValue(null, "Target"));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        List<String> slideParts = new ArrayList<>();
+        try (InputStream in = zip.getInputStream(presentation)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "sldId".equals(reader.getLocalName())) {
+                        String target = targets.get(reader.getAttributeValue(RELATIONSHIP_NS, "id"));
+                        if (target != null) {
+                            slideParts.add(resolvePptPart(target));
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return slideParts.isEmpty() ? slidePartsByNumber(zip) : slideParts;
+    }
+
+    // presentation.xml 기준 상대 경로 ("slides/slide1.xml", "/ppt/slides/slide1.xml")
+    private static String resolvePptPart(String target) {
+        if (target.startsWith("/")) {
+            return target.substring(1);
+        }
+        return "ppt/" + target;
+    }
+
+    private static List<String> slidePartsByNumber(ZipFile zip) {
+        List<String> slideParts = new ArrayList<>();
+        zip.stream()
+            .map(ZipEntry::getName)
+            .filter(name -> name.matches("ppt/slides/slide\\d+\\.xml"))
+            .forEach(slideParts::add);
+        slideParts.sort((a, b) -> Integer.compare(slideNumber(a), slideNumber(b)));
+        return slideParts;
+    }
+
+    private static int slideNumber(String partName) {
+        return Integer.parseInt(partName.substring("ppt/slides/slide".length(), partName.length() - ".xml".length()));
+    }
+
+    /**
+     * 일반 텍스트: UTF-8 로 버퍼 단위 읽기 (잘못된 바이트는 대체 문자)
+     */
+    private void extractPlainText(Path file, TextSink sink) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE))) {
+            char[] buffer = new char[READ_BUFFER_SIZE];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sink.append(buffer, read);
+            }
+        }
+    }
+
+    /**
+     * 글자 수 한도가 있는 결과 버퍼 (한도에 닿으면 추출 중단)
+     */
+    private static final class TextSink {
+
+        private final StringBuilder text = new StringBuilder();
+        private final int maxChars;
+        private boolean truncated;
+
+        private TextSink(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        private void append(CharSequence value) throws LimitReachedException {
+            int room = maxChars - text.length();
+            if (value.length() > room) {
+                text.append(value, 0, room);
+                truncated = true;
+                throw new LimitReachedException();
+            }
+            text.append(value);
+        }
+
+        private void append(char[] value, int length) throws LimitReachedException {
+            append(CharBuffer.wrap(value, 0, length));
+        }
+
+        private void append(char value) throws LimitReachedException {
+            if (text.length() >= maxChars) {
+                truncated = true;
+                throw new LimitReachedException();
+            }
+            text.append(value);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    /**
+     * 글자 수 한도 도달 (오류가 아니라 추출 종료 신호)
+     */
+    private static final class LimitReachedException extends IOException {
+        private LimitReachedException() {
+            super(null, null);
+        }
+    }
+}
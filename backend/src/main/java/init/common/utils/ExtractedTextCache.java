@@ -0,0 +1,235 @@
+package init.common.utils;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 문서 추출 텍스트 캐시
+ * 파일 내용의 SHA-256 을 키로 하므로 다른 사용자가 같은 파일을 올려도, 같은 문서로 프롬프트를 반복 생성해도 다시 추출하지 않습니다.
+ * 메모리 LRU 계층과 gzip 디스크 계층(TieredTextCache)을 사용하며, 같은 파일의 동시 추출은 하나로 병합합니다.
+ * 텍스트는 그대로 저장해 조회 때 복사하지 않고, 페이지 수와 잘림 여부는 별도 메타 항목에 저장합니다.
+ * 추출 텍스트에서 만든 파생 텍스트(중복 문단을 제거한 프롬프트용 텍스트 등)는 메모리 계층에만 따로 보관합니다.
+ */
+@Component
+public class ExtractedTextCache {
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    // 캐시 값 형식 버전 (추출 방식이 바뀌면 올려서 이전 항목 무시)
+    private static final String FORMAT_VERSION = "v3";
+    private static final String META_SUFFIX = "-meta";
+
+    @Value("${document.text-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${document.text-cache.max-entries:200}")
+    private int maxEntries;
+
+    // 메모리 계층 글자 수 합계 한도 (이보다 긴 텍스트는 디스크 계층에만 저장)
+    @Value("${document.text-cache.max-memory-chars:20000000}")
+    private long maxMemoryChars;
+
+    @Value("${document.text-cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    // 디스크 계층 디렉토리 (빈 값이면 메모리 계층만 사용)
+    @Value("${document.text-cache.disk-dir:}")
+    private String diskDir;
+
+    // 디스크 계층 한도 (gzip 압축 후 바이트 수, 파일 수)
+    @Value("${document.text-cache.max-disk-bytes:268435456}")
+    private long maxDiskBytes;
+
+    @Value("${document.text-cache.max-disk-files:10000}")
+    private int maxDiskFiles;
+
+    // 잘린 텍스트가 다른 한도 설정으로 재사용되지 않도록 키에 포함
+    @Value("${document.extract.max-chars:2000000}")
+    private int maxChars;
+
+    @Value("${document.text-cache.extract-wait-timeout-ms:120000}")
+    private long extractWaitTimeoutMs;
+
+    private TieredTextCache textCache;
+
+    // 파일 경로/크기/수정 시각 → 내용 해시 (같은 파일을 매번 다시 읽지 않도록)
+    private LruTtlCache<String, String> hashCache;
+
+    // 추출 키 + 파생 종류 → 파생 텍스트
+    private LruTtlCache<String, String> derivedTexts;
+
+    private final SingleFlight<String, DocumentTextExtractor.Extraction> singleFlight = new SingleFlight<>();
+    private final SingleFlight<String, String> deriveFlight = new SingleFlight<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong derivations = new AtomicLong();
+
+    /**
+     * 파생 텍스트
+     *
+     * @param key 파일 내용 해시, 추출 설정, 파생 종류로 만든 키 (내용이 같으면 같은 키)
+     */
+    public record DerivedText(String key, String text) {
+    }
+
+    @PostConstruct
+    public void init() {
+        long ttlMillis = ttlMinutes * 60 * 1000;
+        // 문서 하나가 텍스트와 메타 두 항목을 차지
+        textCache = new TieredTextCache(maxEntries * 2, maxMemoryChars, ttlMillis, diskDir, maxDiskBytes, maxDiskFiles * 2);
+        hashCache = new LruTtlCache<>(Math.max(maxEntries * 4, 100), ttlMillis);
+        derivedTexts = new LruTtlCache<>(maxEntries, maxMemoryChars, String::length, ttlMillis);
+    }
+
+    /**
+     * 캐시된 추출 결과 조회, 없으면 extractor 로 추출 후 저장
+     */
+    public DocumentTextExtractor.Extraction getOrExtract(Path file, String extension,
+                                                         Callable<DocumentTextExtractor.Extraction> extractor) throws Exception {
+        if (!enabled) {
+            return extractor.call();
+        }
+
+        String key = extractionKey(file, extension);
+        DocumentTextExtractor.Extraction cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        return singleFlight.execute(key, () -> {
+            // 병합 대기 중 앞선 호출이 저장했을 수 있음
+            DocumentTextExtractor.Extraction stored = lookup(key);
+            if (stored != null) {
+                hits.incrementAndGet();
+                return stored;
+            }
+            misses.incrementAndGet();
+            DocumentTextExtractor.Extraction extraction = extractor.call();
+            textCache.put(key, extraction.text());
+            textCache.put(key + META_SUFFIX, extraction.pageCount() + " " + extraction.truncated());
+            return extraction;
+        }, extractWaitTimeoutMs);
+    }
+
+    /**
+     * 추출 텍스트에서 만든 파생 텍스트 조회, 없으면 추출(캐시 사용) 후 derive 로 만들어 저장
+     * 같은 문서로 프롬프트를 반복 생성해도 derive 는 문서마다 한 번만 실행됩니다.
+     *
+     * @param variant 파생 종류 (derive 가 바뀌면 다른 값 사용)
+     */
+    public DerivedText getOrDerive(Path file, String extension, String variant,
+                                   Callable<DocumentTextExtractor.Extraction> extractor,
+                                   UnaryOperator<String> derive) throws Exception {
+        String key = extractionKey(file, extension) + "-" + variant;
+        if (!enabled) {
+            derivations.incrementAndGet();
+            return new DerivedText(key, derive.apply(extractor.call().text()));
+        }
+
+        String cached = derivedTexts.get(key);
+        if (cached != null) {
+            return new DerivedText(key, cached);
+        }
+        String text = deriveFlight.execute(key, () -> {
+            String stored = derivedTexts.get(key);
+            if (stored != null) {
+                return stored;
+            }
+            derivations.incrementAndGet();
+            String derived = derive.apply(getOrExtract(file, extension, extractor).text());
+            derivedTexts.put(key, derived);
+            return derived;
+        }, extractWaitTimeoutMs);
+        return new DerivedText(key, text);
+    }
+
+    /**
+     * 파일 내용 SHA-256 (16진수)
+     */
+    public String contentHash(Path file) throws Exception {
+        try {
+            String fileKey = file.toAbsolutePath() + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis();
+            String hash = hashCache != null ? hashCache.get(fileKey) : null;
+            if (hash != null) {
+                return hash;
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            try (InputStream in = Files.newInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+            if (hashCache != null) {
+                hashCache.put(fileKey, hash);
+            }
+            return hash;
+
+        } catch (Exception e) {
+            throw new Exception("파일 해시 계산 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 캐시 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        if (textCache != null) {
+            stats.put("text", textCache.getStats());
+        }
+        stats.put("singleFlight", singleFlight.getStats());
+        stats.put("derivations", derivations.get());
+        if (derivedTexts != null) {
+            stats.put("derived", derivedTexts.getStats());
+        }
+        return stats;
+    }
+
+    // 잘린 텍스트가 다른 한도 설정으로 재사용되지 않도록 max-chars 포함
+    private String extractionKey(Path file, String extension) throws Exception {
+        return contentHash(file) + "-" + (extension == null ? "" : extension.toLowerCase()) + "-" + maxChars + "-" + FORMAT_VERSION;
+    }
+
+    // 메타 항목 "<페이지 수> <잘림 여부>" 와 텍스트 항목이 모두 있어야 적중
+    private DocumentTextExtractor.Extraction lookup(String key) {
+        String meta = textCache.get(key + META_SUFFIX);
+        if (meta == null) {
+            return null;
+        }
+        int separator = meta.indexOf(' ');
+        if (separator < 0) {
+            return null;
+        }
+        String text = textCache.get(key);
+        if (text == null) {
+            return null;
+        }
+        try {
+            int pageCount = Integer.parseInt(meta.substring(0, separator));
+            boolean truncated = Boolean.parseBoolean(meta.substring(separator + 1));
+            return new DocumentTextExtractor.Extraction(text, pageCount, truncated);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
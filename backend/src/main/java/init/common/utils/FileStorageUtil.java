@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -12,13 +13,13 @@ import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Component
 public class FileStorageUtil {
-	
-	//cursor
-	public byte[] loadFile(String fileId) { return new byte[0]; }
-	public String saveFile(MultipartFile file, String fileId) { return "저장경로"; }
+
+    // 업로드 문서 파일 ID (경로 조작 방지)
+    private static final Pattern FILE_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
 
     @Value("${file.upload.dir:/tmp/uploads}")
     private String uploadDir;
@@ -54,6 +55,72 @@ public class FileStorageUtil {
         }
     }
 
+    /**
+     * 업로드 문서 저장 (파일 ID + 원본 확장자)
+     * 요청 본문을 메모리에 올리지 않고 업로드 디렉토리로 바로 복사합니다.
+     */
+    public String saveFile(MultipartFile file, String fileId) throws Exception {
+        try {
+            if (file.getSize() > maxFileSize) {
+                throw new Exception("파일 크기가 제한을 초과했습니다. 최대 크기: " + (maxFileSize / 1024 / 1024) + "MB");
+            }
+            validateFileId(fileId);
+
+            Path uploadPath = Paths.get(uploadDir);
+            if (!Files.exists(uploadPath)) {
+                Files.createDirectories(uploadPath);
+            }
+
+            // 확장자는 파일 형식 판별에 쓰이므로 영문/숫자만 유지
+            String extension = getFileExtension(file.getOriginalFilename()).toLowerCase();
+            if (!extension.matches("[a-z0-9]{1,10}")) {
+                extension = "";
+            }
+            Path targetPath = uploadPath.resolve(extension.isEmpty() ? fileId : fileId + "." + extension);
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return targetPath.toString();
+
+        } catch (Exception e) {
+            throw new Exception("파일 저장 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 파일 ID 로 저장된 업로드 문서 경로 조회
+     */
+    public Path findFile(String fileId) throws Exception {
+        validateFileId(fileId);
+        Path uploadPath = Paths.get(uploadDir);
+        Path exact = uploadPath.resolve(fileId);
+        if (Files.isRegularFile(exact)) {
+            return exact;
+        }
+        if (Files.isDirectory(uploadPath)) {
+            try (DirectoryStream<Path> candidates = Files.newDirectoryStream(uploadPath, fileId + ".*")) {
+                for (Path candidate : candidates) {
+                    if (Files.isRegularFile(candidate)) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        throw new Exception("저장된 파일을 찾을 수 없습니다: " + fileId);
+    }
+
+    /**
+     * 파일 ID 로 저장된 업로드 문서 읽기 (바이트 배열)
+     * 큰 문서는 findFile 경로에서 스트림으로 읽는 편이 좋습니다.
+     */
+    public byte[] loadFile(String fileId) throws Exception {
+        try {
+            return Files.readAllBytes(findFile(fileId));
+        } catch (Exception e) {
+            throw new Exception("파일 읽기 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 업로드된 파일 저장
      */
@@ -163,6 +230,12 @@ public class FileStorageUtil {
         }
     }
 
+    private void validateFileId(String fileId) throws Exception {
+        if (fileId == null || !FILE_ID_PATTERN.matcher(fileId).matches()) {
+            throw new Exception("올바르지 않은 파일 ID입니다: " + fileId);
+        }
+    }
+
     /**
      * 파일명 생성
      */
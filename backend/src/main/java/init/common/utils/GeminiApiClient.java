@@ -1,15 +1,34 @@
 package init.common.utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import init.backendapi.dto.SlideOutline;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.List;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class GeminiApiClient {
@@ -22,20 +41,204 @@ public class GeminiApiClient {
     @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash-latest:generateContent}")
     private String apiUrl;
 
-    private final RestTemplate restTemplate;
+    @Value("${gemini.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${gemini.cache.max-entries:500}")
+    private int cacheMaxEntries;
+
+    @Value("${gemini.cache.ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    @Value("${gemini.cache.disk-dir:}")
+    private String cacheDiskDir;
+
+    @Value("${gemini.cache.disk-max-mb:256}")
+    private long cacheDiskMaxMb;
+
+    @Value("${gemini.cache.disk-max-files:10000}")
+    private int cacheDiskMaxFiles;
+
+    @Value("${gemini.single-flight.wait-timeout-ms:120000}")
+    private long singleFlightWaitTimeoutMs;
+
+    @Value("${gemini.rate-limit.requests-per-minute:60}")
+    private long requestsPerMinute;
+
+    @Value("${gemini.rate-limit.tokens-per-minute:1000000}")
+    private long tokensPerMinute;
+
+    @Value("${gemini.bulkhead.max-concurrent:10}")
+    private int maxConcurrentCalls;
+
+    @Value("${gemini.bulkhead.max-queue:100}")
+    private int maxQueuedCalls;
+
+    @Value("${gemini.bulkhead.queue-timeout-ms:30000}")
+    private long queueTimeoutMs;
+
+    @Value("${gemini.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${gemini.retry.base-backoff-ms:500}")
+    private long retryBaseBackoffMs;
+
+    @Value("${gemini.retry.max-backoff-ms:8000}")
+    private long retryMaxBackoffMs;
+
+    @Value("${gemini.retry.max-retry-after-ms:30000}")
+    private long retryMaxRetryAfterMs;
+
+    @Value("${gemini.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${gemini.hedge.min-delay-ms:2000}")
+    private long hedgeMinDelayMs;
+
+    @Value("${gemini.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${gemini.circuit-breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${gemini.circuit-breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${gemini.circuit-breaker.failure-rate-threshold:50}")
+    private double breakerFailureRateThreshold;
+
+    @Value("${gemini.circuit-breaker.open-duration-ms:30000}")
+    private long breakerOpenDurationMs;
+
+    // 슬라이드 생성 응답을 SlideOutline 배열 JSON 으로 요청 (끄면 텍스트 형식 + 텍스트 파서)
+    @Value("${gemini.structured-output.enabled:true}")
+    private boolean structuredOutputEnabled;
+
+    // 이 토큰 수(추정)를 넘는 문서는 청크 요약(map) 후 요약본으로 생성(reduce)
+    @Value("${gemini.document.direct-max-tokens:24000}")
+    private int documentDirectMaxTokens;
+
+    @Value("${gemini.document.chunk-max-tokens:6000}")
+    private int documentChunkMaxTokens;
+
+    // 문서 하나의 동시 청크 요약 호출 수
+    @Value("${gemini.document.map-concurrency:4}")
+    private int documentMapConcurrency;
+
+    // 요약본이 여전히 크면 요약본을 다시 요약하는 최대 단계 수
+    @Value("${gemini.document.max-summary-levels:3}")
+    private int documentMaxSummaryLevels;
+
+    // 프롬프트 구성 전 유사 중복 문단 제거 (SimHash 해밍 거리 기준, min-chars 보다 짧은 문단은 유지)
+    @Value("${gemini.document.dedup.enabled:true}")
+    private boolean documentDedupEnabled;
+
+    @Value("${gemini.document.dedup.max-distance:4}")
+    private int documentDedupMaxDistance;
+
+    @Value("${gemini.document.dedup.min-chars:40}")
+    private int documentDedupMinChars;
+
+    @Autowired
+    private GeminiHttpTransport httpTransport;
+
+    @Autowired
+    @Qualifier("virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
     private final ObjectMapper objectMapper;
+    private final GeminiCodec codec;
+    // 요청 키 계산용으로 미리 직렬화한 생성 설정
+    private final String generationConfigJson;
+    private final String slideListConfigJson;
+
+    // 프롬프트 + 생성 설정 해시를 키로 하는 응답 캐시 (비활성화 시 null)
+    private TieredTextCache responseCache;
+
+    private final DocumentChunker documentChunker = new DocumentChunker(new DocumentStructureAnalyzer());
+    private final AtomicLong documentsSummarized = new AtomicLong();
+    private final AtomicLong chunkSummaryCalls = new AtomicLong();
+    private final AtomicLong summaryBudgetCuts = new AtomicLong();
+    private final AtomicLong dedupDocuments = new AtomicLong();
+    private final AtomicLong dedupRemovedParagraphs = new AtomicLong();
+    private final AtomicLong dedupRemovedTokens = new AtomicLong();
+
+    // 동시에 들어온 동일 요청은 하나의 업스트림 호출을 공유
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    // 업스트림 호출 입장 제어 (동시 실행 수 + 분당 요청/토큰 한도)
+    private PriorityBulkhead bulkhead;
+    private TokenBucketRateLimiter rateLimiter;
+
+    // 재시도, hedging, 회로 차단
+    private ResilientCaller resilientCaller;
 
     public GeminiApiClient() {
-        this.restTemplate = new RestTemplate();
         this.objectMapper = new ObjectMapper();
+        this.codec = new GeminiCodec(objectMapper);
+        try {
+            this.generationConfigJson = codec.writeGenerationConfig(GeminiCodec.DEFAULT_GENERATION_CONFIG);
+            this.slideListConfigJson = codec.writeGenerationConfig(GeminiCodec.SLIDE_LIST_GENERATION_CONFIG);
+        } catch (Exception e) {
+            throw new IllegalStateException("Gemini 생성 설정 직렬화 실패", e);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        bulkhead = new PriorityBulkhead(maxConcurrentCalls, maxQueuedCalls);
+        rateLimiter = new TokenBucketRateLimiter(requestsPerMinute, tokensPerMinute);
+        resilientCaller = new ResilientCaller(
+            retryMaxAttempts, retryBaseBackoffMs, retryMaxBackoffMs, retryMaxRetryAfterMs,
+            hedgeEnabled, hedgeMinDelayMs, hedgeMinSamples,
+            new CircuitBreaker(breakerWindowSize, breakerMinimumCalls, breakerFailureRateThreshold, breakerOpenDurationMs)
+        );
+        if (cacheEnabled) {
+            responseCache = new TieredTextCache(cacheMaxEntries, cacheTtlMinutes * 60 * 1000, cacheDiskDir,
+                cacheDiskMaxMb * 1024 * 1024, cacheDiskMaxFiles);
+        }
+    }
+
+    /**
+     * 운영 튜닝용 클라이언트 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("responseCache", responseCache != null ? responseCache.getStats() : Map.of("enabled", false));
+        stats.put("singleFlight", singleFlight.getStats());
+        stats.put("bulkhead", bulkhead.getStats());
+        stats.put("rateLimiter", rateLimiter.getStats());
+        stats.put("resilience", resilientCaller.getStats());
+        stats.put("documentSummaries", Map.of(
+            "documentsSummarized", documentsSummarized.get(),
+            "chunkSummaryCalls", chunkSummaryCalls.get(),
+            "budgetCuts", summaryBudgetCuts.get()
+        ));
+        stats.put("documentDedup", Map.of(
+            "enabled", documentDedupEnabled,
+            "documents", dedupDocuments.get(),
+            "removedParagraphs", dedupRemovedParagraphs.get(),
+            "removedTokens", dedupRemovedTokens.get()
+        ));
+        return stats;
     }
 
     /**
      * 슬라이드 컨텐츠 생성
      */
     public String generateSlideContent(String topic, Integer slideCount, String description) throws Exception {
-        String prompt = buildSlideContentPrompt(topic, slideCount, description);
-        return callGeminiApi(prompt);
+        return generateSlideContent(topic, slideCount, description, false);
+    }
+
+    /**
+     * 슬라이드 컨텐츠 생성
+     *
+     * @param bypassCache 이전 응답에서 슬라이드를 하나도 읽지 못했을 때 캐시된 응답을 쓰지 않고 새로 요청
+     */
+    public String generateSlideContent(String topic, Integer slideCount, String description,
+                                       boolean bypassCache) throws Exception {
+        String prompt = buildSlideContentPrompt(topic, slideCount, description, structuredOutputEnabled);
+        return callGeminiApi(prompt, GeminiPriority.BULK, slideGenerationConfig(), bypassCache);
     }
 
     /**
@@ -43,7 +246,30 @@ public class GeminiApiClient {
      */
     public String generateSlideOutline(String topic, Integer slideCount, String description) throws Exception {
         String prompt = buildSlideOutlinePrompt(topic, slideCount, description);
-        return callGeminiApi(prompt);
+        return callGeminiApi(prompt, GeminiPriority.INTERACTIVE, slideGenerationConfig());
+    }
+
+    /**
+     * 단일 슬라이드 상세 생성 (아웃라인 기반 병렬 생성용)
+     *
+     * @param deckOutline  전체 덱 아웃라인 (슬라이드 간 흐름 유지용)
+     * @param strictFormat 이전 응답의 형식이 올바르지 않았을 때 형식 준수를 강조 (캐시된 응답을 쓰지 않고 새로 요청)
+     */
+    public String generateSingleSlide(String topic, String description, String deckOutline,
+                                      int slideNumber, String slideTitle, boolean strictFormat) throws Exception {
+        String prompt = buildSingleSlidePrompt(topic, description, deckOutline, slideNumber, slideTitle, strictFormat);
+        // 형식 오류 후 재시도는 같은 프롬프트의 이전(잘못된) 응답을 다시 받지 않도록 캐시를 건너뜀
+        return callGeminiApi(prompt, GeminiPriority.BULK, slideGenerationConfig(), strictFormat);
+    }
+
+    /**
+     * 기존 덱의 슬라이드 한 장 다시 생성 (앞뒤 슬라이드를 맥락으로 사용)
+     * 사용자가 결과를 기다리므로 대화형 우선순위로 호출합니다.
+     */
+    public String regenerateSlide(String topic, String description, List<SlideOutline> neighbours,
+                                  SlideOutline currentSlide, int slideNumber, String instructions) throws Exception {
+        String prompt = buildSlideRegenerationPrompt(topic, description, neighbours, currentSlide, slideNumber, instructions);
+        return callGeminiApi(prompt, GeminiPriority.INTERACTIVE, slideGenerationConfig());
     }
 
     /**
@@ -51,105 +277,461 @@ public class GeminiApiClient {
      */
     public String generateImprovedPrompt(String originalPrompt, String context) throws Exception {
         String prompt = buildPromptImprovementPrompt(originalPrompt, context);
-        return callGeminiApi(prompt);
+        return callGeminiApi(prompt, GeminiPriority.INTERACTIVE, GeminiCodec.DEFAULT_GENERATION_CONFIG);
     }
 
     /**
      * 문서 기반 프레젠테이션 생성
+     * 반복되는 상용구 문단을 먼저 제거하고, 긴 문서는 섹션 경계로 나눈 청크를 병렬 요약한 뒤(map) 요약본으로 한 번 생성합니다(reduce).
      */
     public String generateFromDocument(String documentContent, String topic, Integer slideCount) throws Exception {
-        String prompt = buildDocumentBasedPrompt(documentContent, topic, slideCount);
-        return callGeminiApi(prompt);
+        String content = removeDuplicateParagraphs(documentContent != null ? documentContent : "");
+        boolean summarized = TokenEstimator.estimate(content) > documentDirectMaxTokens;
+        if (summarized) {
+            content = summarizeDocument(content);
+        }
+        String prompt = buildDocumentBasedPrompt(content, topic, slideCount, summarized);
+        return callGeminiApi(prompt, GeminiPriority.BULK, slideGenerationConfig());
+    }
+
+    /**
+     * 슬라이드 컨텐츠 비동기 생성
+     */
+    public CompletableFuture<String> generateSlideContentAsync(String topic, Integer slideCount, String description) {
+        return runAsync(() -> generateSlideContent(topic, slideCount, description));
+    }
+
+    /**
+     * 슬라이드 아웃라인 비동기 생성
+     */
+    public CompletableFuture<String> generateSlideOutlineAsync(String topic, Integer slideCount, String description) {
+        return runAsync(() -> generateSlideOutline(topic, slideCount, description));
+    }
+
+    /**
+     * 프롬프트 개선 비동기 생성
+     */
+    public CompletableFuture<String> generateImprovedPromptAsync(String originalPrompt, String context) {
+        return runAsync(() -> generateImprovedPrompt(originalPrompt, context));
+    }
+
+    /**
+     * 문서 기반 프레젠테이션 비동기 생성
+     */
+    public CompletableFuture<String> generateFromDocumentAsync(String documentContent, String topic, Integer slideCount) {
+        return runAsync(() -> generateFromDocument(documentContent, topic, slideCount));
+    }
+
+    /**
+     * 슬라이드 컨텐츠 스트리밍 생성
+     * 생성되는 텍스트 조각을 도착하는 즉시 consumer에 전달합니다.
+     * 완성된 슬라이드부터 전달하기 위해 구조화 출력 설정과 관계없이 텍스트 형식으로 요청합니다.
+     */
+    public void streamSlideContent(String topic, Integer slideCount, String description,
+                                   Consumer<String> chunkConsumer) throws Exception {
+        String prompt = buildSlideContentPrompt(topic, slideCount, description, false);
+        streamGeminiApi(prompt, chunkConsumer);
+    }
+
+    /**
+     * 가상 스레드에서 호출 실행
+     * 반환된 future 를 취소하면 실행 중인 가상 스레드를 인터럽트하여 대기열 대기, 백오프, 업스트림 HTTP 요청까지 취소됩니다.
+     */
+    private CompletableFuture<String> runAsync(Callable<String> call) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Future<?> task = virtualThreadExecutor.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 유사 중복 문단 제거 (빈 줄로 나뉜 문단 기준)
+     */
+    public String removeDuplicateParagraphs(String content) {
+        return removeDuplicateParagraphs(content, false);
+    }
+
+    /**
+     * 유사 중복 문단 제거 (제거한 토큰 수는 통계에 누적)
+     * 문서 내용을 프롬프트에 넣는 곳에서 구간 선택이나 요약 전에 문서마다 한 번 호출합니다.
+     *
+     * @param lineParagraphs 줄 하나를 문단 하나로 봄 (DocumentTextExtractor.isLinePerParagraph)
+     */
+    public String removeDuplicateParagraphs(String content, boolean lineParagraphs) {
+        if (!documentDedupEnabled) {
+            return content;
+        }
+        ParagraphDeduplicator.Result result =
+            new ParagraphDeduplicator(documentDedupMaxDistance, documentDedupMinChars, lineParagraphs).deduplicate(content);
+        dedupDocuments.incrementAndGet();
+        dedupRemovedParagraphs.addAndGet(result.removedParagraphs());
+        dedupRemovedTokens.addAndGet(result.removedTokens());
+        return result.text();
+    }
+
+    /**
+     * 문서 요약 (map 단계, 요약본이 여전히 크면 요약본을 다시 나눠 요약)
+     * 요약본은 섹션마다 "# 제목" 으로 시작하므로 다음 단계도 같은 섹션 경계로 나뉩니다.
+     * 최대 단계까지 요약해도 direct-max-tokens 를 넘으면 섹션마다 분량에 비례한 몫만 남기고 잘라냅니다.
+     */
+    private String summarizeDocument(String content) throws Exception {
+        documentsSummarized.incrementAndGet();
+        String current = content;
+        List<String> headings = List.of();
+        List<String> summaries = List.of();
+        int levels = Math.max(1, documentMaxSummaryLevels);
+        for (int level = 0; level < levels; level++) {
+            List<DocumentChunker.Chunk> chunks = documentChunker.split(current, documentChunkMaxTokens);
+            summaries = summarizeChunks(current, chunks);
+            headings = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                String heading = chunks.get(i).heading();
+                headings.add(heading.isEmpty() ? "부분 " + (i + 1) : heading);
+            }
+            current = joinSummaries(headings, summaries);
+            if (TokenEstimator.estimate(current) <= documentDirectMaxTokens) {
+                return current;
+            }
+        }
+        summaryBudgetCuts.incrementAndGet();
+        return fitSummariesToBudget(headings, summaries, documentDirectMaxTokens);
+    }
+
+    private static String joinSummaries(List<String> headings, List<String> summaries) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < headings.size(); i++) {
+            joined.append("# ").append(headings.get(i)).append('\n')
+                .append(summaries.get(i).trim()).append("\n\n");
+        }
+        return joined.toString();
+    }
+
+    /**
+     * 섹션 요약들을 budget(추정 토큰) 안으로 축소
+     * 제목 몫을 먼저 빼고 남은 예산을 요약 분량에 비례해 나눠, 뒤쪽 섹션도 빠지지 않게 합니다.
+     */
+    private static String fitSummariesToBudget(List<String> headings, List<String> summaries, int budget) {
+        int headingTokens = 0;
+        long summaryTokens = 0;
+        int[] tokens = new int[summaries.size()];
+        for (int i = 0; i < summaries.size(); i++) {
+            headingTokens += TokenEstimator.estimate(headings.get(i)) + 1;
+            tokens[i] = TokenEstimator.estimate(summaries.get(i));
+            summaryTokens += tokens[i];
+        }
+        int remaining = Math.max(0, budget - headingTokens);
+
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < summaries.size(); i++) {
+            int share = summaryTokens == 0 ? 0 : (int) (remaining * tokens[i] / summaryTokens);
+            String summary = summaries.get(i).trim();
+            String kept = tokens[i] <= share ? summary : cutToTokens(summary, share);
+            if (kept.isEmpty()) {
+                continue;
+            }
+            joined.append("# ").append(headings.get(i)).append('\n').append(kept).append("\n\n");
+        }
+        return joined.toString();
+    }
+
+    /**
+     * 앞에서부터 maxTokens(추정) 이하가 되는 지점에서 자름 (가능하면 공백 경계)
+     */
+    private static String cutToTokens(String text, int maxTokens) {
+        int asciiCount = 0;
+        int otherCount = 0;
+        int end = 0;
+        int lastSpace = -1;
+        for (; end < text.length(); end++) {
+            char c = text.charAt(end);
+            if (Character.isWhitespace(c)) {
+                lastSpace = end;
+                continue;
+            }
+            if (c < 0x80) {
+                asciiCount++;
+            } else {
+                otherCount++;
+            }
+            // TokenEstimator.estimate 와 같은 계산
+            if (Math.ceil(asciiCount / 4.0 + otherCount / 1.5) > maxTokens) {
+                break;
+            }
+        }
+        if (end < text.length() && lastSpace > 0) {
+            end = lastSpace;
+        }
+        return text.substring(0, end).trim();
+    }
+
+    /**
+     * 청크 병렬 요약 (동시 호출 수 제한, 결과는 청크 순서)
+     */
+    private List<String> summarizeChunks(String source, List<DocumentChunker.Chunk> chunks) throws Exception {
+        Semaphore permits = new Semaphore(Math.max(1, documentMapConcurrency));
+        List<Future<String>> futures = new ArrayList<>(chunks.size());
+        for (DocumentChunker.Chunk chunk : chunks) {
+            futures.add(virtualThreadExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    return summarizeChunk(chunk.heading(), chunk.text(source));
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<String> summaries = new ArrayList<>(chunks.size());
+        try {
+            for (Future<String> future : futures) {
+                summaries.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new Exception("문서 청크 요약 실패: " + cause.getMessage(), cause);
+        }
+        return summaries;
+    }
+
+    /**
+     * 청크 하나 요약
+     * 요약 프롬프트는 슬라이드 수/주제와 무관하므로 응답 캐시로 문서 간에도 재사용됩니다.
+     */
+    private String summarizeChunk(String heading, String chunkText) throws Exception {
+        chunkSummaryCalls.incrementAndGet();
+        return callGeminiApi(buildChunkSummaryPrompt(heading, chunkText), GeminiPriority.BULK,
+            GeminiCodec.DEFAULT_GENERATION_CONFIG);
+    }
+
+    /**
+     * 슬라이드를 생성하는 요청의 생성 설정
+     */
+    private GeminiCodec.GenerationConfig slideGenerationConfig() {
+        return structuredOutputEnabled ? GeminiCodec.SLIDE_LIST_GENERATION_CONFIG : GeminiCodec.DEFAULT_GENERATION_CONFIG;
+    }
+
+    /**
+     * Gemini API 호출
+     */
+    private String callGeminiApi(String prompt, GeminiPriority priority,
+                                 GeminiCodec.GenerationConfig generationConfig) throws Exception {
+        return callGeminiApi(prompt, priority, generationConfig, false);
     }
 
     /**
      * Gemini API 호출
+     *
+     * @param bypassCache 캐시된 응답을 쓰지 않고 새로 요청 (새 응답으로 캐시를 덮어씀)
      */
-    private String callGeminiApi(String prompt) throws Exception {
+    private String callGeminiApi(String prompt, GeminiPriority priority,
+                                 GeminiCodec.GenerationConfig generationConfig, boolean bypassCache) throws Exception {
         try {
-            // 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + apiKey);
-
-            // 요청 바디 생성
-            Map<String, Object> requestBody = new HashMap<>();
-            
-            // contents 배열 생성
-            List<Map<String, Object>> contents = new ArrayList<>();
-            Map<String, Object> content = new HashMap<>();
-            
-            List<Map<String, Object>> parts = new ArrayList<>();
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", prompt);
-            parts.add(part);
-            
-            content.put("parts", parts);
-            contents.add(content);
-            requestBody.put("contents", contents);
-
-            // 생성 설정
-            Map<String, Object> generationConfig = new HashMap<>();
-            generationConfig.put("temperature", 0.7);
-            generationConfig.put("topK", 40);
-            generationConfig.put("topP", 0.95);
-            generationConfig.put("maxOutputTokens", 8192);
-            requestBody.put("generationConfig", generationConfig);
-
-            // 안전 설정
-            List<Map<String, Object>> safetySettings = new ArrayList<>();
-            requestBody.put("safetySettings", safetySettings);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiUrl + "?key=" + apiKey,
-                HttpMethod.POST,
-                entity,
-                String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                return extractContentFromResponse(response.getBody());
-            } else {
-                throw new Exception("Gemini API 호출 실패: " + response.getStatusCode());
+            String requestBody = codec.writeRequest(prompt, generationConfig);
+            String requestKey = buildRequestKey(prompt, generationConfig);
+
+            // 동일한 프롬프트/생성 설정이면 캐시된 응답 사용
+            if (responseCache != null && !bypassCache) {
+                String cached = responseCache.get(requestKey);
+                if (cached != null) {
+                    return cached;
+                }
             }
 
+            // 같은 요청이 이미 진행 중이면 그 결과를 함께 사용
+            return singleFlight.execute(requestKey, () -> {
+                String content = requestGemini(prompt, priority, requestBody);
+                if (responseCache != null) {
+                    responseCache.put(requestKey, content);
+                }
+                return content;
+            }, singleFlightWaitTimeoutMs);
+
         } catch (Exception e) {
             throw new Exception("Gemini API 호출 중 오류 발생: " + e.getMessage(), e);
         }
     }
 
     /**
-     * 응답에서 컨텐츠 추출
+     * Gemini API 요청 (재시도/hedging/회로 차단 적용)
+     */
+    private String requestGemini(String prompt, GeminiPriority priority, String requestBody) throws Exception {
+        String url = apiUrl + "?key=" + apiKey;
+        return resilientCaller.execute(hedge -> sendWithAdmission(prompt, priority, hedge, url, requestBody));
+    }
+
+    /**
+     * 입장 제어를 통과한 뒤 비동기 전송 (응답 완료 시 bulkhead 허가 반환)
+     * hedged 요청은 대기하지 않고 즉시 입장 가능한 경우에만 전송합니다.
+     */
+    private CompletableFuture<String> sendWithAdmission(String prompt, GeminiPriority priority, boolean hedge,
+                                                        String url, String json) throws Exception {
+        long deadlineNanos = System.nanoTime() + (hedge ? 0 : TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs));
+
+        bulkhead.acquire(priority, deadlineNanos);
+        CompletableFuture<String> content;
+        try {
+            rateLimiter.acquire(TokenEstimator.estimate(prompt), deadlineNanos);
+            content = httpTransport.postAsync(url, json, this::handleResponse);
+        } catch (Exception e) {
+            bulkhead.release();
+            throw e;
+        }
+        // 본문 처리까지 끝나야 허가 반환 (취소되면 전송 계층이 요청도 취소)
+        content.whenComplete((result, error) -> bulkhead.release());
+        return content;
+    }
+
+    /**
+     * 응답 상태 확인 후 본문 스트림에서 컨텐츠 추출
+     */
+    private String handleResponse(HttpResponse<InputStream> response) throws Exception {
+        if (response.statusCode() == 200) {
+            return extractContentFromResponse(response.body());
+        }
+        throw new GeminiApiException(
+            response.statusCode(),
+            parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null)),
+            "Gemini API 호출 실패: " + response.statusCode()
+        );
+    }
+
+    /**
+     * Retry-After 헤더 해석 (초 단위 또는 HTTP 날짜, 없으면 -1)
+     */
+    private long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(retryAfter.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime retryAt = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, retryAt.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Gemini 스트리밍 API 호출 (streamGenerateContent, server-sent events)
      */
-    private String extractContentFromResponse(String responseBody) throws Exception {
+    private void streamGeminiApi(String prompt, Consumer<String> chunkConsumer) throws Exception {
+        String streamUrl = apiUrl.replace(":generateContent", ":streamGenerateContent");
+        String requestBody = codec.writeRequest(prompt, GeminiCodec.DEFAULT_GENERATION_CONFIG);
+
+        // 캐시 적중 시 전체 응답을 한 번에 전달
+        String requestKey = buildRequestKey(prompt, GeminiCodec.DEFAULT_GENERATION_CONFIG);
+        if (responseCache != null) {
+            String cached = responseCache.get(requestKey);
+            if (cached != null) {
+                chunkConsumer.accept(cached);
+                return;
+            }
+        }
+
+        StringBuilder fullText = new StringBuilder();
         try {
-            Map<String, Object> response = objectMapper.readValue(responseBody, Map.class);
-            
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> candidate = candidates.get(0);
-                Map<String, Object> content = (Map<String, Object>) candidate.get("content");
-                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                
-                if (parts != null && !parts.isEmpty()) {
-                    return (String) parts.get(0).get("text");
+            withAdmission(prompt, GeminiPriority.STANDARD, () -> {
+                try (Stream<String> lines = httpTransport.postForLines(
+                        streamUrl + "?alt=sse&key=" + apiKey,
+                        requestBody)) {
+
+                    Iterator<String> iterator = lines.iterator();
+                    while (iterator.hasNext()) {
+                        String line = iterator.next();
+                        // SSE 이벤트 중 data 라인만 처리
+                        if (!line.startsWith("data:")) {
+                            continue;
+                        }
+                        String text = extractChunkText(line.substring(5).trim());
+                        if (!text.isEmpty()) {
+                            fullText.append(text);
+                            chunkConsumer.accept(text);
+                        }
+                    }
                 }
+                return null;
+            });
+
+            if (responseCache != null && fullText.length() > 0) {
+                responseCache.put(requestKey, fullText.toString());
+            }
+
+        } catch (Exception e) {
+            throw new Exception("Gemini 스트리밍 API 호출 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 우선순위 대기열(bulkhead)과 분당 요청/토큰 한도를 통과한 뒤 업스트림 호출
+     * 두 단계의 대기 시간을 합쳐 queue-timeout 을 넘지 않도록 같은 마감 시각을 사용합니다.
+     */
+    private <T> T withAdmission(String prompt, GeminiPriority priority, Callable<T> call) throws Exception {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+
+        bulkhead.acquire(priority, deadlineNanos);
+        try {
+            rateLimiter.acquire(TokenEstimator.estimate(prompt), deadlineNanos);
+            return call.call();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 요청 키 생성 (API URL + 최종 프롬프트 + generationConfig 의 SHA-256)
+     * 응답 캐시와 동일 요청 병합의 키로 사용됩니다.
+     * 모델 이름은 URL 경로(models/{model}:generateContent)에 들어 있으므로 모델이나 엔드포인트를 바꾸면 디스크 캐시도 새 키를 씁니다.
+     */
+    private String buildRequestKey(String prompt, GeminiCodec.GenerationConfig generationConfig) {
+        String configJson = generationConfig == GeminiCodec.SLIDE_LIST_GENERATION_CONFIG ? slideListConfigJson : generationConfigJson;
+        return HashUtil.sha256Hex(apiUrl, prompt, configJson);
+    }
+
+    /**
+     * 응답에서 컨텐츠 추출
+     */
+    private String extractContentFromResponse(InputStream responseBody) throws Exception {
+        try {
+            String text = codec.readFirstText(responseBody);
+            if (text == null) {
+                throw new Exception("응답에서 컨텐츠를 찾을 수 없습니다.");
             }
-            
-            throw new Exception("응답에서 컨텐츠를 찾을 수 없습니다.");
-            
+            return text;
+
         } catch (Exception e) {
             throw new Exception("응답 파싱 중 오류 발생: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 스트리밍 응답 조각에서 텍스트 추출 (텍스트가 없는 조각은 빈 문자열)
+     */
+    private String extractChunkText(String chunkJson) throws Exception {
+        String text = codec.readFirstText(chunkJson);
+        return text != null ? text : "";
+    }
+
     /**
      * 슬라이드 컨텐츠 생성 프롬프트 구성
      */
-    private String buildSlideContentPrompt(String topic, Integer slideCount, String description) {
+    private String buildSlideContentPrompt(String topic, Integer slideCount, String description, boolean structured) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("다음 조건에 맞는 프레젠테이션을 생성해주세요:\n\n");
         prompt.append("주제: ").append(topic).append("\n");
@@ -159,15 +741,10 @@ public class GeminiApiClient {
             prompt.append("설명: ").append(description).append("\n");
         }
         
-        prompt.append("\n각 슬라이드는 다음 형식으로 생성해주세요:\n");
-        prompt.append("===== 슬라이드 [번호] =====\n");
-        prompt.append("제목: [슬라이드 제목]\n");
-        prompt.append("내용:\n");
-        prompt.append("- [주요 포인트 1]\n");
-        prompt.append("- [주요 포인트 2]\n");
-        prompt.append("- [주요 포인트 3]\n");
-        prompt.append("노트: [발표자 노트]\n\n");
-        
+        prompt.append("\n각 슬라이드는 ");
+        appendSlideFormat(prompt, "[번호]", true, structured);
+        prompt.append("\n");
+
         prompt.append("전체적으로 논리적이고 체계적인 구성으로 만들어주세요.");
         
         return prompt.toString();
@@ -186,14 +763,110 @@ public class GeminiApiClient {
             prompt.append("설명: ").append(description).append("\n");
         }
         
-        prompt.append("\n각 슬라이드의 제목과 주요 내용만 간단히 나열해주세요:\n");
-        prompt.append("1. [슬라이드 1 제목] - [간단한 설명]\n");
-        prompt.append("2. [슬라이드 2 제목] - [간단한 설명]\n");
-        prompt.append("...\n");
+        if (structuredOutputEnabled) {
+            prompt.append("\n슬라이드마다 배열 원소 하나로, title 에 제목, content 에 한 줄 설명만 작성하고 bulletPoints 는 빈 배열로 두세요.\n");
+        } else {
+            prompt.append("\n각 슬라이드의 제목과 주요 내용만 간단히 나열해주세요:\n");
+            prompt.append("1. [슬라이드 1 제목] - [간단한 설명]\n");
+            prompt.append("2. [슬라이드 2 제목] - [간단한 설명]\n");
+            prompt.append("...\n");
+        }
         
         return prompt.toString();
     }
 
+    /**
+     * 단일 슬라이드 상세 프롬프트 구성
+     */
+    private String buildSingleSlidePrompt(String topic, String description, String deckOutline,
+                                          int slideNumber, String slideTitle, boolean strictFormat) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("다음 프레젠테이션의 슬라이드 한 장을 상세하게 작성해주세요:\n\n");
+        prompt.append("주제: ").append(topic).append("\n");
+
+        if (description != null && !description.trim().isEmpty()) {
+            prompt.append("설명: ").append(description).append("\n");
+        }
+
+        prompt.append("\n전체 아웃라인:\n").append(deckOutline).append("\n");
+        prompt.append("작성할 슬라이드: ").append(slideNumber).append("번 - ").append(slideTitle).append("\n\n");
+
+        prompt.append("다른 슬라이드와 내용이 겹치지 않도록 이 슬라이드만 ");
+        appendSlideFormat(prompt, String.valueOf(slideNumber), true, structuredOutputEnabled);
+
+        if (strictFormat) {
+            prompt.append(structuredOutputEnabled
+                ? "\n반드시 슬라이드 하나만 담은 JSON 배열로 응답하고 다른 설명은 덧붙이지 마세요."
+                : "\n반드시 위 형식의 머리글과 '제목:', '내용:' 항목을 그대로 사용하고 다른 설명은 덧붙이지 마세요.");
+        }
+
+        return prompt.toString();
+    }
+
+    /**
+     * 슬라이드 재생성 프롬프트 구성
+     */
+    private String buildSlideRegenerationPrompt(String topic, String description, List<SlideOutline> neighbours,
+                                                SlideOutline currentSlide, int slideNumber, String instructions) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("다음 프레젠테이션의 슬라이드 한 장을 새로 작성해주세요:\n\n");
+        prompt.append("주제: ").append(topic).append("\n");
+
+        if (description != null && !description.trim().isEmpty()) {
+            prompt.append("설명: ").append(description).append("\n");
+        }
+
+        prompt.append("\n앞뒤 슬라이드:\n");
+        for (SlideOutline neighbour : neighbours) {
+            prompt.append(neighbour.getSlideNumber()).append(". ").append(neighbour.getTitle());
+            if (neighbour.getContent() != null && !neighbour.getContent().isEmpty()) {
+                prompt.append(" - ").append(neighbour.getContent().replaceAll("\\s+", " "));
+            }
+            prompt.append("\n");
+        }
+
+        prompt.append("\n기존 ").append(slideNumber).append("번 슬라이드 (마음에 들지 않아 다시 작성):\n");
+        prompt.append("제목: ").append(currentSlide.getTitle()).append("\n");
+        if (currentSlide.getContent() != null) {
+            prompt.append("내용:\n").append(currentSlide.getContent()).append("\n");
+        }
+
+        if (instructions != null && !instructions.trim().isEmpty()) {
+            prompt.append("\n수정 요청: ").append(instructions).append("\n");
+        }
+
+        prompt.append("\n앞뒤 슬라이드와 흐름이 이어지고 내용이 겹치지 않도록 이 슬라이드만 ");
+        appendSlideFormat(prompt, String.valueOf(slideNumber), true, structuredOutputEnabled);
+
+        return prompt.toString();
+    }
+
+    /**
+     * 슬라이드 작성 형식 안내
+     * 구조화 출력이면 형식은 응답 스키마가 강제하므로 필드에 담을 내용만 안내합니다.
+     */
+    private void appendSlideFormat(StringBuilder prompt, String slideHeader, boolean withNotes, boolean structured) {
+        if (structured) {
+            prompt.append("JSON 배열의 원소 하나로 작성해주세요:\n");
+            prompt.append("- title: 슬라이드 제목\n");
+            prompt.append("- bulletPoints: 주요 포인트 3개 이상\n");
+            if (withNotes) {
+                prompt.append("- notes: 발표자 노트\n");
+            }
+            return;
+        }
+        prompt.append("다음 형식으로 생성해주세요:\n");
+        prompt.append("===== 슬라이드 ").append(slideHeader).append(" =====\n");
+        prompt.append("제목: [슬라이드 제목]\n");
+        prompt.append("내용:\n");
+        prompt.append("- [주요 포인트 1]\n");
+        prompt.append("- [주요 포인트 2]\n");
+        prompt.append("- [주요 포인트 3]\n");
+        if (withNotes) {
+            prompt.append("노트: [발표자 노트]\n");
+        }
+    }
+
     /**
      * 프롬프트 개선 프롬프트 구성
      */
@@ -211,25 +884,45 @@ public class GeminiApiClient {
         return prompt.toString();
     }
 
+    /**
+     * 청크 요약 프롬프트 구성 (주제/슬라이드 수와 무관해야 요약을 재사용할 수 있음)
+     */
+    private String buildChunkSummaryPrompt(String heading, String chunkText) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("다음은 긴 문서의 일부입니다. 프레젠테이션 제작에 쓸 수 있도록 핵심 내용을 요약해주세요.\n\n");
+        if (heading != null && !heading.isEmpty()) {
+            prompt.append("섹션: ").append(heading).append("\n\n");
+        }
+        prompt.append("문서 일부:\n").append(chunkText).append("\n\n");
+        prompt.append("요약 조건:\n");
+        prompt.append("- 원문 분량의 1/5 이하\n");
+        prompt.append("- 수치, 고유명사, 결론은 그대로 유지\n");
+        prompt.append("- 원문에 없는 내용은 추가하지 않음\n");
+        prompt.append("- 요약문만 출력\n");
+        return prompt.toString();
+    }
+
     /**
      * 문서 기반 프레젠테이션 생성 프롬프트 구성
+     *
+     * @param summarized documentContent 가 섹션별 요약본인지
      */
-    private String buildDocumentBasedPrompt(String documentContent, String topic, Integer slideCount) {
+    private String buildDocumentBasedPrompt(String documentContent, String topic, Integer slideCount, boolean summarized) {
         StringBuilder prompt = new StringBuilder();
-        prompt.append("다음 문서 내용을 바탕으로 프레젠테이션을 생성해주세요:\n\n");
-        prompt.append("문서 내용:\n").append(documentContent).append("\n\n");
+        if (summarized) {
+            prompt.append("다음은 긴 문서를 섹션별로 요약한 내용입니다. 이를 바탕으로 프레젠테이션을 생성해주세요:\n\n");
+            prompt.append("문서 요약:\n").append(documentContent).append("\n\n");
+        } else {
+            prompt.append("다음 문서 내용을 바탕으로 프레젠테이션을 생성해주세요:\n\n");
+            prompt.append("문서 내용:\n").append(documentContent).append("\n\n");
+        }
         prompt.append("주제: ").append(topic).append("\n");
         prompt.append("슬라이드 개수: ").append(slideCount).append("개\n\n");
         
         prompt.append("문서의 핵심 내용을 바탕으로 논리적인 구성의 프레젠테이션을 만들어주세요.\n");
-        prompt.append("각 슬라이드는 다음 형식으로 생성해주세요:\n");
-        prompt.append("===== 슬라이드 [번호] =====\n");
-        prompt.append("제목: [슬라이드 제목]\n");
-        prompt.append("내용:\n");
-        prompt.append("- [주요 포인트 1]\n");
-        prompt.append("- [주요 포인트 2]\n");
-        prompt.append("- [주요 포인트 3]\n");
-        
+        prompt.append("각 슬라이드는 ");
+        appendSlideFormat(prompt, "[번호]", false, structuredOutputEnabled);
+
         return prompt.toString();
     }
 }
\ No newline at end of file
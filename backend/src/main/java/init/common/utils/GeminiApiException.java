@@ -0,0 +1,34 @@
+package init.common.utils;
+
+/**
+ * Gemini API 가 200 이외의 상태 코드로 응답했을 때의 예외
+ */
+public class GeminiApiException extends Exception {
+
+    private final int statusCode;
+    private final long retryAfterMillis;
+
+    public GeminiApiException(int statusCode, long retryAfterMillis, String message) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Retry-After 헤더 값 (없으면 -1)
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * 재시도로 회복될 수 있는 상태 코드인지 여부 (요청 시간 초과, 한도 초과, 서버 오류)
+     */
+    public boolean isRetryable() {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+}
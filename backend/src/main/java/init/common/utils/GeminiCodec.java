@@ -0,0 +1,192 @@
+package init.common.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gemini generateContent 요청/응답 코덱
+ * 요청은 미리 준비한 record DTO 와 재사용 ObjectWriter 로 직렬화하고,
+ * 응답은 JsonParser 로 스트리밍하며 첫 번째 텍스트 part 를 찾는 즉시 중단합니다.
+ * 구조화 출력 설정을 사용하면 응답 텍스트가 SlideOutline 배열 JSON 으로 고정됩니다.
+ */
+public class GeminiCodec {
+
+    public record Part(String text) {
+    }
+
+    public record Content(List<Part> parts) {
+    }
+
+    public record SafetySetting(String category, String threshold) {
+    }
+
+    /**
+     * 생성 설정 (responseMimeType/responseSchema 는 구조화 출력일 때만 직렬화)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record GenerationConfig(double temperature, int topK, double topP, int maxOutputTokens,
+                                   String responseMimeType, Schema responseSchema) {
+
+        public GenerationConfig(double temperature, int topK, double topP, int maxOutputTokens) {
+            this(temperature, topK, topP, maxOutputTokens, null, null);
+        }
+    }
+
+    /**
+     * 응답 스키마 (Gemini OpenAPI 스키마 부분집합)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Schema(String type, Map<String, Schema> properties, Schema items, List<String> required,
+                         @JsonProperty("enum") List<String> enumValues, List<String> propertyOrdering) {
+
+        static Schema of(String type) {
+            return new Schema(type, null, null, null, null, null);
+        }
+    }
+
+    public record GenerateRequest(List<Content> contents, GenerationConfig generationConfig,
+                                  List<SafetySetting> safetySettings) {
+    }
+
+    public static final GenerationConfig DEFAULT_GENERATION_CONFIG = new GenerationConfig(0.7, 40, 0.95, 8192);
+
+    // SlideOutline 배열 (필드 순서를 고정해 제목이 먼저 생성되도록 함)
+    public static final Schema SLIDE_LIST_SCHEMA = slideListSchema();
+
+    public static final GenerationConfig SLIDE_LIST_GENERATION_CONFIG = new GenerationConfig(
+        0.7, 40, 0.95, 8192, "application/json", SLIDE_LIST_SCHEMA);
+
+    private final ObjectWriter requestWriter;
+    private final ObjectWriter configWriter;
+    private final JsonFactory jsonFactory;
+
+    public GeminiCodec(ObjectMapper objectMapper) {
+        this.requestWriter = objectMapper.writerFor(GenerateRequest.class);
+        this.configWriter = objectMapper.writerFor(GenerationConfig.class);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * 요청 본문 직렬화
+     */
+    public String writeRequest(String prompt, GenerationConfig generationConfig) throws IOException {
+        GenerateRequest request = new GenerateRequest(
+            List.of(new Content(List.of(new Part(prompt)))),
+            generationConfig,
+            List.of()
+        );
+        return requestWriter.writeValueAsString(request);
+    }
+
+    /**
+     * 생성 설정 직렬화 (요청 키 계산용)
+     */
+    public String writeGenerationConfig(GenerationConfig generationConfig) throws IOException {
+        return configWriter.writeValueAsString(generationConfig);
+    }
+
+    /**
+     * candidates[0].content.parts 중 첫 번째 텍스트 (없으면 null)
+     * 텍스트를 찾으면 나머지 응답은 읽지 않습니다.
+     */
+    public String readFirstText(String responseBody) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(responseBody)) {
+            return readFirstText(parser);
+        }
+    }
+
+    /**
+     * 응답 본문 스트림에서 첫 번째 텍스트를 읽음 (본문 전체를 문자열로 모으지 않음)
+     * 스트림은 닫지 않으므로 호출자가 남은 본문을 비우고 닫아 커넥션을 재사용할 수 있습니다.
+     */
+    public String readFirstText(InputStream responseBody) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(responseBody)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return readFirstText(parser);
+        }
+    }
+
+    private String readFirstText(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("candidates".equals(field) && value == JsonToken.START_ARRAY) {
+                // 첫 번째 후보만 사용
+                return parser.nextToken() == JsonToken.START_OBJECT ? readCandidateText(parser) : null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private String readCandidateText(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("content".equals(field) && value == JsonToken.START_OBJECT) {
+                return readContentText(parser);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private String readContentText(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("parts".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    String text = readPartText(parser);
+                    if (text != null) {
+                        return text;
+                    }
+                }
+                return null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private String readPartText(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("text".equals(field) && value == JsonToken.VALUE_STRING) {
+                return parser.getText();
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static Schema slideListSchema() {
+        // 직렬화 결과가 요청 키에 들어가므로 순서가 고정된 맵 사용
+        Map<String, Schema> properties = new LinkedHashMap<>();
+        properties.put("title", Schema.of("STRING"));
+        properties.put("content", Schema.of("STRING"));
+        properties.put("bulletPoints", new Schema("ARRAY", null, Schema.of("STRING"), null, null, null));
+        properties.put("notes", Schema.of("STRING"));
+        properties.put("slideType", new Schema("STRING", null, null, null,
+            List.of("title", "agenda", "standard", "conclusion", "closing"), null));
+
+        Schema slide = new Schema("OBJECT", properties, null, List.of("title", "bulletPoints"), null,
+            List.copyOf(properties.keySet()));
+        return new Schema("ARRAY", null, slide, null, null, null);
+    }
+}
@@ -0,0 +1,149 @@
+package init.common.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Gemini API 전용 HTTP 전송 계층.
+ * 커넥션 풀과 keep-alive를 재사용하는 JDK HttpClient(HTTP/2 우선) 위에서 동작합니다.
+ * 클라이언트와 응답 처리 실행기는 이 전송 계층 전용이며, 동시 요청 수(=호스트당 사용 커넥션 수)는 GeminiApiClient 의 bulkhead 가 제한합니다.
+ * JDK 커넥션 풀 크기와 keep-alive 시간은 JVM 전역 설정이라 여기서 바꾸지 않으며, 필요하면 기동 옵션으로 지정합니다.
+ * (-Djdk.httpclient.connectionPoolSize, -Djdk.httpclient.keepalive.timeout, -Djdk.httpclient.keepalive.timeout.h2)
+ */
+@Component
+public class GeminiHttpTransport {
+
+    @Value("${gemini.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${gemini.http.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${gemini.http.total-timeout-ms:120000}")
+    private long totalTimeoutMs;
+
+    @Value("${gemini.http.version:HTTP_2}")
+    private String httpVersion;
+
+    private ExecutorService responseExecutor;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        // 응답 수신/완료 콜백은 공용 풀 대신 전용 가상 스레드 실행기에서 처리
+        this.responseExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.valueOf(httpVersion))
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(responseExecutor)
+            .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (httpClient != null) {
+            httpClient.shutdownNow();
+        }
+        if (responseExecutor != null) {
+            responseExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 응답 처리기 - 상태 코드와 헤더를 보고 본문 스트림(response.body())을 필요한 만큼 읽음
+     * 본문은 전송 계층이 남은 부분을 비우고 닫으므로 처리기가 닫지 않아도 됩니다.
+     */
+    @FunctionalInterface
+    public interface ResponseReader<T> {
+        T read(HttpResponse<InputStream> response) throws Exception;
+    }
+
+    /**
+     * JSON 본문을 비동기로 POST 하고 응답 본문을 스트림으로 처리 (본문 전체를 문자열로 모으지 않음)
+     * 전체 응답 타임아웃은 본문 처리까지 포함하며, 결과 future 가 실패하거나 취소되면 요청과 본문 스트림도 정리합니다.
+     */
+    public <T> CompletableFuture<T> postAsync(String url, String jsonBody, ResponseReader<T> reader) {
+        CompletableFuture<HttpResponse<InputStream>> response =
+            httpClient.sendAsync(buildRequest(url, jsonBody), HttpResponse.BodyHandlers.ofInputStream());
+
+        CompletableFuture<T> result = response.thenApply(httpResponse -> {
+            try (InputStream body = httpResponse.body()) {
+                T value = reader.read(httpResponse);
+                // 처리기가 읽지 않은 나머지를 비워야 HTTP/1.1 커넥션이 풀로 돌아감
+                body.transferTo(OutputStream.nullOutputStream());
+                return value;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }).orTimeout(totalTimeoutMs, TimeUnit.MILLISECONDS);
+
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                response.cancel(true);
+                response.thenAccept(httpResponse -> closeQuietly(httpResponse.body()));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * JSON 본문을 POST 하고 응답 본문을 줄 단위 스트림으로 반환 (server-sent events 용)
+     * 스트림은 호출자가 닫아야 하며, 전체 타임아웃 대신 읽기 타임아웃만 적용됩니다.
+     */
+    public Stream<String> postForLines(String url, String jsonBody) throws Exception {
+        HttpResponse<Stream<String>> response;
+        try {
+            response = httpClient.send(buildRequest(url, jsonBody), HttpResponse.BodyHandlers.ofLines());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Exception("Gemini API 스트리밍 요청이 중단되었습니다.", e);
+        }
+
+        if (response.statusCode() != 200) {
+            String errorBody;
+            try (Stream<String> body = response.body()) {
+                errorBody = body.collect(Collectors.joining("\n"));
+            }
+            throw new Exception("Gemini API 스트리밍 호출 실패: " + response.statusCode() + " " + errorBody);
+        }
+        return response.body();
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // 이미 끊긴 스트림
+        }
+    }
+
+    /**
+     * 요청 생성 (읽기 타임아웃은 응답 헤더 수신까지의 시간에 적용됨)
+     */
+    private HttpRequest buildRequest(String url, String jsonBody) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(readTimeoutMs))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+            .build();
+    }
+}
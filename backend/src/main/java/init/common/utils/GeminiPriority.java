@@ -0,0 +1,16 @@
+package init.common.utils;
+
+/**
+ * Gemini 호출 우선순위 (값이 작을수록 먼저 처리)
+ */
+public enum GeminiPriority {
+
+    // 사용자가 화면에서 기다리는 짧은 호출 (아웃라인, 프롬프트 개선)
+    INTERACTIVE,
+
+    // 스트리밍 등 일반 호출
+    STANDARD,
+
+    // 전체 슬라이드/문서 기반 대량 생성
+    BULK
+}
@@ -0,0 +1,38 @@
+package init.common.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 컨텐츠 주소 지정용 해시 유틸리티
+ */
+public final class HashUtil {
+
+    private HashUtil() {
+    }
+
+    /**
+     * 문자열들의 SHA-256 해시 (각 값은 구분자로 분리하여 연결)
+     */
+    public static String sha256Hex(String... values) {
+        MessageDigest digest = newSha256();
+        for (String value : values) {
+            digest.update((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * SHA-256 MessageDigest 생성
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package init.common.utils;
+
+import java.util.Arrays;
+
+/**
+ * 최근 호출 지연 시간 기록 (고정 크기 링 버퍼) 및 백분위 계산
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private int index;
+    private int count;
+
+    public LatencyTracker(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long latencyMillis) {
+        samples[index] = latencyMillis;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * 백분위 지연 시간 (기록이 없으면 -1)
+     *
+     * @param percentile 0.0 ~ 1.0
+     */
+    public synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(rank, count - 1))];
+    }
+}
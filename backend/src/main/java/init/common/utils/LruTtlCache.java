@@ -0,0 +1,167 @@
+package init.common.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * 크기 제한과 TTL을 함께 적용하는 메모리 LRU 캐시
+ * weigher 를 주면 항목 수와 함께 값 무게(예: 글자 수) 합계로도 제한합니다.
+ */
+public class LruTtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public LruTtlCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, Long.MAX_VALUE, value -> 0, ttlMillis);
+    }
+
+    /**
+     * @param maxWeight 값 무게 합계 한도 (한도보다 무거운 값 하나는 저장하지 않음)
+     * @param weigher 값 무게 계산 (저장할 때 한 번만 호출)
+     */
+    public LruTtlCache(int maxEntries, long maxWeight, ToLongFunction<? super V> weigher, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.ttlMillis = ttlMillis;
+        // accessOrder = true 로 가장 오래 사용되지 않은 항목부터 제거
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 조회 (만료된 항목은 제거 후 null 반환)
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            weight -= entry.weight;
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * 저장 (최대 크기나 무게 합계를 넘으면 가장 오래된 항목부터 제거)
+     */
+    public synchronized void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            // 캐시 전체를 비워도 들어가지 않는 값은 저장하지 않고, 같은 키의 이전 값도 버림
+            remove(key);
+            return;
+        }
+        Entry<V> previous = entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis, valueWeight));
+        weight += valueWeight - (previous != null ? previous.weight : 0);
+
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * 삭제
+     */
+    public synchronized V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        weight -= entry.weight;
+        return entry.value;
+    }
+
+    /**
+     * 만료된 항목 일괄 제거
+     */
+    public synchronized int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            if (entry.isExpired(now)) {
+                weight -= entry.weight;
+                iterator.remove();
+                purged++;
+            }
+        }
+        expirations.addAndGet(purged);
+        return purged;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * 저장된 값 무게 합계 (weigher 가 없으면 0)
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    /**
+     * 캐시 통계 (hit/miss/eviction 카운터)
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        return Map.of(
+            "size", size(),
+            "maxEntries", maxEntries,
+            "weight", weight(),
+            "maxWeight", maxWeight,
+            "hits", hitCount,
+            "misses", missCount,
+            "evictions", evictions.get(),
+            "expirations", expirations.get(),
+            "hitRate", total == 0 ? 0.0 : (double) hitCount / total
+        );
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private final long weight;
+
+        private Entry(V value, long expiresAt, long weight) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
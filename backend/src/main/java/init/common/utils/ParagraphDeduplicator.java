@@ -0,0 +1,228 @@
+package init.common.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SimHash 기반 유사 중복 문단 제거
+ * 빈 줄과 제목 줄(#)로 나눈 문단(줄 단위 모드에서는 줄)마다 64비트 SimHash 를 만들고, 앞에 나온 문단과 해밍 거리가 maxDistance 이하이면 뒤의 문단을 버립니다.
+ * 지문을 8비트 8개 구간으로 나눠 구간 값이 같은 문단만 비교하므로(거리 7 이하는 반드시 한 구간이 같음) 문서 길이에 선형입니다.
+ * 짧은 문단은 어휘만 비슷해도 SimHash 가 가까울 수 있어, 후보는 MinHash 로 추정한 색인어 자카드 유사도로 한 번 더 확인합니다.
+ */
+public class ParagraphDeduplicator {
+
+    private static final int BANDS = 8;
+    private static final int BAND_BITS = 64 / BANDS;
+    // 구간 버킷 하나에서 비교할 최대 문단 수 (같은 구간 값이 몰려도 선형 시간 유지)
+    private static final int MAX_BUCKET_SIZE = 128;
+    private static final int NGRAM = 2;
+    private static final int MIN_HASHES = 16;
+    // MinHash 16개 중 이 개수 이상 같아야 중복 (추정 자카드 유사도 0.8 이상)
+    private static final int MIN_MATCHING_HASHES = 13;
+
+    private final int maxDistance;
+    private final int minChars;
+    private final boolean lineParagraphs;
+
+    /**
+     * 제거 후 텍스트와 제거한 문단 수·토큰 수(추정)
+     */
+    public record Result(String text, int removedParagraphs, int removedTokens) {
+    }
+
+    /**
+     * 문단 지문 (SimHash, MinHash 서명)
+     */
+    record Fingerprint(long simHash, long[] minHash) {
+    }
+
+    /**
+     * @param maxDistance 중복으로 볼 최대 해밍 거리 (0 이면 지문이 같은 문단만, 7 이하여야 빠짐없이 찾음)
+     * @param minChars 이보다 짧은 문단(제목, 짧은 목록 등)은 그대로 둠
+     */
+    public ParagraphDeduplicator(int maxDistance, int minChars) {
+        this(maxDistance, minChars, false);
+    }
+
+    /**
+     * @param lineParagraphs 줄 하나를 문단 하나로 봄 (DOCX/PPTX/PDF 추출 텍스트처럼 문단 사이에 빈 줄이 없는 경우)
+     */
+    public ParagraphDeduplicator(int maxDistance, int minChars, boolean lineParagraphs) {
+        this.maxDistance = maxDistance;
+        this.minChars = minChars;
+        this.lineParagraphs = lineParagraphs;
+    }
+
+    public Result deduplicate(String text) {
+        if (text == null || text.isEmpty()) {
+            return new Result(text == null ? "" : text, 0, 0);
+        }
+
+        Map<Long, List<Fingerprint>> buckets = new HashMap<>();
+        StringBuilder kept = null;
+        int keptUntil = 0;
+        int removedParagraphs = 0;
+        int removedTokens = 0;
+
+        int length = text.length();
+        int position = skipBlankLines(text, 0);
+        while (position < length) {
+            // 문단: [start, end) 본문, [end, next) 뒤따르는 빈 줄
+            int start = position;
+            int end = lineParagraphs ? Math.min(length, lineEndOf(text, start) + 1) : paragraphEnd(text, start);
+            int next = skipBlankLines(text, end);
+            position = next;
+
+            if (end - start < minChars) {
+                continue;
+            }
+            Fingerprint fingerprint = fingerprint(text, start, end);
+            if (fingerprint == null || !isDuplicate(buckets, fingerprint)) {
+                if (fingerprint != null) {
+                    remember(buckets, fingerprint);
+                }
+                continue;
+            }
+
+            if (kept == null) {
+                kept = new StringBuilder(length);
+            }
+            kept.append(text, keptUntil, start);
+            keptUntil = next;
+            removedParagraphs++;
+            removedTokens += TokenEstimator.estimate(text, start, end);
+        }
+
+        if (kept == null) {
+            return new Result(text, 0, 0);
+        }
+        kept.append(text, keptUntil, length);
+        return new Result(kept.toString(), removedParagraphs, removedTokens);
+    }
+
+    /**
+     * 구간 [start, end) 의 64비트 SimHash 와 MinHash 서명 (색인어는 PassageIndex 와 같은 문자 n-gram/단어, 색인어가 없으면 null)
+     */
+    static Fingerprint fingerprint(CharSequence text, int start, int end) {
+        int[] weights = new int[64];
+        long[] minHash = new long[MIN_HASHES];
+        Arrays.fill(minHash, Long.MAX_VALUE);
+        int[] features = {0};
+        PassageIndex.tokenize(text, start, end, NGRAM, term -> {
+            long hash = mix(term.hashCode());
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += (hash >>> bit & 1) != 0 ? 1 : -1;
+            }
+            for (int i = 0; i < MIN_HASHES; i++) {
+                long value = mix(hash + i);
+                if (value < minHash[i]) {
+                    minHash[i] = value;
+                }
+            }
+            features[0]++;
+        });
+        if (features[0] == 0) {
+            return null;
+        }
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return new Fingerprint(simHash, minHash);
+    }
+
+    private boolean isDuplicate(Map<Long, List<Fingerprint>> buckets, Fingerprint fingerprint) {
+        for (int band = 0; band < BANDS; band++) {
+            List<Fingerprint> candidates = buckets.get(bandKey(band, fingerprint.simHash()));
+            if (candidates == null) {
+                continue;
+            }
+            for (Fingerprint candidate : candidates) {
+                if (Long.bitCount(candidate.simHash() ^ fingerprint.simHash()) <= maxDistance
+                    && matchingHashes(candidate.minHash(), fingerprint.minHash()) >= MIN_MATCHING_HASHES) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int matchingHashes(long[] a, long[] b) {
+        int matching = 0;
+        for (int i = 0; i < MIN_HASHES; i++) {
+            if (a[i] == b[i]) {
+                matching++;
+            }
+        }
+        return matching;
+    }
+
+    private static void remember(Map<Long, List<Fingerprint>> buckets, Fingerprint fingerprint) {
+        for (int band = 0; band < BANDS; band++) {
+            List<Fingerprint> bucket = buckets.computeIfAbsent(bandKey(band, fingerprint.simHash()), key -> new ArrayList<>(1));
+            if (bucket.size() < MAX_BUCKET_SIZE) {
+                bucket.add(fingerprint);
+            }
+        }
+    }
+
+    private static long bandKey(int band, long fingerprint) {
+        long value = fingerprint >>> (band * BAND_BITS) & ((1L << BAND_BITS) - 1);
+        return (long) band << BAND_BITS | value;
+    }
+
+    // 문자열 해시를 64비트로 확산 (SplitMix64 마무리 단계)
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // 다음 빈 줄(공백만 있는 줄 포함)이나 제목 줄 직전까지, 제목 줄은 한 줄이 한 문단
+    private static int paragraphEnd(String text, int start) {
+        if (text.charAt(start) == '#') {
+            return Math.min(text.length(), lineEndOf(text, start) + 1);
+        }
+        int lineStart = start;
+        while (lineStart < text.length()) {
+            int lineEnd = lineEndOf(text, lineStart);
+            if (lineStart > start && (text.charAt(lineStart) == '#' || isBlank(text, lineStart, lineEnd))) {
+                return lineStart;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return text.length();
+    }
+
+    private static int skipBlankLines(String text, int position) {
+        int current = position;
+        while (current < text.length()) {
+            int lineEnd = lineEndOf(text, current);
+            if (!isBlank(text, current, lineEnd)) {
+                return current;
+            }
+            current = Math.min(text.length(), lineEnd + 1);
+        }
+        return current;
+    }
+
+    private static int lineEndOf(String text, int position) {
+        int lineEnd = text.indexOf('\n', position);
+        return lineEnd < 0 ? text.length() : lineEnd;
+    }
+
+    private static boolean isBlank(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
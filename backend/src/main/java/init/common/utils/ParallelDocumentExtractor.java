@@ -0,0 +1,171 @@
+package init.common.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * 큰 문서 병렬 텍스트 추출
+ * PDF 는 원본을 한 번만 읽어 페이지 묶음 파일로 나눈 뒤, PPTX 는 슬라이드 구간으로 나눠 가상 스레드에서 추출하고 원래 순서대로 이어 붙입니다.
+ * 작은 파일, 나눌 수 없는 형식(DOCX, 텍스트), 단일 코어 환경은 호출 스레드에서 바로 추출합니다.
+ */
+@Component
+public class ParallelDocumentExtractor {
+
+    @Autowired
+    private DocumentTextExtractor documentTextExtractor;
+
+    @Autowired
+    @Qualifier("virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
+    // 이 크기 이상인 PDF/PPTX 는 페이지·슬라이드 구간으로 나눠 병렬 추출
+    @Value("${document.extract.parallel.min-bytes:2097152}")
+    private long parallelMinBytes;
+
+    // 작업 하나가 맡는 페이지·슬라이드 수
+    @Value("${document.extract.parallel.units-per-task:16}")
+    private int unitsPerTask;
+
+    // 문서 하나의 동시 추출 작업 수 (0 이면 CPU 코어 수, 추출은 CPU 위주 작업)
+    @Value("${document.extract.parallel.max-concurrency:0}")
+    private int parallelMaxConcurrency;
+
+    /**
+     * 단위 구간 [from, to)
+     */
+    record Range(int from, int to) {
+    }
+
+    /**
+     * 저장된 파일에서 텍스트 추출 (나누어 추출해도 결과는 DocumentTextExtractor.extract 와 같음)
+     */
+    public DocumentTextExtractor.Extraction extract(Path file, String extension) throws Exception {
+        int concurrency = parallelMaxConcurrency > 0 ? parallelMaxConcurrency : Runtime.getRuntime().availableProcessors();
+        if (concurrency <= 1 || Files.size(file) < parallelMinBytes) {
+            return documentTextExtractor.extract(file, extension);
+        }
+        String format = extension == null ? "" : extension.toLowerCase();
+        return switch (format) {
+            case "pdf" -> extractPdf(file, concurrency);
+            case "pptx" -> extractPptx(file, concurrency);
+            default -> documentTextExtractor.extract(file, extension);
+        };
+    }
+
+    /**
+     * units 개 단위를 perTask 개씩 나눈 구간 (마지막 구간은 짧을 수 있음)
+     */
+    static List<Range> planRanges(int units, int perTask) {
+        int size = Math.max(1, perTask);
+        List<Range> ranges = new ArrayList<>();
+        for (int from = 0; from < units; from += size) {
+            ranges.add(new Range(from, Math.min(units, from + size)));
+        }
+        return ranges;
+    }
+
+    /**
+     * 구간별 결과를 순서대로 이어 붙임 (maxChars 에 닿으면 자르고 남은 구간은 취소)
+     *
+     * @param units 전체 페이지·슬라이드 수
+     */
+    static DocumentTextExtractor.Extraction merge(List<? extends Future<DocumentTextExtractor.Extraction>> parts,
+                                                  int maxChars, int units) throws Exception {
+        StringBuilder text = new StringBuilder();
+        boolean truncated = false;
+        try {
+            for (Future<DocumentTextExtractor.Extraction> future : parts) {
+                DocumentTextExtractor.Extraction part = future.get();
+                int room = maxChars - text.length();
+                if (part.text().length() > room || part.truncated()) {
+                    text.append(part.text(), 0, Math.min(room, part.text().length()));
+                    truncated = true;
+                    break;
+                }
+                text.append(part.text());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new Exception("문서 병렬 추출 실패: " + cause.getMessage(), cause);
+        } finally {
+            // 한도 도달, 실패, 인터럽트 시 남은 구간은 필요 없음
+            parts.forEach(future -> future.cancel(true));
+        }
+        return new DocumentTextExtractor.Extraction(text.toString(), units, truncated);
+    }
+
+    /**
+     * PDF: 원본을 한 번 읽어 페이지 묶음 파일로 나눈 뒤 파일별로 추출 (구간마다 원본 전체를 다시 파싱하지 않음)
+     */
+    private DocumentTextExtractor.Extraction extractPdf(Path file, int concurrency) throws Exception {
+        Path splitDir = Files.createTempDirectory("pdf-split-");
+        try {
+            DocumentTextExtractor.PdfParts parts = documentTextExtractor.splitPdf(file, unitsPerTask, splitDir);
+            if (parts.files().size() <= 1) {
+                return documentTextExtractor.extract(file, "pdf");
+            }
+            List<Callable<DocumentTextExtractor.Extraction>> tasks = new ArrayList<>(parts.files().size());
+            for (Path part : parts.files()) {
+                tasks.add(() -> documentTextExtractor.extract(part, "pdf"));
+            }
+            return merge(submit(tasks, concurrency), documentTextExtractor.getMaxChars(), parts.pageCount());
+        } finally {
+            deleteRecursively(splitDir);
+        }
+    }
+
+    /**
+     * PPTX: 슬라이드 구간별 추출 (구간마다 필요한 슬라이드 파트만 읽음)
+     */
+    private DocumentTextExtractor.Extraction extractPptx(Path file, int concurrency) throws Exception {
+        int units = documentTextExtractor.countUnits(file, "pptx");
+        List<Range> ranges = planRanges(units, unitsPerTask);
+        if (ranges.size() <= 1) {
+            return documentTextExtractor.extract(file, "pptx");
+        }
+        List<Callable<DocumentTextExtractor.Extraction>> tasks = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            tasks.add(() -> documentTextExtractor.extractUnits(file, "pptx", range.from(), range.to()));
+        }
+        return merge(submit(tasks, concurrency), documentTextExtractor.getMaxChars(), units);
+    }
+
+    private List<Future<DocumentTextExtractor.Extraction>> submit(List<Callable<DocumentTextExtractor.Extraction>> tasks,
+                                                                  int concurrency) {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<DocumentTextExtractor.Extraction>> futures = new ArrayList<>(tasks.size());
+        for (Callable<DocumentTextExtractor.Extraction> task : tasks) {
+            futures.add(virtualThreadExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    return task.call();
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        return futures;
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception e) {
+            System.err.println("PDF 분할 임시 파일 삭제 오류: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package init.common.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 문서 하나의 구간(passage) 단위 BM25 역색인
+ * 한글·한자 등은 문자 n-gram, 영문·숫자는 소문자 단어를 색인어로 사용하므로 형태소 분석 없이 조사가 붙은 어절도 찾을 수 있습니다.
+ * 생성 후에는 변경하지 않으므로 여러 스레드에서 동시에 검색해도 됩니다.
+ */
+public final class PassageIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final List<DocumentChunker.Chunk> passages;
+    private final int ngram;
+    // 색인어 → [구간 번호, 출현 횟수, 구간 번호, 출현 횟수, ...] (구간 번호 오름차순)
+    private final Map<String, int[]> postings;
+    private final int[] lengths;
+    private final double averageLength;
+
+    /**
+     * 검색 결과 구간과 BM25 점수
+     */
+    public record Hit(DocumentChunker.Chunk passage, double score) {
+    }
+
+    private PassageIndex(List<DocumentChunker.Chunk> passages, int ngram, Map<String, int[]> postings, int[] lengths) {
+        this.passages = passages;
+        this.ngram = ngram;
+        this.postings = postings;
+        this.lengths = lengths;
+        long total = 0;
+        for (int length : lengths) {
+            total += length;
+        }
+        this.averageLength = lengths.length == 0 ? 0 : (double) total / lengths.length;
+    }
+
+    /**
+     * 원문과 구간 목록으로 색인 생성 (원문 한 번 순회)
+     */
+    public static PassageIndex build(String text, List<DocumentChunker.Chunk> passages, int ngram) {
+        int n = Math.max(1, ngram);
+        Map<String, IntList> builders = new HashMap<>();
+        int[] lengths = new int[passages.size()];
+        Map<String, int[]> counts = new HashMap<>();
+
+        for (int id = 0; id < passages.size(); id++) {
+            DocumentChunker.Chunk passage = passages.get(id);
+            counts.clear();
+            int[] length = {0};
+            tokenize(text, passage.start(), passage.end(), n, term -> {
+                counts.computeIfAbsent(term, key -> new int[1])[0]++;
+                length[0]++;
+            });
+            lengths[id] = length[0];
+            for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+                IntList list = builders.computeIfAbsent(entry.getKey(), key -> new IntList());
+                list.add(id);
+                list.add(entry.getValue()[0]);
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        for (Map.Entry<String, IntList> entry : builders.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return new PassageIndex(List.copyOf(passages), n, postings, lengths);
+    }
+
+    /**
+     * 질의어와 관련 높은 구간을 점수 순으로 최대 limit 개 반환 (일치하는 색인어가 없는 구간은 제외)
+     */
+    public List<Hit> search(String query, int limit) {
+        if (query == null || query.isBlank() || passages.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, 0, query.length(), ngram, terms::add);
+
+        double[] scores = new double[passages.size()];
+        boolean matched = false;
+        for (String term : terms) {
+            int[] posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            matched = true;
+            int documentFrequency = posting.length / 2;
+            double idf = Math.log(1 + (passages.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (int i = 0; i < posting.length; i += 2) {
+                int id = posting[i];
+                int frequency = posting[i + 1];
+                double norm = K1 * (1 - B + B * lengths[id] / averageLength);
+                scores[id] += idf * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+        if (!matched) {
+            return List.of();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int id = 0; id < scores.length; id++) {
+            if (scores[id] > 0) {
+                hits.add(new Hit(passages.get(id), scores[id]));
+            }
+        }
+        // 점수 내림차순, 같으면 문서 앞쪽 구간 우선
+        hits.sort((a, b) -> a.score() != b.score()
+            ? Double.compare(b.score(), a.score())
+            : Integer.compare(a.passage().start(), b.passage().start()));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    public List<DocumentChunker.Chunk> getPassages() {
+        return passages;
+    }
+
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    public long getPostingCount() {
+        long count = 0;
+        for (int[] posting : postings.values()) {
+            count += posting.length / 2;
+        }
+        return count;
+    }
+
+    /**
+     * 색인이 차지하는 대략적인 힙 크기 (원문 제외, 바이트)
+     */
+    public long estimatedBytes() {
+        long bytes = 16L * lengths.length + 4L * lengths.length;
+        for (Map.Entry<String, int[]> entry : postings.entrySet()) {
+            // HashMap 노드 + String(바이트 배열 포함) + int[] 헤더와 본문
+            bytes += 32 + 40 + 2L * entry.getKey().length() + 16 + 4L * entry.getValue().length;
+        }
+        return bytes;
+    }
+
+    /**
+     * 색인어 분리
+     * 글자·숫자가 이어진 구간을 문자 종류별로 나눠, 한글·한자·가나는 n-gram(구간이 n 보다 짧으면 구간 전체),
+     * 그 외는 소문자로 바꾼 단어 하나를 색인어로 냅니다.
+     */
+    public static void tokenize(CharSequence text, int start, int end, int ngram, Consumer<String> sink) {
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            boolean cjk = isCjk(c);
+            int runStart = i;
+            while (i < end && Character.isLetterOrDigit(text.charAt(i)) && isCjk(text.charAt(i)) == cjk) {
+                i++;
+            }
+            if (!cjk) {
+                sink.accept(text.subSequence(runStart, i).toString().toLowerCase());
+            } else if (i - runStart <= ngram) {
+                sink.accept(text.subSequence(runStart, i).toString());
+            } else {
+                for (int gram = runStart; gram + ngram <= i; gram++) {
+                    sink.accept(text.subSequence(gram, gram + ngram).toString());
+                }
+            }
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        if (c < 0x80) {
+            return false;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HANGUL
+            || script == Character.UnicodeScript.HAN
+            || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    /**
+     * 박싱 없는 int 가변 배열
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package init.common.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 한 스타일의 PPTX 정적 파트 묶음 (불변)
+ * 테마/마스터/레이아웃 등 덱과 무관한 파트를 CRC 까지 계산된 상태로 보관합니다.
+ */
+public final class PptxTemplate {
+
+    /**
+     * 미리 CRC 를 계산해 둔 파트
+     * 바이트 배열은 생성 시 복사하고 data() 도 사본을 돌려주므로, 공유 캐시의 내용은 바뀌지 않습니다.
+     * 덱 작성 시에는 복사 없이 writeTo 로 기록합니다.
+     */
+    public record Part(String name, byte[] data, long crc) {
+        public Part {
+            data = data.clone();
+        }
+
+        public static Part of(String name, byte[] data) {
+            CRC32 crc32 = new CRC32();
+            crc32.update(data);
+            return new Part(name, data, crc32.getValue());
+        }
+
+        @Override
+        public byte[] data() {
+            return data.clone();
+        }
+
+        public int size() {
+            return data.length;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(data);
+        }
+    }
+
+    // 모든 템플릿이 제공해야 하는 정적 파트 (레이아웃 1: 표지, 레이아웃 2: 제목 + 본문)
+    public static final List<String> PART_NAMES = List.of(
+        "_rels/.rels",
+        "docProps/app.xml",
+        "ppt/presProps.xml",
+        "ppt/viewProps.xml",
+        "ppt/tableStyles.xml",
+        "ppt/theme/theme1.xml",
+        "ppt/slideMasters/slideMaster1.xml",
+        "ppt/slideMasters/_rels/slideMaster1.xml.rels",
+        "ppt/slideLayouts/slideLayout1.xml",
+        "ppt/slideLayouts/_rels/slideLayout1.xml.rels",
+        "ppt/slideLayouts/slideLayout2.xml",
+        "ppt/slideLayouts/_rels/slideLayout2.xml.rels"
+    );
+
+    private final String name;
+    private final List<Part> parts;
+
+    public PptxTemplate(String name, List<Part> parts) {
+        this.name = name;
+        this.parts = List.copyOf(parts);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Part> getParts() {
+        return parts;
+    }
+}
@@ -0,0 +1,273 @@
+package init.common.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 프레젠테이션 스타일별 PPTX 템플릿 레지스트리
+ * 시작 시 모든 스타일의 정적 파트를 한 번 읽어 검증한 뒤 불변 캐시로 보관합니다.
+ * 템플릿 디렉토리를 지정하면 파일 변경을 감시하여 새 캐시를 만든 뒤 원자적으로 교체합니다.
+ */
+@Component
+public class PptxTemplateRegistry {
+
+    public static final String DEFAULT_STYLE = "default";
+
+    private static final String RESOURCE_ROOT = "pptx/";
+    // 연속된 파일 변경을 한 번의 재로딩으로 묶는 대기 시간
+    private static final long RELOAD_DEBOUNCE_MS = 500;
+
+    // 클래스패스에 포함된 기본 스타일
+    @Value("${presentation.template.styles:default,modern,dark}")
+    private List<String> builtInStyles;
+
+    // 스타일별 하위 디렉토리를 담은 템플릿 디렉토리 (비어 있으면 감시하지 않음)
+    @Value("${presentation.template.dir:}")
+    private String templateDir;
+
+    private final AtomicReference<Map<String, PptxTemplate>> templates = new AtomicReference<>(Map.of());
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong reloadFailures = new AtomicLong();
+
+    private volatile WatchService watchService;
+
+    @PostConstruct
+    public void init() throws Exception {
+        templates.set(loadTemplates());
+
+        if (templateDir != null && !templateDir.isBlank()) {
+            startWatcher(Paths.get(templateDir));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        WatchService current = watchService;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                System.err.println("템플릿 감시 종료 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 스타일에 해당하는 템플릿 (없는 스타일이면 기본 템플릿)
+     */
+    public PptxTemplate get(String style) {
+        Map<String, PptxTemplate> current = templates.get();
+        if (style != null) {
+            PptxTemplate template = current.get(normalize(style));
+            if (template != null) {
+                return template;
+            }
+        }
+        return current.get(DEFAULT_STYLE);
+    }
+
+    /**
+     * 사용 가능한 스타일 목록
+     */
+    public Set<String> getStyles() {
+        return new TreeSet<>(templates.get().keySet());
+    }
+
+    /**
+     * 템플릿 다시 읽기 (실패하면 기존 캐시 유지)
+     */
+    public void reload() {
+        try {
+            templates.set(loadTemplates());
+            reloads.incrementAndGet();
+        } catch (Exception e) {
+            reloadFailures.incrementAndGet();
+            System.err.println("템플릿 재로딩 실패, 기존 템플릿 유지: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 레지스트리 통계
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "styles", getStyles(),
+            "watching", watchService != null,
+            "reloads", reloads.get(),
+            "reloadFailures", reloadFailures.get()
+        );
+    }
+
+    /**
+     * 모든 스타일 템플릿 생성
+     * 스타일에 없는 파트는 기본 스타일의 파트를 사용하며, 디렉토리의 파트가 클래스패스 파트보다 우선합니다.
+     * 템플릿 디렉토리의 숨김 디렉토리와 알려진 파트 파일이 하나도 없는 디렉토리는 스타일로 보지 않습니다.
+     */
+    private Map<String, PptxTemplate> loadTemplates() throws Exception {
+        Map<String, Map<String, byte[]>> sources = new HashMap<>();
+
+        for (String style : builtInStyles) {
+            Map<String, byte[]> parts = new HashMap<>();
+            for (String partName : PptxTemplate.PART_NAMES) {
+                byte[] data = readResource(RESOURCE_ROOT + normalize(style) + "/" + partName);
+                if (data != null) {
+                    parts.put(partName, data);
+                }
+            }
+            sources.put(normalize(style), parts);
+        }
+
+        if (templateDir != null && !templateDir.isBlank() && Files.isDirectory(Paths.get(templateDir))) {
+            DirectoryStream.Filter<Path> styleFilter = dir -> Files.isDirectory(dir) && !isHidden(dir);
+            try (DirectoryStream<Path> styleDirs = Files.newDirectoryStream(Paths.get(templateDir), styleFilter)) {
+                for (Path styleDir : styleDirs) {
+                    Map<String, byte[]> parts = new HashMap<>();
+                    for (String partName : PptxTemplate.PART_NAMES) {
+                        Path file = styleDir.resolve(partName);
+                        if (Files.isRegularFile(file)) {
+                            parts.put(partName, Files.readAllBytes(file));
+                        }
+                    }
+                    // 알려진 파트가 하나도 없는 디렉토리(작업 중 폴더, 백업 등)는 스타일로 보지 않음
+                    if (parts.isEmpty()) {
+                        System.err.println("템플릿 파트가 없는 디렉토리는 건너뜁니다: " + styleDir);
+                        continue;
+                    }
+                    sources.computeIfAbsent(normalize(styleDir.getFileName().toString()), key -> new HashMap<>()).putAll(parts);
+                }
+            }
+        }
+
+        Map<String, byte[]> defaults = sources.get(DEFAULT_STYLE);
+        if (defaults == null || !defaults.keySet().containsAll(PptxTemplate.PART_NAMES)) {
+            throw new Exception("기본 PPTX 템플릿 파트가 누락되었습니다.");
+        }
+
+        SAXParser parser = newXmlParser();
+        Map<String, PptxTemplate> loaded = new HashMap<>();
+        for (Map.Entry<String, Map<String, byte[]>> source : sources.entrySet()) {
+            List<PptxTemplate.Part> parts = new ArrayList<>(PptxTemplate.PART_NAMES.size());
+            for (String partName : PptxTemplate.PART_NAMES) {
+                byte[] data = source.getValue().getOrDefault(partName, defaults.get(partName));
+                try {
+                    parser.reset();
+                    parser.parse(new ByteArrayInputStream(data), new DefaultHandler());
+                } catch (Exception e) {
+                    throw new Exception("템플릿 파트 형식 오류 (" + source.getKey() + "/" + partName + "): " + e.getMessage(), e);
+                }
+                parts.add(PptxTemplate.Part.of(partName, data));
+            }
+            loaded.put(source.getKey(), new PptxTemplate(source.getKey(), parts));
+        }
+        return Map.copyOf(loaded);
+    }
+
+    private void startWatcher(Path root) throws IOException {
+        Files.createDirectories(root);
+        WatchService service = FileSystems.getDefault().newWatchService();
+        registerRecursively(service, root);
+        watchService = service;
+
+        Thread watcherThread = new Thread(() -> watchLoop(service, root), "pptx-template-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void watchLoop(WatchService service, Path root) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                drain(service, root, key);
+
+                // 짧은 시간 안에 이어지는 변경을 모은 뒤 한 번만 재로딩
+                WatchKey next;
+                while ((next = service.poll(RELOAD_DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(service, root, next);
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 종료
+        }
+    }
+
+    private void drain(WatchService service, Path root, WatchKey key) {
+        key.pollEvents();
+        key.reset();
+        // 새로 생긴 스타일 디렉토리도 감시 대상에 추가
+        try {
+            registerRecursively(service, root);
+        } catch (IOException e) {
+            System.err.println("템플릿 디렉토리 감시 등록 오류: " + e.getMessage());
+        }
+    }
+
+    private void registerRecursively(WatchService service, Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root) && isHidden(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static SAXParser newXmlParser() throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newSAXParser();
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        try (InputStream in = PptxTemplateRegistry.class.getClassLoader().getResourceAsStream(path)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+
+    /**
+     * 숨김 디렉토리 여부 (.git, 편집기 임시 폴더 등)
+     */
+    private static boolean isHidden(Path dir) throws IOException {
+        return dir.getFileName().toString().startsWith(".") || Files.isHidden(dir);
+    }
+
+    private static String normalize(String style) {
+        return style.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,460 @@
+package init.common.utils;
+
+import init.backendapi.dto.SlideOutline;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 스트리밍 PPTX 작성기
+ * 슬라이드 XML 을 DOM 없이 ZipOutputStream 에 바로 기록합니다.
+ * 테마/마스터/레이아웃 등 정적 파트는 템플릿({@link PptxTemplate})에 CRC 까지 준비되어 있으므로
+ * 덱마다 압축하지 않고 STORED 엔트리로 바이트 그대로 재사용합니다.
+ * 슬라이드마다 발표자 노트(notesSlide)를 함께 작성하며, 노트가 없으면 빈 노트 파트를 둡니다.
+ */
+@Component
+public class PptxWriter {
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String NAMESPACES = "xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\" "
+        + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\" "
+        + "xmlns:p=\"http://schemas.openxmlformats.org/presentationml/2006/main\"";
+    private static final String RELS_NAMESPACE = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String REL_TYPE_BASE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships/";
+    private static final String CONTENT_TYPE_BASE = "application/vnd.openxmlformats-officedocument.";
+
+    private static final String CONTENT_TYPES_PREFIX = XML_HEADER
+        + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+        + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+        + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+        + override("/ppt/presentation.xml", CONTENT_TYPE_BASE + "presentationml.presentation.main+xml")
+        + override("/ppt/presProps.xml", CONTENT_TYPE_BASE + "presentationml.presProps+xml")
+        + override("/ppt/viewProps.xml", CONTENT_TYPE_BASE + "presentationml.viewProps+xml")
+        + override("/ppt/tableStyles.xml", CONTENT_TYPE_BASE + "presentationml.tableStyles+xml")
+        + override("/ppt/theme/theme1.xml", CONTENT_TYPE_BASE + "theme+xml")
+        + override("/ppt/slideMasters/slideMaster1.xml", CONTENT_TYPE_BASE + "presentationml.slideMaster+xml")
+        + override("/ppt/slideLayouts/slideLayout1.xml", CONTENT_TYPE_BASE + "presentationml.slideLayout+xml")
+        + override("/ppt/slideLayouts/slideLayout2.xml", CONTENT_TYPE_BASE + "presentationml.slideLayout+xml")
+        + override("/ppt/notesMasters/notesMaster1.xml", CONTENT_TYPE_BASE + "presentationml.notesMaster+xml")
+        + override("/ppt/theme/theme2.xml", CONTENT_TYPE_BASE + "theme+xml")
+        + override("/docProps/app.xml", CONTENT_TYPE_BASE + "extended-properties+xml")
+        + override("/docProps/core.xml", "application/vnd.openxmlformats-package.core-properties+xml");
+
+    private static final String GROUP_SHAPE_PROPERTIES =
+        "<p:nvGrpSpPr><p:cNvPr id=\"1\" name=\"\"/><p:cNvGrpSpPr/><p:nvPr/></p:nvGrpSpPr>"
+        + "<p:grpSpPr><a:xfrm><a:off x=\"0\" y=\"0\"/><a:ext cx=\"0\" cy=\"0\"/>"
+        + "<a:chOff x=\"0\" y=\"0\"/><a:chExt cx=\"0\" cy=\"0\"/></a:xfrm></p:grpSpPr>";
+
+    private static final String SLIDE_CONTENT_TYPE = CONTENT_TYPE_BASE + "presentationml.slide+xml";
+    private static final String NOTES_SLIDE_CONTENT_TYPE = CONTENT_TYPE_BASE + "presentationml.notesSlide+xml";
+
+    // 노트 마스터는 스타일과 무관하므로 한 번만 만들어 두고, 노트 마스터 테마(theme2)는 템플릿 테마를 그대로 사용
+    private static final PptxTemplate.Part NOTES_MASTER = PptxTemplate.Part.of("ppt/notesMasters/notesMaster1.xml",
+        notesMasterXml().getBytes(StandardCharsets.UTF_8));
+    private static final PptxTemplate.Part NOTES_MASTER_RELS = PptxTemplate.Part.of("ppt/notesMasters/_rels/notesMaster1.xml.rels",
+        (XML_HEADER + "<Relationships xmlns=\"" + RELS_NAMESPACE + "\">"
+            + relationship("rId1", "theme", "../theme/theme2.xml") + "</Relationships>").getBytes(StandardCharsets.UTF_8));
+    private static final String THEME_PART = "ppt/theme/theme1.xml";
+
+    // 슬라이드 크기 (16:9)
+    private static final long SLIDE_WIDTH = 12192000L;
+    private static final long SLIDE_HEIGHT = 6858000L;
+
+    private static final int FIRST_SLIDE_ID = 256;
+    // presentation.xml.rels 에서 슬라이드 앞에 오는 관계 수
+    // (rId1 slideMaster, rId2 theme, rId3 presProps, rId4 viewProps, rId5 tableStyles, rId6 notesMaster)
+    // 슬라이드 i(0부터)의 관계 ID 는 rId(FIXED_PRESENTATION_RELS + 1 + i)
+    static final int FIXED_PRESENTATION_RELS = 6;
+
+    /**
+     * 슬라이드 목록을 PPTX 파일로 작성
+     */
+    public void write(List<SlideOutline> slides, String title, PptxTemplate template, Path target) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            write(slides, title, template, out);
+        }
+    }
+
+    /**
+     * 슬라이드 목록을 PPTX 형식으로 스트림에 기록 (스트림은 닫지 않음)
+     */
+    public void write(List<SlideOutline> slides, String title, PptxTemplate template, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        zip.setLevel(Deflater.BEST_SPEED);
+        Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+
+        writeContentTypes(zip, writer, slides.size());
+        for (PptxTemplate.Part part : template.getParts()) {
+            writeStored(zip, part.name(), part);
+            if (THEME_PART.equals(part.name())) {
+                writeStored(zip, "ppt/theme/theme2.xml", part);
+            }
+        }
+        writeStored(zip, NOTES_MASTER.name(), NOTES_MASTER);
+        writeStored(zip, NOTES_MASTER_RELS.name(), NOTES_MASTER_RELS);
+        writeCoreProperties(zip, writer, title);
+        writePresentation(zip, writer, slides.size());
+        writePresentationRels(zip, writer, slides.size());
+
+        for (int i = 0; i < slides.size(); i++) {
+            SlideOutline slide = slides.get(i);
+            boolean titleLayout = isTitleSlide(slide, i);
+            int number = i + 1;
+
+            beginEntry(zip, "ppt/slides/slide" + number + ".xml");
+            if (titleLayout) {
+                writeTitleSlide(writer, slide);
+            } else {
+                writeContentSlide(writer, slide);
+            }
+            endEntry(zip, writer);
+
+            beginEntry(zip, "ppt/slides/_rels/slide" + number + ".xml.rels");
+            writer.write(slideRels(number, titleLayout, true));
+            endEntry(zip, writer);
+
+            beginEntry(zip, "ppt/notesSlides/notesSlide" + number + ".xml");
+            writeNotesSlide(writer, slide);
+            endEntry(zip, writer);
+
+            beginEntry(zip, "ppt/notesSlides/_rels/notesSlide" + number + ".xml.rels");
+            writer.write(notesSlideRels(number));
+            endEntry(zip, writer);
+        }
+
+        writer.flush();
+        zip.finish();
+    }
+
+    /**
+     * 저장된 PPTX 의 슬라이드 한 장만 교체
+     * zip 파일 시스템으로 해당 슬라이드(와 그 노트) 엔트리만 다시 쓰고 나머지 엔트리는 압축된 바이트 그대로 복사합니다.
+     * 사본을 수정한 뒤 원자적으로 바꾸므로 실패해도 원본 파일은 그대로 남습니다.
+     * 노트 파트가 없는 이전 형식의 덱은 노트 없이 슬라이드만 교체합니다.
+     */
+    public void rewriteSlide(Path pptx, int slideNumber, SlideOutline slide) throws IOException {
+        boolean titleLayout = isTitleSlide(slide, slideNumber - 1);
+        byte[] slideXml = render(writer -> {
+            if (titleLayout) {
+                writeTitleSlide(writer, slide);
+            } else {
+                writeContentSlide(writer, slide);
+            }
+        });
+        byte[] notesXml = render(writer -> writeNotesSlide(writer, slide));
+
+        Path working = Files.createTempFile(pptx.toAbsolutePath().getParent(), "slide-patch-", ".pptx");
+        try {
+            Files.copy(pptx, working, StandardCopyOption.REPLACE_EXISTING);
+            try (FileSystem zipFileSystem = FileSystems.newFileSystem(working)) {
+                Path entry = zipFileSystem.getPath("ppt/slides/slide" + slideNumber + ".xml");
+                if (!Files.exists(entry)) {
+                    throw new IOException("프레젠테이션에 " + slideNumber + "번 슬라이드가 없습니다.");
+                }
+                Path notesEntry = zipFileSystem.getPath("ppt/notesSlides/notesSlide" + slideNumber + ".xml");
+                boolean hasNotes = Files.exists(notesEntry);
+                Files.write(entry, slideXml);
+                Files.write(zipFileSystem.getPath("ppt/slides/_rels/slide" + slideNumber + ".xml.rels"),
+                    slideRels(slideNumber, titleLayout, hasNotes).getBytes(StandardCharsets.UTF_8));
+                if (hasNotes) {
+                    Files.write(notesEntry, notesXml);
+                }
+            }
+            Files.move(working, pptx, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(working);
+        }
+    }
+
+    @FunctionalInterface
+    private interface XmlBody {
+        void write(Writer writer) throws IOException;
+    }
+
+    private static byte[] render(XmlBody body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+        Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        body.write(writer);
+        writer.flush();
+        return buffer.toByteArray();
+    }
+
+    private void writeContentTypes(ZipOutputStream zip, Writer writer, int slideCount) throws IOException {
+        beginEntry(zip, "[Content_Types].xml");
+        writer.write(CONTENT_TYPES_PREFIX);
+        for (int i = 1; i <= slideCount; i++) {
+            writer.write(override("/ppt/slides/slide" + i + ".xml", SLIDE_CONTENT_TYPE));
+            writer.write(override("/ppt/notesSlides/notesSlide" + i + ".xml", NOTES_SLIDE_CONTENT_TYPE));
+        }
+        writer.write("</Types>");
+        endEntry(zip, writer);
+    }
+
+    private void writeCoreProperties(ZipOutputStream zip, Writer writer, String title) throws IOException {
+        String now = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        beginEntry(zip, "docProps/core.xml");
+        writer.write(XML_HEADER);
+        writer.write("<cp:coreProperties xmlns:cp=\"http://schemas.openxmlformats.org/package/2006/metadata/core-properties\" "
+            + "xmlns:dc=\"http://purl.org/dc/elements/1.1/\" xmlns:dcterms=\"http://purl.org/dc/terms/\" "
+            + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">");
+        writer.write("<dc:title>");
+        writeEscaped(writer, title);
+        writer.write("</dc:title><dc:creator>Draftly</dc:creator>");
+        writer.write("<dcterms:created xsi:type=\"dcterms:W3CDTF\">" + now + "</dcterms:created>");
+        writer.write("<dcterms:modified xsi:type=\"dcterms:W3CDTF\">" + now + "</dcterms:modified>");
+        writer.write("</cp:coreProperties>");
+        endEntry(zip, writer);
+    }
+
+    private void writePresentation(ZipOutputStream zip, Writer writer, int slideCount) throws IOException {
+        beginEntry(zip, "ppt/presentation.xml");
+        writer.write(XML_HEADER);
+        writer.write("<p:presentation " + NAMESPACES + " saveSubsetFonts=\"1\">");
+        writer.write("<p:sldMasterIdLst><p:sldMasterId id=\"2147483648\" r:id=\"rId1\"/></p:sldMasterIdLst>");
+        writer.write("<p:notesMasterIdLst><p:notesMasterId r:id=\"rId6\"/></p:notesMasterIdLst>");
+        if (slideCount > 0) {
+            writer.write("<p:sldIdLst>");
+            for (int i = 0; i < slideCount; i++) {
+                writer.write("<p:sldId id=\"" + (FIRST_SLIDE_ID + i) + "\" r:id=\"rId" + (FIXED_PRESENTATION_RELS + 1 + i) + "\"/>");
+            }
+            writer.write("</p:sldIdLst>");
+        }
+        writer.write("<p:sldSz cx=\"" + SLIDE_WIDTH + "\" cy=\"" + SLIDE_HEIGHT + "\"/>");
+        writer.write("<p:notesSz cx=\"6858000\" cy=\"9144000\"/>");
+        writer.write("</p:presentation>");
+        endEntry(zip, writer);
+    }
+
+    private void writePresentationRels(ZipOutputStream zip, Writer writer, int slideCount) throws IOException {
+        beginEntry(zip, "ppt/_rels/presentation.xml.rels");
+        writer.write(XML_HEADER);
+        writer.write("<Relationships xmlns=\"" + RELS_NAMESPACE + "\">");
+        writer.write(relationship("rId1", "slideMaster", "slideMasters/slideMaster1.xml"));
+        writer.write(relationship("rId2", "theme", "theme/theme1.xml"));
+        writer.write(relationship("rId3", "presProps", "presProps.xml"));
+        writer.write(relationship("rId4", "viewProps", "viewProps.xml"));
+        writer.write(relationship("rId5", "tableStyles", "tableStyles.xml"));
+        writer.write(relationship("rId6", "notesMaster", "notesMasters/notesMaster1.xml"));
+        for (int i = 1; i <= slideCount; i++) {
+            writer.write(relationship("rId" + (FIXED_PRESENTATION_RELS + i), "slide", "slides/slide" + i + ".xml"));
+        }
+        writer.write("</Relationships>");
+        endEntry(zip, writer);
+    }
+
+    /**
+     * 표지 슬라이드 (제목 + 부제목)
+     */
+    private void writeTitleSlide(Writer writer, SlideOutline slide) throws IOException {
+        beginSlide(writer);
+        writePlaceholder(writer, 2, "Title 1", "<p:ph type=\"ctrTitle\"/>", List.of(nullToEmpty(slide.getTitle())));
+        writePlaceholder(writer, 3, "Subtitle 2", "<p:ph type=\"subTitle\" idx=\"1\"/>", bodyLines(slide));
+        endSlide(writer);
+    }
+
+    /**
+     * 일반 슬라이드 (제목 + 글머리 기호 본문)
+     */
+    private void writeContentSlide(Writer writer, SlideOutline slide) throws IOException {
+        beginSlide(writer);
+        writePlaceholder(writer, 2, "Title 1", "<p:ph type=\"title\"/>", List.of(nullToEmpty(slide.getTitle())));
+        writePlaceholder(writer, 3, "Content Placeholder 2", "<p:ph idx=\"1\"/>", bodyLines(slide));
+        endSlide(writer);
+    }
+
+    /**
+     * 발표자 노트 (슬라이드 이미지 + 노트 본문, 노트의 각 줄이 한 문단)
+     */
+    private void writeNotesSlide(Writer writer, SlideOutline slide) throws IOException {
+        writer.write(XML_HEADER);
+        writer.write("<p:notes " + NAMESPACES + "><p:cSld><p:spTree>");
+        writer.write(GROUP_SHAPE_PROPERTIES);
+        writer.write("<p:sp><p:nvSpPr><p:cNvPr id=\"2\" name=\"Slide Image Placeholder 1\"/>"
+            + "<p:cNvSpPr><a:spLocks noGrp=\"1\" noRot=\"1\" noChangeAspect=\"1\"/></p:cNvSpPr>"
+            + "<p:nvPr><p:ph type=\"sldImg\"/></p:nvPr></p:nvSpPr><p:spPr/></p:sp>");
+        List<String> lines = new ArrayList<>();
+        if (slide.getNotes() != null) {
+            for (String line : slide.getNotes().split("\\R")) {
+                if (!line.isBlank()) {
+                    lines.add(line.strip());
+                }
+            }
+        }
+        writePlaceholder(writer, 3, "Notes Placeholder 2", "<p:ph type=\"body\" idx=\"1\"/>", lines);
+        writer.write("</p:spTree></p:cSld><p:clrMapOvr><a:masterClrMapping/></p:clrMapOvr></p:notes>");
+    }
+
+    /**
+     * 슬라이드 관계 (rId1 레이아웃, rId2 노트)
+     */
+    private static String slideRels(int number, boolean titleLayout, boolean withNotes) {
+        return XML_HEADER + "<Relationships xmlns=\"" + RELS_NAMESPACE + "\">"
+            + relationship("rId1", "slideLayout", "../slideLayouts/slideLayout" + (titleLayout ? 1 : 2) + ".xml")
+            + (withNotes ? relationship("rId2", "notesSlide", "../notesSlides/notesSlide" + number + ".xml") : "")
+            + "</Relationships>";
+    }
+
+    /**
+     * 노트 관계 (rId1 노트 마스터, rId2 슬라이드)
+     */
+    private static String notesSlideRels(int number) {
+        return XML_HEADER + "<Relationships xmlns=\"" + RELS_NAMESPACE + "\">"
+            + relationship("rId1", "notesMaster", "../notesMasters/notesMaster1.xml")
+            + relationship("rId2", "slide", "../slides/slide" + number + ".xml")
+            + "</Relationships>";
+    }
+
+    /**
+     * 노트 마스터 (슬라이드 이미지와 노트 본문 자리만 둔 최소 구성)
+     */
+    private static String notesMasterXml() {
+        return XML_HEADER + "<p:notesMaster " + NAMESPACES + "><p:cSld><p:bg><p:bgRef idx=\"1001\"><a:schemeClr val=\"bg1\"/></p:bgRef></p:bg>"
+            + "<p:spTree>" + GROUP_SHAPE_PROPERTIES
+            + "<p:sp><p:nvSpPr><p:cNvPr id=\"2\" name=\"Slide Image Placeholder 1\"/>"
+            + "<p:cNvSpPr><a:spLocks noGrp=\"1\" noRot=\"1\" noChangeAspect=\"1\"/></p:cNvSpPr>"
+            + "<p:nvPr><p:ph type=\"sldImg\" idx=\"2\"/></p:nvPr></p:nvSpPr>"
+            + "<p:spPr><a:xfrm><a:off x=\"685800\" y=\"1143000\"/><a:ext cx=\"5486400\" cy=\"3086100\"/></a:xfrm>"
+            + "<a:prstGeom prst=\"rect\"><a:avLst/></a:prstGeom></p:spPr></p:sp>"
+            + "<p:sp><p:nvSpPr><p:cNvPr id=\"3\" name=\"Notes Placeholder 2\"/>"
+            + "<p:cNvSpPr><a:spLocks noGrp=\"1\"/></p:cNvSpPr><p:nvPr><p:ph type=\"body\" sz=\"quarter\" idx=\"3\"/></p:nvPr></p:nvSpPr>"
+            + "<p:spPr><a:xfrm><a:off x=\"685800\" y=\"4400550\"/><a:ext cx=\"5486400\" cy=\"3600450\"/></a:xfrm>"
+            + "<a:prstGeom prst=\"rect\"><a:avLst/></a:prstGeom></p:spPr>"
+            + "<p:txBody><a:bodyPr/><a:lstStyle/><a:p><a:endParaRPr lang=\"ko-KR\" altLang=\"en-US\"/></a:p></p:txBody></p:sp>"
+            + "</p:spTree></p:cSld>"
+            + "<p:clrMap bg1=\"lt1\" tx1=\"dk1\" bg2=\"lt2\" tx2=\"dk2\" accent1=\"accent1\" accent2=\"accent2\" accent3=\"accent3\" "
+            + "accent4=\"accent4\" accent5=\"accent5\" accent6=\"accent6\" hlink=\"hlink\" folHlink=\"folHlink\"/>"
+            + "</p:notesMaster>";
+    }
+
+    private void beginSlide(Writer writer) throws IOException {
+        writer.write(XML_HEADER);
+        writer.write("<p:sld " + NAMESPACES + "><p:cSld><p:spTree>");
+        writer.write(GROUP_SHAPE_PROPERTIES);
+    }
+
+    private void endSlide(Writer writer) throws IOException {
+        writer.write("</p:spTree></p:cSld><p:clrMapOvr><a:masterClrMapping/></p:clrMapOvr></p:sld>");
+    }
+
+    private void writePlaceholder(Writer writer, int id, String name, String placeholder, List<String> paragraphs) throws IOException {
+        writer.write("<p:sp><p:nvSpPr><p:cNvPr id=\"" + id + "\" name=\"" + name + "\"/>");
+        writer.write("<p:cNvSpPr><a:spLocks noGrp=\"1\"/></p:cNvSpPr><p:nvPr>" + placeholder + "</p:nvPr></p:nvSpPr>");
+        writer.write("<p:spPr/><p:txBody><a:bodyPr><a:normAutofit/></a:bodyPr><a:lstStyle/>");
+        if (paragraphs.isEmpty()) {
+            writer.write("<a:p><a:endParaRPr lang=\"ko-KR\" altLang=\"en-US\"/></a:p>");
+        }
+        for (String paragraph : paragraphs) {
+            writer.write("<a:p><a:r><a:rPr lang=\"ko-KR\" altLang=\"en-US\" dirty=\"0\"/><a:t>");
+            writeEscaped(writer, paragraph);
+            writer.write("</a:t></a:r></a:p>");
+        }
+        writer.write("</p:txBody></p:sp>");
+    }
+
+    /**
+     * 본문 문단 (글머리 기호가 있으면 글머리 기호, 없으면 내용의 각 줄)
+     */
+    private List<String> bodyLines(SlideOutline slide) {
+        List<String> lines = new ArrayList<>();
+        if (slide.getBulletPoints() != null && !slide.getBulletPoints().isEmpty()) {
+            for (String bullet : slide.getBulletPoints()) {
+                if (bullet != null && !bullet.isBlank()) {
+                    lines.add(bullet.trim());
+                }
+            }
+            return lines;
+        }
+        if (slide.getContent() != null) {
+            for (String line : slide.getContent().split("\\R")) {
+                String trimmed = line.strip();
+                if (trimmed.startsWith("-") || trimmed.startsWith("*") || trimmed.startsWith("•")) {
+                    trimmed = trimmed.substring(1).strip();
+                }
+                if (!trimmed.isEmpty()) {
+                    lines.add(trimmed);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private boolean isTitleSlide(SlideOutline slide, int index) {
+        return index == 0 && "title".equals(slide.getSlideType());
+    }
+
+    private void beginEntry(ZipOutputStream zip, String name) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+    }
+
+    private void endEntry(ZipOutputStream zip, Writer writer) throws IOException {
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * 미리 준비한 바이트를 압축 없이 기록 (크기/CRC 는 사전 계산 값 사용)
+     */
+    private void writeStored(ZipOutputStream zip, String name, PptxTemplate.Part part) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(part.size());
+        entry.setCompressedSize(part.size());
+        entry.setCrc(part.crc());
+        zip.putNextEntry(entry);
+        part.writeTo(zip);
+        zip.closeEntry();
+    }
+
+    /**
+     * XML 텍스트 이스케이프 (XML 1.0 에서 허용되지 않는 제어 문자는 제거)
+     */
+    private static void writeEscaped(Writer writer, String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\t') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String override(String partName, String contentType) {
+        return "<Override PartName=\"" + partName + "\" ContentType=\"" + contentType + "\"/>";
+    }
+
+    private static String relationship(String id, String type, String target) {
+        return "<Relationship Id=\"" + id + "\" Type=\"" + REL_TYPE_BASE + type + "\" Target=\"" + target + "\"/>";
+    }
+}
@@ -0,0 +1,143 @@
+package init.common.utils;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 우선순위 대기열을 가진 동시 실행 수 제한 (bulkhead)
+ * 빈 자리가 나면 우선순위가 높은 대기자부터, 같은 우선순위는 도착 순서대로 입장합니다.
+ */
+public class PriorityBulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+    private int active;
+    private long sequence;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public PriorityBulkhead(int maxConcurrent, int maxQueue) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * 실행 허가 획득 (대기열이 가득 차거나 마감 시각이 지나면 예외)
+     *
+     * @param deadlineNanos System.nanoTime() 기준 대기 마감 시각
+     */
+    public void acquire(GeminiPriority priority, long deadlineNanos) throws Exception {
+        lock.lock();
+        try {
+            if (active < maxConcurrent && queue.isEmpty()) {
+                active++;
+                admitted.incrementAndGet();
+                return;
+            }
+            if (queue.size() >= maxQueue) {
+                rejected.incrementAndGet();
+                throw new AdmissionRejectedException("Gemini 요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+            }
+
+            Waiter waiter = new Waiter(priority, sequence++, lock.newCondition());
+            queue.add(waiter);
+            queued.incrementAndGet();
+
+            try {
+                while (!waiter.granted) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.remove(waiter);
+                        timedOut.incrementAndGet();
+                        throw new AdmissionRejectedException("Gemini 요청 대기 시간이 초과되었습니다.");
+                    }
+                    waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                // 인터럽트 직전에 허가를 받았다면 다음 대기자에게 넘김
+                if (waiter.granted) {
+                    releaseLocked();
+                } else {
+                    queue.remove(waiter);
+                }
+                throw e;
+            }
+            admitted.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실행 허가 반환
+     */
+    public void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked() {
+        Waiter next = queue.poll();
+        if (next != null) {
+            // 자리를 그대로 다음 대기자에게 넘김 (active 유지)
+            next.granted = true;
+            next.condition.signal();
+        } else {
+            active--;
+        }
+    }
+
+    /**
+     * bulkhead 통계
+     */
+    public Map<String, Object> getStats() {
+        lock.lock();
+        try {
+            return Map.of(
+                "active", active,
+                "maxConcurrent", maxConcurrent,
+                "queueDepth", queue.size(),
+                "maxQueue", maxQueue,
+                "admitted", admitted.get(),
+                "queued", queued.get(),
+                "rejected", rejected.get(),
+                "timedOut", timedOut.get()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Waiter implements Comparable<Waiter> {
+        private final GeminiPriority priority;
+        private final long sequence;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(GeminiPriority priority, long sequence, Condition condition) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
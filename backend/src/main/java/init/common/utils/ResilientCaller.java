@@ -0,0 +1,277 @@
+package init.common.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업스트림 호출 복원력 계층
+ * 오류를 재시도 가능/불가로 분류하고, full jitter 지수 백오프로 재시도하며 Retry-After 를 따릅니다.
+ * 선택적으로 p95 지연을 넘긴 호출에 중복(hedged) 요청을 보내고, 장애 시 회로 차단기로 빠르게 실패합니다.
+ */
+public class ResilientCaller {
+
+    /**
+     * 한 번의 호출 시도
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        /**
+         * @param hedge 중복(hedged) 요청 여부 - 즉시 입장할 수 없으면 예외를 던져 건너뛰도록 구현
+         */
+        CompletableFuture<T> start(boolean hedge) throws Exception;
+    }
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long maxRetryAfterMillis;
+    private final boolean hedgeEnabled;
+    private final long hedgeMinDelayMillis;
+    private final int hedgeMinSamples;
+
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyTracker latencyTracker = new LatencyTracker(200);
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    public ResilientCaller(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis, long maxRetryAfterMillis,
+                           boolean hedgeEnabled, long hedgeMinDelayMillis, int hedgeMinSamples,
+                           CircuitBreaker circuitBreaker) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxRetryAfterMillis = maxRetryAfterMillis;
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeMinDelayMillis = hedgeMinDelayMillis;
+        this.hedgeMinSamples = hedgeMinSamples;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * 재시도/hedging/회로 차단을 적용하여 호출
+     */
+    public <T> T execute(Attempt<T> attempt) throws Exception {
+        calls.incrementAndGet();
+
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            if (!circuitBreaker.tryAcquire()) {
+                failures.incrementAndGet();
+                throw new Exception("Gemini API 가 일시적으로 불안정하여 요청을 차단했습니다. 잠시 후 다시 시도해주세요.");
+            }
+
+            long startNanos = System.nanoTime();
+            // 업스트림 응답으로 결과를 기록하지 못한 채 끝나면(인터럽트, 로컬 거절 등) 시험 호출 자리만 반환
+            boolean recorded = false;
+            try {
+                T result = executeWithHedge(attempt);
+                circuitBreaker.onSuccess();
+                recorded = true;
+                latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                return result;
+
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                boolean retryable = isRetryable(e);
+                if (retryable) {
+                    circuitBreaker.onFailure();
+                    recorded = true;
+                } else if (isUpstreamResponse(e)) {
+                    // 클라이언트 오류 등은 업스트림 장애로 보지 않음
+                    circuitBreaker.onSuccess();
+                    recorded = true;
+                }
+
+                long retryAfterMillis = retryAfterMillis(e);
+                if (!retryable || attemptNumber >= maxAttempts || retryAfterMillis > maxRetryAfterMillis) {
+                    failures.incrementAndGet();
+                    throw e;
+                }
+
+                retries.incrementAndGet();
+                sleep(Math.max(backoffMillis(attemptNumber), retryAfterMillis));
+            } finally {
+                if (!recorded) {
+                    circuitBreaker.onAbort();
+                }
+            }
+        }
+    }
+
+    /**
+     * 복원력 계층 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", calls.get());
+        stats.put("retries", retries.get());
+        stats.put("failures", failures.get());
+        stats.put("hedges", hedges.get());
+        stats.put("hedgeWins", hedgeWins.get());
+        stats.put("latencyP50Ms", latencyTracker.percentile(0.50));
+        stats.put("latencyP95Ms", latencyTracker.percentile(0.95));
+        stats.put("circuitBreaker", circuitBreaker.getStats());
+        return stats;
+    }
+
+    /**
+     * 재시도 가능한 오류인지 분류 (서버 오류/한도 초과/네트워크 오류/시간 초과)
+     * 응답 본문 해석 오류(JsonProcessingException)는 IOException 이지만 같은 응답이 다시 올 것이므로 재시도하지 않습니다.
+     */
+    public static boolean isRetryable(Throwable error) {
+        Throwable current = error;
+        while (current != null) {
+            if (current instanceof GeminiApiException apiException) {
+                return apiException.isRetryable();
+            }
+            if (current instanceof JsonProcessingException) {
+                return false;
+            }
+            if (current instanceof IOException || current instanceof TimeoutException) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * 업스트림이 응답한 오류인지 여부 (상태 코드 오류, 응답 본문 해석 오류 - 로컬 입장 거절은 제외)
+     */
+    private static boolean isUpstreamResponse(Throwable error) {
+        Throwable current = error;
+        while (current != null) {
+            if (current instanceof AdmissionRejectedException) {
+                return false;
+            }
+            if (current instanceof GeminiApiException || current instanceof JsonProcessingException) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * 재시도 전 대기 (테스트에서 실제 대기 없이 대기 시간을 확인할 수 있도록 분리)
+     */
+    protected void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    private <T> T executeWithHedge(Attempt<T> attempt) throws Exception {
+        CompletableFuture<T> primary = attempt.start(false);
+
+        if (!hedgeEnabled || latencyTracker.count() < hedgeMinSamples) {
+            return await(primary);
+        }
+
+        long hedgeDelayMillis = Math.max(hedgeMinDelayMillis, latencyTracker.percentile(0.95));
+        try {
+            return primary.get(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // p95 를 넘긴 호출 - 아래에서 중복 요청
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+
+        CompletableFuture<T> hedge;
+        try {
+            hedge = attempt.start(true);
+        } catch (Exception e) {
+            // 즉시 입장할 수 없으면 hedging 없이 원래 요청을 기다림
+            return await(primary);
+        }
+        hedges.incrementAndGet();
+
+        try {
+            T result = await(firstSuccessful(primary, hedge));
+            if (hedge.isDone() && !hedge.isCompletedExceptionally()
+                    && (!primary.isDone() || primary.isCompletedExceptionally())) {
+                hedgeWins.incrementAndGet();
+            }
+            return result;
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    /**
+     * 두 요청 중 먼저 성공한 결과 (둘 다 실패하면 마지막 실패)
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicLong remaining = new AtomicLong(2);
+        for (CompletableFuture<T> future : List.of(first, second)) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (remaining.decrementAndGet() == 0) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * 결과 대기 (대기 중 인터럽트되면 요청 취소)
+     */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception exception ? exception : new Exception(cause.getMessage(), cause);
+    }
+
+    /**
+     * full jitter 지수 백오프: [0, min(max, base * 2^(n-1))) 구간의 임의 값
+     */
+    private long backoffMillis(int attemptNumber) {
+        long exponential = baseBackoffMillis << Math.min(attemptNumber - 1, 20);
+        long cap = Math.min(maxBackoffMillis, exponential);
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap);
+    }
+
+    private static long retryAfterMillis(Throwable error) {
+        Throwable current = error;
+        while (current != null) {
+            if (current instanceof GeminiApiException apiException) {
+                return apiException.getRetryAfterMillis();
+            }
+            current = current.getCause();
+        }
+        return -1;
+    }
+}
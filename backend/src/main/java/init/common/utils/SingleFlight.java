@@ -0,0 +1,104 @@
+package init.common.utils;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동일 키 요청 병합 (single-flight)
+ * 같은 키로 동시에 들어온 호출은 하나의 실제 호출 결과를 공유합니다.
+ * 대기 시간 초과는 대기자별로 처리되며 진행 중인 실제 호출에는 영향을 주지 않습니다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong waiterTimeouts = new AtomicLong();
+
+    /**
+     * 키에 해당하는 호출 실행 또는 진행 중인 호출 결과 대기
+     *
+     * @param waitTimeoutMs 다른 호출자의 결과를 기다리는 최대 시간
+     */
+    public V execute(K key, Callable<V> loader, long waitTimeoutMs) throws Exception {
+        while (true) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+            if (existing == null) {
+                return runAsLeader(key, created, loader);
+            }
+
+            coalesced.incrementAndGet();
+            try {
+                return existing.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                waiterTimeouts.incrementAndGet();
+                throw new Exception("동일 요청 결과 대기 시간 초과 (" + waitTimeoutMs + "ms)", e);
+            } catch (ExecutionException e) {
+                // 선행 호출자가 스스로 중단된 경우에는 이 대기자가 다시 실행
+                if (e.getCause() instanceof LeaderAbortedException) {
+                    continue;
+                }
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof Exception exception) {
+                    throw exception;
+                }
+                throw new Exception(cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private V runAsLeader(K key, CompletableFuture<V> future, Callable<V> loader) throws Exception {
+        executions.incrementAndGet();
+        try {
+            V value = loader.call();
+            future.complete(value);
+            return value;
+        } catch (InterruptedException | CancellationException e) {
+            future.completeExceptionally(new LeaderAbortedException());
+            throw e;
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                future.completeExceptionally(new LeaderAbortedException());
+            } else {
+                future.completeExceptionally(e);
+            }
+            throw e;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 요청 병합 통계
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "inFlight", inFlight.size(),
+            "executions", executions.get(),
+            "coalesced", coalesced.get(),
+            "waiterTimeouts", waiterTimeouts.get()
+        );
+    }
+
+    /**
+     * 선행 호출자의 인터럽트/취소로 결과 없이 끝났음을 대기자에게 알리는 표식
+     */
+    private static class LeaderAbortedException extends Exception {
+        private LeaderAbortedException() {
+            super("선행 요청이 중단되었습니다.", null, false, false);
+        }
+    }
+}
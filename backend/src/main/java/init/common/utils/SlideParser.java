@@ -1,145 +1,416 @@
 package init.common.utils;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import init.backendapi.dto.SlideOutline;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+/**
+ * Gemini 응답 슬라이드 파서
+ * 정규식 없이 줄 단위로 한 번만 훑으며, 슬라이드 구분자를 만날 때마다 직전 슬라이드를 완성합니다.
+ * 문자열 전체, Reader, 스트리밍 조각 모두 같은 파서를 사용합니다.
+ * 구조화 출력(JSON 배열) 응답은 텍스트 파싱 없이 SlideOutline 으로 바로 읽고, JSON 으로 읽은 슬라이드가 없으면 텍스트 파서로 대체합니다.
+ */
 @Component
 public class SlideParser {
 
-    // 슬라이드 구분 패턴
-    private static final Pattern SLIDE_PATTERN = Pattern.compile("=====\\s*슬라이드\\s*(\\d+)\\s*=====");
-    private static final Pattern TITLE_PATTERN = Pattern.compile("제목:\\s*(.+)");
-    private static final Pattern CONTENT_PATTERN = Pattern.compile("내용:\\s*([\\s\\S]*?)(?=노트:|$)");
-    private static final Pattern NOTES_PATTERN = Pattern.compile("노트:\\s*(.+)");
-    private static final Pattern BULLET_PATTERN = Pattern.compile("^\\s*[-*•]\\s*(.+)$", Pattern.MULTILINE);
+    // "===== 슬라이드 N =====" 구분자
+    private static final String HEADER_FENCE = "=====";
+    private static final String HEADER_LABEL = "슬라이드";
+    private static final String TITLE_LABEL = "제목:";
+    private static final String CONTENT_LABEL = "내용:";
+    private static final String NOTES_LABEL = "노트:";
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int HEADER_NONE = -1;
+    private static final int HEADER_PARTIAL = -2;
+
+    // 모델이 스키마에 없는 필드를 덧붙이거나 bulletPoints 를 문자열 하나로 보내도 허용
+    private final ObjectReader slideReader = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+        .readerFor(SlideOutline.class);
+    private final JsonFactory jsonFactory = slideReader.getFactory();
+
+    // 응답 형식별 파싱 통계
+    private final AtomicLong structuredResponses = new AtomicLong();
+    private final AtomicLong structuredPartial = new AtomicLong();
+    private final AtomicLong structuredFailures = new AtomicLong();
+    private final AtomicLong textResponses = new AtomicLong();
+    private final AtomicLong textFallbacks = new AtomicLong();
 
     /**
-     * Gemini 응답을 SlideOutline 리스트로 파싱
+     * 슬라이드 생성 응답 파싱 (JSON 배열이면 구조화 파싱, 아니면 텍스트 파싱)
+     * JSON 이 중간에 끊겼으면 끝까지 읽은 슬라이드만 반환합니다.
+     * "[초안]" 처럼 JSON 으로 보이지만 읽은 슬라이드가 없으면 텍스트 형식으로 다시 파싱합니다.
      */
-    public List<SlideOutline> parseSlideStructure(String geminiResponse) throws Exception {
+    public List<SlideOutline> parseSlides(String geminiResponse) throws Exception {
+        if (geminiResponse == null) {
+            throw new Exception("슬라이드 구조 파싱 중 오류 발생: 응답이 없습니다.");
+        }
+        int jsonStart = findJsonStart(geminiResponse);
+        if (jsonStart < 0) {
+            textResponses.incrementAndGet();
+            return parseSlideStructure(geminiResponse);
+        }
+
+        structuredResponses.incrementAndGet();
         List<SlideOutline> slideOutlines = new ArrayList<>();
-        
-        try {
-            // 슬라이드별로 분할
-            String[] slides = geminiResponse.split("=====\\s*슬라이드\\s*\\d+\\s*=====");
-            
-            for (int i = 1; i < slides.length; i++) { // 첫 번째는 비어있으므로 건너뛰기
-                String slideContent = slides[i].trim();
-                SlideOutline outline = parseIndividualSlide(slideContent, i);
-                if (outline != null) {
-                    slideOutlines.add(outline);
-                }
-            }
-            
-            // 파싱 결과가 없으면 대체 파싱 시도
+        try (JsonParser parser = jsonFactory.createParser(geminiResponse.substring(jsonStart))) {
+            readSlides(parser, slideOutlines);
+        } catch (IOException e) {
             if (slideOutlines.isEmpty()) {
-                slideOutlines = parseAlternativeFormat(geminiResponse);
+                System.err.println("구조화 응답 파싱 실패, 텍스트 형식으로 대체: " + e.getMessage());
+            } else {
+                // 출력 토큰 한도 등으로 잘린 응답: 완성된 슬라이드까지만 사용
+                structuredPartial.incrementAndGet();
             }
-            
+        }
+
+        if (slideOutlines.isEmpty()) {
+            structuredFailures.incrementAndGet();
+            textFallbacks.incrementAndGet();
+            return parseSlideStructure(geminiResponse);
+        }
+        for (int i = 0; i < slideOutlines.size(); i++) {
+            normalize(slideOutlines.get(i), i + 1);
+        }
+        return slideOutlines;
+    }
+
+    /**
+     * 응답 형식별 파싱 통계 (관리자용)
+     */
+    public Map<String, Object> getStats() {
+        long structured = structuredResponses.get();
+        long failures = structuredFailures.get();
+        long fallbacks = textFallbacks.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("structuredResponses", structured);
+        stats.put("structuredPartial", structuredPartial.get());
+        stats.put("structuredFailures", failures);
+        stats.put("textResponses", textResponses.get());
+        stats.put("textFallbacks", fallbacks);
+        stats.put("parseFailureRate", structured == 0 ? 0.0 : (double) failures / structured);
+        // JSON 으로 시도했다가 텍스트 파서로 대체한 비율
+        stats.put("fallbackRate", structured == 0 ? 0.0 : (double) fallbacks / structured);
+        return stats;
+    }
+
+    /**
+     * Gemini 응답을 SlideOutline 리스트로 파싱
+     */
+    public List<SlideOutline> parseSlideStructure(String geminiResponse) throws Exception {
+        if (geminiResponse == null) {
+            throw new Exception("슬라이드 구조 파싱 중 오류 발생: 응답이 없습니다.");
+        }
+        try {
+            SlideStream stream = new SlideStream(slide -> { });
+            stream.feed(geminiResponse);
+            return stream.finish();
         } catch (Exception e) {
             throw new Exception("슬라이드 구조 파싱 중 오류 발생: " + e.getMessage(), e);
         }
-        
-        return slideOutlines;
     }
 
     /**
-     * 개별 슬라이드 파싱
+     * Reader 로 전달되는 Gemini 응답 파싱 (전체 응답을 문자열로 모으지 않음)
      */
-    private SlideOutline parseIndividualSlide(String slideContent, int slideNumber) {
+    public List<SlideOutline> parseSlideStructure(Reader reader) throws Exception {
         try {
-            SlideOutline outline = new SlideOutline();
-            outline.setSlideNumber(slideNumber);
-            
-            // 제목 추출
-            Matcher titleMatcher = TITLE_PATTERN.matcher(slideContent);
-            if (titleMatcher.find()) {
-                outline.setTitle(titleMatcher.group(1).trim());
-            }
-            
-            // 내용 추출
-            Matcher contentMatcher = CONTENT_PATTERN.matcher(slideContent);
-            if (contentMatcher.find()) {
-                String content = contentMatcher.group(1).trim();
-                outline.setContent(content);
-                
-                // 불릿 포인트 추출
-                List<String> bulletPoints = extractBulletPoints(content);
-                outline.setBulletPoints(bulletPoints);
+            SlideStream stream = new SlideStream(slide -> { });
+            char[] buffer = new char[READ_BUFFER_SIZE];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                stream.feed(CharBuffer.wrap(buffer, 0, read));
+            }
+            return stream.finish();
+        } catch (Exception e) {
+            throw new Exception("슬라이드 구조 파싱 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 스트리밍 파싱 세션 생성
+     * 텍스트 조각을 순서대로 전달하면 슬라이드 블록이 닫히는 즉시 consumer에 전달됩니다.
+     */
+    public SlideStream openStream(Consumer<SlideOutline> consumer) {
+        return new SlideStream(consumer);
+    }
+
+    /**
+     * JSON 배열(또는 슬라이드 객체 하나)을 원소 단위로 읽음
+     */
+    private void readSlides(JsonParser parser, List<SlideOutline> slideOutlines) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            slideOutlines.add(slideReader.readValue(parser));
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            slideOutlines.add(slideReader.readValue(parser));
+        }
+    }
+
+    /**
+     * 구조화 응답의 슬라이드를 텍스트 파싱 결과와 같은 모양으로 정리
+     */
+    private static void normalize(SlideOutline outline, int slideNumber) {
+        outline.setSlideNumber(slideNumber);
+        outline.setTitle(trimToNull(outline.getTitle()));
+        outline.setNotes(trimToNull(outline.getNotes()));
+
+        List<String> bulletPoints = new ArrayList<>();
+        if (outline.getBulletPoints() != null) {
+            for (String bullet : outline.getBulletPoints()) {
+                String trimmed = trimToNull(bullet);
+                if (trimmed != null) {
+                    bulletPoints.add(trimmed);
+                }
             }
-            
-            // 노트 추출
-            Matcher notesMatcher = NOTES_PATTERN.matcher(slideContent);
-            if (notesMatcher.find()) {
-                outline.setNotes(notesMatcher.group(1).trim());
+        }
+        outline.setBulletPoints(bulletPoints);
+
+        // 아웃라인 요약, 재생성 프롬프트에서 쓰는 내용은 텍스트 형식과 같이 글머리 목록
+        String content = trimToNull(outline.getContent());
+        if (content == null && !bulletPoints.isEmpty()) {
+            StringBuilder joined = new StringBuilder();
+            for (String bullet : bulletPoints) {
+                joined.append(joined.length() == 0 ? "- " : "\n- ").append(bullet);
             }
-            
-            // 슬라이드 타입 추론
+            content = joined.toString();
+        }
+        outline.setContent(content);
+
+        if (outline.getSlideType() == null || outline.getSlideType().isBlank()) {
             outline.setSlideType(inferSlideType(outline.getTitle(), outline.getContent()));
-            
-            return outline;
-            
-        } catch (Exception e) {
-            System.err.println("개별 슬라이드 파싱 오류: " + e.getMessage());
+        }
+    }
+
+    /**
+     * JSON 응답이면 '[' 또는 '{' 위치 (코드 블록 표시 허용), 아니면 -1
+     */
+    private static int findJsonStart(String text) {
+        int start = skipWhitespace(text, 0, text.length());
+        if (text.startsWith("```", start)) {
+            int lineEnd = text.indexOf('\n', start);
+            if (lineEnd < 0) {
+                return -1;
+            }
+            start = skipWhitespace(text, lineEnd + 1, text.length());
+        }
+        if (start < text.length() && (text.charAt(start) == '[' || text.charAt(start) == '{')) {
+            return start;
+        }
+        return -1;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
             return null;
         }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
     }
 
     /**
-     * 대체 포맷 파싱 (숫자 리스트 형태)
+     * 대체 포맷 파싱 (숫자 리스트 형태: "1. 제목 - 설명")
+     * 설명은 다음 줄의 "N." 항목 직전까지입니다.
      */
-    private List<SlideOutline> parseAlternativeFormat(String geminiResponse) {
+    private static List<SlideOutline> parseAlternativeFormat(CharSequence text) {
         List<SlideOutline> slideOutlines = new ArrayList<>();
-        
-        try {
-            // 숫자 리스트 패턴으로 파싱
-            Pattern listPattern = Pattern.compile("(\\d+)\\s*\\.\\s*(.+?)\\s*-\\s*(.+?)(?=\\n\\d+\\.|$)", Pattern.DOTALL);
-            Matcher listMatcher = listPattern.matcher(geminiResponse);
-            
-            while (listMatcher.find()) {
-                int slideNumber = Integer.parseInt(listMatcher.group(1));
-                String title = listMatcher.group(2).trim();
-                String description = listMatcher.group(3).trim();
-                
-                SlideOutline outline = new SlideOutline();
-                outline.setSlideNumber(slideNumber);
-                outline.setTitle(title);
-                outline.setContent(description);
-                outline.setSlideType("standard");
-                
-                slideOutlines.add(outline);
-            }
-            
-        } catch (Exception e) {
-            System.err.println("대체 포맷 파싱 오류: " + e.getMessage());
+        int length = text.length();
+        int position = 0;
+
+        while (position < length) {
+            // 다음 숫자 묶음
+            int numberStart = position;
+            while (numberStart < length && !isDigit(text.charAt(numberStart))) {
+                numberStart++;
+            }
+            if (numberStart == length) {
+                break;
+            }
+            int numberEnd = numberStart;
+            while (numberEnd < length && isDigit(text.charAt(numberEnd))) {
+                numberEnd++;
+            }
+            position = numberEnd;
+
+            int dot = skipWhitespace(text, numberEnd, length);
+            if (dot == length || text.charAt(dot) != '.') {
+                continue;
+            }
+            int titleStart = skipWhitespace(text, dot + 1, length);
+            if (titleStart == length) {
+                continue;
+            }
+
+            // 제목은 최소 한 글자, 그 뒤 처음 나오는 '-' 에서 끝나며 '-' 뒤에 한 글자 이상 있어야 함
+            int dash = indexOf(text, '-', titleStart + 1);
+            if (dash < 0 || dash == length - 1) {
+                // "1.  -설명" 처럼 공백 뒤 바로 '-' 가 오면 제목은 빈 문자열
+                if (text.charAt(titleStart) == '-' && titleStart > dot + 1 && titleStart < length - 1) {
+                    dash = titleStart;
+                } else {
+                    continue;
+                }
+            }
+
+            int descriptionStart = skipWhitespace(text, dash + 1, length);
+            int descriptionEnd;
+            if (descriptionStart == length) {
+                descriptionStart = length - 1;
+                descriptionEnd = length;
+            } else {
+                descriptionEnd = nextListItem(text, descriptionStart + 1, length);
+            }
+
+            int slideNumber;
+            try {
+                slideNumber = Integer.parseInt(text.subSequence(numberStart, numberEnd).toString());
+            } catch (NumberFormatException e) {
+                System.err.println("대체 포맷 파싱 오류: " + e.getMessage());
+                break;
+            }
+
+            SlideOutline outline = new SlideOutline();
+            outline.setSlideNumber(slideNumber);
+            outline.setTitle(titleStart < dash ? text.subSequence(titleStart, dash).toString().trim() : "");
+            outline.setContent(text.subSequence(descriptionStart, descriptionEnd).toString().trim());
+            outline.setSlideType("standard");
+            slideOutlines.add(outline);
+
+            position = descriptionEnd;
         }
-        
+
         return slideOutlines;
     }
 
     /**
-     * 불릿 포인트 추출
+     * from 이후 처음으로 "\nN." 이 시작되는 위치 (없으면 끝)
      */
-    private List<String> extractBulletPoints(String content) {
-        List<String> bulletPoints = new ArrayList<>();
-        
-        Matcher bulletMatcher = BULLET_PATTERN.matcher(content);
-        while (bulletMatcher.find()) {
-            bulletPoints.add(bulletMatcher.group(1).trim());
+    private static int nextListItem(CharSequence text, int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (text.charAt(i) != '\n') {
+                continue;
+            }
+            int digits = i + 1;
+            while (digits < length && isDigit(text.charAt(digits))) {
+                digits++;
+            }
+            if (digits > i + 1 && digits < length && text.charAt(digits) == '.') {
+                return i;
+            }
         }
-        
-        return bulletPoints;
+        return length;
+    }
+
+    /**
+     * fence 위치에서 시작하는 슬라이드 구분자의 끝 위치
+     * 구분자가 아니면 HEADER_NONE, 구분자가 될 수 있는데 텍스트가 먼저 끝나면 HEADER_PARTIAL
+     */
+    private static int matchHeader(CharSequence text, int fence) {
+        int length = text.length();
+        int i = skipWhitespace(text, fence + HEADER_FENCE.length(), length);
+        for (int k = 0; k < HEADER_LABEL.length(); k++, i++) {
+            if (i == length) {
+                return HEADER_PARTIAL;
+            }
+            if (text.charAt(i) != HEADER_LABEL.charAt(k)) {
+                return HEADER_NONE;
+            }
+        }
+        i = skipWhitespace(text, i, length);
+        int digits = i;
+        while (i < length && isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return HEADER_PARTIAL;
+        }
+        if (i == digits) {
+            return HEADER_NONE;
+        }
+        i = skipWhitespace(text, i, length);
+        for (int k = 0; k < HEADER_FENCE.length(); k++, i++) {
+            if (i == length) {
+                return HEADER_PARTIAL;
+            }
+            if (text.charAt(i) != '=') {
+                return HEADER_NONE;
+            }
+        }
+        return i;
+    }
+
+    // 정규식 \s 와 같은 공백 문자
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isBullet(char c) {
+        return c == '-' || c == '*' || c == '•';
+    }
+
+    private static int skipWhitespace(CharSequence text, int from, int to) {
+        int i = from;
+        while (i < to && isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // [from, to) 안에서 label 이 시작하는 위치 (없으면 -1)
+    private static int indexOf(CharSequence text, String label, int from, int to) {
+        char first = label.charAt(0);
+        for (int i = from; i <= to - label.length(); i++) {
+            if (text.charAt(i) != first) {
+                continue;
+            }
+            int k = 1;
+            while (k < label.length() && text.charAt(i + k) == label.charAt(k)) {
+                k++;
+            }
+            if (k == label.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence text, char target, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
      * 슬라이드 타입 추론
      */
-    private String inferSlideType(String title, String content) {
+    private static String inferSlideType(String title, String content) {
         if (title == null && content == null) {
             return "standard";
         }
@@ -210,4 +481,352 @@ public class SlideParser {
         
         return summary.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * 스트리밍 파싱 세션 (단일 생산자 전용)
+     * 완성된 줄 단위로 처리하며, 다음 슬라이드 구분자가 도착하면 직전 슬라이드를 완성하여 전달합니다.
+     * 구분자가 줄바꿈을 사이에 두고 이어질 수 있으면 해당 줄부터 판정이 끝날 때까지 보류합니다.
+     */
+    public class SlideStream {
+
+        private final Consumer<SlideOutline> consumer;
+        private final List<SlideOutline> slideOutlines = new ArrayList<>();
+        // 대체 포맷 파싱용 원문 (슬라이드가 하나라도 나오면 더 이상 보관하지 않음)
+        private StringBuilder fullText = new StringBuilder();
+        // 줄바꿈이 아직 도착하지 않은 마지막 줄
+        private final StringBuilder pending = new StringBuilder();
+        private int scanned;
+        // 아직 블록에 전달하지 않은 완성된 줄들 (줄바꿈 포함)과 각 줄의 본문 끝/줄 끝 위치
+        private final StringBuilder window = new StringBuilder();
+        private int[] lineEnds = new int[8];
+        private int lineCount;
+        private int firstLine;
+        // window 안에서 아직 블록에 전달하지 않은 위치
+        private int position;
+        // 첫 구분자 이전(서문)에는 null
+        private SlideBlock current;
+        private int slideIndex;
+        // 내용이 전혀 없는 블록은 뒤에 내용 있는 블록이 올 때만 전달 (응답 끝의 빈 블록은 버림)
+        private int pendingEmptyBlocks;
+
+        private SlideStream(Consumer<SlideOutline> consumer) {
+            this.consumer = consumer;
+        }
+
+        /**
+         * 텍스트 조각 추가
+         */
+        public void feed(CharSequence chunk) {
+            if (fullText != null) {
+                fullText.append(chunk);
+            }
+            pending.append(chunk);
+
+            int lineStart = 0;
+            int length = pending.length();
+            for (int i = scanned; i < length; i++) {
+                char c = pending.charAt(i);
+                if (c == '\n') {
+                    line(lineStart, i, i + 1);
+                    lineStart = i + 1;
+                } else if (c == '\r') {
+                    // \r\n 여부는 다음 글자가 도착해야 알 수 있음
+                    if (i + 1 == length) {
+                        break;
+                    }
+                    int lineEnd = pending.charAt(i + 1) == '\n' ? i + 2 : i + 1;
+                    line(lineStart, i, lineEnd);
+                    i = lineEnd - 1;
+                    lineStart = lineEnd;
+                }
+            }
+            pending.delete(0, lineStart);
+            scanned = pending.length() > 0 && pending.charAt(pending.length() - 1) == '\r'
+                ? pending.length() - 1
+                : pending.length();
+        }
+
+        /**
+         * 스트림 종료 처리 후 전체 슬라이드 목록 반환
+         */
+        public List<SlideOutline> finish() {
+            int length = pending.length();
+            if (length > 0) {
+                boolean endsWithCr = pending.charAt(length - 1) == '\r';
+                line(0, endsWithCr ? length - 1 : length, length);
+                pending.setLength(0);
+            }
+            scan(true);
+            if (current != null) {
+                closeBlock();
+            }
+            pendingEmptyBlocks = 0;
+
+            // 구분자 형식이 아니면 대체 파싱 결과를 한 번에 전달
+            if (slideOutlines.isEmpty() && fullText != null) {
+                for (SlideOutline outline : parseAlternativeFormat(fullText)) {
+                    slideOutlines.add(outline);
+                    consumer.accept(outline);
+                }
+            }
+            fullText = null;
+            return slideOutlines;
+        }
+
+        /**
+         * pending 의 [start, textEnd) 본문과 [textEnd, lineEnd) 줄바꿈을 한 줄로 추가
+         */
+        private void line(int start, int textEnd, int lineEnd) {
+            if (lineCount * 2 == lineEnds.length) {
+                lineEnds = Arrays.copyOf(lineEnds, lineEnds.length * 2);
+            }
+            window.append(pending, start, textEnd);
+            lineEnds[lineCount * 2] = window.length();
+            window.append(pending, textEnd, lineEnd);
+            lineEnds[lineCount * 2 + 1] = window.length();
+            lineCount++;
+            scan(false);
+        }
+
+        /**
+         * window 에서 구분자를 찾아 그 앞까지 현재 블록에 전달
+         *
+         * @param last 더 이상 줄이 오지 않음 (걸쳐 있는 구분자 후보는 구분자가 아님)
+         */
+        private void scan(boolean last) {
+            int search = position;
+            int fence;
+            while ((fence = window.indexOf(HEADER_FENCE, search)) >= 0) {
+                int headerEnd = matchHeader(window, fence);
+                if (headerEnd >= 0) {
+                    emitUpTo(fence);
+                    if (current != null) {
+                        closeBlock();
+                    }
+                    current = new SlideBlock();
+                    // 여러 줄에 걸친 구분자면 구분자가 끝난 줄로 이동
+                    while (firstLine < lineCount && lineEnds[firstLine * 2 + 1] <= headerEnd) {
+                        firstLine++;
+                    }
+                    position = headerEnd;
+                    search = headerEnd;
+                } else if (headerEnd == HEADER_PARTIAL && !last) {
+                    // 후보가 시작된 줄 직전까지만 전달하고 나머지는 다음 줄을 기다림
+                    while (firstLine < lineCount && lineEnds[firstLine * 2 + 1] <= fence) {
+                        emitUpTo(lineEnds[firstLine * 2 + 1]);
+                    }
+                    compact();
+                    return;
+                } else {
+                    search = fence + 1;
+                }
+            }
+            emitUpTo(window.length());
+            compact();
+        }
+
+        /**
+         * position 부터 limit 까지 줄 단위로 현재 블록에 전달 (limit 에서 끝나는 줄은 줄바꿈 없이)
+         */
+        private void emitUpTo(int limit) {
+            while (firstLine < lineCount && position < limit) {
+                int textEnd = lineEnds[firstLine * 2];
+                int lineEnd = lineEnds[firstLine * 2 + 1];
+                if (limit < lineEnd) {
+                    if (current != null) {
+                        current.line(window, position, limit, 0);
+                    }
+                    position = limit;
+                    return;
+                }
+                if (current != null) {
+                    current.line(window, position, textEnd, lineEnd - textEnd);
+                    current.terminator(window, textEnd, lineEnd);
+                }
+                position = lineEnd;
+                firstLine++;
+            }
+        }
+
+        // 전달이 끝난 줄 제거
+        private void compact() {
+            if (firstLine == 0) {
+                return;
+            }
+            int shift = firstLine < lineCount ? lineEnds[firstLine * 2 - 1] : window.length();
+            window.delete(0, shift);
+            int remaining = lineCount - firstLine;
+            for (int i = 0; i < remaining * 2; i++) {
+                lineEnds[i] = lineEnds[firstLine * 2 + i] - shift;
+            }
+            lineCount = remaining;
+            firstLine = 0;
+            position -= shift;
+        }
+
+        private void closeBlock() {
+            SlideBlock block = current;
+            current = null;
+            if (block.length == 0) {
+                pendingEmptyBlocks++;
+                return;
+            }
+            for (; pendingEmptyBlocks > 0; pendingEmptyBlocks--) {
+                emit(new SlideBlock().build(++slideIndex));
+            }
+            emit(block.build(++slideIndex));
+        }
+
+        private void emit(SlideOutline outline) {
+            fullText = null;
+            slideOutlines.add(outline);
+            consumer.accept(outline);
+        }
+    }
+
+    /**
+     * 슬라이드 한 장의 블록 (구분자 사이의 줄들을 받아 바로 항목을 채움)
+     * 제목/노트는 블록에서 처음 나온 라벨 뒤의 한 줄, 내용은 "내용:" 뒤부터 "노트:" 직전까지입니다.
+     */
+    private static final class SlideBlock {
+
+        private static final int CONTENT_NONE = 0;
+        // "내용:" 뒤가 비어 있어 다음 내용 있는 줄을 기다리는 중
+        private static final int CONTENT_PENDING = 1;
+        private static final int CONTENT_OPEN = 2;
+        private static final int CONTENT_CLOSED = 3;
+
+        private int length;
+        private final LabelValue title = new LabelValue(TITLE_LABEL);
+        private final LabelValue notes = new LabelValue(NOTES_LABEL);
+        private int contentState = CONTENT_NONE;
+        private StringBuilder content;
+        private List<String> bulletPoints;
+        // 글머리 기호 뒤가 비어 있어 다음 내용 있는 줄을 값으로 기다리는 중
+        private boolean bulletPending;
+        // 마지막 줄이 "노트:" 없이 끝나 내용에 줄바꿈을 이어 붙여야 하는지
+        private boolean contentContinues;
+
+        /**
+         * 한 줄의 [from, to) 구간 (terminatorLength 는 뒤따르는 줄바꿈 길이)
+         */
+        private void line(CharSequence text, int from, int to, int terminatorLength) {
+            length += (to - from) + terminatorLength;
+            title.line(text, from, to);
+            notes.line(text, from, to);
+            content(text, from, to);
+        }
+
+        private void terminator(CharSequence text, int from, int to) {
+            if (contentContinues) {
+                content.append(text, from, to);
+            }
+        }
+
+        private void content(CharSequence text, int from, int to) {
+            contentContinues = false;
+            int start = from;
+            if (contentState == CONTENT_NONE) {
+                int label = indexOf(text, CONTENT_LABEL, from, to);
+                if (label < 0) {
+                    return;
+                }
+                start = label + CONTENT_LABEL.length();
+                contentState = CONTENT_PENDING;
+            }
+            if (contentState == CONTENT_PENDING) {
+                start = skipWhitespace(text, start, to);
+                if (start == to) {
+                    return;
+                }
+                contentState = CONTENT_OPEN;
+                content = new StringBuilder();
+                bulletPoints = new ArrayList<>();
+            }
+            if (contentState != CONTENT_OPEN) {
+                return;
+            }
+
+            int notesLabel = indexOf(text, NOTES_LABEL, start, to);
+            int end = notesLabel >= 0 ? notesLabel : to;
+            content.append(text, start, end);
+            bulletLine(text, start, end);
+            if (notesLabel >= 0) {
+                contentState = CONTENT_CLOSED;
+            } else {
+                contentContinues = true;
+            }
+        }
+
+        private void bulletLine(CharSequence text, int from, int to) {
+            int start = skipWhitespace(text, from, to);
+            if (start == to) {
+                return;
+            }
+            if (bulletPending) {
+                bulletPoints.add(text.subSequence(start, to).toString().trim());
+                bulletPending = false;
+                return;
+            }
+            if (!isBullet(text.charAt(start))) {
+                return;
+            }
+            int valueStart = skipWhitespace(text, start + 1, to);
+            if (valueStart < to) {
+                bulletPoints.add(text.subSequence(valueStart, to).toString().trim());
+            } else {
+                bulletPending = true;
+            }
+        }
+
+        private SlideOutline build(int slideNumber) {
+            SlideOutline outline = new SlideOutline();
+            outline.setSlideNumber(slideNumber);
+            outline.setTitle(title.value);
+            if (contentState == CONTENT_PENDING) {
+                outline.setContent("");
+                outline.setBulletPoints(new ArrayList<>());
+            } else if (contentState != CONTENT_NONE) {
+                outline.setContent(content.toString().trim());
+                outline.setBulletPoints(bulletPoints);
+            }
+            outline.setNotes(notes.value);
+            outline.setSlideType(inferSlideType(outline.getTitle(), outline.getContent()));
+            return outline;
+        }
+    }
+
+    /**
+     * "라벨: 값" 형식의 한 줄 값 (라벨 뒤가 비어 있으면 다음 내용 있는 줄을 값으로 사용)
+     */
+    private static final class LabelValue {
+
+        private final String label;
+        private String value;
+        private boolean pending;
+
+        private LabelValue(String label) {
+            this.label = label;
+        }
+
+        private void line(CharSequence text, int from, int to) {
+            if (value != null) {
+                return;
+            }
+            int start = from;
+            if (!pending) {
+                int found = indexOf(text, label, from, to);
+                if (found < 0) {
+                    return;
+                }
+                start = found + label.length();
+                pending = true;
+            }
+            start = skipWhitespace(text, start, to);
+            if (start < to) {
+                value = text.subSequence(start, to).toString().trim();
+                pending = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package init.common.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 해시 키 기반 텍스트 캐시
+ * 메모리 LRU 계층과, 재시작 후에도 유지되는 gzip 디스크 계층(선택)으로 구성됩니다.
+ * 메모리 계층은 항목 수와 글자 수 합계로 제한합니다.
+ * 디스크 계층은 파일 수와 압축 후 총 바이트 수로 제한하며, 넘으면 가장 오래 쓰이지 않은 파일부터 지웁니다.
+ */
+public class TieredTextCache {
+
+    private static final String FILE_SUFFIX = ".txt.gz";
+
+    public static final long DEFAULT_MAX_DISK_BYTES = 256L * 1024 * 1024;
+    public static final int DEFAULT_MAX_DISK_FILES = 10_000;
+
+    private final LruTtlCache<String, String> memory;
+    private final Path diskDir;
+    private final long ttlMillis;
+    private final long maxDiskBytes;
+    private final int maxDiskFiles;
+
+    // 디스크 계층 파일 목록 (키 → 압축 크기, 사용 순서), diskIndex 로 동기화
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong diskWrites = new AtomicLong();
+    private final AtomicLong diskErrors = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+
+    /**
+     * @param diskDir 디스크 계층 디렉토리 (null 또는 빈 값이면 메모리 계층만 사용)
+     */
+    public TieredTextCache(int maxEntries, long ttlMillis, String diskDir) {
+        this(maxEntries, ttlMillis, diskDir, DEFAULT_MAX_DISK_BYTES, DEFAULT_MAX_DISK_FILES);
+    }
+
+    /**
+     * @param diskDir 디스크 계층 디렉토리 (null 또는 빈 값이면 메모리 계층만 사용)
+     * @param maxDiskBytes 디스크 계층 최대 바이트 수 (압축 후)
+     * @param maxDiskFiles 디스크 계층 최대 파일 수
+     */
+    public TieredTextCache(int maxEntries, long ttlMillis, String diskDir, long maxDiskBytes, int maxDiskFiles) {
+        this(maxEntries, Long.MAX_VALUE, ttlMillis, diskDir, maxDiskBytes, maxDiskFiles);
+    }
+
+    /**
+     * @param maxMemoryChars 메모리 계층 글자 수 합계 한도 (이보다 긴 값은 디스크 계층에만 저장)
+     * @param diskDir 디스크 계층 디렉토리 (null 또는 빈 값이면 메모리 계층만 사용)
+     * @param maxDiskBytes 디스크 계층 최대 바이트 수 (압축 후)
+     * @param maxDiskFiles 디스크 계층 최대 파일 수
+     */
+    public TieredTextCache(int maxEntries, long maxMemoryChars, long ttlMillis, String diskDir,
+                           long maxDiskBytes, int maxDiskFiles) {
+        this.memory = new LruTtlCache<>(maxEntries, maxMemoryChars, String::length, ttlMillis);
+        this.ttlMillis = ttlMillis;
+        this.diskDir = (diskDir == null || diskDir.isBlank()) ? null : Paths.get(diskDir);
+        this.maxDiskBytes = maxDiskBytes;
+        this.maxDiskFiles = maxDiskFiles;
+
+        if (this.diskDir != null) {
+            try {
+                Files.createDirectories(this.diskDir);
+                loadDiskIndex();
+            } catch (IOException e) {
+                System.err.println("디스크 캐시 디렉토리 초기화 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 조회 (메모리 → 디스크 순, 디스크 적중 시 메모리로 승격)
+     */
+    public String get(String key) {
+        String value = memory.get(key);
+        if (value != null || diskDir == null) {
+            return value;
+        }
+
+        Path file = diskDir.resolve(key + FILE_SUFFIX);
+        try {
+            if (!Files.exists(file)) {
+                forget(key);
+                return null;
+            }
+            if (isExpired(file)) {
+                deleteFile(key);
+                return null;
+            }
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                value = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            synchronized (diskIndex) {
+                diskIndex.get(key);
+            }
+            diskHits.incrementAndGet();
+            memory.put(key, value);
+            return value;
+        } catch (IOException e) {
+            // 잘린 파일 등 읽을 수 없는 파일은 지워서 다음 저장 때 다시 쓰이게 함
+            diskErrors.incrementAndGet();
+            System.err.println("디스크 캐시 읽기 오류: " + e.getMessage());
+            deleteFile(key);
+            return null;
+        }
+    }
+
+    /**
+     * 저장 (디스크 계층은 임시 파일 작성 후 원자적으로 교체)
+     */
+    public void put(String key, String value) {
+        memory.put(key, value);
+        if (diskDir == null) {
+            return;
+        }
+
+        Path file = diskDir.resolve(key + FILE_SUFFIX);
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(diskDir, key, ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                out.write(value.getBytes(StandardCharsets.UTF_8));
+            }
+            long size = Files.size(tempFile);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            diskWrites.incrementAndGet();
+            synchronized (diskIndex) {
+                Long previous = diskIndex.put(key, size);
+                diskBytes += size - (previous != null ? previous : 0);
+                evictOverflow();
+            }
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            System.err.println("디스크 캐시 쓰기 오류: " + e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // 임시 파일 정리 실패는 무시
+                }
+            }
+        }
+    }
+
+    /**
+     * 캐시 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(memory.getStats());
+        stats.put("diskEnabled", diskDir != null);
+        stats.put("diskHits", diskHits.get());
+        stats.put("diskWrites", diskWrites.get());
+        stats.put("diskErrors", diskErrors.get());
+        stats.put("diskEvictions", diskEvictions.get());
+        synchronized (diskIndex) {
+            stats.put("diskFiles", diskIndex.size());
+            stats.put("diskBytes", diskBytes);
+        }
+        stats.put("maxDiskFiles", maxDiskFiles);
+        stats.put("maxDiskBytes", maxDiskBytes);
+        return stats;
+    }
+
+    private boolean isExpired(Path file) throws IOException {
+        return Files.getLastModifiedTime(file).toMillis() + ttlMillis <= System.currentTimeMillis();
+    }
+
+    /**
+     * 기존 파일 목록 적재 (만료 파일 삭제, 남은 파일은 수정 시각 순으로 사용 순서 구성 후 한도 적용)
+     */
+    private void loadDiskIndex() throws IOException {
+        record DiskFile(String key, long size, FileTime modified) {
+        }
+        List<DiskFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(diskDir, "*" + FILE_SUFFIX)) {
+            for (Path file : paths) {
+                if (isExpired(file)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                String key = name.substring(0, name.length() - FILE_SUFFIX.length());
+                files.add(new DiskFile(key, Files.size(file), Files.getLastModifiedTime(file)));
+            }
+        }
+        files.sort(Comparator.comparing(DiskFile::modified));
+        synchronized (diskIndex) {
+            for (DiskFile file : files) {
+                diskIndex.put(file.key(), file.size());
+                diskBytes += file.size();
+            }
+            evictOverflow();
+        }
+    }
+
+    // diskIndex 잠금 안에서 호출
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Long>> eldest = diskIndex.entrySet().iterator();
+        while ((diskBytes > maxDiskBytes || diskIndex.size() > maxDiskFiles) && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            diskBytes -= entry.getValue();
+            diskEvictions.incrementAndGet();
+            try {
+                Files.deleteIfExists(diskDir.resolve(entry.getKey() + FILE_SUFFIX));
+            } catch (IOException e) {
+                diskErrors.incrementAndGet();
+                System.err.println("디스크 캐시 삭제 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    private void deleteFile(String key) {
+        synchronized (diskIndex) {
+            forget(key);
+            try {
+                Files.deleteIfExists(diskDir.resolve(key + FILE_SUFFIX));
+            } catch (IOException e) {
+                diskErrors.incrementAndGet();
+                System.err.println("디스크 캐시 삭제 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    private void forget(String key) {
+        synchronized (diskIndex) {
+            Long size = diskIndex.remove(key);
+            if (size != null) {
+                diskBytes -= size;
+            }
+        }
+    }
+}
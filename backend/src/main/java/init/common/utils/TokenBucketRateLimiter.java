@@ -0,0 +1,117 @@
+package init.common.utils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 분당 요청 수와 분당 토큰 수를 함께 제한하는 토큰 버킷
+ * 두 버킷 모두 분 단위 용량을 연속적으로 보충합니다.
+ * 가상 스레드가 대기 중 캐리어 스레드를 점유하지 않도록 synchronized 대신 ReentrantLock 으로 대기합니다.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final double requestCapacity;
+    private final double tokenCapacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    // 보충을 기다리는 동안의 대기 (보충은 시간에 따라 일어나므로 signal 없이 계산한 시간만큼 대기)
+    private final Condition refilled = lock.newCondition();
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public TokenBucketRateLimiter(long requestsPerMinute, long tokensPerMinute) {
+        this.requestCapacity = requestsPerMinute;
+        this.tokenCapacity = tokensPerMinute;
+        this.availableRequests = requestsPerMinute;
+        this.availableTokens = tokensPerMinute;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 요청 1건과 추정 토큰만큼 허가를 받을 때까지 대기
+     *
+     * @param deadlineNanos System.nanoTime() 기준 대기 마감 시각
+     */
+    public void acquire(int estimatedTokens, long deadlineNanos) throws Exception {
+        // 버킷 용량보다 큰 요청은 용량만큼만 요구 (영원히 대기하지 않도록)
+        double tokens = Math.min(estimatedTokens, tokenCapacity);
+        boolean waited = false;
+
+        lock.lock();
+        try {
+            while (true) {
+                refill();
+                if (availableRequests >= 1 && availableTokens >= tokens) {
+                    availableRequests -= 1;
+                    availableTokens -= tokens;
+                    admitted.incrementAndGet();
+                    if (waited) {
+                        throttled.incrementAndGet();
+                    }
+                    return;
+                }
+
+                long waitNanos = Math.max(
+                    nanosUntil(availableRequests, 1, requestCapacity),
+                    nanosUntil(availableTokens, tokens, tokenCapacity)
+                );
+                long remaining = deadlineNanos - System.nanoTime();
+                if (waitNanos > remaining) {
+                    rejected.incrementAndGet();
+                    throw new AdmissionRejectedException("Gemini 호출 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
+                }
+
+                waited = true;
+                refilled.awaitNanos(Math.max(waitNanos, 1));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 처리율 제한 통계
+     */
+    public Map<String, Object> getStats() {
+        lock.lock();
+        try {
+            refill();
+            return Map.of(
+                "availableRequests", (long) availableRequests,
+                "availableTokens", (long) availableTokens,
+                "admitted", admitted.get(),
+                "throttled", throttled.get(),
+                "rejected", rejected.get()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        availableRequests = Math.min(requestCapacity, availableRequests + requestCapacity * elapsed / NANOS_PER_MINUTE);
+        availableTokens = Math.min(tokenCapacity, availableTokens + tokenCapacity * elapsed / NANOS_PER_MINUTE);
+        lastRefillNanos = now;
+    }
+
+    private long nanosUntil(double available, double needed, double capacityPerMinute) {
+        if (available >= needed) {
+            return 0;
+        }
+        return (long) Math.ceil((needed - available) * NANOS_PER_MINUTE / capacityPerMinute);
+    }
+}
@@ -0,0 +1,38 @@
+package init.common.utils;
+
+/**
+ * 텍스트의 대략적인 토큰 수 추정
+ * 영문 등 ASCII 는 약 4자당 1토큰, 한글 등 그 외 문자는 약 1.5자당 1토큰으로 계산합니다.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        return estimate(text, 0, text == null ? 0 : text.length());
+    }
+
+    /**
+     * 지정 구간의 토큰 수 추정
+     */
+    public static int estimate(CharSequence text, int start, int end) {
+        if (text == null || start >= end) {
+            return 0;
+        }
+        int asciiCount = 0;
+        int otherCount = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c < 0x80) {
+                asciiCount++;
+            } else {
+                otherCount++;
+            }
+        }
+        return (int) Math.ceil(asciiCount / 4.0 + otherCount / 1.5);
+    }
+}
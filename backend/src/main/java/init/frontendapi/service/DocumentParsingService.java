@@ -1,17 +1,26 @@
 package init.frontendapi.service;
 
 import init.frontendapi.dto.DocumentHistory;
+import init.common.utils.DocumentSearchIndex;
+import init.common.utils.DocumentStructureAnalyzer;
+import init.common.utils.DocumentTextExtractor;
+import init.common.utils.ExtractedTextCache;
 import init.common.utils.FileStorageUtil;
+import init.common.utils.GeminiApiClient;
+import init.common.utils.ParallelDocumentExtractor;
 import init.frontendapi.dto.DocumentRequest;
 import init.frontendapi.dto.DocumentResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 
 import java.util.ArrayList;
 
@@ -20,6 +29,28 @@ public class DocumentParsingService {
 
     @Autowired
     private FileStorageUtil fileStorageUtil;
+
+    @Autowired
+    private DocumentTextExtractor documentTextExtractor;
+
+    @Autowired
+    private ParallelDocumentExtractor parallelDocumentExtractor;
+
+    @Autowired
+    private ExtractedTextCache extractedTextCache;
+
+    @Autowired
+    private DocumentStructureAnalyzer documentStructureAnalyzer;
+
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
+
+    @Autowired
+    private GeminiApiClient geminiApiClient;
+
+    @Autowired
+    @Qualifier("virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
     
     
     //Cursor
@@ -45,11 +76,11 @@ public class DocumentParsingService {
             String fileName = file.getOriginalFilename();
             String fileExtension = getFileExtension(fileName);
             
-            // 파일 저장
-            String filePath = fileStorageUtil.saveFile(file, documentId);
-            
-            // 파일 형식에 따른 텍스트 추출
-            String extractedText = extractTextFromFile(file, fileExtension);
+            // 파일 저장 후 저장된 파일에서 스트림으로 텍스트 추출
+            Path filePath = Path.of(fileStorageUtil.saveFile(file, documentId));
+            DocumentTextExtractor.Extraction extraction = extractText(filePath, fileExtension);
+            String extractedText = extraction.text();
+            indexInBackground(documentId, filePath, fileExtension);
             
             // 문서 메타데이터 생성
             Map<String, Object> metadata = Map.of(
@@ -57,7 +88,9 @@ public class DocumentParsingService {
                 "fileSize", file.getSize(),
                 "fileType", fileExtension,
                 "uploadTime", System.currentTimeMillis(),
-                "wordCount", countWords(extractedText)
+                "wordCount", countWords(extractedText),
+                "pageCount", extraction.pageCount(),
+                "truncated", extraction.truncated()
             );
             
             return DocumentResponse.builder()
@@ -85,21 +118,25 @@ public class DocumentParsingService {
      */
     public DocumentResponse reparseDocument(DocumentRequest request) {
         try {
-            // 저장된 파일 불러오기
-            byte[] fileData = fileStorageUtil.loadFile(request.getDocumentId());
+            // 저장된 파일 찾기
+            Path filePath = fileStorageUtil.findFile(request.getDocumentId());
             String fileName = request.getFileName();
             String fileExtension = getFileExtension(fileName);
             
             // 텍스트 추출
-            String extractedText = extractTextFromBytes(fileData, fileExtension);
+            DocumentTextExtractor.Extraction extraction = extractText(filePath, fileExtension);
+            String extractedText = extraction.text();
+            indexInBackground(request.getDocumentId(), filePath, fileExtension);
             
             // 업데이트된 메타데이터 생성
             Map<String, Object> metadata = Map.of(
                 "fileName", fileName,
-                "fileSize", fileData.length,
+                "fileSize", Files.size(filePath),
                 "fileType", fileExtension,
                 "lastParsed", System.currentTimeMillis(),
-                "wordCount", countWords(extractedText)
+                "wordCount", countWords(extractedText),
+                "pageCount", extraction.pageCount(),
+                "truncated", extraction.truncated()
             );
             
             return DocumentResponse.builder()
@@ -127,16 +164,18 @@ public class DocumentParsingService {
      */
     public DocumentResponse parseDocumentStructure(String documentId) {
         try {
-            byte[] fileData = fileStorageUtil.loadFile(documentId);
-            String content = new String(fileData);
+            String content = getDocumentText(documentId);
             
-            // 문서 구조 분석
-            List<Map<String, Object>> sections = analyzeDocumentStructure(content);
+            // 문서 구조 분석 (섹션 트리, 위치는 content 기준 문자 오프셋)
+            DocumentStructureAnalyzer.Structure structure = documentStructureAnalyzer.analyze(content);
             
             Map<String, Object> structuredData = Map.of(
-                "sections", sections,
-                "totalSections", sections.size(),
-                "structureType", detectStructureType(content)
+                "sections", toSectionMaps(structure.root().getChildren(), content),
+                "preamble", toBlockMaps(structure.root().getBlocks()),
+                "totalSections", structure.sectionCount(),
+                "paragraphCount", structure.paragraphCount(),
+                "listCount", structure.listCount(),
+                "structureType", structure.structureType()
             );
             
             return DocumentResponse.builder()
@@ -166,56 +205,80 @@ public class DocumentParsingService {
     }
 
     /**
-     * 파일로부터 텍스트를 추출합니다.
+     * 저장된 문서의 추출 텍스트를 가져옵니다. (프롬프트 생성 등 반복 사용, 캐시 적중 시 재추출 없음)
+     *
+     * @param documentId 문서 ID
+     * @return 추출된 텍스트
      */
-    private String extractTextFromFile(MultipartFile file, String extension) throws IOException {
-        byte[] fileData = file.getBytes();
-        return extractTextFromBytes(fileData, extension);
+    public String getDocumentText(String documentId) throws Exception {
+        Path filePath = fileStorageUtil.findFile(documentId);
+        return extractText(filePath, getFileExtension(filePath.getFileName().toString())).text();
     }
 
     /**
-     * 바이트 배열로부터 텍스트를 추출합니다.
+     * 프롬프트에 넣을 문서 텍스트를 가져옵니다. (반복되는 상용구 등 유사 중복 문단 제거)
+     * 중복 제거 결과는 문서 내용별로 캐시하므로 프롬프트를 반복 생성해도 문서마다 한 번만 실행됩니다.
+     *
+     * @param documentId 문서 ID
+     * @return 중복 문단을 제거한 텍스트
      */
-    private String extractTextFromBytes(byte[] fileData, String extension) {
-        switch (extension) {
-            case "txt":
-                return new String(fileData);
-            case "pdf":
-                return extractTextFromPdf(fileData);
-            case "docx":
-                return extractTextFromDocx(fileData);
-            case "pptx":
-                return extractTextFromPptx(fileData);
-            default:
-                return new String(fileData);
-        }
+    public String getPromptDocumentText(String documentId) throws Exception {
+        return promptText(documentId).text();
+    }
+
+    /**
+     * 저장된 문서에서 질의와 관련된 구간만 토큰 예산 안에서 가져옵니다. (문서가 예산 안이면 전체)
+     * 중복 문단을 먼저 제거하므로 예산이 같은 내용에 두 번 쓰이지 않습니다.
+     *
+     * @param documentId 문서 ID
+     * @param query 주제·키워드
+     * @param maxTokens 최대 토큰 수(추정)
+     * @return 관련 구간을 문서 순서대로 이은 텍스트
+     */
+    public String getRelevantDocumentText(String documentId, String query, int maxTokens) throws Exception {
+        // 캐시 키가 문서 내용 해시를 담고 있으므로 색인 재사용 여부 확인에 텍스트를 다시 해시하지 않음
+        ExtractedTextCache.DerivedText prompt = promptText(documentId);
+        return documentSearchIndex.selectContext(documentId, prompt.key(), prompt.text(), query, maxTokens);
     }
 
     /**
-     * PDF 파일에서 텍스트를 추출합니다.
+     * 검색 색인을 가상 스레드에서 생성합니다. (파싱 응답을 늦추지 않도록, 실패해도 조회 시 다시 생성)
+     * 조회 때와 같은 텍스트가 되도록 중복 문단을 제거한 프롬프트용 텍스트로 색인합니다.
      */
-    private String extractTextFromPdf(byte[] fileData) {
-        // PDF 파싱 로직 구현
-        // Apache PDFBox 또는 iText 사용
-        return "PDF 텍스트 추출 구현 필요";
+    private void indexInBackground(String documentId, Path filePath, String extension) {
+        virtualThreadExecutor.submit(() -> {
+            try {
+                ExtractedTextCache.DerivedText prompt = promptText(filePath, extension);
+                documentSearchIndex.index(documentId, prompt.key(), prompt.text());
+            } catch (Exception e) {
+                System.err.println("문서 검색 색인 생성 오류: " + e.getMessage());
+            }
+        });
     }
 
     /**
-     * DOCX 파일에서 텍스트를 추출합니다.
+     * 저장된 파일에서 텍스트를 추출합니다. (내용 해시 캐시 사용)
      */
-    private String extractTextFromDocx(byte[] fileData) {
-        // DOCX 파싱 로직 구현
-        // Apache POI 사용
-        return "DOCX 텍스트 추출 구현 필요";
+    private DocumentTextExtractor.Extraction extractText(Path filePath, String extension) throws Exception {
+        return extractedTextCache.getOrExtract(filePath, extension, () -> parallelDocumentExtractor.extract(filePath, extension));
     }
 
     /**
-     * PPTX 파일에서 텍스트를 추출합니다.
+     * 저장된 문서의 프롬프트용 텍스트와 내용 키
      */
-    private String extractTextFromPptx(byte[] fileData) {
-        // PPTX 파싱 로직 구현
-        // Apache POI 사용
-        return "PPTX 텍스트 추출 구현 필요";
+    private ExtractedTextCache.DerivedText promptText(String documentId) throws Exception {
+        Path filePath = fileStorageUtil.findFile(documentId);
+        return promptText(filePath, getFileExtension(filePath.getFileName().toString()));
+    }
+
+    /**
+     * 중복 문단을 제거한 프롬프트용 텍스트와 내용 키 (DOCX/PPTX/PDF 는 줄 단위 문단, 내용 해시 캐시 사용)
+     */
+    private ExtractedTextCache.DerivedText promptText(Path filePath, String extension) throws Exception {
+        boolean lineParagraphs = DocumentTextExtractor.isLinePerParagraph(extension);
+        return extractedTextCache.getOrDerive(filePath, extension, "prompt",
+            () -> parallelDocumentExtractor.extract(filePath, extension),
+            text -> geminiApiClient.removeDuplicateParagraphs(text, lineParagraphs));
     }
 
     /**
@@ -229,29 +292,34 @@ public class DocumentParsingService {
     }
 
     /**
-     * 문서 구조를 분석합니다.
+     * 섹션 트리를 응답용 맵으로 변환합니다. (본문은 복사하지 않고 위치만 전달)
      */
-    private List<Map<String, Object>> analyzeDocumentStructure(String content) {
-        // 문서 구조 분석 로직
-        // 제목, 섹션, 문단 등으로 분할
-        return List.of(
-            Map.of("type", "header", "level", 1, "content", "제목"),
-            Map.of("type", "paragraph", "content", "본문 내용"),
-            Map.of("type", "list", "items", List.of("항목1", "항목2"))
-        );
+    private List<Map<String, Object>> toSectionMaps(List<DocumentStructureAnalyzer.Section> sections, String content) {
+        List<Map<String, Object>> result = new ArrayList<>(sections.size());
+        for (DocumentStructureAnalyzer.Section section : sections) {
+            result.add(Map.of(
+                "title", section.title(content),
+                "level", section.getLevel(),
+                "source", section.getSource(),
+                "start", section.getStart(),
+                "end", section.getEnd(),
+                "blocks", toBlockMaps(section.getBlocks()),
+                "children", toSectionMaps(section.getChildren(), content)
+            ));
+        }
+        return result;
     }
 
-    /**
-     * 문서 구조 유형을 감지합니다.
-     */
-    private String detectStructureType(String content) {
-        // 문서 유형 감지 로직
-        if (content.contains("# ") || content.contains("## ")) {
-            return "markdown";
-        } else if (content.contains("<h1>") || content.contains("<h2>")) {
-            return "html";
-        } else {
-            return "plain";
+    private List<Map<String, Object>> toBlockMaps(List<DocumentStructureAnalyzer.Block> blocks) {
+        List<Map<String, Object>> result = new ArrayList<>(blocks.size());
+        for (DocumentStructureAnalyzer.Block block : blocks) {
+            result.add(Map.of(
+                "type", block.type(),
+                "start", block.start(),
+                "end", block.end(),
+                "items", block.itemCount()
+            ));
         }
+        return result;
     }
 }
\ No newline at end of file
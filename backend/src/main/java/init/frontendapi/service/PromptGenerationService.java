@@ -5,6 +5,7 @@ import init.common.utils.GeminiApiClient;
 import init.frontendapi.dto.PromptRequest;
 import init.frontendapi.dto.PromptResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,6 +23,10 @@ public class PromptGenerationService {
     @Autowired
     private DocumentParsingService documentParsingService;
 
+    // 프롬프트에 넣을 문서 내용의 최대 토큰 수(추정), 넘으면 주제·키워드 관련 구간만 사용
+    @Value("${document.search.context-max-tokens:6000}")
+    private int contextMaxTokens;
+
     //cursor
     public List<PromptTemplate> getPromptTemplates(String category) { return new ArrayList<>(); }
     public boolean validatePrompt(PromptRequest request) { return true; }
@@ -84,8 +89,8 @@ public class PromptGenerationService {
         try {
             String promptId = UUID.randomUUID().toString();
             
-            // 문서 내용 추출
-            String documentContent = extractDocumentContent(request.getDocumentId());
+            // 문서 내용 추출 (주제·키워드 관련 구간)
+            String documentContent = extractRelevantContent(request);
             
             // 프레젠테이션 특화 프롬프트 생성
             String presentationPrompt = buildPresentationPrompt(documentContent, request);
@@ -128,8 +133,8 @@ public class PromptGenerationService {
         try {
             String promptId = UUID.randomUUID().toString();
             
-            // 문서 내용 추출
-            String documentContent = extractDocumentContent(request.getDocumentId());
+            // 문서 내용 추출 (주제·키워드 관련 구간)
+            String documentContent = extractRelevantContent(request);
             
             // 요약 길이 및 스타일 설정
             String summaryStyle = request.getParameters().getOrDefault("summaryStyle", "comprehensive");
@@ -326,10 +331,37 @@ public class PromptGenerationService {
      */
     private String extractDocumentContent(String documentId) {
         try {
-            // DocumentParsingService를 통해 문서 내용 추출
-            // 실제 구현에서는 저장된 문서에서 내용을 가져와야 함
-            return "문서 내용 추출 로직 구현 필요";
+            // 같은 내용의 문서는 추출 텍스트 캐시에서 바로 가져오고, 중복 문단은 제거
+            return documentParsingService.getPromptDocumentText(documentId);
+        } catch (Exception e) {
+            System.err.println("문서 내용 추출 오류: " + e.getMessage());
+            return "문서 내용을 가져올 수 없습니다.";
+        }
+    }
+
+    /**
+     * 주제·키워드와 관련된 문서 구간을 토큰 예산 안에서 추출합니다.
+     * 질의는 parameters 의 topic 과 keywords 이며, 둘 다 없으면 요청 내용을 사용합니다.
+     * 반복되는 상용구 문단은 구간을 고르기 전에 제거됩니다.
+     */
+    private String extractRelevantContent(PromptRequest request) {
+        StringBuilder query = new StringBuilder();
+        if (request.getParameters() != null && request.getParameters().get("topic") != null) {
+            query.append(request.getParameters().get("topic"));
+        }
+        if (request.getKeywords() != null) {
+            for (String keyword : request.getKeywords()) {
+                query.append(' ').append(keyword);
+            }
+        }
+        if (query.toString().isBlank() && request.getContent() != null) {
+            query.append(request.getContent());
+        }
+
+        try {
+            return documentParsingService.getRelevantDocumentText(request.getDocumentId(), query.toString(), contextMaxTokens);
         } catch (Exception e) {
+            System.err.println("문서 내용 추출 오류: " + e.getMessage());
             return "문서 내용을 가져올 수 없습니다.";
         }
     }
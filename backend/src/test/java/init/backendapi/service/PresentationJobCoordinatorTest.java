@@ -0,0 +1,184 @@
+package init.backendapi.service;
+
+import init.backendapi.dto.PresentationJob;
+import init.backendapi.dto.PresentationJobStage;
+import init.backendapi.dto.PresentationRequest;
+import init.backendapi.entity.PresentationJobEntity;
+import init.backendapi.repository.PresentationJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 작업 분배기의 임대 획득, 연장, 완료 후 반납, 종료 시 다른 노드로 넘김 검증 (내장 H2)
+ */
+@DataJpaTest
+@Import(PresentationJobStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PresentationJobCoordinatorTest {
+
+    private static final long LEASE_MILLIS = 300;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = PresentationJobEntity.class)
+    @EnableJpaRepositories(basePackageClasses = PresentationJobRepository.class)
+    static class JpaTestConfiguration {
+    }
+
+    @Autowired
+    private PresentationJobStore jobStore;
+
+    @Autowired
+    private PresentationJobRepository presentationJobRepository;
+
+    private ThreadPoolExecutor executor;
+    private PresentationJobCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        presentationJobRepository.deleteAll();
+        executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        coordinator = new PresentationJobCoordinator();
+        ReflectionTestUtils.setField(coordinator, "configuredNodeId", "node-a");
+        ReflectionTestUtils.setField(coordinator, "leaseDurationMs", LEASE_MILLIS);
+        ReflectionTestUtils.setField(coordinator, "pollIntervalMs", 50L);
+        ReflectionTestUtils.setField(coordinator, "maxAttempts", 3);
+        ReflectionTestUtils.setField(coordinator, "jobStore", jobStore);
+        ReflectionTestUtils.setField(coordinator, "presentationJobExecutor", executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void claimedJobRunsOnceAndLeaseIsReleasedWhenTerminal() throws Exception {
+        jobStore.create(new PresentationJob("job-done", "주제"), "{\"topic\":\"주제\",\"slideCount\":3}");
+        AtomicInteger runs = new AtomicInteger();
+
+        coordinator.start((job, request) -> {
+            runs.incrementAndGet();
+            assertEquals("node-a", job.getWorkerNode());
+            assertEquals(3, request.getSlideCount());
+            job.complete("/tmp/done.pptx");
+            jobStore.save(job);
+        });
+
+        awaitTrue(() -> stored("job-done").getLeaseOwner() == null && stored("job-done").getStage().isTerminal());
+        PresentationJobEntity entity = stored("job-done");
+        assertEquals(PresentationJobStage.COMPLETED, entity.getStage());
+        assertNull(entity.getLeaseExpiresAt());
+        assertEquals(1, entity.getAttempts());
+        assertEquals(1, runs.get());
+        // 끝난 작업은 다시 가져가지 않음
+        assertTrue(jobStore.claim("node-b", 1, 60000).isEmpty());
+    }
+
+    @Test
+    void runningJobLeaseIsRenewedPastItsDuration() throws Exception {
+        jobStore.create(new PresentationJob("job-long", "주제"), "{}");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        coordinator.start(blockingHandler(started, finish));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Instant firstExpiry = stored("job-long").getLeaseExpiresAt();
+
+        // 임대 기간의 몇 배를 기다려도 연장되어 다른 노드가 가져갈 수 없음
+        Thread.sleep(LEASE_MILLIS * 3);
+        assertTrue(stored("job-long").getLeaseExpiresAt().isAfter(firstExpiry));
+        assertTrue(jobStore.claim("node-b", 1, 60000).isEmpty());
+        assertTrue(coordinator.isRunningLocally("job-long"));
+
+        finish.countDown();
+        awaitTrue(() -> stored("job-long").getLeaseOwner() == null);
+    }
+
+    @Test
+    void shutdownHandsRunningJobToAnotherNodeWithoutFailingIt() throws Exception {
+        jobStore.create(new PresentationJob("job-handoff", "주제"), "{}");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        coordinator.start((job, request) -> {
+            job.moveTo(PresentationJobStage.GENERATING_CONTENT, "슬라이드 컨텐츠 생성 중");
+            jobStore.save(job);
+            started.countDown();
+            try {
+                Thread.sleep(60000);
+                job.complete("/tmp/never.pptx");
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            jobStore.save(job);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        coordinator.shutdown();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        PresentationJobEntity entity = stored("job-handoff");
+        assertNull(entity.getLeaseOwner());
+        assertEquals(PresentationJobStage.GENERATING_CONTENT, entity.getStage());
+        assertNull(entity.getErrorMessage());
+
+        // 임대 만료를 기다리지 않고 다른 노드가 바로 이어받음
+        var claimed = jobStore.claim("node-b", 1, 60000);
+        assertEquals(1, claimed.size());
+        assertEquals(2, claimed.get(0).job().getAttempts());
+    }
+
+    private BiConsumer<PresentationJob, PresentationRequest> blockingHandler(CountDownLatch started, CountDownLatch finish) {
+        return (job, request) -> {
+            started.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            job.complete("/tmp/long.pptx");
+            jobStore.save(job);
+        };
+    }
+
+    private PresentationJobEntity stored(String presentationId) {
+        return presentationJobRepository.findByPresentationId(presentationId).orElseThrow();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "제한 시간 안에 조건을 만족하지 않음");
+            Thread.sleep(20);
+        }
+    }
+}
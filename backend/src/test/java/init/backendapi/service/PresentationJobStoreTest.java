@@ -0,0 +1,261 @@
+package init.backendapi.service;
+
+import init.backendapi.dto.PresentationJob;
+import init.backendapi.dto.PresentationJobPage;
+import init.backendapi.dto.PresentationJobStage;
+import init.backendapi.entity.PresentationJobEntity;
+import init.backendapi.repository.PresentationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 작업 저장/조회/목록, 진행률 기록 합치기, 여러 노드가 같은 작업 테이블을 공유할 때의 임대 동작 검증 (내장 H2)
+ */
+@DataJpaTest
+@Import(PresentationJobStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PresentationJobStoreTest {
+
+    // 애플리케이션 클래스가 없으므로 JPA 구성만 직접 지정
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = PresentationJobEntity.class)
+    @EnableJpaRepositories(basePackageClasses = PresentationJobRepository.class)
+    static class JpaTestConfiguration {
+    }
+
+    @Autowired
+    private PresentationJobStore jobStore;
+
+    @Autowired
+    private PresentationJobRepository presentationJobRepository;
+
+    @BeforeEach
+    void clearJobs() {
+        presentationJobRepository.deleteAll();
+    }
+
+    @Test
+    void jobMissingFromMemoryIsLoadedFromDatabase() {
+        PresentationJob job = new PresentationJob("job-load", "주제");
+        jobStore.create(job, "{}");
+        jobStore.evict("job-load");
+
+        PresentationJob loaded = jobStore.find("job-load");
+
+        assertEquals(job.getSeq(), loaded.getSeq());
+        assertEquals("주제", loaded.getTopic());
+        assertEquals(PresentationJobStage.QUEUED, loaded.getStage());
+        assertTrue(loaded.getStageTimestamps().containsKey(PresentationJobStage.QUEUED));
+        assertNull(jobStore.find("없는 작업"));
+    }
+
+    @Test
+    void listPagesNewestFirstWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            jobStore.create(new PresentationJob("page-" + i, "주제 " + i), "{}");
+        }
+
+        PresentationJobPage first = jobStore.list(null, 2);
+        PresentationJobPage second = jobStore.list(first.getNextCursor(), 2);
+        PresentationJobPage last = jobStore.list(second.getNextCursor(), 2);
+
+        assertEquals(List.of("page-4", "page-3"), ids(first));
+        assertEquals(List.of("page-2", "page-1"), ids(second));
+        assertEquals(List.of("page-0"), ids(last));
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void progressWritesWithinStageAreCoalesced() {
+        jobStore.create(new PresentationJob("job-progress", "주제"), "{}");
+        PresentationJob job = jobStore.claim("node-a", 1, 60000).get(0).job();
+        job.moveTo(PresentationJobStage.GENERATING_CONTENT, "슬라이드 컨텐츠 생성 중");
+        jobStore.save(job);
+
+        job.updateProgress(30, "슬라이드 상세 생성 중 (1/4)");
+        assertFalse(jobStore.saveProgress(job));
+        job.updateProgress(40, "슬라이드 상세 생성 중 (2/4)");
+        assertFalse(jobStore.saveProgress(job));
+
+        // 이 노드의 조회는 최신 진행률, 데이터베이스는 마지막 기록 그대로
+        assertEquals(40, jobStore.find("job-progress").getProgress());
+        PresentationJobEntity stored = presentationJobRepository.findByPresentationId("job-progress").orElseThrow();
+        assertEquals(PresentationJobStage.GENERATING_CONTENT.getBaseProgress(), stored.getProgress());
+        assertEquals(2L, jobStore.getStats().get("coalescedProgressWrites"));
+
+        // 단계가 바뀌면 간격과 관계없이 기록
+        job.moveTo(PresentationJobStage.PARSING, "슬라이드 구조 분석 완료");
+        assertTrue(jobStore.saveProgress(job));
+        stored = presentationJobRepository.findByPresentationId("job-progress").orElseThrow();
+        assertEquals(PresentationJobStage.PARSING, stored.getStage());
+    }
+
+    @Test
+    void longMessagesAreTruncatedToColumnLength() {
+        jobStore.create(new PresentationJob("job-long", "주제"), "{}");
+        PresentationJob job = jobStore.claim("node-a", 1, 60000).get(0).job();
+        job.updateProgress(20, "진행".repeat(400));
+        job.fail("오류".repeat(1500));
+
+        jobStore.save(job);
+
+        PresentationJobEntity stored = presentationJobRepository.findByPresentationId("job-long").orElseThrow();
+        assertEquals(PresentationJobStage.FAILED, stored.getStage());
+        assertEquals(2000, stored.getErrorMessage().length());
+        assertTrue(stored.getMessage().length() <= 500);
+        // 메모리의 작업은 원래 메시지 그대로
+        assertEquals(3000, jobStore.find("job-long").getErrorMessage().length());
+    }
+
+    @Test
+    void editLeaseAllowsOneNodeAtATimeOnCompletedJobs() {
+        jobStore.create(new PresentationJob("job-edit", "주제"), "{}");
+        assertFalse(jobStore.acquireEditLease("job-edit", "node-a", 60000));
+
+        PresentationJob job = jobStore.claim("node-a", 1, 60000).get(0).job();
+        job.complete("/tmp/edit.pptx");
+        jobStore.save(job);
+        jobStore.releaseLease("job-edit", "node-a", false);
+
+        assertTrue(jobStore.acquireEditLease("job-edit", "node-a", 60000));
+        assertFalse(jobStore.acquireEditLease("job-edit", "node-b", 60000));
+        jobStore.releaseLease("job-edit", "node-a", false);
+        assertTrue(jobStore.acquireEditLease("job-edit", "node-b", 60000));
+        // 완료된 작업의 편집 임대는 작업 실행 대상이 아님
+        assertTrue(jobStore.claim("node-c", 1, 60000).isEmpty());
+    }
+
+    @Test
+    void concurrentNodesClaimEachJobExactlyOnce() throws Exception {
+        int jobCount = 30;
+        for (int i = 0; i < jobCount; i++) {
+            jobStore.create(new PresentationJob("job-" + i, "주제 " + i), "{}");
+        }
+
+        int nodeCount = 4;
+        Map<String, String> owners = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService nodes = Executors.newFixedThreadPool(nodeCount);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int n = 0; n < nodeCount; n++) {
+                String nodeId = "node-" + n;
+                results.add(nodes.submit(() -> {
+                    startSignal.await();
+                    List<PresentationJobStore.ClaimedJob> claimed;
+                    // 가져갈 작업이 없을 때까지 조금씩 임대
+                    while (!(claimed = jobStore.claim(nodeId, 3, 60000)).isEmpty()) {
+                        for (PresentationJobStore.ClaimedJob claimedJob : claimed) {
+                            if (owners.putIfAbsent(claimedJob.job().getPresentationId(), nodeId) != null) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            nodes.shutdownNow();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(jobCount, owners.size());
+        presentationJobRepository.findAll().forEach(entity -> {
+            assertEquals(1, entity.getAttempts());
+            assertEquals(owners.get(entity.getPresentationId()), entity.getLeaseOwner());
+        });
+    }
+
+    @Test
+    void expiredLeaseIsReassignedAndStaleOwnerIsFenced() throws Exception {
+        jobStore.create(new PresentationJob("job-stale", "주제"), "{\"topic\":\"주제\"}");
+
+        List<PresentationJobStore.ClaimedJob> first = jobStore.claim("node-a", 1, 500);
+        assertEquals(1, first.size());
+        PresentationJob staleJob = first.get(0).job();
+        staleJob.moveTo(PresentationJobStage.GENERATING_CONTENT, "슬라이드 컨텐츠 생성 중");
+        jobStore.save(staleJob);
+
+        // 임대 기간 안에는 다른 노드가 가져갈 수 없음
+        assertTrue(jobStore.claim("node-b", 1, 60000).isEmpty());
+
+        Thread.sleep(800);
+        List<PresentationJobStore.ClaimedJob> second = jobStore.claim("node-b", 1, 60000);
+        assertEquals(1, second.size());
+        assertEquals("node-b", second.get(0).job().getWorkerNode());
+        assertEquals(2, second.get(0).job().getAttempts());
+        assertEquals("{\"topic\":\"주제\"}", second.get(0).requestPayload());
+
+        // 임대를 잃은 노드는 연장도, 상태 기록도 할 수 없음
+        assertFalse(jobStore.renewLease("job-stale", "node-a", 60000));
+        staleJob.fail("늦게 도착한 실패");
+        assertThrows(PresentationJobStore.LeaseLostException.class, () -> jobStore.save(staleJob));
+
+        PresentationJob current = jobStore.find("job-stale");
+        assertEquals(PresentationJobStage.GENERATING_CONTENT, current.getStage());
+        assertNull(current.getErrorMessage());
+    }
+
+    @Test
+    void writeLocksAreDroppedWhenLeaseIsLostOrReleased() throws Exception {
+        // 같은 저장소 빈을 쓰는 다른 테스트가 남긴 잠금과 구분
+        int baseline = (int) jobStore.getStats().get("writeLocks");
+        jobStore.create(new PresentationJob("job-lost", "주제"), "{}");
+        PresentationJob lostJob = jobStore.claim("node-a", 1, 300).get(0).job();
+        lostJob.moveTo(PresentationJobStage.GENERATING_CONTENT, "슬라이드 컨텐츠 생성 중");
+        jobStore.save(lostJob);
+        assertEquals(baseline + 1, jobStore.getStats().get("writeLocks"));
+
+        // 종료 단계가 아닌 채로 임대를 잃어도 기록 잠금이 남지 않음
+        Thread.sleep(500);
+        assertEquals(1, jobStore.claim("node-b", 1, 60000).size());
+        lostJob.updateProgress(40, "슬라이드 상세 생성 중 (2/4)");
+        assertThrows(PresentationJobStore.LeaseLostException.class, () -> jobStore.save(lostJob));
+        assertEquals(baseline, jobStore.getStats().get("writeLocks"));
+
+        // 실행하지 못하고 반납한 작업도 마찬가지
+        jobStore.create(new PresentationJob("job-released", "주제"), "{}");
+        PresentationJob releasedJob = jobStore.claim("node-c", 1, 60000).get(0).job();
+        releasedJob.moveTo(PresentationJobStage.GENERATING_CONTENT, "슬라이드 컨텐츠 생성 중");
+        jobStore.save(releasedJob);
+        assertEquals(baseline + 1, jobStore.getStats().get("writeLocks"));
+        jobStore.releaseLease("job-released", "node-c", true);
+        assertEquals(baseline, jobStore.getStats().get("writeLocks"));
+    }
+
+    private static List<String> ids(PresentationJobPage page) {
+        return page.getItems().stream().map(PresentationJob::getPresentationId).toList();
+    }
+}
@@ -0,0 +1,186 @@
+package init.backendapi.service;
+
+import init.backendapi.dto.PresentationJob;
+import init.backendapi.dto.PresentationJobStage;
+import init.backendapi.dto.PresentationProgressEvent;
+import init.backendapi.dto.SlideOutline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 구독 직후 현재 상태 전달, 이벤트 순서, 종료 단계에서 연결 종료, 구독자 수 한도 검증 (서블릿 없이 전송 내용 기록)
+ */
+class PresentationProgressBroadcasterTest {
+
+    private final Map<String, PresentationJob> jobs = new ConcurrentHashMap<>();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private ExecutorService executor;
+    private PresentationProgressBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        broadcaster = new PresentationProgressBroadcaster() {
+            @Override
+            protected SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMillis);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(broadcaster, "emitterTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(broadcaster, "virtualThreadExecutor", executor);
+        ReflectionTestUtils.setField(broadcaster, "jobStore", new PresentationJobStore() {
+            @Override
+            public PresentationJob find(String presentationId) {
+                return jobs.get(presentationId);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void subscriberFirstReceivesCurrentState() throws Exception {
+        PresentationJob job = newJob("job-replay");
+        job.moveTo(PresentationJobStage.RENDERING, "PPT 파일 생성 중 (5장)");
+
+        broadcaster.subscribe("job-replay");
+        RecordingEmitter emitter = emitters.get(0);
+
+        List<PresentationProgressEvent> events = emitter.awaitEvents(1);
+        assertEquals(PresentationProgressEvent.PROGRESS, events.get(0).getType());
+        assertEquals(PresentationJobStage.RENDERING, events.get(0).getStage());
+        assertEquals("PPT 파일 생성 중 (5장)", events.get(0).getMessage());
+    }
+
+    @Test
+    void eventsArriveInPublishOrderAndTerminalEventClosesConnection() throws Exception {
+        PresentationJob job = newJob("job-order");
+        broadcaster.subscribe("job-order");
+        RecordingEmitter emitter = emitters.get(0);
+
+        job.moveTo(PresentationJobStage.GENERATING_CONTENT, "슬라이드 컨텐츠 생성 중");
+        for (int progress = 11; progress <= 50; progress++) {
+            job.updateProgress(progress, "진행 " + progress);
+            broadcaster.publish(job);
+        }
+        broadcaster.publishSlide(job, 1, 1, new SlideOutline(1, "개요", "- 내용", "content", null));
+        job.complete("/tmp/order.pptx");
+        broadcaster.publish(job);
+
+        List<PresentationProgressEvent> events = emitter.awaitEvents(1 + 40 + 1 + 1);
+        List<Integer> progress = new ArrayList<>();
+        for (PresentationProgressEvent event : events.subList(1, 41)) {
+            progress.add(event.getProgress());
+        }
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) > progress.get(i - 1), "순서가 바뀜: " + progress);
+        }
+        assertEquals(PresentationProgressEvent.SLIDE, events.get(41).getType());
+        assertEquals(PresentationProgressEvent.COMPLETED, events.get(42).getType());
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, broadcaster.getStats().get("subscribers"));
+        assertEquals(0, broadcaster.getStats().get("watchedJobs"));
+    }
+
+    @Test
+    void finishedJobIsSentOnceAndClosedImmediately() throws Exception {
+        PresentationJob job = newJob("job-finished");
+        job.fail("프레젠테이션 생성 실패: 시간 초과");
+
+        broadcaster.subscribe("job-finished");
+        RecordingEmitter emitter = emitters.get(0);
+
+        assertEquals(PresentationProgressEvent.FAILED, emitter.awaitEvents(1).get(0).getType());
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, broadcaster.getStats().get("subscribers"));
+    }
+
+    @Test
+    void subscribersBeyondLimitAreRejectedUntilOneLeaves() throws Exception {
+        PresentationJob job = newJob("job-limit");
+        broadcaster.subscribe("job-limit");
+        broadcaster.subscribe("job-limit");
+
+        assertThrows(RejectedExecutionException.class, () -> broadcaster.subscribe("job-limit"));
+        assertThrows(Exception.class, () -> broadcaster.subscribe("없는 작업"));
+
+        job.complete("/tmp/limit.pptx");
+        broadcaster.publish(job);
+        for (RecordingEmitter emitter : emitters) {
+            assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, broadcaster.getStats().get("subscribers"));
+
+        newJob("job-next");
+        broadcaster.subscribe("job-next");
+        assertEquals(1, broadcaster.getStats().get("subscribers"));
+    }
+
+    private PresentationJob newJob(String presentationId) {
+        PresentationJob job = new PresentationJob(presentationId, "주제");
+        jobs.put(presentationId, job);
+        return job;
+    }
+
+    /**
+     * 전송한 이벤트와 종료 여부를 기록하는 연결
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<PresentationProgressEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof PresentationProgressEvent event) {
+                    events.add(event);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            super.complete();
+            completed.countDown();
+        }
+
+        private List<PresentationProgressEvent> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (events.size() < count) {
+                assertTrue(System.currentTimeMillis() < deadline, "이벤트 " + count + "개를 받지 못함: " + events.size());
+                Thread.sleep(10);
+            }
+            return List.copyOf(events);
+        }
+    }
+}
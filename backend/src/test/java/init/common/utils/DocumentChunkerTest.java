@@ -0,0 +1,58 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 섹션 경계 우선 분할과 토큰 예산 준수 검증
+ */
+class DocumentChunkerTest {
+
+    private final DocumentChunker chunker = new DocumentChunker(new DocumentStructureAnalyzer());
+
+    @Test
+    void splitsAtSectionBoundaries() {
+        String text = "# 서론\n" + "배경 설명 문장. ".repeat(20) + "\n\n# 본론\n" + "핵심 내용 문장. ".repeat(20) + "\n";
+
+        List<DocumentChunker.Chunk> chunks = chunker.split(text, 100);
+
+        assertEquals(2, chunks.size());
+        assertEquals(text.indexOf("# 본론"), chunks.get(1).start());
+        assertEquals("서론", chunks.get(0).heading());
+        assertEquals("본론", chunks.get(1).heading());
+    }
+
+    @Test
+    void smallSectionsArePackedTogether() {
+        String text = "# 하나\n짧은 내용\n# 둘\n짧은 내용\n# 셋\n짧은 내용\n";
+
+        List<DocumentChunker.Chunk> chunks = chunker.split(text, 1000);
+
+        assertEquals(1, chunks.size());
+        assertEquals(text, chunks.get(0).text(text));
+    }
+
+    @Test
+    void oversizedSectionStaysWithinBudgetAndCoversText() {
+        StringBuilder text = new StringBuilder("# 긴 섹션\n");
+        for (int i = 0; i < 200; i++) {
+            text.append("문단 ").append(i).append(" 에 대한 설명입니다. 수치는 ").append(i * 3).append(" 입니다.\n\n");
+        }
+        String source = text.toString();
+
+        List<DocumentChunker.Chunk> chunks = chunker.split(source, 150);
+
+        assertTrue(chunks.size() > 1);
+        StringBuilder joined = new StringBuilder();
+        for (DocumentChunker.Chunk chunk : chunks) {
+            assertTrue(chunk.tokens() <= 150);
+            assertEquals(TokenEstimator.estimate(source, chunk.start(), chunk.end()), chunk.tokens());
+            joined.append(chunk.text(source));
+        }
+        assertEquals(source, joined.toString());
+    }
+}
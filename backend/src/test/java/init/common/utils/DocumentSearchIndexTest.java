@@ -0,0 +1,98 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 문자 n-gram BM25 검색과 토큰 예산 안 관련 구간 선택 검증
+ */
+class DocumentSearchIndexTest {
+
+    private static final String FILLER = "일반적인 회사 소개와 연혁, 조직 구성에 관한 설명입니다. ";
+
+    @Test
+    void koreanQueryMatchesWordsWithParticles() {
+        String text = "# 개요\n" + FILLER.repeat(5) + "\n\n# 반도체\n반도체의 수요가 늘어 메모리 매출이 증가했다.\n\n# 물류\n물류 센터를 새로 열었다.\n";
+        List<DocumentChunker.Chunk> passages = new DocumentChunker(new DocumentStructureAnalyzer()).split(text, 40);
+
+        List<PassageIndex.Hit> hits = PassageIndex.build(text, passages, 2).search("반도체 매출", 10);
+
+        assertFalse(hits.isEmpty());
+        assertTrue(hits.get(0).passage().text(text).contains("반도체의 수요"));
+    }
+
+    @Test
+    void selectsRelevantPassagesWithinBudgetInDocumentOrder() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            text.append("# 섹션 ").append(i).append('\n').append(FILLER.repeat(3));
+            if (i == 7 || i == 21) {
+                text.append("Kubernetes 클러스터 이전 계획을 설명합니다. ");
+            }
+            text.append("\n\n");
+        }
+        DocumentSearchIndex index = newIndex();
+
+        String context = index.selectContext("doc", text.toString(), "kubernetes 클러스터", 200);
+
+        assertTrue(TokenEstimator.estimate(context) <= 200);
+        assertTrue(TokenEstimator.estimate(context) > 150);
+        assertEquals(2, context.split("Kubernetes", -1).length - 1);
+        assertTrue(context.startsWith("# 섹션 0\n"));
+        assertTrue(context.contains("\n\n...\n\n"));
+    }
+
+    @Test
+    void indexIsReusedUntilDocumentTextChanges() {
+        String text = ("# 개요\n" + FILLER.repeat(3) + "\n\n").repeat(5);
+        DocumentSearchIndex index = newIndex();
+        index.index("doc", text);
+
+        index.selectContext("doc", new String(text.toCharArray()), "개요", 100);
+        assertEquals(1L, index.getStats().get("builds"));
+
+        // 길이가 같아도 내용이 다르면 다시 색인
+        String changed = "# 요약" + text.substring("# 요약".length());
+        index.selectContext("doc", changed, "개요", 100);
+        assertEquals(2L, index.getStats().get("builds"));
+    }
+
+    @Test
+    void indexIsReusedWhileContentKeyIsUnchanged() {
+        String text = ("# 개요\n" + FILLER.repeat(3) + "\n\n").repeat(5);
+        DocumentSearchIndex index = newIndex();
+        index.index("doc", "key-1", text);
+
+        String first = index.selectContext("doc", "key-1", text, "개요", 100);
+        assertEquals(1L, index.getStats().get("builds"));
+
+        // 키가 바뀌면 (원문이 바뀐 문서) 다시 색인
+        String second = index.selectContext("doc", "key-2", text, "개요", 100);
+        assertEquals(2L, index.getStats().get("builds"));
+        assertEquals(first, second);
+    }
+
+    @Test
+    void smallDocumentIsReturnedWhole() {
+        String text = "짧은 문서입니다.";
+
+        assertEquals(text, newIndex().selectContext("doc", text, "무관한 질의", 100));
+    }
+
+    private static DocumentSearchIndex newIndex() {
+        DocumentSearchIndex index = new DocumentSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "passageTokens", 60);
+        ReflectionTestUtils.setField(index, "ngram", 2);
+        ReflectionTestUtils.setField(index, "maxDocuments", 10);
+        ReflectionTestUtils.setField(index, "ttlMinutes", 60L);
+        index.init();
+        return index;
+    }
+}
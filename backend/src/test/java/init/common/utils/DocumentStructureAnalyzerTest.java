@@ -0,0 +1,78 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 제목 종류별 섹션 트리와 블록 위치 검증
+ */
+class DocumentStructureAnalyzerTest {
+
+    private final DocumentStructureAnalyzer analyzer = new DocumentStructureAnalyzer();
+
+    @Test
+    void buildsMarkdownSectionTree() {
+        String text = "머리말 문단\n\n# 서론\n배경 설명\n\n## 목적\n- 첫째\n- 둘째\n  이어지는 줄\n\n# 결론 #\n끝\n";
+
+        DocumentStructureAnalyzer.Structure structure = analyzer.analyze(text);
+        DocumentStructureAnalyzer.Section root = structure.root();
+
+        assertEquals("markdown", structure.structureType());
+        assertEquals(3, structure.sectionCount());
+        assertEquals(List.of("서론", "결론"), titles(root.getChildren(), text));
+        DocumentStructureAnalyzer.Section intro = root.getChildren().get(0);
+        assertEquals(List.of("목적"), titles(intro.getChildren(), text));
+        assertEquals(text.indexOf("# 결론"), intro.getEnd());
+        assertEquals(text.length(), root.getChildren().get(1).getEnd());
+
+        DocumentStructureAnalyzer.Block list = intro.getChildren().get(0).getBlocks().get(0);
+        assertEquals("list", list.type());
+        assertEquals(2, list.itemCount());
+        assertEquals("- 첫째\n- 둘째\n  이어지는 줄", text.substring(list.start(), list.end()));
+        assertEquals("머리말 문단", text.substring(root.getBlocks().get(0).start(), root.getBlocks().get(0).end()));
+    }
+
+    @Test
+    void recognizesHtmlAndNumberedHeadings() {
+        String text = "<h1 class=\"t\">개요</h1>\n본문\n<h2>세부</h2>\n1. 시장 현황\n매출이 늘었다.\n1.1 국내\n내용\n1.2. 해외\n내용\n제2장 전망\n본문\n";
+
+        DocumentStructureAnalyzer.Structure structure = analyzer.analyze(text);
+        List<DocumentStructureAnalyzer.Section> top = structure.root().getChildren();
+
+        assertEquals(List.of("개요", "시장 현황", "전망"), titles(top, text));
+        assertEquals(List.of("세부"), titles(top.get(0).getChildren(), text));
+        assertEquals(List.of("국내", "해외"), titles(top.get(1).getChildren(), text));
+        assertEquals("numbered", structure.structureType());
+    }
+
+    @Test
+    void numberedLinesFollowedByItemsStayAList() {
+        String text = "준비물\n1. 노트북\n2. 충전기\n3. 발표 자료\n";
+
+        DocumentStructureAnalyzer.Structure structure = analyzer.analyze(text);
+
+        assertEquals(0, structure.sectionCount());
+        assertEquals("plain", structure.structureType());
+        DocumentStructureAnalyzer.Block list = structure.root().getBlocks().get(1);
+        assertEquals("list", list.type());
+        assertEquals(3, list.itemCount());
+    }
+
+    @Test
+    void ignoresHeadingsInsideCodeFences() {
+        String text = "```\n# 주석\n```\n#태그는 제목 아님\n";
+
+        DocumentStructureAnalyzer.Structure structure = analyzer.analyze(text);
+
+        assertEquals(0, structure.sectionCount());
+        assertEquals("code", structure.root().getBlocks().get(0).type());
+        assertEquals("paragraph", structure.root().getBlocks().get(1).type());
+    }
+
+    private static List<String> titles(List<DocumentStructureAnalyzer.Section> sections, String text) {
+        return sections.stream().map(section -> section.title(text)).toList();
+    }
+}
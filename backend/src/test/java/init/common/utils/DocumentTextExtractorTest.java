@@ -0,0 +1,279 @@
+package init.common.utils;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 직접 만든 최소 OOXML 패키지와 PDFBox 로 만든 PDF 로 DocumentTextExtractor 의 추출 결과를 검증
+ */
+class DocumentTextExtractorTest {
+
+    private static final String W = "xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"";
+    private static final String A = "xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\"";
+    private static final String P = "xmlns:p=\"http://schemas.openxmlformats.org/presentationml/2006/main\"";
+    private static final String R = "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"";
+
+    private Path workDir;
+    private DocumentTextExtractor extractor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("extractor-test");
+        extractor = new DocumentTextExtractor();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void extractsDocxParagraphsInOrder() throws Exception {
+        Path docx = zip("sample.docx", Map.of("word/document.xml",
+            "<w:document " + W + "><w:body>"
+                + "<w:p><w:r><w:t>첫 번째</w:t></w:r><w:r><w:t xml:space=\"preserve\"> 문단</w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t>이름</w:t><w:tab/><w:t>값</w:t><w:br/><w:t>다음 줄</w:t></w:r></w:p>"
+                + "</w:body></w:document>"));
+
+        DocumentTextExtractor.Extraction extraction = extractor.extract(docx, "docx");
+
+        assertEquals("첫 번째 문단\n이름\t값\n다음 줄\n", extraction.text());
+        assertFalse(extraction.truncated());
+    }
+
+    @Test
+    void marksDocxHeadingStylesAsMarkdownHeadings() throws Exception {
+        Map<String, String> parts = new LinkedHashMap<>();
+        parts.put("word/styles.xml", "<w:styles " + W + ">"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"1\"><w:name w:val=\"heading 1\"/></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"MyHeading\"><w:name w:val=\"사용자 제목\"/><w:basedOn w:val=\"Sub\"/></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Sub\"><w:name w:val=\"Sub\"/><w:pPr><w:outlineLvl w:val=\"1\"/></w:pPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Body\"><w:name w:val=\"Normal\"/></w:style>"
+            + "</w:styles>");
+        parts.put("word/document.xml", "<w:document " + W + "><w:body>"
+            + "<w:p><w:pPr><w:pStyle w:val=\"1\"/></w:pPr><w:r><w:t>서론</w:t></w:r></w:p>"
+            + "<w:p><w:pPr><w:pStyle w:val=\"Body\"/></w:pPr><w:r><w:t>본문</w:t></w:r></w:p>"
+            + "<w:p><w:pPr><w:pStyle w:val=\"MyHeading\"/></w:pPr><w:r><w:t>배경</w:t></w:r></w:p>"
+            + "<w:p><w:pPr><w:outlineLvl w:val=\"2\"/></w:pPr><w:r><w:t>세부</w:t></w:r></w:p>"
+            + "<w:p><w:pPr><w:pStyle w:val=\"1\"/></w:pPr></w:p>"
+            + "</w:body></w:document>");
+        Path docx = zip("headings.docx", parts);
+
+        assertEquals("# 서론\n본문\n## 배경\n### 세부\n\n", extractor.extract(docx, "docx").text());
+    }
+
+    @Test
+    void marksPptxTitlePlaceholdersAsHeadings() throws Exception {
+        Path pptx = zip("titles.pptx", Map.of("ppt/slides/slide1.xml",
+            "<p:sld " + P + " " + A + "><p:cSld><p:spTree>"
+                + "<p:sp><p:nvSpPr><p:nvPr><p:ph type=\"title\"/></p:nvPr></p:nvSpPr>"
+                + "<p:txBody><a:p><a:r><a:t>분기 실적</a:t></a:r></a:p></p:txBody></p:sp>"
+                + "<p:sp><p:nvSpPr><p:nvPr><p:ph idx=\"1\"/></p:nvPr></p:nvSpPr>"
+                + "<p:txBody><a:p><a:r><a:t>매출 증가</a:t></a:r></a:p></p:txBody></p:sp>"
+                + "</p:spTree></p:cSld></p:sld>"));
+
+        assertEquals("# 분기 실적\n매출 증가\n", extractor.extract(pptx, "pptx").text());
+    }
+
+    @Test
+    void extractsPptxSlidesInPresentationOrder() throws Exception {
+        // 파트 이름 순서와 발표 순서가 다른 경우 presentation.xml 의 순서를 따름
+        Map<String, String> parts = new LinkedHashMap<>();
+        parts.put("ppt/presentation.xml", "<p:presentation " + P + " " + R + "><p:sldIdLst>"
+            + "<p:sldId id=\"256\" r:id=\"rId3\"/><p:sldId id=\"257\" r:id=\"rId2\"/>"
+            + "</p:sldIdLst></p:presentation>");
+        parts.put("ppt/_rels/presentation.xml.rels",
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId2\" Target=\"slides/slide1.xml\"/>"
+                + "<Relationship Id=\"rId3\" Target=\"slides/slide2.xml\"/>"
+                + "</Relationships>");
+        parts.put("ppt/slides/slide1.xml", slide("두 번째 슬라이드", "본문"));
+        parts.put("ppt/slides/slide2.xml", slide("첫 번째 슬라이드", "소개"));
+        Path pptx = zip("deck.pptx", parts);
+
+        DocumentTextExtractor.Extraction extraction = extractor.extract(pptx, "pptx");
+
+        assertEquals("첫 번째 슬라이드\n소개\n\n두 번째 슬라이드\n본문\n", extraction.text());
+        assertEquals(2, extraction.pageCount());
+    }
+
+    @Test
+    void fallsBackToSlideNumberOrderWithoutRelationships() throws Exception {
+        Map<String, String> parts = new LinkedHashMap<>();
+        parts.put("ppt/slides/slide10.xml", slide("열 번째", "끝"));
+        parts.put("ppt/slides/slide2.xml", slide("두 번째", "중간"));
+        Path pptx = zip("deck.pptx", parts);
+
+        assertEquals("두 번째\n중간\n\n열 번째\n끝\n", extractor.extract(pptx, "pptx").text());
+    }
+
+    @Test
+    void slideRangesConcatenateToFullExtraction() throws Exception {
+        Map<String, String> parts = new LinkedHashMap<>();
+        for (int i = 1; i <= 7; i++) {
+            parts.put("ppt/slides/slide" + i + ".xml", slide("슬라이드 " + i, "본문 " + i));
+        }
+        Path pptx = zip("deck.pptx", parts);
+
+        assertEquals(7, extractor.countUnits(pptx, "pptx"));
+        StringBuilder joined = new StringBuilder();
+        for (int from = 0; from < 7; from += 3) {
+            joined.append(extractor.extractUnits(pptx, "pptx", from, from + 3).text());
+        }
+        assertEquals(extractor.extract(pptx, "pptx").text(), joined.toString());
+    }
+
+    @Test
+    void extractsPdfPagesInOrder() throws Exception {
+        Path pdf = pdf("report.pdf", "Revenue overview", "Regional breakdown", "Next steps");
+
+        DocumentTextExtractor.Extraction extraction = extractor.extract(pdf, "PDF");
+
+        assertEquals(3, extraction.pageCount());
+        assertFalse(extraction.truncated());
+        String text = extraction.text();
+        int first = text.indexOf("Revenue overview");
+        int second = text.indexOf("Regional breakdown");
+        int third = text.indexOf("Next steps");
+        assertTrue(first >= 0 && first < second && second < third, text);
+    }
+
+    @Test
+    void truncatesPdfAtConfiguredLimit() throws Exception {
+        ReflectionTestUtils.setField(extractor, "maxChars", 12);
+        Path pdf = pdf("long.pdf", "Revenue overview", "Regional breakdown");
+
+        DocumentTextExtractor.Extraction extraction = extractor.extract(pdf, "pdf");
+
+        assertEquals("Revenue over", extraction.text());
+        assertTrue(extraction.truncated());
+    }
+
+    @Test
+    void doesNotResolveExternalEntities() throws Exception {
+        Path secret = Files.writeString(workDir.resolve("secret.txt"), "비밀 값");
+        Path docx = zip("xxe.docx", Map.of("word/document.xml",
+            "<!DOCTYPE w:document [<!ENTITY xxe SYSTEM \"" + secret.toUri() + "\">]>"
+                + "<w:document " + W + "><w:body><w:p><w:r><w:t>&xxe;</w:t></w:r></w:p></w:body></w:document>"));
+
+        String text;
+        try {
+            text = extractor.extract(docx, "docx").text();
+        } catch (Exception e) {
+            // 선언되지 않은 엔티티로 거부되는 것도 허용
+            text = "";
+        }
+        assertFalse(text.contains("비밀 값"));
+    }
+
+    @Test
+    void truncatesAtConfiguredLimit() throws Exception {
+        ReflectionTestUtils.setField(extractor, "maxChars", 10);
+        Path txt = Files.writeString(workDir.resolve("long.txt"), "가".repeat(100), StandardCharsets.UTF_8);
+
+        DocumentTextExtractor.Extraction extraction = extractor.extract(txt, "txt");
+
+        assertEquals("가".repeat(10), extraction.text());
+        assertTrue(extraction.truncated());
+    }
+
+    @Test
+    void repeatedDocxParagraphsAreVisibleToDeduplication() throws Exception {
+        String notice = "본 문서는 사내 한정 자료로 외부 공유를 금지합니다. 문의 사항은 경영지원팀 내선 1234 로 연락 바랍니다. 무단 배포 시 조치됩니다.";
+        StringBuilder body = new StringBuilder();
+        for (String paragraph : new String[] {notice, "1분기 매출은 전년 대비 12% 증가했으며 주요 원인은 신규 고객 유입과 재구매율 개선이다.",
+            notice, "2분기에는 물류 비용 절감을 위해 지역 거점 창고 두 곳을 통합할 예정이며 일정은 추후 공유한다.", notice}) {
+            body.append("<w:p><w:r><w:t>").append(paragraph).append("</w:t></w:r></w:p>");
+        }
+        Path docx = zip("notice.docx", Map.of("word/document.xml",
+            "<w:document " + W + "><w:body>" + body + "</w:body></w:document>"));
+        String text = extractor.extract(docx, "docx").text();
+
+        // DOCX 문단은 빈 줄 없이 한 줄씩이므로 빈 줄 기준으로는 문서 전체가 문단 하나
+        assertEquals(0, new ParagraphDeduplicator(4, 40).deduplicate(text).removedParagraphs());
+
+        assertTrue(DocumentTextExtractor.isLinePerParagraph("docx"));
+        ParagraphDeduplicator.Result result = new ParagraphDeduplicator(4, 40, true).deduplicate(text);
+        assertEquals(2, result.removedParagraphs());
+        assertEquals(1, result.text().split("사내 한정", -1).length - 1);
+        assertTrue(result.text().contains("1분기 매출") && result.text().contains("2분기에는"));
+    }
+
+    @Test
+    void repeatedPdfPageFootersAreVisibleToDeduplication() throws Exception {
+        String notice = "Internal use only. Do not distribute outside the company. Contact the finance team at extension 1234.";
+        Path pdf = pdf("notice.pdf", notice, "Revenue grew twelve percent year over year driven by new customers.",
+            notice, "Logistics costs will fall after two regional warehouses are merged next quarter.", notice);
+        String text = extractor.extract(pdf, "pdf").text();
+
+        assertTrue(DocumentTextExtractor.isLinePerParagraph("pdf"));
+        ParagraphDeduplicator.Result result = new ParagraphDeduplicator(4, 40, true).deduplicate(text);
+        assertEquals(2, result.removedParagraphs());
+        assertTrue(result.text().contains("Revenue grew") && result.text().contains("Logistics costs"));
+    }
+
+    private static String slide(String title, String body) {
+        return "<p:sld " + P + " " + A + "><p:cSld><p:spTree>"
+            + "<p:sp><p:txBody><a:p><a:r><a:t>" + title + "</a:t></a:r></a:p></p:txBody></p:sp>"
+            + "<p:sp><p:txBody><a:p><a:r><a:t>" + body + "</a:t></a:r></a:p></p:txBody></p:sp>"
+            + "</p:spTree></p:cSld></p:sld>";
+    }
+
+    // 페이지마다 한 줄 (표준 14 폰트는 WinAnsi 문자만 지원하므로 영문)
+    private Path pdf(String name, String... pageLines) throws IOException {
+        Path file = workDir.resolve(name);
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (String line : pageLines) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText(line);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+
+    private Path zip(String name, Map<String, String> parts) throws IOException {
+        Path file = workDir.resolve(name);
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> part : parts.entrySet()) {
+                zip.putNextEntry(new ZipEntry(part.getKey()));
+                zip.write(part.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,153 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내용 해시 기반 추출 텍스트 캐시의 재사용/디스크 계층 동작 검증
+ */
+class ExtractedTextCacheTest {
+
+    private Path workDir;
+    private final AtomicInteger extractions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("text-cache-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void identicalContentIsExtractedOnce() throws Exception {
+        ExtractedTextCache cache = newCache("");
+        Path first = Files.writeString(workDir.resolve("a.txt"), "같은 내용");
+        Path second = Files.writeString(workDir.resolve("b.txt"), "같은 내용");
+
+        DocumentTextExtractor.Extraction extraction = cache.getOrExtract(first, "txt", () -> extract(first));
+        DocumentTextExtractor.Extraction reused = cache.getOrExtract(second, "txt", () -> extract(second));
+
+        assertEquals(1, extractions.get());
+        assertEquals(extraction, reused);
+        // 메모리 적중은 저장한 문자열을 복사 없이 그대로 반환
+        assertSame(extraction.text(), reused.text());
+    }
+
+    @Test
+    void textLongerThanMemoryLimitIsKeptOnDisk() throws Exception {
+        ExtractedTextCache cache = newCache(workDir.resolve("cache").toString(), 5);
+        Path file = Files.writeString(workDir.resolve("doc.txt"), "메모리 한도보다 긴 내용");
+
+        cache.getOrExtract(file, "txt", () -> extract(file));
+        DocumentTextExtractor.Extraction restored = cache.getOrExtract(file, "txt", () -> extract(file));
+
+        assertEquals(1, extractions.get());
+        assertEquals(new DocumentTextExtractor.Extraction("메모리 한도보다 긴 내용", 3, true), restored);
+    }
+
+    @Test
+    void textLongerThanMemoryLimitWithoutDiskIsExtractedAgain() throws Exception {
+        ExtractedTextCache cache = newCache("", 5);
+        Path file = Files.writeString(workDir.resolve("doc.txt"), "메모리 한도보다 긴 내용");
+
+        cache.getOrExtract(file, "txt", () -> extract(file));
+        cache.getOrExtract(file, "txt", () -> extract(file));
+
+        assertEquals(2, extractions.get());
+    }
+
+    @Test
+    void diskTierSurvivesNewInstance() throws Exception {
+        String diskDir = workDir.resolve("cache").toString();
+        Path file = Files.writeString(workDir.resolve("doc.txt"), "디스크에 남는 내용");
+
+        newCache(diskDir).getOrExtract(file, "txt", () -> extract(file));
+        DocumentTextExtractor.Extraction restored = newCache(diskDir).getOrExtract(file, "txt", () -> extract(file));
+
+        assertEquals(1, extractions.get());
+        assertEquals(new DocumentTextExtractor.Extraction("디스크에 남는 내용", 3, true), restored);
+    }
+
+    @Test
+    void changedContentIsExtractedAgain() throws Exception {
+        ExtractedTextCache cache = newCache("");
+        Path file = Files.writeString(workDir.resolve("doc.txt"), "처음 내용");
+        cache.getOrExtract(file, "txt", () -> extract(file));
+
+        Files.writeString(file, "바뀐 내용입니다");
+        DocumentTextExtractor.Extraction extraction = cache.getOrExtract(file, "txt", () -> extract(file));
+
+        assertEquals(2, extractions.get());
+        assertTrue(extraction.text().startsWith("바뀐"));
+    }
+
+    @Test
+    void derivedTextIsComputedOncePerContent() throws Exception {
+        ExtractedTextCache cache = newCache("");
+        Path first = Files.writeString(workDir.resolve("a.txt"), "같은 내용");
+        Path second = Files.writeString(workDir.resolve("b.txt"), "같은 내용");
+        AtomicInteger derivations = new AtomicInteger();
+
+        ExtractedTextCache.DerivedText derived = cache.getOrDerive(first, "txt", "prompt", () -> extract(first), text -> {
+            derivations.incrementAndGet();
+            return text + "!";
+        });
+        ExtractedTextCache.DerivedText again = cache.getOrDerive(second, "txt", "prompt", () -> extract(second), text -> {
+            derivations.incrementAndGet();
+            return text + "?";
+        });
+
+        assertEquals("같은 내용!", derived.text());
+        assertEquals(derived, again);
+        assertEquals(1, derivations.get());
+        assertEquals(1, extractions.get());
+        assertEquals(1L, cache.getStats().get("derivations"));
+
+        // 파생 종류가 다르면 따로 계산하되 추출은 재사용
+        ExtractedTextCache.DerivedText other = cache.getOrDerive(first, "txt", "other", () -> extract(first), text -> text);
+        assertEquals("같은 내용", other.text());
+        assertEquals(1, extractions.get());
+    }
+
+    private DocumentTextExtractor.Extraction extract(Path file) throws IOException {
+        extractions.incrementAndGet();
+        return new DocumentTextExtractor.Extraction(Files.readString(file), 3, true);
+    }
+
+    private static ExtractedTextCache newCache(String diskDir) {
+        return newCache(diskDir, 1_000_000);
+    }
+
+    private static ExtractedTextCache newCache(String diskDir, long maxMemoryChars) {
+        ExtractedTextCache cache = new ExtractedTextCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(cache, "maxMemoryChars", maxMemoryChars);
+        ReflectionTestUtils.setField(cache, "diskDir", diskDir);
+        ReflectionTestUtils.setField(cache, "maxDiskBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(cache, "maxDiskFiles", 100);
+        ReflectionTestUtils.setField(cache, "maxChars", 1000);
+        ReflectionTestUtils.setField(cache, "extractWaitTimeoutMs", 1000L);
+        cache.init();
+        return cache;
+    }
+}
@@ -0,0 +1,209 @@
+package init.common.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 로컬 스텁 서버로 긴 문서의 청크 요약(map) + 요약본 생성(reduce) 동작을 검증
+ */
+class GeminiApiClientDocumentTest {
+
+    private static final String CHUNK_PROMPT_PREFIX = "다음은 긴 문서의 일부입니다.";
+    private static final int SECTIONS = 8;
+    private static final int DIRECT_MAX_TOKENS = 300;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private final AtomicInteger summaryRequests = new AtomicInteger();
+    private final AtomicInteger generationRequests = new AtomicInteger();
+    private final AtomicInteger inFlightSummaries = new AtomicInteger();
+    private final AtomicInteger maxInFlightSummaries = new AtomicInteger();
+    // 요약이 아닌 생성 요청의 프롬프트
+    private final List<String> generationPrompts = new CopyOnWriteArrayList<>();
+    private volatile String summaryText = "요약된 내용";
+    private volatile long summaryDelayMs = 0;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            String prompt;
+            try (InputStream in = exchange.getRequestBody()) {
+                JsonNode request = objectMapper.readTree(in);
+                prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText();
+            }
+            String text;
+            if (prompt.startsWith(CHUNK_PROMPT_PREFIX)) {
+                summaryRequests.incrementAndGet();
+                int inFlight = inFlightSummaries.incrementAndGet();
+                maxInFlightSummaries.accumulateAndGet(inFlight, Math::max);
+                try {
+                    Thread.sleep(summaryDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlightSummaries.decrementAndGet();
+                }
+                text = summaryText;
+            } else {
+                generationRequests.incrementAndGet();
+                generationPrompts.add(prompt);
+                text = "1. 개요\n- 내용";
+            }
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("candidates",
+                List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text)))))));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void longDocumentIsSummarizedPerChunkThenGeneratedOnce() throws Exception {
+        GeminiApiClient client = newClient(4, 3);
+
+        client.generateFromDocument(longDocument(), "주제", 5);
+
+        assertEquals(SECTIONS, summaryRequests.get());
+        assertEquals(1, generationRequests.get());
+        String prompt = generationPrompts.get(0);
+        assertTrue(prompt.contains("문서 요약:"));
+        assertTrue(prompt.contains("# 섹션 1\n요약된 내용"));
+        assertTrue(prompt.contains("# 섹션 " + SECTIONS + "\n요약된 내용"));
+        assertFalse(prompt.contains("내용 문장"));
+        Map<String, Object> summaries = (Map<String, Object>) client.getStats().get("documentSummaries");
+        assertEquals((long) SECTIONS, summaries.get("chunkSummaryCalls"));
+        assertEquals(0L, summaries.get("budgetCuts"));
+    }
+
+    @Test
+    void slideCountChangeReusesCachedChunkSummaries() throws Exception {
+        GeminiApiClient client = newClient(4, 3);
+        ReflectionTestUtils.setField(client, "cacheEnabled", true);
+        ReflectionTestUtils.setField(client, "cacheMaxEntries", 100);
+        ReflectionTestUtils.setField(client, "cacheTtlMinutes", 60L);
+        client.init();
+        String document = longDocument();
+
+        client.generateFromDocument(document, "주제", 5);
+        client.generateFromDocument(document, "주제", 8);
+
+        // 청크 요약 프롬프트는 슬라이드 수와 무관하므로 두 번째 호출은 생성 요청만 나감
+        assertEquals(SECTIONS, summaryRequests.get());
+        assertEquals(2, generationRequests.get());
+    }
+
+    @Test
+    void chunkSummariesRespectMapConcurrency() throws Exception {
+        summaryDelayMs = 100;
+        GeminiApiClient client = newClient(2, 3);
+
+        client.generateFromDocument(longDocument(), "주제", 5);
+
+        assertEquals(SECTIONS, summaryRequests.get());
+        assertTrue(maxInFlightSummaries.get() <= 2, "동시 요약 호출 " + maxInFlightSummaries.get());
+        assertTrue(maxInFlightSummaries.get() > 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void summaryStillOverBudgetAfterLastLevelIsCut() throws Exception {
+        // 요약이 원문보다 길게 돌아와 최대 단계까지 요약해도 예산을 넘는 경우
+        summaryText = "요약이 충분히 줄지 않은 긴 문장입니다. ".repeat(30);
+        GeminiApiClient client = newClient(4, 1);
+
+        client.generateFromDocument(longDocument(), "주제", 5);
+
+        String prompt = generationPrompts.get(0);
+        String summary = prompt.substring(prompt.indexOf("문서 요약:\n") + "문서 요약:\n".length(), prompt.lastIndexOf("주제: "));
+        assertTrue(TokenEstimator.estimate(summary) <= DIRECT_MAX_TOKENS, "요약본 토큰 " + TokenEstimator.estimate(summary));
+        // 뒤쪽 섹션도 몫을 받아 남아 있음
+        for (int i = 1; i <= SECTIONS; i++) {
+            assertTrue(summary.contains("# 섹션 " + i + "\n요약이"), "섹션 " + i);
+        }
+        Map<String, Object> summaries = (Map<String, Object>) client.getStats().get("documentSummaries");
+        assertEquals(1L, summaries.get("budgetCuts"));
+    }
+
+    /**
+     * 섹션마다 약 90 토큰(추정), 전체로는 DIRECT_MAX_TOKENS 를 넘는 문서
+     */
+    private static String longDocument() {
+        StringBuilder document = new StringBuilder();
+        for (int i = 1; i <= SECTIONS; i++) {
+            document.append("# 섹션 ").append(i).append('\n')
+                .append(("섹션 " + i + " 내용 문장. ").repeat(20)).append("\n\n");
+        }
+        return document.toString();
+    }
+
+    private GeminiApiClient newClient(int mapConcurrency, int maxSummaryLevels) {
+        GeminiHttpTransport transport = new GeminiHttpTransport();
+        ReflectionTestUtils.setField(transport, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(transport, "readTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(transport, "totalTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(transport, "httpVersion", "HTTP_1_1");
+        transport.init();
+
+        GeminiApiClient client = new GeminiApiClient();
+        ReflectionTestUtils.setField(client, "httpTransport", transport);
+        ReflectionTestUtils.setField(client, "virtualThreadExecutor", Executors.newVirtualThreadPerTaskExecutor());
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "apiUrl",
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta/models/test:generateContent");
+        ReflectionTestUtils.setField(client, "cacheEnabled", false);
+        ReflectionTestUtils.setField(client, "singleFlightWaitTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(client, "requestsPerMinute", 10000L);
+        ReflectionTestUtils.setField(client, "tokensPerMinute", 10000000L);
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", 8);
+        ReflectionTestUtils.setField(client, "maxQueuedCalls", 20);
+        ReflectionTestUtils.setField(client, "queueTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "retryMaxAttempts", 1);
+        ReflectionTestUtils.setField(client, "retryBaseBackoffMs", 10L);
+        ReflectionTestUtils.setField(client, "retryMaxBackoffMs", 50L);
+        ReflectionTestUtils.setField(client, "retryMaxRetryAfterMs", 5000L);
+        ReflectionTestUtils.setField(client, "hedgeEnabled", false);
+        ReflectionTestUtils.setField(client, "breakerWindowSize", 100);
+        ReflectionTestUtils.setField(client, "breakerMinimumCalls", 100);
+        ReflectionTestUtils.setField(client, "breakerFailureRateThreshold", 50.0);
+        ReflectionTestUtils.setField(client, "breakerOpenDurationMs", 60000L);
+        ReflectionTestUtils.setField(client, "documentDirectMaxTokens", DIRECT_MAX_TOKENS);
+        ReflectionTestUtils.setField(client, "documentChunkMaxTokens", 100);
+        ReflectionTestUtils.setField(client, "documentMapConcurrency", mapConcurrency);
+        ReflectionTestUtils.setField(client, "documentMaxSummaryLevels", maxSummaryLevels);
+        client.init();
+        return client;
+    }
+}
@@ -0,0 +1,161 @@
+package init.common.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 장애를 주입하는 로컬 스텁 서버로 GeminiApiClient 의 재시도/회로 차단 동작을 검증
+ */
+class GeminiApiClientResilienceTest {
+
+    private static final String OK_BODY =
+        "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"응답 텍스트\"}]}}]}";
+
+    private HttpServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    // 순서대로 사용할 응답 상태 코드 (비어 있으면 200)
+    private final ConcurrentLinkedQueue<Integer> plannedStatuses = new ConcurrentLinkedQueue<>();
+    private volatile int defaultStatus = 200;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            Integer planned = plannedStatuses.poll();
+            int status = planned != null ? planned : defaultStatus;
+            byte[] body = (status == 200 ? OK_BODY : "{\"error\":{}}").getBytes(StandardCharsets.UTF_8);
+            if (status == 429) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesTransientServerErrors() throws Exception {
+        plannedStatuses.add(503);
+        plannedStatuses.add(500);
+        GeminiApiClient client = newClient(3, 100);
+
+        String result = client.generateImprovedPrompt("프롬프트", null);
+
+        assertEquals("응답 텍스트", result);
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void honorsRetryAfterOnRateLimit() throws Exception {
+        plannedStatuses.add(429);
+        GeminiApiClient client = newClient(2, 100);
+
+        long start = System.currentTimeMillis();
+        String result = client.generateImprovedPrompt("프롬프트", null);
+
+        assertEquals("응답 텍스트", result);
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        plannedStatuses.add(400);
+        GeminiApiClient client = newClient(3, 100);
+
+        assertThrows(Exception.class, () -> client.generateImprovedPrompt("프롬프트", null));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void strictFormatRetryBypassesResponseCache() throws Exception {
+        GeminiApiClient client = newClient(1, 100);
+        ReflectionTestUtils.setField(client, "cacheEnabled", true);
+        ReflectionTestUtils.setField(client, "cacheMaxEntries", 10);
+        ReflectionTestUtils.setField(client, "cacheTtlMinutes", 60L);
+        client.init();
+
+        client.generateSingleSlide("주제", null, "1. 개요", 1, "개요", false);
+        client.generateSingleSlide("주제", null, "1. 개요", 1, "개요", false);
+        assertEquals(1, requestCount.get());
+
+        // 형식 오류 후 재시도는 같은 프롬프트라도 매번 새로 요청
+        client.generateSingleSlide("주제", null, "1. 개요", 1, "개요", true);
+        client.generateSingleSlide("주제", null, "1. 개요", 1, "개요", true);
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void opensCircuitWhileUpstreamIsUnhealthy() {
+        defaultStatus = 503;
+        GeminiApiClient client = newClient(1, 4);
+
+        for (int i = 0; i < 4; i++) {
+            String prompt = "프롬프트 " + i;
+            assertThrows(Exception.class, () -> client.generateImprovedPrompt(prompt, null));
+        }
+        assertThrows(Exception.class, () -> client.generateImprovedPrompt("차단될 프롬프트", null));
+
+        // 회로가 열린 뒤의 호출은 스텁 서버까지 가지 않음
+        assertEquals(4, requestCount.get());
+        Map<String, Object> resilience = (Map<String, Object>) client.getStats().get("resilience");
+        Map<String, Object> breaker = (Map<String, Object>) resilience.get("circuitBreaker");
+        assertEquals("OPEN", breaker.get("state"));
+    }
+
+    private GeminiApiClient newClient(int maxAttempts, int breakerWindow) {
+        GeminiHttpTransport transport = new GeminiHttpTransport();
+        ReflectionTestUtils.setField(transport, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(transport, "readTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(transport, "totalTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(transport, "httpVersion", "HTTP_1_1");
+        transport.init();
+
+        GeminiApiClient client = new GeminiApiClient();
+        ReflectionTestUtils.setField(client, "httpTransport", transport);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "apiUrl",
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta/models/test:generateContent");
+        ReflectionTestUtils.setField(client, "cacheEnabled", false);
+        ReflectionTestUtils.setField(client, "singleFlightWaitTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(client, "requestsPerMinute", 10000L);
+        ReflectionTestUtils.setField(client, "tokensPerMinute", 10000000L);
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", 4);
+        ReflectionTestUtils.setField(client, "maxQueuedCalls", 10);
+        ReflectionTestUtils.setField(client, "queueTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "retryMaxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(client, "retryBaseBackoffMs", 10L);
+        ReflectionTestUtils.setField(client, "retryMaxBackoffMs", 50L);
+        ReflectionTestUtils.setField(client, "retryMaxRetryAfterMs", 5000L);
+        ReflectionTestUtils.setField(client, "hedgeEnabled", false);
+        ReflectionTestUtils.setField(client, "breakerWindowSize", breakerWindow);
+        ReflectionTestUtils.setField(client, "breakerMinimumCalls", breakerWindow);
+        ReflectionTestUtils.setField(client, "breakerFailureRateThreshold", 50.0);
+        ReflectionTestUtils.setField(client, "breakerOpenDurationMs", 60000L);
+        client.init();
+        return client;
+    }
+}
@@ -0,0 +1,105 @@
+package init.common.utils;
+
+import init.backendapi.dto.SlideOutline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 이전 정규식 기반 슬라이드 파서 (동등성 검증과 벤치마크 기준용)
+ */
+public class LegacySlideParser {
+
+    private static final Pattern TITLE_PATTERN = Pattern.compile("제목:\\s*(.+)");
+    private static final Pattern CONTENT_PATTERN = Pattern.compile("내용:\\s*([\\s\\S]*?)(?=노트:|$)");
+    private static final Pattern NOTES_PATTERN = Pattern.compile("노트:\\s*(.+)");
+    private static final Pattern BULLET_PATTERN = Pattern.compile("^\\s*[-*•]\\s*(.+)$", Pattern.MULTILINE);
+
+    public List<SlideOutline> parseSlideStructure(String geminiResponse) {
+        List<SlideOutline> slideOutlines = new ArrayList<>();
+
+        String[] slides = geminiResponse.split("=====\\s*슬라이드\\s*\\d+\\s*=====");
+        for (int i = 1; i < slides.length; i++) {
+            slideOutlines.add(parseIndividualSlide(slides[i].trim(), i));
+        }
+
+        if (slideOutlines.isEmpty()) {
+            slideOutlines = parseAlternativeFormat(geminiResponse);
+        }
+        return slideOutlines;
+    }
+
+    private SlideOutline parseIndividualSlide(String slideContent, int slideNumber) {
+        SlideOutline outline = new SlideOutline();
+        outline.setSlideNumber(slideNumber);
+
+        Matcher titleMatcher = TITLE_PATTERN.matcher(slideContent);
+        if (titleMatcher.find()) {
+            outline.setTitle(titleMatcher.group(1).trim());
+        }
+
+        Matcher contentMatcher = CONTENT_PATTERN.matcher(slideContent);
+        if (contentMatcher.find()) {
+            String content = contentMatcher.group(1).trim();
+            outline.setContent(content);
+
+            List<String> bulletPoints = new ArrayList<>();
+            Matcher bulletMatcher = BULLET_PATTERN.matcher(content);
+            while (bulletMatcher.find()) {
+                bulletPoints.add(bulletMatcher.group(1).trim());
+            }
+            outline.setBulletPoints(bulletPoints);
+        }
+
+        Matcher notesMatcher = NOTES_PATTERN.matcher(slideContent);
+        if (notesMatcher.find()) {
+            outline.setNotes(notesMatcher.group(1).trim());
+        }
+
+        outline.setSlideType(inferSlideType(outline.getTitle(), outline.getContent()));
+        return outline;
+    }
+
+    private List<SlideOutline> parseAlternativeFormat(String geminiResponse) {
+        List<SlideOutline> slideOutlines = new ArrayList<>();
+
+        try {
+            Pattern listPattern = Pattern.compile("(\\d+)\\s*\\.\\s*(.+?)\\s*-\\s*(.+?)(?=\\n\\d+\\.|$)", Pattern.DOTALL);
+            Matcher listMatcher = listPattern.matcher(geminiResponse);
+
+            while (listMatcher.find()) {
+                SlideOutline outline = new SlideOutline();
+                outline.setSlideNumber(Integer.parseInt(listMatcher.group(1)));
+                outline.setTitle(listMatcher.group(2).trim());
+                outline.setContent(listMatcher.group(3).trim());
+                outline.setSlideType("standard");
+                slideOutlines.add(outline);
+            }
+        } catch (Exception e) {
+            // 새 파서와 같이 그때까지의 결과 반환
+        }
+        return slideOutlines;
+    }
+
+    private String inferSlideType(String title, String content) {
+        if (title == null && content == null) {
+            return "standard";
+        }
+
+        String text = (title + " " + content).toLowerCase();
+
+        if (text.contains("소개") || text.contains("시작") || text.contains("welcome")) {
+            return "title";
+        } else if (text.contains("목차") || text.contains("agenda") || text.contains("outline")) {
+            return "agenda";
+        } else if (text.contains("결론") || text.contains("마무리") || text.contains("conclusion")) {
+            return "conclusion";
+        } else if (text.contains("감사") || text.contains("질문") || text.contains("thank")) {
+            return "closing";
+        } else {
+            return "standard";
+        }
+    }
+}
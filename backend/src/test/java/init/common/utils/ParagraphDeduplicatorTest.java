@@ -0,0 +1,41 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 유사 중복 문단 제거와 제거 토큰 수 보고 검증
+ */
+class ParagraphDeduplicatorTest {
+
+    private static final String NOTICE = "본 문서는 사내 한정 자료로 외부 공유를 금지합니다. 문의 사항은 경영지원팀 내선 1234 로 연락 바랍니다. "
+        + "무단 배포 시 보안 규정에 따라 조치될 수 있습니다.";
+
+    private final ParagraphDeduplicator deduplicator = new ParagraphDeduplicator(4, 40);
+
+    @Test
+    void removesRepeatedAndNearDuplicateBoilerplate() {
+        String nearDuplicate = NOTICE.replace("1234", "1235");
+        String text = "# 1주차 회의\n" + NOTICE + "\n\n신규 서비스 출시 일정을 3월로 확정했다.\n\n"
+            + NOTICE + "\n\n# 2주차 회의\n\n" + nearDuplicate + "\n\n마케팅 예산 집행 현황을 공유하고 추가 예산 요청 여부를 검토했다.\n";
+
+        ParagraphDeduplicator.Result result = deduplicator.deduplicate(text);
+
+        assertEquals("# 1주차 회의\n" + NOTICE + "\n\n신규 서비스 출시 일정을 3월로 확정했다.\n\n# 2주차 회의\n\n"
+            + "마케팅 예산 집행 현황을 공유하고 추가 예산 요청 여부를 검토했다.\n", result.text());
+        assertEquals(2, result.removedParagraphs());
+        assertEquals(TokenEstimator.estimate(NOTICE) + TokenEstimator.estimate(nearDuplicate), result.removedTokens());
+    }
+
+    @Test
+    void keepsDistinctAndShortParagraphs() {
+        String text = "감사합니다.\n\n감사합니다.\n\n1분기 매출은 전년 대비 12% 증가했으며 주요 원인은 신규 고객 유입이다.\n\n"
+            + "2분기에는 물류 비용 절감을 위해 지역 거점 창고 두 곳을 통합할 예정이다.";
+
+        ParagraphDeduplicator.Result result = deduplicator.deduplicate(text);
+
+        assertEquals(text, result.text());
+        assertEquals(0, result.removedTokens());
+    }
+}
@@ -0,0 +1,180 @@
+package init.common.utils;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 구간 계획, 순서대로 병합과 한도 처리, PDF/PPTX 병렬 추출 결과가 순차 추출과 같은지 검증
+ */
+class ParallelDocumentExtractorTest {
+
+    private Path workDir;
+    private ExecutorService executor;
+    private DocumentTextExtractor textExtractor;
+    private ParallelDocumentExtractor parallelExtractor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("parallel-extract-test");
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        textExtractor = new DocumentTextExtractor();
+        parallelExtractor = new ParallelDocumentExtractor();
+        ReflectionTestUtils.setField(parallelExtractor, "documentTextExtractor", textExtractor);
+        ReflectionTestUtils.setField(parallelExtractor, "virtualThreadExecutor", executor);
+        ReflectionTestUtils.setField(parallelExtractor, "parallelMinBytes", 0L);
+        ReflectionTestUtils.setField(parallelExtractor, "unitsPerTask", 2);
+        ReflectionTestUtils.setField(parallelExtractor, "parallelMaxConcurrency", 3);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void plansContiguousRangesCoveringAllUnits() {
+        assertEquals(List.of(new ParallelDocumentExtractor.Range(0, 16), new ParallelDocumentExtractor.Range(16, 32),
+            new ParallelDocumentExtractor.Range(32, 40)), ParallelDocumentExtractor.planRanges(40, 16));
+        assertEquals(List.of(new ParallelDocumentExtractor.Range(0, 3)), ParallelDocumentExtractor.planRanges(3, 16));
+        assertTrue(ParallelDocumentExtractor.planRanges(0, 16).isEmpty());
+        assertEquals(5, ParallelDocumentExtractor.planRanges(5, 0).size());
+    }
+
+    @Test
+    void mergeKeepsOrderAndStopsAtLimit() throws Exception {
+        CompletableFuture<DocumentTextExtractor.Extraction> never = new CompletableFuture<>();
+        List<CompletableFuture<DocumentTextExtractor.Extraction>> parts = List.of(
+            done("가나다"), done("라마바"), done("사아자차"), never);
+
+        DocumentTextExtractor.Extraction merged = ParallelDocumentExtractor.merge(parts, 8, 12);
+
+        assertEquals("가나다라마바사아", merged.text());
+        assertTrue(merged.truncated());
+        assertEquals(12, merged.pageCount());
+        // 한도 뒤 구간은 기다리지 않고 취소
+        assertTrue(never.isCancelled());
+    }
+
+    @Test
+    void mergeReportsFailedRangeAndCancelsTheRest() {
+        CompletableFuture<DocumentTextExtractor.Extraction> pending = new CompletableFuture<>();
+        List<CompletableFuture<DocumentTextExtractor.Extraction>> parts = List.of(
+            done("앞"), CompletableFuture.failedFuture(new IOException("손상된 페이지")), pending);
+
+        Exception error = assertThrows(Exception.class, () -> ParallelDocumentExtractor.merge(parts, 100, 3));
+
+        assertTrue(error.getMessage().contains("손상된 페이지"));
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    void parallelPptxMatchesSequentialExtraction() throws Exception {
+        Path pptx = workDir.resolve("deck.pptx");
+        try (OutputStream out = Files.newOutputStream(pptx); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 1; i <= 7; i++) {
+                zip.putNextEntry(new ZipEntry("ppt/slides/slide" + i + ".xml"));
+                zip.write(("<p:sld xmlns:p=\"http://schemas.openxmlformats.org/presentationml/2006/main\" "
+                    + "xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\"><p:cSld><p:spTree><p:sp><p:txBody>"
+                    + "<a:p><a:r><a:t>슬라이드 " + i + "</a:t></a:r></a:p></p:txBody></p:sp></p:spTree></p:cSld></p:sld>")
+                    .getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+
+        DocumentTextExtractor.Extraction parallel = parallelExtractor.extract(pptx, "pptx");
+
+        assertEquals(textExtractor.extract(pptx, "pptx"), parallel);
+        assertEquals(7, parallel.pageCount());
+    }
+
+    @Test
+    void parallelPdfMatchesSequentialExtractionAndCleansUp() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            lines.add("Page " + i + " summary");
+        }
+        Path pdf = pdf("report.pdf", lines);
+        List<Path> splitDirsBefore = splitDirs();
+        AtomicInteger wholeDocumentLoads = new AtomicInteger();
+        ReflectionTestUtils.setField(parallelExtractor, "documentTextExtractor", new DocumentTextExtractor() {
+            @Override
+            public Extraction extract(Path file, String extension) throws Exception {
+                if (file.equals(pdf)) {
+                    wholeDocumentLoads.incrementAndGet();
+                }
+                return super.extract(file, extension);
+            }
+        });
+
+        DocumentTextExtractor.Extraction parallel = parallelExtractor.extract(pdf, "pdf");
+
+        assertEquals(textExtractor.extract(pdf, "pdf").text(), parallel.text());
+        assertEquals(5, parallel.pageCount());
+        assertFalse(parallel.truncated());
+        // 원본은 분할할 때 한 번만 읽고, 구간 추출은 나눈 파일에서
+        assertEquals(0, wholeDocumentLoads.get());
+        // 분할 임시 디렉터리는 추출 후 삭제
+        assertEquals(splitDirsBefore, splitDirs());
+    }
+
+    private static List<Path> splitDirs() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("pdf-split-")).sorted().toList();
+        }
+    }
+
+    private static CompletableFuture<DocumentTextExtractor.Extraction> done(String text) {
+        return CompletableFuture.completedFuture(new DocumentTextExtractor.Extraction(text, 0, false));
+    }
+
+    private Path pdf(String name, List<String> pageLines) throws IOException {
+        Path file = workDir.resolve(name);
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (String line : pageLines) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText(line);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
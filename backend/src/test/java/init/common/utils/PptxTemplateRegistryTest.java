@@ -0,0 +1,137 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 스타일별 템플릿 적재, 디렉토리 재정의, 재로딩 실패 시 유지, 파트 불변성 검증
+ */
+class PptxTemplateRegistryTest {
+
+    private static final String THEME = "ppt/theme/theme1.xml";
+    private static final String CUSTOM_THEME = "<a:theme xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\" name=\"custom\"/>";
+
+    private Path templateDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        templateDir = Files.createTempDirectory("pptx-template-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var paths = Files.walk(templateDir)) {
+            paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void builtInStylesFallBackToDefaultParts() throws Exception {
+        PptxTemplateRegistry registry = newRegistry("");
+
+        assertEquals(Set.of("default", "modern", "dark"), registry.getStyles());
+        PptxTemplate defaults = registry.get("default");
+        PptxTemplate dark = registry.get("DARK");
+        assertEquals(PptxTemplate.PART_NAMES.size(), dark.getParts().size());
+        // dark 는 테마만 제공하고 나머지 파트는 기본 스타일과 같음
+        assertNotEquals(text(part(defaults, THEME)), text(part(dark, THEME)));
+        assertEquals(text(part(defaults, "ppt/slideMasters/slideMaster1.xml")), text(part(dark, "ppt/slideMasters/slideMaster1.xml")));
+        assertSame(defaults, registry.get("없는 스타일"));
+        assertSame(defaults, registry.get(null));
+    }
+
+    @Test
+    void templateDirectoryOverridesAndAddsStyles() throws Exception {
+        writePart("default", THEME, CUSTOM_THEME);
+        writePart("brand", THEME, CUSTOM_THEME);
+
+        PptxTemplateRegistry registry = newRegistry(templateDir.toString());
+
+        assertEquals(CUSTOM_THEME, text(part(registry.get("default"), THEME)));
+        assertEquals(CUSTOM_THEME, text(part(registry.get("brand"), THEME)));
+        registry.shutdown();
+    }
+
+    @Test
+    void hiddenAndPartlessDirectoriesAreNotStyles() throws Exception {
+        writePart(".git", THEME, CUSTOM_THEME);
+        Files.createDirectories(templateDir.resolve("backup"));
+        Files.writeString(templateDir.resolve("backup").resolve("notes.txt"), "템플릿 아님");
+
+        PptxTemplateRegistry registry = newRegistry(templateDir.toString());
+
+        assertEquals(Set.of("default", "modern", "dark"), registry.getStyles());
+        registry.shutdown();
+    }
+
+    @Test
+    void malformedPartFailsStartupAndReloadKeepsPreviousTemplates() throws Exception {
+        writePart("brand", THEME, "<a:theme");
+        assertThrows(Exception.class, () -> newRegistry(templateDir.toString()));
+
+        writePart("brand", THEME, CUSTOM_THEME);
+        PptxTemplateRegistry registry = newRegistry(templateDir.toString());
+        PptxTemplate before = registry.get("brand");
+
+        writePart("brand", THEME, "<a:theme");
+        registry.reload();
+
+        assertSame(before, registry.get("brand"));
+        assertEquals(1L, registry.getStats().get("reloadFailures"));
+        registry.shutdown();
+    }
+
+    @Test
+    void partBytesCannotBeChangedFromOutside() throws IOException {
+        byte[] source = "<a/>".getBytes(StandardCharsets.UTF_8);
+        PptxTemplate.Part part = PptxTemplate.Part.of("a.xml", source);
+
+        source[1] = 'b';
+        part.data()[1] = 'c';
+
+        assertArrayEquals("<a/>".getBytes(StandardCharsets.UTF_8), part.data());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        part.writeTo(out);
+        assertEquals("<a/>", out.toString(StandardCharsets.UTF_8));
+        assertEquals(4, part.size());
+    }
+
+    private PptxTemplateRegistry newRegistry(String dir) throws Exception {
+        PptxTemplateRegistry registry = new PptxTemplateRegistry();
+        ReflectionTestUtils.setField(registry, "builtInStyles", List.of("default", "modern", "dark"));
+        ReflectionTestUtils.setField(registry, "templateDir", dir);
+        registry.init();
+        return registry;
+    }
+
+    private void writePart(String style, String partName, String content) throws IOException {
+        Path file = templateDir.resolve(style).resolve(partName);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static PptxTemplate.Part part(PptxTemplate template, String name) {
+        return template.getParts().stream().filter(part -> part.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static String text(PptxTemplate.Part part) {
+        return new String(part.data(), StandardCharsets.UTF_8);
+    }
+}
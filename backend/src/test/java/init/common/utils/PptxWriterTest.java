@@ -0,0 +1,230 @@
+package init.common.utils;
+
+import init.backendapi.dto.SlideOutline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 작성한 PPTX 를 zip 으로 다시 열어 패키지 구조(콘텐츠 형식, 관계 ID, 슬라이드/노트 XML)와 슬라이드 한 장 교체 검증
+ */
+class PptxWriterTest {
+
+    private static final String PRESENTATION_NS = "http://schemas.openxmlformats.org/presentationml/2006/main";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final PptxWriter writer = new PptxWriter();
+    private PptxTemplate template;
+    private Path workDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PptxTemplateRegistry registry = new PptxTemplateRegistry();
+        ReflectionTestUtils.setField(registry, "builtInStyles", List.of("default"));
+        ReflectionTestUtils.setField(registry, "templateDir", "");
+        registry.init();
+        template = registry.get(PptxTemplateRegistry.DEFAULT_STYLE);
+        workDir = Files.createTempDirectory("pptx-writer-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var paths = Files.walk(workDir)) {
+            paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void everyOverriddenPartExistsAndEveryPartIsWellFormed() throws Exception {
+        Path pptx = writeDeck(sampleSlides());
+
+        try (ZipFile zip = new ZipFile(pptx.toFile())) {
+            Document contentTypes = parse(zip, "[Content_Types].xml");
+            NodeList overrides = contentTypes.getElementsByTagName("Override");
+            List<String> partNames = new ArrayList<>();
+            for (int i = 0; i < overrides.getLength(); i++) {
+                String partName = ((Element) overrides.item(i)).getAttribute("PartName");
+                partNames.add(partName);
+                assertNotNull(zip.getEntry(partName.substring(1)), partName);
+            }
+            for (int number = 1; number <= 3; number++) {
+                assertTrue(partNames.contains("/ppt/slides/slide" + number + ".xml"));
+                assertTrue(partNames.contains("/ppt/notesSlides/notesSlide" + number + ".xml"));
+            }
+            assertTrue(partNames.contains("/ppt/notesMasters/notesMaster1.xml"));
+
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                if (entry.getName().endsWith(".xml") || entry.getName().endsWith(".rels")) {
+                    parse(zip, entry.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    void slideRelationshipIdsFollowFixedPresentationRels() throws Exception {
+        Path pptx = writeDeck(sampleSlides());
+
+        try (ZipFile zip = new ZipFile(pptx.toFile())) {
+            Map<String, String> targets = relationshipTargets(parse(zip, "ppt/_rels/presentation.xml.rels"));
+            assertEquals(PptxWriter.FIXED_PRESENTATION_RELS + 3, targets.size());
+            assertEquals("notesMasters/notesMaster1.xml", targets.get("rId" + PptxWriter.FIXED_PRESENTATION_RELS));
+
+            NodeList slideIds = parse(zip, "ppt/presentation.xml").getElementsByTagNameNS(PRESENTATION_NS, "sldId");
+            assertEquals(3, slideIds.getLength());
+            for (int i = 0; i < slideIds.getLength(); i++) {
+                String relationshipId = ((Element) slideIds.item(i)).getAttributeNS(RELATIONSHIPS_NS, "id");
+                assertEquals("rId" + (PptxWriter.FIXED_PRESENTATION_RELS + 1 + i), relationshipId);
+                assertEquals("slides/slide" + (i + 1) + ".xml", targets.get(relationshipId));
+            }
+        }
+    }
+
+    @Test
+    void slidesAndNotesCarryOutlineText() throws Exception {
+        Path pptx = writeDeck(sampleSlides());
+
+        try (ZipFile zip = new ZipFile(pptx.toFile())) {
+            String cover = read(zip, "ppt/slides/slide1.xml");
+            assertTrue(cover.contains("type=\"ctrTitle\""));
+            assertTrue(cover.contains("<a:t>분기 실적 보고</a:t>"));
+
+            String content = read(zip, "ppt/slides/slide2.xml");
+            assertTrue(content.contains("<a:t>매출 &amp; 이익</a:t>"));
+            assertTrue(content.contains("<a:t>매출 12% 증가</a:t>"));
+            assertTrue(content.contains("<a:t>영업이익률 &lt;8%&gt;</a:t>"));
+
+            Map<String, String> slideRels = relationshipTargets(parse(zip, "ppt/slides/_rels/slide2.xml.rels"));
+            assertEquals("../slideLayouts/slideLayout2.xml", slideRels.get("rId1"));
+            assertEquals("../notesSlides/notesSlide2.xml", slideRels.get("rId2"));
+
+            String notes = read(zip, "ppt/notesSlides/notesSlide2.xml");
+            assertTrue(notes.contains("<a:t>성장 원인을 먼저 설명</a:t>"));
+            assertTrue(notes.contains("<a:t>질문 시간 안내</a:t>"));
+            Map<String, String> notesRels = relationshipTargets(parse(zip, "ppt/notesSlides/_rels/notesSlide2.xml.rels"));
+            assertEquals("../slides/slide2.xml", notesRels.get("rId2"));
+
+            // 노트가 없는 슬라이드도 빈 노트 파트를 가짐
+            assertFalse(read(zip, "ppt/notesSlides/notesSlide3.xml").contains("<a:t>"));
+        }
+    }
+
+    @Test
+    void rewriteSlideChangesOnlyThatSlideAndItsNotes() throws Exception {
+        Path pptx = writeDeck(sampleSlides());
+        Map<String, byte[]> before = entries(pptx);
+
+        SlideOutline replacement = new SlideOutline(2, "수정된 매출", "- 매출 15% 증가", "content", null);
+        replacement.setNotes("새 발표 메모");
+        writer.rewriteSlide(pptx, 2, replacement);
+
+        Map<String, byte[]> after = entries(pptx);
+        assertEquals(before.keySet(), after.keySet());
+        List<String> changed = new ArrayList<>();
+        for (String name : before.keySet()) {
+            if (!Arrays.equals(before.get(name), after.get(name))) {
+                changed.add(name);
+            }
+        }
+        Collections.sort(changed);
+        assertEquals(List.of("ppt/notesSlides/notesSlide2.xml", "ppt/slides/slide2.xml"), changed);
+
+        try (ZipFile zip = new ZipFile(pptx.toFile())) {
+            assertTrue(read(zip, "ppt/slides/slide2.xml").contains("<a:t>수정된 매출</a:t>"));
+            assertTrue(read(zip, "ppt/notesSlides/notesSlide2.xml").contains("<a:t>새 발표 메모</a:t>"));
+            parse(zip, "ppt/slides/slide2.xml");
+        }
+    }
+
+    @Test
+    void failedRewriteLeavesOriginalFileUntouched() throws Exception {
+        Path pptx = writeDeck(sampleSlides());
+        byte[] original = Files.readAllBytes(pptx);
+
+        assertThrows(IOException.class, () ->
+            writer.rewriteSlide(pptx, 9, new SlideOutline(9, "없는 슬라이드", "- 내용", "content", null)));
+
+        assertArrayEquals(original, Files.readAllBytes(pptx));
+        // 작업용 임시 파일도 남지 않음
+        try (var files = Files.list(workDir)) {
+            assertEquals(List.of(pptx), files.toList());
+        }
+    }
+
+    private Path writeDeck(List<SlideOutline> slides) throws IOException {
+        Path pptx = workDir.resolve("deck.pptx");
+        writer.write(slides, "분기 실적 보고", template, pptx);
+        return pptx;
+    }
+
+    private static List<SlideOutline> sampleSlides() {
+        SlideOutline cover = new SlideOutline(1, "분기 실적 보고", "2024년 3분기", "title", null);
+        SlideOutline content = new SlideOutline(2, "매출 & 이익", "- 매출 12% 증가\n- 영업이익률 <8%>", "content", null);
+        content.setNotes("성장 원인을 먼저 설명\n질문 시간 안내");
+        SlideOutline closing = new SlideOutline(3, "다음 단계", "- 신규 시장 진출", "content", null);
+        return List.of(cover, content, closing);
+    }
+
+    // 압축 해제한 파트 내용 (압축 방식이나 타임스탬프와 무관하게 비교)
+    private static Map<String, byte[]> entries(Path pptx) throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipFile zip = new ZipFile(pptx.toFile())) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                try (InputStream in = zip.getInputStream(entry)) {
+                    entries.put(entry.getName(), in.readAllBytes());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static Map<String, String> relationshipTargets(Document rels) {
+        Map<String, String> targets = new HashMap<>();
+        NodeList relationships = rels.getElementsByTagName("Relationship");
+        for (int i = 0; i < relationships.getLength(); i++) {
+            Element relationship = (Element) relationships.item(i);
+            targets.put(relationship.getAttribute("Id"), relationship.getAttribute("Target"));
+        }
+        return targets;
+    }
+
+    private static Document parse(ZipFile zip, String name) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+            return factory.newDocumentBuilder().parse(in);
+        }
+    }
+
+    private static String read(ZipFile zip, String name) throws IOException {
+        try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 우선순위 입장 순서와 대기열/마감 시각 거절 검증
+ */
+class PriorityBulkheadTest {
+
+    @Test
+    void interactiveWaiterOvertakesEarlierBulkWaiter() throws Exception {
+        PriorityBulkhead bulkhead = new PriorityBulkhead(1, 10);
+        bulkhead.acquire(GeminiPriority.BULK, deadline(1000));
+        List<GeminiPriority> admissionOrder = new CopyOnWriteArrayList<>();
+
+        Thread bulk = startWaiter(bulkhead, GeminiPriority.BULK, admissionOrder);
+        awaitQueueDepth(bulkhead, 1);
+        Thread interactive = startWaiter(bulkhead, GeminiPriority.INTERACTIVE, admissionOrder);
+        awaitQueueDepth(bulkhead, 2);
+
+        bulkhead.release();
+        bulk.join(5000);
+        interactive.join(5000);
+
+        // 먼저 도착한 BULK 보다 INTERACTIVE 가 먼저 입장
+        assertEquals(List.of(GeminiPriority.INTERACTIVE, GeminiPriority.BULK), admissionOrder);
+        assertEquals(0, bulkhead.getStats().get("active"));
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        PriorityBulkhead bulkhead = new PriorityBulkhead(1, 0);
+        bulkhead.acquire(GeminiPriority.STANDARD, deadline(1000));
+
+        assertThrows(AdmissionRejectedException.class,
+            () -> bulkhead.acquire(GeminiPriority.INTERACTIVE, deadline(1000)));
+        assertEquals(1L, bulkhead.getStats().get("rejected"));
+    }
+
+    @Test
+    void timesOutWaiterAtDeadline() throws Exception {
+        PriorityBulkhead bulkhead = new PriorityBulkhead(1, 10);
+        bulkhead.acquire(GeminiPriority.STANDARD, deadline(1000));
+
+        assertThrows(AdmissionRejectedException.class,
+            () -> bulkhead.acquire(GeminiPriority.INTERACTIVE, deadline(50)));
+        assertEquals(1L, bulkhead.getStats().get("timedOut"));
+        assertEquals(0, bulkhead.getStats().get("queueDepth"));
+    }
+
+    // 입장하면 순서를 기록하고 곧바로 허가를 반환하는 대기자
+    private static Thread startWaiter(PriorityBulkhead bulkhead, GeminiPriority priority, List<GeminiPriority> order) {
+        return Thread.ofVirtual().start(() -> {
+            try {
+                bulkhead.acquire(priority, deadline(5000));
+                order.add(priority);
+                bulkhead.release();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void awaitQueueDepth(PriorityBulkhead bulkhead, int depth) throws InterruptedException {
+        long deadline = deadline(5000);
+        while ((int) bulkhead.getStats().get("queueDepth") < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, bulkhead.getStats().get("queueDepth"));
+    }
+
+    private static long deadline(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
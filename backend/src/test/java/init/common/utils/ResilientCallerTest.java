@@ -0,0 +1,177 @@
+package init.common.utils;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 재시도, hedging, 회로 차단기 상태 전이를 실제 대기 없이 검증
+ */
+class ResilientCallerTest {
+
+    @Test
+    void hedgeWinsWhenPrimaryIsSlow() throws Exception {
+        ResilientCaller caller = new ResilientCaller(1, 0, 0, 0, true, 1, 1, newBreaker(60000));
+        // p95 표본 1개 (지연 ≈ 0ms) 로 hedging 활성화
+        caller.execute(hedge -> CompletableFuture.completedFuture("warmup"));
+
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CountDownLatch hedgeStarted = new CountDownLatch(1);
+        String result = caller.execute(hedge -> {
+            if (!hedge) {
+                return primary;
+            }
+            hedgeStarted.countDown();
+            return CompletableFuture.completedFuture("hedge");
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(0, hedgeStarted.getCount());
+        assertTrue(primary.isCancelled());
+        assertEquals(1L, caller.getStats().get("hedges"));
+        assertEquals(1L, caller.getStats().get("hedgeWins"));
+    }
+
+    @Test
+    void primaryWinsWhenItCompletesAfterHedgeStarts() throws Exception {
+        ResilientCaller caller = new ResilientCaller(1, 0, 0, 0, true, 1, 1, newBreaker(60000));
+        caller.execute(hedge -> CompletableFuture.completedFuture("warmup"));
+
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> hedgeRequest = new CompletableFuture<>();
+        String result = caller.execute(hedge -> {
+            if (!hedge) {
+                return primary;
+            }
+            // hedge 요청이 나간 뒤 원래 요청이 먼저 끝나는 경우
+            primary.complete("primary");
+            return hedgeRequest;
+        });
+
+        assertEquals("primary", result);
+        assertTrue(hedgeRequest.isCancelled());
+        assertEquals(0L, caller.getStats().get("hedgeWins"));
+    }
+
+    @Test
+    void retriesWaitForRetryAfter() throws Exception {
+        List<Long> sleeps = new ArrayList<>();
+        ResilientCaller caller = new ResilientCaller(2, 10, 50, 5000, false, 0, 0, newBreaker(60000)) {
+            @Override
+            protected void sleep(long millis) {
+                sleeps.add(millis);
+            }
+        };
+        List<Boolean> attempts = new ArrayList<>();
+
+        String result = caller.execute(hedge -> {
+            attempts.add(hedge);
+            return attempts.size() == 1
+                ? CompletableFuture.failedFuture(new GeminiApiException(429, 1000, "한도 초과"))
+                : CompletableFuture.completedFuture("ok");
+        });
+
+        assertEquals("ok", result);
+        assertEquals(List.of(1000L), sleeps);
+    }
+
+    @Test
+    void localRejectionDoesNotCloseHalfOpenCircuit() throws Exception {
+        CircuitBreaker breaker = newBreaker(0);
+        ResilientCaller caller = new ResilientCaller(1, 0, 0, 0, false, 0, 0, breaker);
+        openCircuit(caller);
+
+        assertThrows(AdmissionRejectedException.class, () -> caller.execute(hedge -> {
+            throw new AdmissionRejectedException("대기열 가득 참");
+        }));
+
+        // 거절은 시험 호출로 치지 않으므로 여전히 HALF_OPEN 이고 다음 호출이 시험 호출이 됨
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals("ok", caller.execute(hedge -> CompletableFuture.completedFuture("ok")));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void localRejectionIsNotRecordedAsSuccess() {
+        CircuitBreaker breaker = newBreaker(60000);
+        ResilientCaller caller = new ResilientCaller(1, 0, 0, 0, false, 0, 0, breaker);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(AdmissionRejectedException.class, () -> caller.execute(hedge -> {
+                throw new AdmissionRejectedException("한도 초과");
+            }));
+        }
+
+        assertEquals(0, breaker.getStats().get("recordedCalls"));
+    }
+
+    @Test
+    void interruptedTrialReleasesHalfOpenSlot() throws Exception {
+        CircuitBreaker breaker = newBreaker(0);
+        ResilientCaller caller = new ResilientCaller(1, 0, 0, 0, false, 0, 0, breaker);
+        openCircuit(caller);
+
+        assertThrows(InterruptedException.class, () -> caller.execute(hedge -> {
+            throw new InterruptedException();
+        }));
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals("ok", caller.execute(hedge -> CompletableFuture.completedFuture("ok")));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void clientErrorsCountAsUpstreamSuccess() {
+        CircuitBreaker breaker = newBreaker(60000);
+        ResilientCaller caller = new ResilientCaller(3, 0, 0, 0, false, 0, 0, breaker);
+
+        assertThrows(GeminiApiException.class, () -> caller.execute(hedge ->
+            CompletableFuture.failedFuture(new GeminiApiException(400, -1, "잘못된 요청"))));
+
+        Map<String, Object> stats = breaker.getStats();
+        assertEquals(1, stats.get("recordedCalls"));
+        assertEquals(0, stats.get("failedCalls"));
+    }
+
+    @Test
+    void responseDecodeErrorsAreNotRetriedOrCountedAsFailures() {
+        CircuitBreaker breaker = newBreaker(60000);
+        ResilientCaller caller = new ResilientCaller(3, 0, 0, 0, false, 0, 0, breaker);
+        List<Boolean> attempts = new ArrayList<>();
+
+        // 200 응답 본문을 해석하다 실패한 경우 (IOException 이지만 재시도해도 같은 응답)
+        assertThrows(Exception.class, () -> caller.execute(hedge -> {
+            attempts.add(hedge);
+            return CompletableFuture.failedFuture(new Exception("응답 파싱 중 오류 발생",
+                new JsonParseException(null, "Unexpected character")));
+        }));
+
+        assertEquals(1, attempts.size());
+        assertEquals(0L, caller.getStats().get("retries"));
+        Map<String, Object> stats = breaker.getStats();
+        assertEquals(1, stats.get("recordedCalls"));
+        assertEquals(0, stats.get("failedCalls"));
+    }
+
+    // 창 2개 중 2개 실패로 회로를 열고, openDuration 0 이면 다음 tryAcquire 에서 HALF_OPEN
+    private static void openCircuit(ResilientCaller caller) {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IOException.class, () -> caller.execute(hedge ->
+                CompletableFuture.failedFuture(new IOException("연결 끊김"))));
+        }
+    }
+
+    private static CircuitBreaker newBreaker(long openDurationMillis) {
+        return new CircuitBreaker(2, 2, 50.0, openDurationMillis);
+    }
+}
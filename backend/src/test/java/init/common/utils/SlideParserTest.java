@@ -0,0 +1,212 @@
+package init.common.utils;
+
+import init.backendapi.dto.SlideOutline;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 단일 패스 슬라이드 파서가 이전 정규식 파서와 같은 결과를 내는지 검증
+ * 실제 Gemini 응답 형태의 코퍼스와, 이를 무작위로 변형한 입력을 문자열/Reader/조각 스트림으로 모두 비교합니다.
+ */
+class SlideParserTest {
+
+    private static final String[] CORPUS = {
+        "standard.txt",
+        "crlf.txt",
+        "preamble-markdown.txt",
+        "missing-notes.txt",
+        "blank-after-label.txt",
+        "inline-headers.txt",
+        "alternative-list.txt",
+        "empty-blocks.txt"
+    };
+
+    // 변형에 끼워 넣는 조각 (라벨, 글머리 기호, 구분자 일부 등)
+    private static final String[] FRAGMENTS = {
+        "", " ", "\t", "\n", "\r\n", "\r", "제목:", "내용:", "노트:", "- ", "* ", "• ", "-",
+        "===== 슬라이드 9 =====", "=====", "슬라이드", "12. ", " - ", "목차", "thank you"
+    };
+
+    private final SlideParser slideParser = new SlideParser();
+    private final LegacySlideParser legacyParser = new LegacySlideParser();
+
+    @Test
+    void corpusMatchesLegacyParser() throws Exception {
+        Random random = new Random(17);
+        for (String name : CORPUS) {
+            assertEquivalent(name, load(name), random);
+        }
+    }
+
+    @Test
+    void fuzzedCorpusMatchesLegacyParser() throws Exception {
+        Random random = new Random(20251018L);
+        for (int iteration = 0; iteration < 3000; iteration++) {
+            String name = CORPUS[random.nextInt(CORPUS.length)];
+            String mutated = load(name);
+            // 여러 번 겹쳐 변형 (줄을 가로지르는 구분자 등)
+            for (int round = random.nextInt(4); round >= 0; round--) {
+                mutated = mutate(mutated, random);
+            }
+            assertEquivalent(name + " #" + iteration, mutated, random);
+        }
+    }
+
+    @Test
+    void streamEmitsSlideWhenNextHeaderArrives() {
+        List<SlideOutline> emitted = new ArrayList<>();
+        SlideParser.SlideStream stream = slideParser.openStream(emitted::add);
+
+        stream.feed("===== 슬라이드 1 =====\n제목: 첫 번째\n내용:\n- 항목");
+        assertEquals(0, emitted.size());
+        stream.feed("\n===== 슬라");
+        assertEquals(0, emitted.size());
+        stream.feed("이드 2 =====\n제목: 두 번째\n");
+        assertEquals(1, emitted.size());
+        assertEquals("첫 번째", emitted.get(0).getTitle());
+        assertEquals(List.of("항목"), emitted.get(0).getBulletPoints());
+
+        List<SlideOutline> slides = stream.finish();
+        assertEquals(2, slides.size());
+        assertEquals(2, emitted.size());
+        assertEquals("두 번째", slides.get(1).getTitle());
+    }
+
+    @Test
+    void structuredResponseIsReadWithoutTextParsing() throws Exception {
+        String response = "```json\n[{\"title\":\" 시장 현황 \",\"bulletPoints\":[\"규모\",\" \",\"성장률\"],"
+            + "\"notes\":\"차트\",\"confidence\":0.9},{\"title\":\"결론\",\"content\":\"요약\",\"bulletPoints\":[]}]\n```";
+
+        List<SlideOutline> slides = slideParser.parseSlides(response);
+
+        assertEquals(2, slides.size());
+        assertEquals("시장 현황", slides.get(0).getTitle());
+        assertEquals(List.of("규모", "성장률"), slides.get(0).getBulletPoints());
+        assertEquals("- 규모\n- 성장률", slides.get(0).getContent());
+        assertEquals("차트", slides.get(0).getNotes());
+        assertEquals(2, slides.get(1).getSlideNumber());
+        assertEquals("conclusion", slides.get(1).getSlideType());
+        assertEquals(1L, slideParser.getStats().get("structuredResponses"));
+        assertEquals(0L, slideParser.getStats().get("textFallbacks"));
+    }
+
+    @Test
+    void truncatedStructuredResponseKeepsCompletedSlides() throws Exception {
+        String response = "[{\"title\":\"첫 번째\",\"bulletPoints\":[\"a\"]},{\"title\":\"두 번";
+
+        List<SlideOutline> slides = slideParser.parseSlides(response);
+
+        assertEquals(1, slides.size());
+        assertEquals("첫 번째", slides.get(0).getTitle());
+        assertEquals(1L, slideParser.getStats().get("structuredPartial"));
+
+        // JSON 이 아닌 응답은 처음부터 텍스트 파서 사용 (대체로 세지 않음)
+        assertEquals(1, slideParser.parseSlides("===== 슬라이드 1 =====\n제목: 텍스트\n").size());
+        assertEquals(1L, slideParser.getStats().get("textResponses"));
+        assertEquals(0L, slideParser.getStats().get("textFallbacks"));
+    }
+
+    @Test
+    void jsonLookingTextResponseFallsBackToTextParser() throws Exception {
+        String standard = load("standard.txt");
+        List<SlideOutline> expected = slideParser.parseSlideStructure(standard);
+
+        List<SlideOutline> slides = slideParser.parseSlides("[초안]\n" + standard);
+
+        assertEquals(expected.size(), slides.size());
+        assertFalse(slides.isEmpty());
+        assertEquals(expected.get(0).getTitle(), slides.get(0).getTitle());
+        Map<String, Object> stats = slideParser.getStats();
+        assertEquals(1L, stats.get("structuredFailures"));
+        assertEquals(1L, stats.get("textFallbacks"));
+        assertEquals(1.0, stats.get("fallbackRate"));
+    }
+
+    private void assertEquivalent(String label, String input, Random random) throws Exception {
+        List<SlideOutline> expected = legacyParser.parseSlideStructure(input);
+
+        assertSame(label + " (string)", expected, slideParser.parseSlideStructure(input));
+        assertSame(label + " (reader)", expected, slideParser.parseSlideStructure(new StringReader(input)));
+
+        // 임의 위치에서 잘린 조각 스트림 (\r\n 이나 구분자 중간에서 잘리는 경우 포함)
+        List<SlideOutline> emitted = new ArrayList<>();
+        SlideParser.SlideStream stream = slideParser.openStream(emitted::add);
+        int position = 0;
+        while (position < input.length()) {
+            int end = Math.min(input.length(), position + 1 + random.nextInt(24));
+            stream.feed(input.substring(position, end));
+            position = end;
+        }
+        List<SlideOutline> streamed = stream.finish();
+        assertSame(label + " (chunks)", expected, streamed);
+        assertSame(label + " (emitted)", expected, emitted);
+    }
+
+    private static void assertSame(String label, List<SlideOutline> expected, List<SlideOutline> actual) {
+        assertEquals(expected.size(), actual.size(), label + ": 슬라이드 수");
+        for (int i = 0; i < expected.size(); i++) {
+            SlideOutline want = expected.get(i);
+            SlideOutline got = actual.get(i);
+            String slide = label + " 슬라이드 " + (i + 1);
+            assertEquals(want.getSlideNumber(), got.getSlideNumber(), slide + " 번호");
+            assertEquals(want.getTitle(), got.getTitle(), slide + " 제목");
+            assertEquals(want.getContent(), got.getContent(), slide + " 내용");
+            assertEquals(want.getBulletPoints(), got.getBulletPoints(), slide + " 글머리");
+            assertEquals(want.getNotes(), got.getNotes(), slide + " 노트");
+            assertEquals(want.getSlideType(), got.getSlideType(), slide + " 타입");
+        }
+    }
+
+    /**
+     * 줄 단위 변형: 줄바꿈 종류 변경, 빈 줄/공백 추가, 줄 삭제/복제, 조각 삽입
+     */
+    private static String mutate(String text, Random random) {
+        List<String> lines = new ArrayList<>(List.of(text.split("\r\n|\r|\n", -1)));
+        int edits = 1 + random.nextInt(6);
+        for (int i = 0; i < edits && !lines.isEmpty(); i++) {
+            int index = random.nextInt(lines.size());
+            String line = lines.get(index);
+            switch (random.nextInt(6)) {
+                case 0 -> lines.add(index, "");
+                case 1 -> lines.set(index, line + " \t");
+                case 2 -> lines.remove(index);
+                case 3 -> lines.add(index, line);
+                case 4 -> {
+                    int at = random.nextInt(line.length() + 1);
+                    lines.set(index, line.substring(0, at) + FRAGMENTS[random.nextInt(FRAGMENTS.length)] + line.substring(at));
+                }
+                default -> lines.set(index, "  " + line);
+            }
+        }
+
+        String[] terminators = {"\n", "\r\n", "\r"};
+        String terminator = terminators[random.nextInt(terminators.length)];
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                // 가끔 줄마다 다른 줄바꿈
+                result.append(random.nextInt(10) == 0 ? terminators[random.nextInt(terminators.length)] : terminator);
+            }
+            result.append(lines.get(i));
+        }
+        return result.toString();
+    }
+
+    private static String load(String name) throws Exception {
+        try (InputStream in = SlideParserTest.class.getResourceAsStream("/slide-parser/corpus/" + name)) {
+            assertNotNull(in, name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 메모리/디스크 계층, TTL, 디스크 한도, 손상 파일 처리 검증
+ */
+class TieredTextCacheTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private Path workDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("tiered-cache-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void memoryTierEvictsLeastRecentlyUsed() {
+        TieredTextCache cache = new TieredTextCache(2, HOUR, null);
+        cache.put("a", "가");
+        cache.put("b", "나");
+        cache.get("a");
+        cache.put("c", "다");
+
+        assertEquals("가", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("다", cache.get("c"));
+        assertEquals(false, cache.getStats().get("diskEnabled"));
+    }
+
+    @Test
+    void memoryTierIsBoundedByTotalChars() {
+        TieredTextCache cache = new TieredTextCache(10, 10, HOUR, null, Long.MAX_VALUE, Integer.MAX_VALUE);
+        cache.put("a", "가나다라");
+        cache.put("b", "마바사아");
+        cache.put("c", "자차카");
+
+        // 글자 수 합계 11 > 10 이므로 가장 오래된 항목 제거
+        assertNull(cache.get("a"));
+        assertEquals("마바사아", cache.get("b"));
+        assertEquals("자차카", cache.get("c"));
+        assertEquals(7L, cache.getStats().get("weight"));
+
+        // 한도보다 긴 값은 메모리 계층에 두지 않음
+        cache.put("d", "가".repeat(11));
+        assertNull(cache.get("d"));
+        assertEquals("마바사아", cache.get("b"));
+    }
+
+    @Test
+    void oversizedValueIsServedFromDiskTier() {
+        String diskDir = workDir.resolve("cache").toString();
+        TieredTextCache cache = new TieredTextCache(10, 5, HOUR, diskDir, Long.MAX_VALUE, Integer.MAX_VALUE);
+        cache.put("long", "메모리에 두기엔 긴 값");
+
+        assertEquals("메모리에 두기엔 긴 값", cache.get("long"));
+        assertEquals(1L, cache.getStats().get("diskHits"));
+        assertEquals(0L, cache.getStats().get("weight"));
+    }
+
+    @Test
+    void memoryEntriesExpireAfterTtl() {
+        TieredTextCache cache = new TieredTextCache(10, 0, null);
+        cache.put("a", "가");
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void diskTierSurvivesNewInstance() {
+        String diskDir = workDir.toString();
+        new TieredTextCache(10, HOUR, diskDir).put("key", "디스크에 남는 값");
+
+        TieredTextCache restored = new TieredTextCache(10, HOUR, diskDir);
+
+        assertEquals("디스크에 남는 값", restored.get("key"));
+        assertEquals(1L, restored.getStats().get("diskHits"));
+        // 승격된 값은 메모리에서 응답
+        assertEquals("디스크에 남는 값", restored.get("key"));
+        assertEquals(1L, restored.getStats().get("diskHits"));
+    }
+
+    @Test
+    void expiredDiskFilesAreDeleted() throws IOException {
+        String diskDir = workDir.toString();
+        new TieredTextCache(10, HOUR, diskDir).put("old", "오래된 값");
+        Path file = workDir.resolve("old.txt.gz");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 2 * HOUR));
+
+        TieredTextCache restored = new TieredTextCache(10, HOUR, diskDir);
+
+        assertNull(restored.get("old"));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void corruptDiskFileIsDeletedAndTreatedAsMiss() throws IOException {
+        String diskDir = workDir.toString();
+        Path file = workDir.resolve("broken.txt.gz");
+        Files.write(file, "gzip 가 아닌 내용".getBytes(StandardCharsets.UTF_8));
+        TieredTextCache cache = new TieredTextCache(10, HOUR, diskDir);
+
+        assertNull(cache.get("broken"));
+        assertFalse(Files.exists(file));
+        assertEquals(1L, cache.getStats().get("diskErrors"));
+        assertEquals(0, cache.getStats().get("diskFiles"));
+
+        cache.put("broken", "다시 저장한 값");
+        assertEquals("다시 저장한 값", new TieredTextCache(10, HOUR, diskDir).get("broken"));
+    }
+
+    @Test
+    void diskTierEvictsOldestFilesOverFileLimit() {
+        TieredTextCache cache = new TieredTextCache(10, HOUR, workDir.toString(), Long.MAX_VALUE, 2);
+        cache.put("a", "가");
+        cache.put("b", "나");
+        cache.put("c", "다");
+
+        assertFalse(Files.exists(workDir.resolve("a.txt.gz")));
+        assertTrue(Files.exists(workDir.resolve("b.txt.gz")));
+        assertTrue(Files.exists(workDir.resolve("c.txt.gz")));
+        assertEquals(2, cache.getStats().get("diskFiles"));
+        assertEquals(1L, cache.getStats().get("diskEvictions"));
+    }
+
+    @Test
+    void diskTierStaysWithinByteLimit() throws IOException {
+        long limit = 4096;
+        TieredTextCache cache = new TieredTextCache(10, HOUR, workDir.toString(), limit, Integer.MAX_VALUE);
+        for (int i = 0; i < 20; i++) {
+            // 압축이 잘 되지 않도록 키마다 다른 내용
+            cache.put("k" + i, HashUtil.sha256Hex("값" + i).repeat(8));
+        }
+
+        long total;
+        try (Stream<Path> files = Files.list(workDir)) {
+            total = files.mapToLong(path -> path.toFile().length()).sum();
+        }
+        assertTrue(total <= limit, "디스크 사용량 " + total);
+        assertEquals(total, cache.getStats().get("diskBytes"));
+        assertTrue(Files.exists(workDir.resolve("k19.txt.gz")));
+    }
+
+    @Test
+    void fileLimitIsAppliedToExistingFilesOnStartup() throws IOException {
+        String diskDir = workDir.toString();
+        TieredTextCache unbounded = new TieredTextCache(10, HOUR, diskDir);
+        for (int i = 0; i < 5; i++) {
+            unbounded.put("k" + i, "값 " + i);
+        }
+
+        TieredTextCache bounded = new TieredTextCache(10, HOUR, diskDir, Long.MAX_VALUE, 3);
+
+        assertEquals(3, bounded.getStats().get("diskFiles"));
+        try (Stream<Path> files = Files.list(workDir)) {
+            assertEquals(3, files.count());
+        }
+    }
+}
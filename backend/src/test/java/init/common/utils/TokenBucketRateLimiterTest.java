@@ -0,0 +1,61 @@
+package init.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 요청/토큰 버킷 보충 대기와 마감 시각 거절 검증
+ */
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void waitsForRequestRefill() throws Exception {
+        // 분당 600건 = 100ms 마다 1건 보충
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(600, 1_000_000);
+        for (int i = 0; i < 600; i++) {
+            limiter.acquire(1, System.nanoTime());
+        }
+
+        long start = System.nanoTime();
+        limiter.acquire(1, start + TimeUnit.SECONDS.toNanos(2));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(waitedMillis >= 50, "대기 " + waitedMillis + "ms");
+        assertEquals(601L, limiter.getStats().get("admitted"));
+        assertEquals(1L, limiter.getStats().get("throttled"));
+    }
+
+    @Test
+    void waitsForTokenRefill() throws Exception {
+        // 분당 6000토큰 = 10ms 마다 1토큰 보충
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 6000);
+        limiter.acquire(6000, System.nanoTime());
+
+        long start = System.nanoTime();
+        limiter.acquire(30, start + TimeUnit.SECONDS.toNanos(2));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(waitedMillis >= 250, "대기 " + waitedMillis + "ms");
+        assertEquals(1L, limiter.getStats().get("throttled"));
+    }
+
+    @Test
+    void rejectsWhenRefillWouldMissDeadline() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1_000_000);
+        limiter.acquire(1, System.nanoTime());
+
+        // 다음 1건은 1분 뒤에 보충되므로 대기 없이 바로 거절
+        long start = System.nanoTime();
+        assertThrows(AdmissionRejectedException.class,
+            () -> limiter.acquire(1, start + TimeUnit.MILLISECONDS.toNanos(200)));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(1L, limiter.getStats().get("rejected"));
+        assertEquals(1L, limiter.getStats().get("admitted"));
+    }
+}